@@ -1,6 +1,7 @@
 import elevatorsystem.Building;
 import elevatorsystem.Direction;
 import elevatorsystem.Elevator;
+import elevatorsystem.Logger;
 import elevatorsystem.Person;
 
 public class Simulation
@@ -20,6 +21,9 @@ public class Simulation
         building.getFloor(3).enqueuePerson(new Person(3,80, 3, 1));
         building.getFloor(5).enqueuePerson(new Person(4,90, 5, 2));
 
+        // The Logger prints on a background thread, so it is flushed before printing to the console directly.
+        Logger logger = Logger.getLogger();
+        logger.flush();
         System.out.println("Starting Simulation...\n");
 
         // As long as the elevator isn't stationary, or there are still people to transport, the
@@ -29,6 +33,7 @@ public class Simulation
             elevator.move();
         }
 
+        logger.flush();
         System.out.println("Simulation complete.");
     }
 }
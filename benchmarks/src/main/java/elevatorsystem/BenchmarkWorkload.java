@@ -0,0 +1,92 @@
+package elevatorsystem;
+import java.util.Random;
+
+final class BenchmarkWorkload
+{
+    /*
+    The BenchmarkWorkload class builds the seeded workloads shared by the benchmarks. People are spread over a
+    fraction of the floors given by 'density', with 'queueDepth' people waiting on each of those floors, and
+    every person who leaves an elevator immediately calls it again, so the elevator never runs out of work and
+    each benchmark measures the steady state.
+
+    Attributes:
+        SEED         - seed of the random number generator, so every run uses the same workload
+
+        destinations - a precomputed cycle of random destination floors
+
+        next         - index of the next destination to hand out
+
+        nextID       - id given to the next person created
+     */
+
+    private static final long SEED = 42;
+    private static final int NUMBER_OF_DESTINATIONS = 4096;
+
+    private final Building building;
+    private final int[] destinations;
+    private int next;
+    private int nextID;
+
+    // Creates a workload for the given Building and fills its Floors.
+
+    BenchmarkWorkload(Building building, double density, int queueDepth)
+    {
+        this.building = building;
+        this.destinations = new int[NUMBER_OF_DESTINATIONS];
+
+        Random random = new Random(SEED);
+        int numberOfFloors = building.getMaxFloor() - building.getMinFloor() + 1;
+
+        for(int i = 0; i < destinations.length; i++)
+        {
+            destinations[i] = building.getMinFloor() + random.nextInt(numberOfFloors);
+        }
+
+        for(int floor = building.getMinFloor(); floor <= building.getMaxFloor(); floor++)
+        {
+            if(random.nextDouble() < density)
+            {
+                for(int i = 0; i < queueDepth; i++)
+                {
+                    callElevator(floor);
+                }
+            }
+        }
+    }
+
+    // Returns a destination floor different from the given floor.
+
+    int nextDestination(int floor)
+    {
+        int destination = destinations[next];
+        next = (next + 1) & (NUMBER_OF_DESTINATIONS - 1);
+
+        if(destination == floor)
+        {
+            destination = floor == building.getMaxFloor() ? building.getMinFloor() : floor + 1;
+        }
+
+        return destination;
+    }
+
+    // Has a new person call an elevator from the given floor.
+
+    void callElevator(int floor)
+    {
+        building.getFloor(floor).enqueuePerson(nextID++, 70, nextDestination(floor));
+    }
+
+    // Makes every person who leaves the given Elevator call it again from the floor they left it at.
+
+    void recirculate(Elevator elevator)
+    {
+        elevator.addListener(new ElevatorListener()
+        {
+            @Override
+            public void personAlighted(Elevator e, int passenger, int floor)
+            {
+                callElevator(floor);
+            }
+        });
+    }
+}
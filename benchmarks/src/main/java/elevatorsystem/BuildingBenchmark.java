@@ -0,0 +1,92 @@
+package elevatorsystem;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildingBenchmark
+{
+    /*
+    The BuildingBenchmark class measures looking up the nearest floor with waiting people, and a person
+    calling an elevator from a Floor (Floor.enqueuePerson), which keeps the Building's waiting index current.
+
+    Attributes:
+        floors     - number of floors in the Building
+
+        queueDepth - number of people waiting on each Floor with callers
+
+        density    - fraction of Floors with callers
+
+        position   - the floor used by the next invocation, cycling through the whole Building
+     */
+
+    @Param({"10", "50", "100", "500"})
+    public int floors;
+
+    @Param({"1", "8", "32"})
+    public int queueDepth;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double density;
+
+    private Building building;
+    private BenchmarkWorkload workload;
+    private int position;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Logger.getLogger().setLevel(LogLevel.OFF);
+
+        building = new Building(1, floors);
+        workload = new BenchmarkWorkload(building, density, queueDepth);
+        position = 0;
+    }
+
+    // Returns the next floor to use, cycling from the bottom of the Building to the top.
+
+    private int nextFloor()
+    {
+        position = position == floors - 1 ? 0 : position + 1;
+        return position + 1;
+    }
+
+    // Finds the nearest floor with waiting people, starting from every floor in turn.
+
+    @Benchmark
+    public int findNearestWaitingFloor()
+    {
+        return building.findNearestWaitingFloor(nextFloor());
+    }
+
+    // Enqueues a person on a Floor and then boards the person at the front of that queue, so that the queue
+    // lengths stay the same.
+
+    @Benchmark
+    public int enqueuePerson()
+    {
+        PassengerStore passengers = building.getPassengerStore();
+        int floor = nextFloor();
+        Floor f = building.getFloor(floor);
+        int passenger = f.enqueuePerson(0, 70, workload.nextDestination(floor));
+        int boarded = f.dequeuePassenger(passengers.getDirectionToDestination(passenger));
+
+        passengers.release(boarded);
+        return boarded;
+    }
+}
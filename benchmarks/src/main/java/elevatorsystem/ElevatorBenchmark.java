@@ -0,0 +1,98 @@
+package elevatorsystem;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElevatorBenchmark
+{
+    /*
+    The ElevatorBenchmark class measures the hot paths of a single Elevator: a whole trip (move), planning a
+    trip (calculateRoute, through startTrip), and a single stop where people leave and enter the elevator
+    (unloadPeopleAt and loadPeopleAt, through serviceCurrentFloor).
+
+    Attributes:
+        floors     - number of floors in the Building
+
+        queueDepth - number of people waiting on each Floor with callers
+
+        density    - fraction of Floors with callers
+     */
+
+    @Param({"10", "50", "100", "500"})
+    public int floors;
+
+    @Param({"1", "8", "32"})
+    public int queueDepth;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double density;
+
+    private Elevator elevator;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Logger.getLogger().setLevel(LogLevel.OFF);
+
+        Building building = new Building(1, floors);
+        elevator = new Elevator(1, building);
+
+        BenchmarkWorkload workload = new BenchmarkWorkload(building, density, queueDepth);
+        workload.recirculate(elevator);
+
+        // Makes sure the elevator has work even if no floor was chosen by the density.
+        workload.callElevator(1);
+    }
+
+    // Plans and completes a whole trip.
+
+    @Benchmark
+    public int move()
+    {
+        elevator.move();
+        return elevator.getCurrentFloor();
+    }
+
+    // Plans a trip, then abandons it so that the same state is planned again.
+
+    @Benchmark
+    public int calculateRoute()
+    {
+        elevator.startTrip();
+        elevator.cancelTrip();
+        return elevator.getCurrentDestination();
+    }
+
+    // Moves to the next stop of the current trip, unloading and loading people there.
+
+    @Benchmark
+    public int loadAndUnloadPeople()
+    {
+        int nextStop = elevator.getNextStop();
+
+        if(nextStop == Integer.MAX_VALUE)
+        {
+            elevator.startTrip();
+            nextStop = elevator.getNextStop();
+        }
+
+        elevator.arriveAt(nextStop);
+        return elevator.serviceCurrentFloor();
+    }
+}
@@ -0,0 +1,146 @@
+package elevatorsystem;
+import java.util.SplittableRandom;
+
+final class ScenarioArrivals implements ArrivalSource
+{
+    /*
+    The ScenarioArrivals class generates the arrivals of a TrafficScenario from a seed, one at a time, so a
+    scenario of millions of people is never held in memory and the same seed always produces the same people.
+    People arrive in a Poisson process at 'arrivalsPerHour' on average.
+
+    Attributes:
+        MILLISECONDS_PER_HOUR - number of milliseconds in a simulated hour
+
+        WEIGHT        - the weight of every person, which does not affect the traffic pattern
+
+        scenario      - the traffic pattern people are drawn from
+
+        random        - the seeded generator the arrivals are drawn from
+
+        minFloor      - the lobby, which is the lowest floor of the building
+
+        numberOfFloors - the number of floors of the building
+
+        meanInterval  - the average time, in milliseconds, between two arrivals
+
+        remaining     - the number of people still to arrive
+
+        time, id, startingFloor, destinationFloor - the current arrival
+     */
+
+    private static final double MILLISECONDS_PER_HOUR = 3_600_000.0;
+    private static final int WEIGHT = 70;
+
+    private final TrafficScenario scenario;
+    private final SplittableRandom random;
+    private final int minFloor;
+    private final int numberOfFloors;
+    private final double meanInterval;
+    private long remaining;
+
+    private long time;
+    private int id;
+    private int startingFloor;
+    private int destinationFloor;
+
+    // Initializes a generator of 'passengers' arrivals of the given scenario in the given Building.
+
+    ScenarioArrivals(TrafficScenario scenario, Building building, long passengers, double arrivalsPerHour, long seed)
+    {
+        this.scenario = scenario;
+        this.random = new SplittableRandom(seed);
+        this.minFloor = building.getMinFloor();
+        this.numberOfFloors = building.getMaxFloor() - building.getMinFloor() + 1;
+        this.meanInterval = MILLISECONDS_PER_HOUR / arrivalsPerHour;
+        this.remaining = passengers;
+        this.id = -1;
+    }
+
+    // Draws the next person, returning false once every person has arrived.
+
+    @Override
+    public boolean next()
+    {
+        if(remaining == 0)
+        {
+            return false;
+        }
+
+        remaining--;
+        id++;
+        time += (long) (-Math.log(1 - random.nextDouble()) * meanInterval);
+
+        double pattern = random.nextDouble();
+
+        if(pattern < scenario.getFractionFromLobby())
+        {
+            startingFloor = minFloor;
+            destinationFloor = minFloor + 1 + random.nextInt(numberOfFloors - 1);
+        }
+        else if(pattern < scenario.getFractionFromLobby() + scenario.getFractionToLobby())
+        {
+            startingFloor = minFloor + 1 + random.nextInt(numberOfFloors - 1);
+            destinationFloor = minFloor;
+        }
+        else
+        {
+            startingFloor = minFloor + random.nextInt(numberOfFloors);
+            destinationFloor = minFloor + random.nextInt(numberOfFloors - 1);
+
+            // Skips the starting floor, so that everybody travels.
+            if(destinationFloor >= startingFloor)
+            {
+                destinationFloor++;
+            }
+        }
+
+        return true;
+    }
+
+    // Returns the simulated time, in milliseconds, at which the current person arrives.
+
+    @Override
+    public long getTime()
+    {
+        return time;
+    }
+
+    // Returns the id of the current person. Ids wrap around in scenarios of more than 2^31 people.
+
+    @Override
+    public int getID()
+    {
+        return id;
+    }
+
+    // Returns the weight of the current person.
+
+    @Override
+    public int getWeight()
+    {
+        return WEIGHT;
+    }
+
+    // Returns the floor number on which the current person arrives.
+
+    @Override
+    public int getStartingFloor()
+    {
+        return startingFloor;
+    }
+
+    // Returns the floor number to which the current person is travelling.
+
+    @Override
+    public int getDestinationFloor()
+    {
+        return destinationFloor;
+    }
+
+    // Does nothing, since the arrivals are not read from a file.
+
+    @Override
+    public void close()
+    {
+    }
+}
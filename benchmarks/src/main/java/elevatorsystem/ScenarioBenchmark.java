@@ -0,0 +1,550 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class ScenarioBenchmark
+{
+    /*
+    The ScenarioBenchmark class runs end-to-end load tests of the standard TrafficScenarios, driving a Building
+    and an Elevator the way Simulation.main does: people are enqueued on Floors and the Elevator moves trip by
+    trip until everybody has been delivered. People are generated from a fixed seed and enqueued once the
+    Elevator's clock reaches their arrival time, so each run is repeatable, and at most MAXIMUM_WAITING people
+    wait at a time, so a run of millions of people needs no more memory than a run of thousands.
+
+    Every scenario is first run once to warm up the JIT compiler, with as many people as the largest selected
+    size but between MINIMUM_WARMUP_PASSENGERS and MAXIMUM_WARMUP_PASSENGERS, and then the selected scenarios
+    are measured at each size.
+    Every size is run at least twice, and sizes below a million people up to MAXIMUM_REPETITIONS times, and the
+    fastest run is kept, since a run is easily slowed down by other work on the machine and short runs are the
+    most disturbed by the JIT compiler and the garbage collector.
+    The measurements are compared against a baseline file, and the program exits with status 1 if the number of
+    steps, the bytes allocated per person or the peak heap is worse than the baseline by more than its threshold.
+    These do not depend on the machine. The throughput and wall time only mean something against a baseline
+    recorded on the same machine, so the baseline file starts with a fingerprint of the machine and JVM it was
+    recorded on. When it matches the machine running the benchmark, a regression in throughput or wall time also
+    fails the run. Otherwise it is reported as an advisory, unless --strict-timing is given. With --record, the
+    measurements and the fingerprint are written to the baseline file instead. A CI machine must record its own
+    baseline this way, and keep it between runs, for its timings to be checked.
+
+    Usage: ScenarioBenchmark [--record] [--baseline <file>] [--passengers <n,...>] [--scenarios <name,...>]
+                             [--threshold <fraction>] [--strict-timing]
+
+    Attributes:
+        FLOORS            - the number of floors of the benchmark building, the lowest being the lobby
+
+        ARRIVALS_PER_HOUR - the average number of people arriving per simulated hour
+
+        MAXIMUM_WAITING   - the number of people waiting above which nobody else is enqueued until the Elevator
+                            has caught up
+
+        SEED              - the seed every scenario is generated from
+
+        MINIMUM_WARMUP_PASSENGERS, MAXIMUM_WARMUP_PASSENGERS
+                          - the bounds of the number of people in the unmeasured run of each scenario
+
+        DEFAULT_PASSENGERS - the sizes run unless --passengers is given
+
+        REPEATED_PASSENGERS - the number of people below which a size is run more than twice
+
+        MAXIMUM_REPETITIONS - the most times a size is run
+
+        STEPS_THRESHOLD, ALLOCATION_THRESHOLD, HEAP_THRESHOLD, THROUGHPUT_THRESHOLD, WALL_TIME_THRESHOLD
+                          - the fraction by which each measurement may be worse than the baseline before it
+                            counts as a regression. The steps are the same on every run unless the simulator
+                            changes, so they are given almost no room. Peak heap depends on when the collector
+                            runs. A slowdown of 35% in throughput is a rise of 55% in wall time
+
+        ALLOCATION_SLACK, HEAP_SLACK, WALL_TIME_SLACK - differences from the baseline which are never counted
+                            as regressions, however large they are as a fraction, so that small runs and runs
+                            which barely allocate do not fail on noise
+
+        HOST_PREFIX       - the start of the line of the baseline file which holds the machine's fingerprint
+     */
+
+    private static final int FLOORS = 20;
+    private static final double ARRIVALS_PER_HOUR = 120;
+    private static final int MAXIMUM_WAITING = 10_000;
+    private static final long SEED = 42;
+    private static final long MINIMUM_WARMUP_PASSENGERS = 100_000;
+    private static final long MAXIMUM_WARMUP_PASSENGERS = 1_000_000;
+    private static final long[] DEFAULT_PASSENGERS = {10_000, 100_000, 1_000_000, 10_000_000};
+    private static final long REPEATED_PASSENGERS = 1_000_000;
+    private static final int MAXIMUM_REPETITIONS = 5;
+    private static final double STEPS_THRESHOLD = 0.01;
+    private static final double ALLOCATION_THRESHOLD = 0.5;
+    private static final double HEAP_THRESHOLD = 0.5;
+    private static final double THROUGHPUT_THRESHOLD = 0.35;
+    private static final double WALL_TIME_THRESHOLD = 0.55;
+    private static final double ALLOCATION_SLACK = 16;
+    private static final double HEAP_SLACK = 16;
+    private static final double WALL_TIME_SLACK = 25;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+    private static final String HOST_PREFIX = "# host ";
+
+    // 'ScenarioBenchmark' objects are not meant to be instantiated.
+
+    private ScenarioBenchmark()
+    {
+    }
+
+    // Runs the scenarios and compares them against the baseline, or records a new baseline.
+
+    public static void main(String[] args) throws IOException
+    {
+        boolean record = false;
+        Path baselineFile = Paths.get("scenario-baseline.csv");
+        long[] sizes = DEFAULT_PASSENGERS;
+        List<TrafficScenario> scenarios = List.of(TrafficScenario.values());
+        double thresholdOverride = Double.NaN;
+        boolean strictTiming = false;
+
+        for(int i = 0; i < args.length; i++)
+        {
+            switch(args[i])
+            {
+                case "--record":
+                    record = true;
+                    break;
+
+                case "--baseline":
+                    baselineFile = Paths.get(args[++i]);
+                    break;
+
+                case "--passengers":
+                    sizes = parseSizes(args[++i]);
+                    break;
+
+                case "--scenarios":
+                    scenarios = new ArrayList<>();
+
+                    for(String name : args[++i].split(","))
+                    {
+                        scenarios.add(TrafficScenario.fromRepresentation(name.trim()));
+                    }
+                    break;
+
+                case "--threshold":
+                    thresholdOverride = Double.parseDouble(args[++i]);
+                    break;
+
+                case "--strict-timing":
+                    strictTiming = true;
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Logger.getLogger().setLevel(LogLevel.OFF);
+
+        // Every scenario is warmed up, even those not measured, so the compiled code does not depend on the selection.
+        long warmupPassengers = getWarmupPassengers(sizes);
+
+        for(TrafficScenario scenario : TrafficScenario.values())
+        {
+            run(scenario, warmupPassengers);
+        }
+
+        List<ScenarioResult> results = new ArrayList<>();
+
+        for(TrafficScenario scenario : scenarios)
+        {
+            for(long size : sizes)
+            {
+                ScenarioResult result = measure(scenario, size);
+                results.add(result);
+                System.out.println(result);
+            }
+        }
+
+        if(record)
+        {
+            writeBaseline(baselineFile, results);
+            System.out.println("Recorded the baseline in " + baselineFile);
+            return;
+        }
+
+        if(!Files.exists(baselineFile))
+        {
+            System.out.println("No baseline at " + baselineFile + ", run with --record to create one.");
+            return;
+        }
+
+        Map<String, ScenarioResult> baseline = readBaseline(baselineFile);
+        boolean sameHost = getHostFingerprint().equals(readBaselineHost(baselineFile));
+        boolean timingChecked = strictTiming || sameHost;
+        List<String> regressions = new ArrayList<>();
+        List<String> timingRegressions = timingChecked ? regressions : new ArrayList<>();
+
+        if(!sameHost)
+        {
+            System.out.println(baselineFile + " was recorded on another machine, so throughput and wall time are "
+                    + (strictTiming ? "checked only because of --strict-timing." : "only advisories."));
+        }
+
+        for(ScenarioResult result : results)
+        {
+            ScenarioResult expected = baseline.get(result.getKey());
+
+            if(expected == null)
+            {
+                System.out.println("No baseline for " + result.getKey());
+                continue;
+            }
+
+            compare(result, "steps", expected.getSteps(), result.getSteps(), false,
+                    threshold(thresholdOverride, STEPS_THRESHOLD), 0, regressions);
+            compare(result, "bytes per person", expected.getBytesPerPassenger(), result.getBytesPerPassenger(), false,
+                    threshold(thresholdOverride, ALLOCATION_THRESHOLD), ALLOCATION_SLACK, regressions);
+            compare(result, "peak heap", expected.getPeakHeap(), result.getPeakHeap(), false,
+                    threshold(thresholdOverride, HEAP_THRESHOLD), HEAP_SLACK, regressions);
+
+            // Throughput is the number of steps over the wall time, so it is given the same slack as the wall time.
+            if(Math.abs(result.getWallTime() - expected.getWallTime()) > WALL_TIME_SLACK)
+            {
+                compare(result, "steps/s", expected.getStepsPerSecond(), result.getStepsPerSecond(), true,
+                        threshold(thresholdOverride, THROUGHPUT_THRESHOLD), 0, timingRegressions);
+            }
+
+            compare(result, "wall time", expected.getWallTime(), result.getWallTime(), false,
+                    threshold(thresholdOverride, WALL_TIME_THRESHOLD), WALL_TIME_SLACK, timingRegressions);
+        }
+
+        if(!timingChecked)
+        {
+            for(String regression : timingRegressions)
+            {
+                System.out.println("ADVISORY: " + regression);
+            }
+
+            if(!timingRegressions.isEmpty())
+            {
+                System.out.println("Timings depend on the machine. To check them here, record a baseline on this "
+                        + "machine with --record, or -PrecordBaseline through Gradle.");
+            }
+        }
+
+        if(regressions.isEmpty())
+        {
+            System.out.println("No regressions against " + baselineFile);
+            return;
+        }
+
+        for(String regression : regressions)
+        {
+            System.out.println("REGRESSION: " + regression);
+        }
+
+        System.exit(1);
+    }
+
+    // Returns the number of people in the warmup run of each scenario: the largest size measured, within bounds.
+
+    static long getWarmupPassengers(long[] sizes)
+    {
+        long largest = 0;
+
+        for(long size : sizes)
+        {
+            largest = Math.max(largest, size);
+        }
+
+        return Math.max(MINIMUM_WARMUP_PASSENGERS, Math.min(MAXIMUM_WARMUP_PASSENGERS, largest));
+    }
+
+    // Runs one scenario with the given number of people as many times as its size calls for, and keeps the fastest run.
+
+    static ScenarioResult measure(TrafficScenario scenario, long passengers)
+    {
+        long repetitions = Math.max(2, Math.min(MAXIMUM_REPETITIONS, REPEATED_PASSENGERS / passengers));
+        ScenarioResult fastest = run(scenario, passengers);
+
+        for(long i = 1; i < repetitions; i++)
+        {
+            ScenarioResult result = run(scenario, passengers);
+
+            if(result.getWallTime() < fastest.getWallTime())
+            {
+                fastest = result;
+            }
+        }
+
+        return fastest;
+    }
+
+    /*
+    Runs one scenario with the given number of people and measures it. The heap is collected first, so that the
+    peak heap usage belongs to this run.
+     */
+
+    static ScenarioResult run(TrafficScenario scenario, long passengers)
+    {
+        Building building = new Building(0, FLOORS - 1);
+        Elevator elevator = new Elevator(0, building);
+        ScenarioArrivals arrivals = new ScenarioArrivals(scenario, building, passengers, ARRIVALS_PER_HOUR, SEED);
+        long[] steps = new long[1];
+
+        elevator.addListener(new ElevatorListener()
+        {
+            @Override
+            public void elevatorStopped(Elevator e, int floor, int peopleTransferred)
+            {
+                steps[0]++;
+            }
+        });
+
+        System.gc();
+        resetPeakHeapUsage();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = getAllocatedBytes(threads);
+        long start = System.nanoTime();
+
+        boolean more = arrivals.next();
+
+        while(more || elevator.getCurrentDirection() != Direction.STATIONARY || elevator.shouldContinueOperating())
+        {
+            // An idle Elevator is given the next person at once, so simulated idle time costs nothing.
+            boolean idle = elevator.getCurrentDirection() == Direction.STATIONARY
+                    && !elevator.shouldContinueOperating();
+
+            while(more && (idle || arrivals.getTime() <= elevator.getElapsedTime())
+                    && building.getNumberOfPeopleWaiting() < MAXIMUM_WAITING)
+            {
+                building.getFloor(arrivals.getStartingFloor()).enqueuePerson(arrivals.getID(), arrivals.getWeight(),
+                        arrivals.getDestinationFloor());
+                more = arrivals.next();
+                idle = false;
+            }
+
+            elevator.move();
+        }
+
+        double wallTime = (System.nanoTime() - start) / 1e6;
+        long allocated = getAllocatedBytes(threads) - allocatedBefore;
+
+        return new ScenarioResult(scenario, passengers, steps[0], (double) allocated / passengers,
+                getPeakHeapUsage() / BYTES_PER_MEGABYTE, steps[0] / (wallTime / 1000), wallTime);
+    }
+
+    /*
+    Adds a description of the regression to 'regressions' if 'actual' is worse than 'expected' by more than the
+    given fraction and by more than 'slack'. Higher values are better if 'higherIsBetter' is set, and lower values
+    otherwise.
+     */
+
+    private static void compare(ScenarioResult result, String metric, double expected, double actual,
+            boolean higherIsBetter, double threshold, double slack, List<String> regressions)
+    {
+        double change = expected == 0 ? 0 : (actual - expected) / expected;
+        boolean worse = higherIsBetter ? change < -threshold : change > threshold;
+
+        if(worse && Math.abs(actual - expected) > slack)
+        {
+            regressions.add(String.format("%s %s is %.1f, %+.0f%% against the baseline of %.1f (threshold %.0f%%)",
+                    result.getKey(), metric, actual, 100 * change, expected, 100 * threshold));
+        }
+    }
+
+    // Returns the given threshold unless it has been overridden on the command line.
+
+    private static double threshold(double override, double threshold)
+    {
+        return Double.isNaN(override) ? threshold : override;
+    }
+
+    // Returns the number of bytes the current thread has allocated, or 0 if the JVM does not measure it.
+
+    private static long getAllocatedBytes(ThreadMXBean threads)
+    {
+        if(threads instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+
+        return 0;
+    }
+
+    // Resets the peak usage of every heap memory pool.
+
+    private static void resetPeakHeapUsage()
+    {
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if(pool.getType() == MemoryType.HEAP)
+            {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    // Returns the sum of the peak usage, in bytes, of every heap memory pool since they were last reset.
+
+    private static long getPeakHeapUsage()
+    {
+        long peak = 0;
+
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if(pool.getType() == MemoryType.HEAP)
+            {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return peak;
+    }
+
+    // Parses a comma-separated list of sizes, such as "10000,100000".
+
+    private static long[] parseSizes(String list)
+    {
+        String[] fields = list.split(",");
+        long[] sizes = new long[fields.length];
+
+        for(int i = 0; i < fields.length; i++)
+        {
+            sizes[i] = Long.parseLong(fields[i].trim().replace("_", ""));
+        }
+
+        return sizes;
+    }
+
+    /*
+    Returns a fingerprint of the machine and JVM the benchmark runs on: a hash of the host name, the processor
+    model, the number of processors, the operating system and the JVM. Timings are only comparable between runs
+    with the same fingerprint.
+     */
+
+    static String getHostFingerprint()
+    {
+        String description = getHostName() + "|" + getProcessorModel() + "|"
+                + Runtime.getRuntime().availableProcessors() + "|" + System.getProperty("os.name") + "|"
+                + System.getProperty("os.arch") + "|" + System.getProperty("java.vm.name") + "|"
+                + System.getProperty("java.vm.version");
+
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(description.getBytes(StandardCharsets.UTF_8));
+            StringBuilder fingerprint = new StringBuilder();
+
+            for(int i = 0; i < 8; i++)
+            {
+                fingerprint.append(String.format("%02x", digest[i]));
+            }
+
+            return fingerprint.toString();
+        }
+        catch(NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("Every JVM must support SHA-256", e);
+        }
+    }
+
+    // Returns the name of this machine, or an empty String if it cannot be found.
+
+    private static String getHostName()
+    {
+        try
+        {
+            return InetAddress.getLocalHost().getHostName();
+        }
+        catch(IOException e)
+        {
+            String name = System.getenv("HOSTNAME");
+            return name == null ? "" : name;
+        }
+    }
+
+    // Returns the model of the first processor listed in /proc/cpuinfo, or an empty String if there is none.
+
+    private static String getProcessorModel()
+    {
+        Path cpuInfo = Paths.get("/proc/cpuinfo");
+
+        try
+        {
+            if(Files.isReadable(cpuInfo))
+            {
+                for(String line : Files.readAllLines(cpuInfo, StandardCharsets.UTF_8))
+                {
+                    if(line.startsWith("model name"))
+                    {
+                        return line.substring(line.indexOf(':') + 1).trim();
+                    }
+                }
+            }
+        }
+        catch(IOException e)
+        {
+            // Without /proc/cpuinfo, the remaining parts of the fingerprint still tell most machines apart.
+        }
+
+        String identifier = System.getenv("PROCESSOR_IDENTIFIER");
+        return identifier == null ? "" : identifier;
+    }
+
+    // Reads a baseline file into a map from the key of each result to the result.
+
+    private static Map<String, ScenarioResult> readBaseline(Path file) throws IOException
+    {
+        Map<String, ScenarioResult> baseline = new LinkedHashMap<>();
+
+        for(String line : Files.readAllLines(file, StandardCharsets.UTF_8))
+        {
+            if(!line.isBlank() && !line.startsWith("#") && !line.equals(ScenarioResult.HEADER))
+            {
+                ScenarioResult result = ScenarioResult.parse(line);
+                baseline.put(result.getKey(), result);
+            }
+        }
+
+        return baseline;
+    }
+
+    // Returns the fingerprint of the machine a baseline file was recorded on, or null if it does not record one.
+
+    private static String readBaselineHost(Path file) throws IOException
+    {
+        for(String line : Files.readAllLines(file, StandardCharsets.UTF_8))
+        {
+            if(line.startsWith(HOST_PREFIX))
+            {
+                return line.substring(HOST_PREFIX.length()).trim();
+            }
+        }
+
+        return null;
+    }
+
+    // Writes the given results and the fingerprint of this machine to a baseline file, replacing it if it exists.
+
+    private static void writeBaseline(Path file, List<ScenarioResult> results) throws IOException
+    {
+        List<String> lines = new ArrayList<>();
+        lines.add(HOST_PREFIX + getHostFingerprint());
+        lines.add(ScenarioResult.HEADER);
+
+        for(ScenarioResult result : results)
+        {
+            lines.add(result.toCsv());
+        }
+
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
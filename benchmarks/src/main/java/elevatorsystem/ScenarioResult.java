@@ -0,0 +1,143 @@
+package elevatorsystem;
+import java.util.Locale;
+
+final class ScenarioResult
+{
+    /*
+    The ScenarioResult class holds what was measured in one run of a scenario benchmark, and converts it to and
+    from a line of the baseline file, which has the columns of HEADER. The number of steps and the bytes allocated
+    per person only depend on the simulator, while the wall time and throughput depend on the machine as well.
+
+    Attributes:
+        HEADER         - the line naming the columns of a baseline file, which follows its host fingerprint
+
+        scenario       - the traffic pattern which was run
+
+        passengers     - the number of people who arrived in the run
+
+        steps          - the number of stops the elevator made, whether or not anybody got on or off
+
+        bytesPerPassenger - the memory the run allocated, in bytes, divided by the number of people
+
+        peakHeap       - the highest heap usage during the run, in megabytes
+
+        stepsPerSecond - the number of steps over the wall time
+
+        wallTime       - the time the run took, in milliseconds
+     */
+
+    static final String HEADER = "scenario,passengers,steps,bytesPerPassenger,peakHeapMegabytes,stepsPerSecond,"
+            + "wallTimeMillis";
+
+    private final TrafficScenario scenario;
+    private final long passengers;
+    private final long steps;
+    private final double bytesPerPassenger;
+    private final double peakHeap;
+    private final double stepsPerSecond;
+    private final double wallTime;
+
+    // Initializes a result from its measurements.
+
+    ScenarioResult(TrafficScenario scenario, long passengers, long steps, double bytesPerPassenger, double peakHeap,
+            double stepsPerSecond, double wallTime)
+    {
+        this.scenario = scenario;
+        this.passengers = passengers;
+        this.steps = steps;
+        this.bytesPerPassenger = bytesPerPassenger;
+        this.peakHeap = peakHeap;
+        this.stepsPerSecond = stepsPerSecond;
+        this.wallTime = wallTime;
+    }
+
+    // Returns the traffic pattern which was run.
+
+    TrafficScenario getScenario()
+    {
+        return scenario;
+    }
+
+    // Returns the number of people who arrived in the run.
+
+    long getPassengers()
+    {
+        return passengers;
+    }
+
+    // Returns the number of stops the elevator made.
+
+    long getSteps()
+    {
+        return steps;
+    }
+
+    // Returns the memory the run allocated, in bytes, divided by the number of people.
+
+    double getBytesPerPassenger()
+    {
+        return bytesPerPassenger;
+    }
+
+    // Returns the highest heap usage during the run, in megabytes.
+
+    double getPeakHeap()
+    {
+        return peakHeap;
+    }
+
+    // Returns the number of stops the elevator made per second of wall time.
+
+    double getStepsPerSecond()
+    {
+        return stepsPerSecond;
+    }
+
+    // Returns the time the run took, in milliseconds.
+
+    double getWallTime()
+    {
+        return wallTime;
+    }
+
+    // Returns the key which identifies the scenario and size of the run in a baseline file.
+
+    String getKey()
+    {
+        return scenario.getRepresentation() + "," + passengers;
+    }
+
+    // Returns the line of a baseline file holding this result.
+
+    String toCsv()
+    {
+        return String.format(Locale.ROOT, "%s,%d,%.1f,%.1f,%.0f,%.1f", getKey(), steps, bytesPerPassenger, peakHeap,
+                stepsPerSecond, wallTime);
+    }
+
+    // Reads a result from a line of a baseline file.
+
+    static ScenarioResult parse(String line)
+    {
+        String[] fields = line.split(",");
+
+        if(fields.length != 7)
+        {
+            throw new IllegalArgumentException("Expected 7 columns in the baseline line: " + line);
+        }
+
+        return new ScenarioResult(TrafficScenario.fromRepresentation(fields[0]), Long.parseLong(fields[1]),
+                Long.parseLong(fields[2]), Double.parseDouble(fields[3]), Double.parseDouble(fields[4]),
+                Double.parseDouble(fields[5]), Double.parseDouble(fields[6]));
+    }
+
+    // Returns a single line describing the result.
+
+    @Override
+    public String toString()
+    {
+        return String.format(Locale.ROOT, "%-10s %,12d people  %,12d steps  %,8.1f B/person  %,8.1f MB peak heap"
+                + "  %,12.0f steps/s  %,10.1f ms", scenario.getRepresentation(), passengers, steps, bytesPerPassenger,
+                peakHeap, stepsPerSecond, wallTime);
+    }
+}
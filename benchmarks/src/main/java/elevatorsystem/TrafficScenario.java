@@ -0,0 +1,76 @@
+package elevatorsystem;
+
+enum TrafficScenario
+{
+    /*
+    The TrafficScenario enumeration is used to enumerate the standard traffic patterns of the scenario benchmarks.
+    Each person either arrives at the lobby, the lowest floor, and travels up, or travels down to the lobby, or
+    travels between two floors chosen at random, with the probabilities of the scenario.
+
+    UP_PEAK    - the morning rush, when nearly everyone arrives at the lobby
+    DOWN_PEAK  - the evening rush, when nearly everyone leaves for the lobby
+    LUNCH      - two-way traffic at lunchtime, as many people leaving for the lobby as coming back
+    INTERFLOOR - traffic between floors spread evenly over the building
+
+    Attributes:
+        representation    - the name of the scenario used in reports and in the baseline file
+
+        fractionFromLobby - the probability that a person arrives at the lobby and travels up
+
+        fractionToLobby   - the probability that a person travels down to the lobby
+     */
+
+    UP_PEAK("up-peak", 0.85, 0.05),
+    DOWN_PEAK("down-peak", 0.05, 0.85),
+    LUNCH("lunch", 0.45, 0.45),
+    INTERFLOOR("interfloor", 0.0, 0.0);
+
+    private final String representation;
+    private final double fractionFromLobby;
+    private final double fractionToLobby;
+
+    // Constructor of the TrafficScenario class. 'TrafficScenario' objects are not meant to be instantiated.
+
+    private TrafficScenario(String representation, double fractionFromLobby, double fractionToLobby)
+    {
+        this.representation = representation;
+        this.fractionFromLobby = fractionFromLobby;
+        this.fractionToLobby = fractionToLobby;
+    }
+
+    // Returns the name of the scenario used in reports and in the baseline file.
+
+    String getRepresentation()
+    {
+        return representation;
+    }
+
+    // Returns the probability that a person arrives at the lobby and travels up.
+
+    double getFractionFromLobby()
+    {
+        return fractionFromLobby;
+    }
+
+    // Returns the probability that a person travels down to the lobby.
+
+    double getFractionToLobby()
+    {
+        return fractionToLobby;
+    }
+
+    // Returns the scenario with the given name.
+
+    static TrafficScenario fromRepresentation(String representation)
+    {
+        for(TrafficScenario scenario : values())
+        {
+            if(scenario.representation.equals(representation))
+            {
+                return scenario;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown scenario: " + representation);
+    }
+}
@@ -0,0 +1,184 @@
+package elevatorsystem;
+import java.util.function.LongSupplier;
+
+public class ArrivalRateEstimator implements FloorListener
+{
+    /*
+    The ArrivalRateEstimator class learns how often people call an elevator from each floor in each direction,
+    as the simulation runs. The day is divided into buckets of 'bucketLength' milliseconds. Hall calls are counted
+    until the clock leaves the current bucket, and the count is then folded into two exponentially weighted moving
+    averages: one for the same time of day, which learns daily patterns such as the morning rush over several
+    simulated days, and one over consecutive buckets, which follows the most recent traffic. The time of day
+    average is used once it has been learned, and the recent average until then.
+
+    Rates are kept for every floor and direction, so the memory used grows with the number of floors times the
+    number of buckets in a day, and each time-of-day average is only allocated once its bucket has been seen.
+
+    Attributes:
+        MILLISECONDS_PER_DAY  - number of milliseconds in a simulated day
+
+        MILLISECONDS_PER_HOUR - number of milliseconds in a simulated hour
+
+        clock        - supplies the simulated time, in milliseconds
+
+        minFloor     - the lowest floor of the Building
+
+        bucketLength - the length, in milliseconds, of each bucket of the day
+
+        smoothing    - the weight, between 0 and 1, given to the latest bucket when it is folded into an average
+
+        counts       - the number of hall calls made during the current bucket, indexed by floor number relative to
+                       'minFloor' times two, plus one for calls going down
+
+        recentRates  - the average number of hall calls per millisecond over the most recent buckets, indexed like
+                       'counts'
+
+        dailyRates   - the average number of hall calls per millisecond during each bucket of the day, indexed by
+                       bucket and then like 'counts', or null for a bucket which has not been completed yet
+
+        currentBucket - the number of the bucket 'counts' belongs to, counted from time 0
+
+        folded       - whether any bucket has been folded into 'recentRates' yet
+     */
+
+    private static final long MILLISECONDS_PER_DAY = 86_400_000L;
+    private static final double MILLISECONDS_PER_HOUR = 3_600_000.0;
+
+    private final LongSupplier clock;
+    private final int minFloor;
+    private final long bucketLength;
+    private final double smoothing;
+    private final int[] counts;
+    private final double[] recentRates;
+    private final double[][] dailyRates;
+    private long currentBucket;
+    private boolean folded;
+
+    /*
+    Initializes an estimator for the Floors of the given Building, which reads the time from the given clock, such
+    as the clock of an EventSimulation, and starts counting the hall calls made on the Building's Floors at once.
+    The length of a bucket must divide a day evenly.
+     */
+
+    public ArrivalRateEstimator(Building building, LongSupplier clock, long bucketLength, double smoothing)
+    {
+        if(bucketLength <= 0 || MILLISECONDS_PER_DAY % bucketLength != 0)
+        {
+            throw new IllegalArgumentException("The bucket length must divide a day evenly: " + bucketLength);
+        }
+
+        if(!(smoothing > 0 && smoothing <= 1))
+        {
+            throw new IllegalArgumentException("The smoothing weight must be above 0 and at most 1: " + smoothing);
+        }
+
+        int numberOfFloors = building.getMaxFloor() - building.getMinFloor() + 1;
+        this.clock = clock;
+        this.minFloor = building.getMinFloor();
+        this.bucketLength = bucketLength;
+        this.smoothing = smoothing;
+        this.counts = new int[2 * numberOfFloors];
+        this.recentRates = new double[2 * numberOfFloors];
+        this.dailyRates = new double[(int) (MILLISECONDS_PER_DAY / bucketLength)][];
+        this.currentBucket = Math.floorDiv(clock.getAsLong(), bucketLength);
+
+        building.addFloorListener(this);
+    }
+
+    // Counts a hall call made from the given Floor.
+
+    @Override
+    public void hallCallRegistered(Floor floor, int passenger)
+    {
+        advance();
+
+        Direction direction = floor.getPassengerStore().getDirectionToDestination(passenger);
+        counts[getIndex(floor.getFloorNumber(), direction)]++;
+    }
+
+    /*
+    Returns the expected number of hall calls per hour from the given floor in the given direction at the
+    current time of day.
+     */
+
+    public double getRate(int floor, Direction direction)
+    {
+        advance();
+
+        double[] rates = dailyRates[getBucketOfDay(currentBucket)];
+        return (rates != null ? rates : recentRates)[getIndex(floor, direction)] * MILLISECONDS_PER_HOUR;
+    }
+
+    // Returns the length, in milliseconds, of each bucket of the day.
+
+    public long getBucketLength()
+    {
+        return bucketLength;
+    }
+
+    // Returns the index of the given floor and direction in 'counts' and the averages.
+
+    private int getIndex(int floor, Direction direction)
+    {
+        return 2 * (floor - minFloor) + (direction == Direction.DOWN ? 1 : 0);
+    }
+
+    // Returns the bucket of the day the given bucket falls in.
+
+    private int getBucketOfDay(long bucket)
+    {
+        return (int) Math.floorMod(bucket, (long) dailyRates.length);
+    }
+
+    /*
+    Folds the counts of every bucket the clock has left into the averages. Buckets in which nobody called an
+    elevator are folded as zero counts, but at most a day of them, since folding more would only decay averages
+    which are already close to zero.
+     */
+
+    private void advance()
+    {
+        long bucket = Math.floorDiv(clock.getAsLong(), bucketLength);
+
+        if(bucket <= currentBucket)
+        {
+            return;
+        }
+
+        fold(currentBucket);
+
+        long skipped = Math.min(bucket - currentBucket - 1, dailyRates.length);
+
+        for(long i = 1; i <= skipped; i++)
+        {
+            fold(currentBucket + i);
+        }
+
+        currentBucket = bucket;
+    }
+
+    // Folds the counts of the given bucket into the averages and clears them.
+
+    private void fold(long bucket)
+    {
+        int bucketOfDay = getBucketOfDay(bucket);
+        double[] daily = dailyRates[bucketOfDay];
+        boolean firstDay = daily == null;
+
+        if(firstDay)
+        {
+            daily = new double[counts.length];
+            dailyRates[bucketOfDay] = daily;
+        }
+
+        for(int i = 0; i < counts.length; i++)
+        {
+            double observed = counts[i] / (double) bucketLength;
+            daily[i] = firstDay ? observed : daily[i] + smoothing * (observed - daily[i]);
+            recentRates[i] = folded ? recentRates[i] + smoothing * (observed - recentRates[i]) : observed;
+            counts[i] = 0;
+        }
+
+        folded = true;
+    }
+}
\ No newline at end of file
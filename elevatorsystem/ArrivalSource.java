@@ -0,0 +1,39 @@
+package elevatorsystem;
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface ArrivalSource extends Closeable
+{
+    /*
+    The ArrivalSource interface is a forward-only cursor over a sequence of timestamped passenger arrivals,
+    usually read from a trace file. Only the current arrival is held at any time, so a source can stream
+    traces far larger than memory. Arrivals are expected in chronological order.
+     */
+
+    /*
+    Moves to the next arrival, returning false once the source is exhausted. The getters describe the
+    current arrival until this method is called again.
+     */
+
+    boolean next() throws IOException;
+
+    // Returns the simulated time, in milliseconds, at which the current person arrives.
+
+    long getTime();
+
+    // Returns the id of the current person.
+
+    int getID();
+
+    // Returns the weight of the current person.
+
+    int getWeight();
+
+    // Returns the floor number on which the current person arrives.
+
+    int getStartingFloor();
+
+    // Returns the floor number to which the current person is travelling.
+
+    int getDestinationFloor();
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package elevatorsystem;
+
+public enum BackpressurePolicy
+{
+    /*
+    The BackpressurePolicy enumeration is used to enumerate what an ElevatorEventPublisher does when a batch of
+    events is ready for a subscriber whose buffer is already full, because it has not requested or has not
+    finished handling the batches before it.
+
+    DROP   - the new batch is discarded for that subscriber, which keeps receiving later batches once it catches
+             up. The simulation never waits
+    BUFFER - the subscriber is sent onError() and cancelled, so that a subscriber which only accepts complete
+             streams learns that it fell behind. The simulation never waits
+    BLOCK  - the simulation waits until the subscriber has taken a batch from its buffer, so every subscriber
+             receives every event at the pace of the slowest one
+     */
+
+    DROP,
+    BUFFER,
+    BLOCK
+}
\ No newline at end of file
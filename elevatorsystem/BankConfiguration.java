@@ -0,0 +1,162 @@
+package elevatorsystem;
+
+public class BankConfiguration
+{
+    /*
+    The BankConfiguration class is one point of a ConfigurationSpace: the number, size and placement of the cars
+    of an ElevatorBank, together with the strategy and policies they run. A BankOptimizer builds a fresh Building
+    and ElevatorBank from it for every evaluation, so a configuration can be tried without editing the code which
+    sets up a simulation.
+
+    Attributes:
+        index            - the position of the configuration in its ConfigurationSpace, which identifies it
+                           within that space
+
+        numberOfCars     - the number of Elevators in the bank
+
+        maximumPeople    - the number of passengers each Elevator can carry
+
+        maximumWeight    - the total passenger weight each Elevator can carry
+
+        startingFloor    - the floor every Elevator starts at
+
+        parkingFloor     - the floor idle Elevators move to, ConfigurationSpace.NO_PARKING to leave them where
+                           their last trip ended, or ConfigurationSpace.PREDICTIVE_PARKING to park them with a
+                           PredictiveParkingPolicy
+
+        strategy         - the strategy which plans the trips of every Elevator
+
+        boardingPolicy   - the policy which decides the order in which people board
+     */
+
+    private final long index;
+    private final int numberOfCars;
+    private final int maximumPeople;
+    private final int maximumWeight;
+    private final int startingFloor;
+    private final int parkingFloor;
+    private final SchedulingStrategy strategy;
+    private final BoardingPolicy boardingPolicy;
+
+    // Initializes a BankConfiguration with the given values.
+
+    BankConfiguration(long index, int numberOfCars, int maximumPeople, int maximumWeight, int startingFloor,
+            int parkingFloor, SchedulingStrategy strategy, BoardingPolicy boardingPolicy)
+    {
+        this.index = index;
+        this.numberOfCars = numberOfCars;
+        this.maximumPeople = maximumPeople;
+        this.maximumWeight = maximumWeight;
+        this.startingFloor = startingFloor;
+        this.parkingFloor = parkingFloor;
+        this.strategy = strategy;
+        this.boardingPolicy = boardingPolicy;
+    }
+
+    // Returns the position of the configuration in its ConfigurationSpace.
+
+    public long getIndex()
+    {
+        return index;
+    }
+
+    // Returns the number of Elevators in the bank.
+
+    public int getNumberOfCars()
+    {
+        return numberOfCars;
+    }
+
+    // Returns the number of passengers each Elevator can carry.
+
+    public int getMaximumPeople()
+    {
+        return maximumPeople;
+    }
+
+    // Returns the total passenger weight each Elevator can carry.
+
+    public int getMaximumWeight()
+    {
+        return maximumWeight;
+    }
+
+    // Returns the floor every Elevator starts at.
+
+    public int getStartingFloor()
+    {
+        return startingFloor;
+    }
+
+    // Returns the parking floor, or one of the ConfigurationSpace parking constants.
+
+    public int getParkingFloor()
+    {
+        return parkingFloor;
+    }
+
+    // Returns the strategy which plans the trips of every Elevator.
+
+    public SchedulingStrategy getSchedulingStrategy()
+    {
+        return strategy;
+    }
+
+    // Returns the policy which decides the order in which people board.
+
+    public BoardingPolicy getBoardingPolicy()
+    {
+        return boardingPolicy;
+    }
+
+    /*
+    Builds an ElevatorBank in a new Building with the given floors and returns a simulation of it, without any
+    arrivals. The Building logs to the Logger of the current thread.
+     */
+
+    public EventSimulation createSimulation(int minFloor, int maxFloor)
+    {
+        Building building = new Building(minFloor, maxFloor);
+        ElevatorBank bank = new ElevatorBank(building);
+        bank.setSchedulingStrategy(strategy);
+        bank.setBoardingPolicy(boardingPolicy);
+
+        for(int i = 0; i < numberOfCars; i++)
+        {
+            bank.addElevator(startingFloor, maximumPeople, maximumWeight);
+        }
+
+        EventSimulation simulation = new EventSimulation(bank);
+
+        if(parkingFloor == ConfigurationSpace.PREDICTIVE_PARKING)
+        {
+            ArrivalRateEstimator rates = new ArrivalRateEstimator(building, simulation::getCurrentTime,
+                    ConfigurationSpace.RATE_BUCKET_LENGTH, ConfigurationSpace.RATE_SMOOTHING);
+            simulation.setParkingPolicy(new PredictiveParkingPolicy(rates));
+        }
+        else if(parkingFloor != ConfigurationSpace.NO_PARKING)
+        {
+            simulation.setParkingPolicy((e, elevators) -> parkingFloor);
+        }
+
+        return simulation;
+    }
+
+    // Returns a one-line description of the configuration.
+
+    @Override
+    public String toString()
+    {
+        String parking = parkingFloor == ConfigurationSpace.NO_PARKING ? "none"
+                : parkingFloor == ConfigurationSpace.PREDICTIVE_PARKING ? "predictive"
+                : Integer.toString(parkingFloor);
+
+        return numberOfCars + " cars of " + maximumPeople + " people / " + maximumWeight
+                + ", starting floor " + startingFloor
+                + ", parking " + parking
+                + ", " + strategy.getClass().getSimpleName()
+                + (boardingPolicy.isFifo() ? ", FIFO boarding"
+                        : ", skip-ahead boarding (" + boardingPolicy.getMaximumSkips() + ", "
+                        + boardingPolicy.getLookahead() + ")");
+    }
+}
\ No newline at end of file
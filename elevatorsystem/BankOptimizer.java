@@ -0,0 +1,366 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+public class BankOptimizer
+{
+    /*
+    The BankOptimizer class searches a ConfigurationSpace for the ElevatorBank configurations which best trade
+    wait time against number of cars, by simulating each candidate on the same workload in parallel on a
+    fork-join pool. The space can be searched exhaustively, by random sampling, or by an evolutionary search
+    which breeds new candidates from the best found so far. Each search returns every result along with their
+    Pareto front of mean wait time against number of cars.
+
+    A workload is a function which opens the arrivals of a run from a seed. Every candidate of a search is run on
+    the arrivals opened with the search's seed, so that candidates are compared on identical traffic.
+
+    Candidates are evaluated in batches of BATCH_SIZE. While a candidate runs it is checked every CHECK_INTERVAL
+    of simulated time, and stopped early once it is clearly bad: when more than 'maximumBacklog' people are
+    waiting, or when its mean wait exceeds 'pruneRatio' times that of a configuration with no more cars found by
+    an earlier batch. The bounds only depend on earlier batches, so, as with a MonteCarloRunner, the results do
+    not depend on the number of threads used.
+
+    Attributes:
+        BATCH_SIZE     - the number of candidates evaluated between updates of the pruning bounds
+
+        CHECK_INTERVAL - the simulated time, in milliseconds, between checks of a running candidate
+
+        MINIMUM_SAMPLE - the number of people who must have boarded before a candidate's mean wait is compared
+
+        LOG_CAPACITY   - the ring buffer capacity of each evaluation's Logger
+
+        pool           - the fork-join pool the evaluations run on
+
+        pruneRatio     - how many times longer than a known configuration's mean wait a candidate may wait
+
+        maximumBacklog - the number of people who may be waiting before a candidate is stopped
+     */
+
+    private static final int BATCH_SIZE = 64;
+    private static final long CHECK_INTERVAL = 5 * 60 * 1000L;
+    private static final int MINIMUM_SAMPLE = 100;
+    private static final int LOG_CAPACITY = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private double pruneRatio;
+    private int maximumBacklog;
+
+    // Initializes a BankOptimizer which uses every available processor.
+
+    public BankOptimizer()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Initializes a BankOptimizer which runs at most 'parallelism' evaluations at a time.
+
+    public BankOptimizer(int parallelism)
+    {
+        if(parallelism < 1)
+        {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+
+        this.pool = new ForkJoinPool(parallelism);
+        this.pruneRatio = 2.0;
+        this.maximumBacklog = 1000;
+    }
+
+    /*
+    Sets how many times longer than the best known configuration with no more cars a candidate may wait on
+    average, and how many people may be waiting at once, before its evaluation is stopped. A ratio of infinity
+    and a backlog of Integer.MAX_VALUE turn pruning off.
+     */
+
+    public void setPruning(double pruneRatio, int maximumBacklog)
+    {
+        if(!(pruneRatio >= 1.0) || maximumBacklog < 1)
+        {
+            throw new IllegalArgumentException("The prune ratio must be at least 1 and the backlog positive.");
+        }
+
+        this.pruneRatio = pruneRatio;
+        this.maximumBacklog = maximumBacklog;
+    }
+
+    // Evaluates every configuration in the space, in index order.
+
+    public OptimizationSummary gridSearch(ConfigurationSpace space, LongFunction<ArrivalSource> workload, long seed)
+    {
+        List<OptimizationResult> results = new ArrayList<>();
+        List<BankConfiguration> batch = new ArrayList<>(BATCH_SIZE);
+        long size = space.size();
+
+        for(long i = 0; i < size; i++)
+        {
+            batch.add(space.get(i));
+
+            if(batch.size() == BATCH_SIZE || i == size - 1)
+            {
+                results.addAll(evaluate(batch, results, space, workload, seed));
+                batch.clear();
+            }
+        }
+
+        return new OptimizationSummary(results);
+    }
+
+    // Evaluates up to 'samples' distinct configurations drawn at random from the space.
+
+    public OptimizationSummary randomSearch(ConfigurationSpace space, LongFunction<ArrivalSource> workload,
+            int samples, long seed)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<Long> generated = new HashSet<>();
+        List<OptimizationResult> results = new ArrayList<>();
+        List<BankConfiguration> batch = new ArrayList<>(BATCH_SIZE);
+        samples = (int) Math.min(samples, space.size());
+
+        while(generated.size() < samples)
+        {
+            BankConfiguration configuration = space.random(random);
+
+            if(generated.add(configuration.getIndex()))
+            {
+                batch.add(configuration);
+            }
+
+            if(batch.size() == BATCH_SIZE || generated.size() == samples)
+            {
+                results.addAll(evaluate(batch, results, space, workload, seed));
+                batch.clear();
+            }
+        }
+
+        return new OptimizationSummary(results);
+    }
+
+    /*
+    Runs an evolutionary search for the given number of generations. The first generation is drawn at random,
+    and each later one is bred from the results so far: parents are picked by tournament, preferring results
+    dominated by fewer others, then combined by crossover and mutated. Configurations are never evaluated twice,
+    so the search stops early if it runs out of new ones.
+     */
+
+    public OptimizationSummary evolutionarySearch(ConfigurationSpace space, LongFunction<ArrivalSource> workload,
+            int populationSize, int generations, long seed)
+    {
+        if(populationSize < 2 || generations < 1)
+        {
+            throw new IllegalArgumentException("An evolutionary search needs a population of at least 2 and at "
+                    + "least one generation.");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<Long> generated = new HashSet<>();
+        List<OptimizationResult> results = new ArrayList<>();
+
+        for(int generation = 0; generation < generations; generation++)
+        {
+            List<OptimizationResult> parents = new ArrayList<>();
+            int[] ranks = null;
+
+            for(OptimizationResult result : results)
+            {
+                if(!result.isPruned())
+                {
+                    parents.add(result);
+                }
+            }
+
+            if(!parents.isEmpty())
+            {
+                ranks = rank(parents);
+            }
+
+            List<BankConfiguration> population = new ArrayList<>(populationSize);
+            int attempts = 0;
+
+            // A bounded number of attempts stops the search once the space is nearly exhausted.
+            while(population.size() < populationSize && generated.size() < space.size()
+                    && attempts++ < populationSize * 20)
+            {
+                BankConfiguration child;
+
+                if(ranks == null)
+                {
+                    child = space.random(random);
+                }
+                else
+                {
+                    BankConfiguration first = selectParent(parents, ranks, random);
+                    BankConfiguration second = selectParent(parents, ranks, random);
+                    child = space.mutate(space.crossover(first, second, random), random);
+                }
+
+                if(generated.add(child.getIndex()))
+                {
+                    population.add(child);
+                }
+            }
+
+            if(population.isEmpty())
+            {
+                break;
+            }
+
+            for(int i = 0; i < population.size(); i += BATCH_SIZE)
+            {
+                results.addAll(evaluate(population.subList(i, Math.min(i + BATCH_SIZE, population.size())),
+                        results, space, workload, seed));
+            }
+        }
+
+        return new OptimizationSummary(results);
+    }
+
+    // Returns, for each result, the number of other results which dominate it.
+
+    private static int[] rank(List<OptimizationResult> results)
+    {
+        int[] ranks = new int[results.size()];
+
+        for(int i = 0; i < results.size(); i++)
+        {
+            for(int j = 0; j < results.size(); j++)
+            {
+                if(results.get(j).dominates(results.get(i)))
+                {
+                    ranks[i]++;
+                }
+            }
+        }
+
+        return ranks;
+    }
+
+    // Picks the better of two results drawn at random: the one dominated by fewer results, then the one waiting less.
+
+    private static BankConfiguration selectParent(List<OptimizationResult> results, int[] ranks,
+            SplittableRandom random)
+    {
+        int first = random.nextInt(results.size());
+        int second = random.nextInt(results.size());
+
+        if(ranks[second] < ranks[first] || (ranks[second] == ranks[first]
+                && results.get(second).getMeanWaitTime() < results.get(first).getMeanWaitTime()))
+        {
+            first = second;
+        }
+
+        return results.get(first).getConfiguration();
+    }
+
+    /*
+    Evaluates a batch of configurations in parallel, pruning each against the results of earlier batches, and
+    returns their results in the order of the batch.
+     */
+
+    private List<OptimizationResult> evaluate(List<BankConfiguration> batch, List<OptimizationResult> earlier,
+            ConfigurationSpace space, LongFunction<ArrivalSource> workload, long seed)
+    {
+        List<OptimizationResult> front = OptimizationSummary.findParetoFront(earlier);
+        List<Callable<OptimizationResult>> tasks = new ArrayList<>(batch.size());
+
+        for(BankConfiguration configuration : batch)
+        {
+            double waitBound = Double.POSITIVE_INFINITY;
+
+            // The front is ordered by number of cars with falling wait times, so the last configuration with
+            // no more cars than the candidate waits least among them.
+            for(OptimizationResult result : front)
+            {
+                if(result.getNumberOfCars() <= configuration.getNumberOfCars())
+                {
+                    waitBound = result.getMeanWaitTime() * pruneRatio;
+                }
+            }
+
+            double bound = waitBound;
+            tasks.add(() -> evaluate(configuration, space, workload, seed, bound));
+        }
+
+        List<OptimizationResult> results = new ArrayList<>(batch.size());
+
+        for(Future<OptimizationResult> future : pool.invokeAll(tasks))
+        {
+            try
+            {
+                results.add(future.get());
+            }
+            catch(InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for evaluations.", e);
+            }
+            catch(ExecutionException e)
+            {
+                throw new IllegalStateException("An evaluation failed.", e.getCause());
+            }
+        }
+
+        return results;
+    }
+
+    /*
+    Simulates one configuration on the workload with its own Logger, which is off, bound to the current thread,
+    and stops early if its mean wait exceeds 'waitBound' or too many people are waiting.
+     */
+
+    private OptimizationResult evaluate(BankConfiguration configuration, ConfigurationSpace space,
+            LongFunction<ArrivalSource> workload, long seed, double waitBound)
+    {
+        Logger logger = new Logger(new PrintStream(OutputStream.nullOutputStream()), LogLevel.OFF, LOG_CAPACITY);
+        Logger.setThreadLogger(logger);
+
+        try(ArrivalSource arrivals = workload.apply(seed))
+        {
+            EventSimulation simulation = configuration.createSimulation(space.getMinFloor(), space.getMaxFloor());
+            simulation.setArrivalSource(arrivals);
+            long time = 0;
+
+            while(simulation.getNumberOfPendingEvents() > 0)
+            {
+                time += CHECK_INTERVAL;
+                simulation.runUntil(time);
+
+                if(simulation.getBuilding().getNumberOfPeopleWaiting() > maximumBacklog
+                        || (simulation.getWaitTimeHistogram().getTotalCount() >= MINIMUM_SAMPLE
+                        && simulation.getAverageWaitTime() > waitBound))
+                {
+                    return new OptimizationResult(configuration, true, simulation);
+                }
+            }
+
+            return new OptimizationResult(configuration, false, simulation);
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        finally
+        {
+            Logger.setThreadLogger(null);
+            logger.close();
+        }
+    }
+
+    // Stops the worker threads once any running search has finished.
+
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryArrivalReader implements ArrivalSource
+{
+    /*
+    The BinaryArrivalReader class streams passenger arrivals from the compact binary trace format written by
+    BinaryArrivalWriter. The file starts with a header of four little-endian ints, the magic number, the format
+    version, the record size and a reserved zero, followed by fixed-size records of:
+
+        long time, int id, int weight, int startingFloor, int destinationFloor
+
+    The file is memory-mapped one window at a time, so records are decoded straight from the page cache and
+    memory use does not depend on the length of the trace.
+
+    Attributes:
+        MAGIC          - the first four bytes of every binary trace, "ELVT" when read as little-endian ASCII
+
+        VERSION        - the version of the format this class reads and BinaryArrivalWriter writes
+
+        HEADER_SIZE    - the size, in bytes, of the header
+
+        RECORD_SIZE    - the size, in bytes, of one arrival record
+
+        WINDOW_RECORDS - the number of records mapped at a time
+
+        channel        - the channel the trace is read from
+
+        fileSize       - the size, in bytes, of the trace
+
+        window         - the currently mapped part of the trace
+
+        windowStart    - the offset in the file of the first byte of 'window'
+
+        nextRecord     - the offset in the file of the next record to read
+
+        time / id / weight / startingFloor / destinationFloor - the details of the current arrival
+     */
+
+    static final int MAGIC = 0x54564C45;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 24;
+    private static final int WINDOW_RECORDS = 1 << 18;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long nextRecord;
+
+    private long time;
+    private int id;
+    private int weight;
+    private int startingFloor;
+    private int destinationFloor;
+
+    // Opens a binary trace and checks its header.
+
+    public BinaryArrivalReader(Path path) throws IOException
+    {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+
+        try
+        {
+            readHeader();
+        }
+        catch(IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+
+        this.nextRecord = HEADER_SIZE;
+        this.windowStart = HEADER_SIZE;
+    }
+
+    // Checks that the file starts with a header this class can read.
+
+    private void readHeader() throws IOException
+    {
+        if(fileSize < HEADER_SIZE)
+        {
+            throw new IOException("Not a binary arrival trace: the file is too short.");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        while(header.hasRemaining() && channel.read(header, header.position()) >= 0)
+        {
+            // Keep reading until the header is complete.
+        }
+
+        header.flip();
+
+        if(header.getInt() != MAGIC)
+        {
+            throw new IOException("Not a binary arrival trace: bad magic number.");
+        }
+
+        int version = header.getInt();
+
+        if(version != VERSION)
+        {
+            throw new IOException("Unsupported binary arrival trace version: " + version);
+        }
+
+        if(header.getInt() != RECORD_SIZE)
+        {
+            throw new IOException("Unexpected record size in binary arrival trace.");
+        }
+
+        if((fileSize - HEADER_SIZE) % RECORD_SIZE != 0)
+        {
+            throw new IOException("The binary arrival trace ends with an incomplete record.");
+        }
+    }
+
+    // Decodes the next record, mapping the next window of the file when the current one is used up.
+
+    @Override
+    public boolean next() throws IOException
+    {
+        if(nextRecord >= fileSize)
+        {
+            return false;
+        }
+
+        if(window == null || nextRecord - windowStart >= window.limit())
+        {
+            windowStart = nextRecord;
+            long length = Math.min((long) WINDOW_RECORDS * RECORD_SIZE, fileSize - windowStart);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int offset = (int) (nextRecord - windowStart);
+        time = window.getLong(offset);
+        id = window.getInt(offset + 8);
+        weight = window.getInt(offset + 12);
+        startingFloor = window.getInt(offset + 16);
+        destinationFloor = window.getInt(offset + 20);
+        nextRecord += RECORD_SIZE;
+        return true;
+    }
+
+    // Returns the number of arrival records in the trace.
+
+    public long getNumberOfRecords()
+    {
+        return (fileSize - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    // Returns the simulated time, in milliseconds, at which the current person arrives.
+
+    @Override
+    public long getTime()
+    {
+        return time;
+    }
+
+    // Returns the id of the current person.
+
+    @Override
+    public int getID()
+    {
+        return id;
+    }
+
+    // Returns the weight of the current person.
+
+    @Override
+    public int getWeight()
+    {
+        return weight;
+    }
+
+    // Returns the floor number on which the current person arrives.
+
+    @Override
+    public int getStartingFloor()
+    {
+        return startingFloor;
+    }
+
+    // Returns the floor number to which the current person is travelling.
+
+    @Override
+    public int getDestinationFloor()
+    {
+        return destinationFloor;
+    }
+
+    // Closes the underlying file. The mapped window is released once it is garbage collected.
+
+    @Override
+    public void close() throws IOException
+    {
+        window = null;
+        channel.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package elevatorsystem;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryArrivalWriter implements Closeable
+{
+    /*
+    The BinaryArrivalWriter class writes passenger arrivals in the compact binary trace format read by
+    BinaryArrivalReader. It is mainly used to convert a CSV trace once, so that later simulations can skip
+    parsing text.
+
+    Attributes:
+        BUFFER_RECORDS     - the number of records buffered before they are written to the file
+
+        channel            - the channel the trace is written to
+
+        buffer             - records which have not been written to 'channel' yet
+
+        numberOfRecords    - the number of records written so far
+     */
+
+    private static final int BUFFER_RECORDS = 1 << 12;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long numberOfRecords;
+
+    // Creates or truncates the given file and writes the trace header.
+
+    public BinaryArrivalWriter(Path path) throws IOException
+    {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocate(BUFFER_RECORDS * BinaryArrivalReader.RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(BinaryArrivalReader.MAGIC);
+        buffer.putInt(BinaryArrivalReader.VERSION);
+        buffer.putInt(BinaryArrivalReader.RECORD_SIZE);
+        buffer.putInt(0);
+    }
+
+    // Appends one arrival to the trace.
+
+    public void write(long time, int id, int weight, int startingFloor, int destinationFloor) throws IOException
+    {
+        if(buffer.remaining() < BinaryArrivalReader.RECORD_SIZE)
+        {
+            flush();
+        }
+
+        buffer.putLong(time);
+        buffer.putInt(id);
+        buffer.putInt(weight);
+        buffer.putInt(startingFloor);
+        buffer.putInt(destinationFloor);
+        numberOfRecords++;
+    }
+
+    // Appends every remaining arrival of the given source to the trace and returns how many were written.
+
+    public long writeAll(ArrivalSource source) throws IOException
+    {
+        long written = 0;
+
+        while(source.next())
+        {
+            write(source.getTime(), source.getID(), source.getWeight(), source.getStartingFloor(),
+                    source.getDestinationFloor());
+            written++;
+        }
+
+        return written;
+    }
+
+    // Returns the number of arrivals written so far.
+
+    public long getNumberOfRecords()
+    {
+        return numberOfRecords;
+    }
+
+    // Writes the buffered records to the file.
+
+    public void flush() throws IOException
+    {
+        buffer.flip();
+
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    // Writes any buffered records and closes the file.
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            flush();
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package elevatorsystem;
+
+public class BoardingPolicy
+{
+    /*
+    The BoardingPolicy class decides how an Elevator admits the people waiting at a floor when the person at the
+    front of the queue does not fit in the remaining weight capacity. Under strict FIFO boarding nobody behind
+    them may board, so one heavy person can hold back a whole queue of people who would fit. A policy which allows
+    skipping lets the Elevator look further down the queue, while bounding how unfair this can be to the person
+    who is passed over.
+
+    Attributes:
+        FIFO         - a shared policy under which people board strictly in the order they arrived. This is the
+                       default for every Elevator
+
+        maximumSkips - the number of stops at which a person may be passed over before the Elevator stops loading
+                       anyone behind them. Once a person has been skipped this many times, boarding at their floor
+                       is strictly FIFO again until they have boarded
+
+        lookahead    - the maximum number of people who may be passed over at a single stop
+     */
+
+    public static final BoardingPolicy FIFO = new BoardingPolicy(0, 0);
+
+    private final int maximumSkips;
+    private final int lookahead;
+
+    // Initializes a BoardingPolicy with the given bounds.
+
+    private BoardingPolicy(int maximumSkips, int lookahead)
+    {
+        this.maximumSkips = maximumSkips;
+        this.lookahead = lookahead;
+    }
+
+    /*
+    Returns a policy which lets people board past up to 'lookahead' people who do not fit in the Elevator, as long
+    as none of those people has already been passed over at 'maximumSkips' stops.
+     */
+
+    public static BoardingPolicy skipAhead(int maximumSkips, int lookahead)
+    {
+        if(maximumSkips < 0 || lookahead < 0)
+        {
+            throw new IllegalArgumentException("The skip bounds must not be negative");
+        }
+
+        return maximumSkips == 0 || lookahead == 0 ? FIFO : new BoardingPolicy(maximumSkips, lookahead);
+    }
+
+    // Returns the number of stops at which a person may be passed over.
+
+    public int getMaximumSkips()
+    {
+        return maximumSkips;
+    }
+
+    // Returns the maximum number of people who may be passed over at a single stop.
+
+    public int getLookahead()
+    {
+        return lookahead;
+    }
+
+    // Returns true if the policy never lets anyone board ahead of the person at the front of the queue.
+
+    public boolean isFifo()
+    {
+        return maximumSkips == 0;
+    }
+}
\ No newline at end of file
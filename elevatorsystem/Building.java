@@ -1,6 +1,9 @@
 package elevatorsystem;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 
 public class Building
 {
@@ -8,43 +11,172 @@ public class Building
     The Building class represents a range of floors in which the Elevator can move.
 
     Attributes:
-        logger   - a singleton instance of the Logger class used to log the creation
-                   of Building objects
+        logger   - the Logger used to log the creation of the Building, which its Elevators also log to
 
-        floors   - a hashmap which stores key-value pairs where the integer is a floor number
-                   and the value is the associated Floor object
+        floors   - an array of Floor objects indexed by floor number relative to 'minFloor', so that
+                   retrieving a Floor is a single array access. A Floor is only created the first time it is
+                   retrieved, so the entries of floors nobody has called from are null
+
+        floorMap - the mapping between floor numbers and floor labels, which is only consulted when
+                   reading input or logging
 
         minFloor - the lowest Floor that an Elevator can travel to within a particular Building
 
         maxFloor - the highest Floor that an Elevator can travel to within a particular Building
+
+        peopleWaitingUp   - an occupancy index with one bit per floor, relative to 'minFloor', which is set
+                            while that Floor has people waiting to move to a higher floor. Like the index
+                            below, it only grows as far as the highest floor people have waited on
+
+        peopleWaitingDown - an occupancy index with one bit per floor, relative to 'minFloor', which is set
+                            while that Floor has people waiting to move to a lower floor
+
+        numberOfPeopleWaiting - the total number of people waiting in the queues of all Floors
+
+        passengers        - holds the details of every person waiting on a Floor of the Building or riding
+                            in one of its Elevators
+
+        elevatorBank      - the ElevatorBank which dispatches hall calls made in this Building to its
+                            elevators, or null if people wait in the Floor queues for a single Elevator
+
+        floorListeners    - objects notified whenever a person calls an elevator from one of the Floors
      */
 
-    private static final Logger logger = Logger.getLogger();
-    private final Map<Integer, Floor> floors;
+    private final Logger logger;
+    private final Floor[] floors;
+    private final FloorMap floorMap;
     private final int minFloor;
     private final int maxFloor;
+    private final BitSet peopleWaitingUp;
+    private final BitSet peopleWaitingDown;
+    private int numberOfPeopleWaiting;
+    private final PassengerStore passengers;
+    private ElevatorBank elevatorBank;
+    private final List<FloorListener> floorListeners;
 
     // Initializes a Building object with Floors with numbers ranging from 'minFloor' to 'maxFloor'.
 
     public Building(int minFloor, int maxFloor)
     {
-        this.minFloor = minFloor;
-        this.maxFloor = maxFloor;
-        floors = new HashMap<>();
+        this(new FloorMap(minFloor, maxFloor));
+    }
+
+    /*
+    Initializes a Building object with labeled Floors, ordered from the lowest floor to the highest floor.
+    The Floors are numbered from 0 to N - 1, and the labels are used when logging.
+     */
+
+    public Building(String... floorLabels)
+    {
+        this(new FloorMap(floorLabels));
+    }
+
+    // Initializes a Building object with a Floor for every floor number in the given mapping.
+
+    public Building(FloorMap floorMap)
+    {
+        this(floorMap, new PassengerStore(), Logger.getLogger(), true);
+    }
+
+    /*
+    Initializes a Building object with the same floor numbers, labels and PassengerStore as another Building,
+    without logging its creation. Used by an ElevatorBank to give each of its elevators its own view of the hall
+    calls assigned to it.
+     */
+
+    Building(Building shared)
+    {
+        this(shared.floorMap, shared.passengers, shared.logger, false);
+    }
+
+    /*
+    Initializes a view of another Building, like the constructor above, but with its own PassengerStore. Used by a
+    LiveController, whose cars run on separate threads and so must not share a PassengerStore.
+     */
+
+    Building(Building shared, PassengerStore passengers)
+    {
+        this(shared.floorMap, passengers, shared.logger, false);
+    }
+
+    /*
+    Prepares a Building whose Floors are created as they are needed. The Building and its Elevators log to the
+    given Logger, which records the creation of the Building if requested.
+     */
+
+    private Building(FloorMap floorMap, PassengerStore passengers, Logger logger, boolean logCreation)
+    {
+        this.logger = logger;
+        this.floorMap = floorMap;
+        this.passengers = passengers;
+        this.minFloor = floorMap.getMinFloor();
+        this.maxFloor = floorMap.getMaxFloor();
+        floors = new Floor[maxFloor - minFloor + 1];
+        peopleWaitingUp = new BitSet();
+        peopleWaitingDown = new BitSet();
+        floorListeners = new ArrayList<>();
 
-        for(int i = minFloor; i <= maxFloor; i++)
+        if(logCreation)
         {
-            floors.put(i, new Floor(i));
+            logger.logBuilding(this);
         }
-
-        logger.logBuilding(this);
     }
 
-    // Retrieves the Floor object for a given floor number.
+    /*
+    Retrieves the Floor object for a given floor number, creating it the first time it is retrieved. Code in this
+    package which only reads a Floor's queues uses peekFloor instead, so that reading never creates a Floor.
+     */
 
     public Floor getFloor(int floor)
     {
-        return floors.get(floor);
+        Floor f = floors[floor - minFloor];
+
+        if(f == null)
+        {
+            f = new Floor(floor, this);
+            floors[floor - minFloor] = f;
+        }
+
+        return f;
+    }
+
+    /*
+    Retrieves the Floor object for a given floor number without creating it, for code which only reads its
+    queues. Returns the shared Floor.EMPTY if the Floor has not been created yet.
+     */
+
+    Floor peekFloor(int floor)
+    {
+        Floor f = floors[floor - minFloor];
+        return f == null ? Floor.EMPTY : f;
+    }
+
+    // Retrieves the Floor object for a given floor label.
+
+    public Floor getFloor(String label)
+    {
+        return getFloor(floorMap.getFloorNumber(label));
+    }
+
+    // Returns the floor number associated with a floor label.
+
+    public int getFloorNumber(String label)
+    {
+        return floorMap.getFloorNumber(label);
+    }
+
+    // Returns the label associated with a floor number.
+
+    public String getFloorLabel(int floor)
+    {
+        return floorMap.getLabel(floor);
+    }
+
+    // Returns the mapping between floor numbers and floor labels used by this Building.
+
+    public FloorMap getFloorMap()
+    {
+        return floorMap;
     }
 
     // Returns the highest floor number in a Building.
@@ -61,66 +193,206 @@ public class Building
         return minFloor;
     }
 
+    // Returns the PassengerStore holding the details of every person in the Building.
+
+    public PassengerStore getPassengerStore()
+    {
+        return passengers;
+    }
+
+    // Returns the Logger the Building and its Elevators log to.
+
+    public Logger getLogger()
+    {
+        return logger;
+    }
+
+    // Returns the total number of people waiting on all Floors of the Building.
+
+    public int getNumberOfPeopleWaiting()
+    {
+        return numberOfPeopleWaiting;
+    }
+
+    // Returns the ElevatorBank serving this Building, or null if it is served by a single Elevator.
+
+    public ElevatorBank getElevatorBank()
+    {
+        return elevatorBank;
+    }
+
+    // Attaches the ElevatorBank which dispatches the hall calls made in this Building.
+
+    void setElevatorBank(ElevatorBank elevatorBank)
+    {
+        if(this.elevatorBank != null)
+        {
+            throw new IllegalStateException("Building is already served by an elevator bank.");
+        }
+
+        this.elevatorBank = elevatorBank;
+    }
+
     /*
-    Returns the closest floor number, given a starting floor, with a pending request.
+    Hands a person who called an elevator from the given floor to the ElevatorBank serving this Building.
+    Returns false if there is no bank, or it has no elevators yet, in which case the person waits on the Floor.
      */
 
-    public int findNearestWaitingFloor(int startingFloor)
+    boolean dispatchHallCall(int floor, int passenger)
     {
-        // Store the first floors directly above and below the starting floor.
-        int belowNumber = startingFloor - 1;
-        int aboveNumber = startingFloor + 1;
+        return elevatorBank != null && elevatorBank.dispatch(floor, passenger);
+    }
+
+    // Registers a listener which is notified whenever a person calls an elevator from one of the Floors.
+
+    public void addFloorListener(FloorListener listener)
+    {
+        floorListeners.add(listener);
+    }
 
-        while(aboveNumber <= getMaxFloor() && belowNumber >= getMinFloor())
+    // Notifies the listeners of the Building that a person has called an elevator from the given Floor.
+
+    void hallCallRegistered(Floor floor, int passenger)
+    {
+        for(int i = 0; i < floorListeners.size(); i++)
         {
-            // Retrieve the Floor object for the given floor numbers for access to their respective waiting queues.
-            Floor aboveFloor = getFloor(aboveNumber);
-            Floor belowFloor = getFloor(belowNumber);
+            floorListeners.get(i).hallCallRegistered(floor, passenger);
+        }
+    }
 
-            // Look for pending requests in either the higher, or the lower floor.
-            // If requests are found in both floors, the higher floor will always receive priority.
-            if(!aboveFloor.getPeopleGoingUp().isEmpty() || !aboveFloor.getPeopleGoingDown().isEmpty())
+    /*
+    Updates the occupancy index and waiting count for a Floor of this Building. Called by the Floor whenever
+    people join or leave one of its waiting queues.
+     */
+
+    void updateWaitingIndex(Floor floor, int change)
+    {
+        numberOfPeopleWaiting += change;
+
+        int index = floor.getFloorNumber() - minFloor;
+        peopleWaitingUp.set(index, !floor.getPeopleGoingUp().isEmpty());
+        peopleWaitingDown.set(index, !floor.getPeopleGoingDown().isEmpty());
+    }
+
+    /*
+    Writes the people waiting on the Floors of the Building to a simulation snapshot, floor by floor and in
+    the order they are queued, so that restoring them rebuilds the same queues.
+     */
+
+    void writeWaitingPeople(SnapshotWriter out) throws IOException
+    {
+        out.putInt(numberOfPeopleWaiting);
+
+        int floor = findWaitingFloorAbove(minFloor - 1, Direction.STATIONARY);
+
+        while(floor != Integer.MAX_VALUE)
+        {
+            IntQueue up = peekFloor(floor).getPeopleGoingUp();
+            IntQueue down = peekFloor(floor).getPeopleGoingDown();
+
+            for(int i = 0; i < up.size(); i++)
             {
-                return aboveNumber;
+                passengers.writePassenger(out, up.get(i));
             }
 
-            if(!belowFloor.getPeopleGoingUp().isEmpty() || !belowFloor.getPeopleGoingDown().isEmpty())
+            for(int i = 0; i < down.size(); i++)
             {
-                return belowNumber;
+                passengers.writePassenger(out, down.get(i));
             }
 
-            // Expand the search by one floor.
-            aboveNumber++;
-            belowNumber--;
+            floor = findWaitingFloorAbove(floor, Direction.STATIONARY);
+        }
+    }
+
+    // Queues the people written by writeWaitingPeople on their Floors again, without dispatching them.
+
+    void readWaitingPeople(ByteBuffer in)
+    {
+        int count = in.getInt();
+
+        for(int i = 0; i < count; i++)
+        {
+            int passenger = passengers.readPassenger(in);
+            getFloor(passengers.getStartingFloor(passenger)).queuePassenger(passenger);
+        }
+    }
+
+    /*
+    Returns the closest floor number, given a starting floor, with a pending request.
+    If requests are found at an equal distance above and below, the higher floor receives priority.
+     */
+
+    public int findNearestWaitingFloor(int startingFloor)
+    {
+        int aboveNumber = findWaitingFloorAbove(startingFloor, Direction.STATIONARY);
+        int belowNumber = findWaitingFloorBelow(startingFloor, Direction.STATIONARY);
+
+        if(aboveNumber == Integer.MAX_VALUE)
+        {
+            // Returns the sentinel value if there are no pending requests remaining.
+            return belowNumber;
         }
 
-        // If there are unexplored floors above the starting floor, continue searching.
-        while(aboveNumber <= getMaxFloor())
+        if(belowNumber == Integer.MAX_VALUE || aboveNumber - startingFloor <= startingFloor - belowNumber)
         {
-            Floor aboveFloor = getFloor(aboveNumber);
+            return aboveNumber;
+        }
 
-            if(!aboveFloor.getPeopleGoingUp().isEmpty() || !aboveFloor.getPeopleGoingDown().isEmpty())
-            {
-                return aboveNumber;
-            }
+        return belowNumber;
+    }
+
+    /*
+    Returns the lowest floor number above the given floor where people are waiting to move in the given
+    direction, or in either direction if the direction is stationary. Returns Integer.MAX_VALUE if there
+    is no such floor.
+     */
 
-            aboveNumber++;
+    public int findWaitingFloorAbove(int floor, Direction direction)
+    {
+        int fromIndex = Math.max(floor + 1 - minFloor, 0);
+        int index = Integer.MAX_VALUE;
+
+        if(direction != Direction.DOWN)
+        {
+            int upIndex = peopleWaitingUp.nextSetBit(fromIndex);
+            index = upIndex < 0 ? index : upIndex;
         }
 
-        // If there are unexplored floors below the starting floor, continue searching.
-        while(belowNumber >= getMinFloor())
+        if(direction != Direction.UP)
         {
-            Floor belowFloor = getFloor(belowNumber);
+            int downIndex = peopleWaitingDown.nextSetBit(fromIndex);
+            index = downIndex < 0 ? index : Math.min(index, downIndex);
+        }
 
-            if(!belowFloor.getPeopleGoingUp().isEmpty() || !belowFloor.getPeopleGoingDown().isEmpty())
-            {
-                return belowNumber;
-            }
+        return index == Integer.MAX_VALUE ? Integer.MAX_VALUE : index + minFloor;
+    }
+
+    /*
+    Returns the highest floor number below the given floor where people are waiting to move in the given
+    direction, or in either direction if the direction is stationary. Returns Integer.MAX_VALUE if there
+    is no such floor.
+     */
 
-            belowNumber--;
+    public int findWaitingFloorBelow(int floor, Direction direction)
+    {
+        int fromIndex = Math.min(floor - 1 - minFloor, maxFloor - minFloor);
+        int index = -1;
+
+        if(fromIndex < 0)
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        if(direction != Direction.DOWN)
+        {
+            index = peopleWaitingUp.previousSetBit(fromIndex);
+        }
+
+        if(direction != Direction.UP)
+        {
+            index = Math.max(index, peopleWaitingDown.previousSetBit(fromIndex));
         }
 
-        // Return sentinel value, there are no pending requests remaining.
-        return Integer.MAX_VALUE;
+        return index < 0 ? Integer.MAX_VALUE : index + minFloor;
     }
 }
\ No newline at end of file
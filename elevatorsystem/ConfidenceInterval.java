@@ -0,0 +1,124 @@
+package elevatorsystem;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+public class ConfidenceInterval
+{
+    /*
+    The ConfidenceInterval class is a 95% confidence interval for the mean of a quantity measured once per
+    replication, based on Student's t-distribution since batches of replications are often small.
+
+    Attributes:
+        T_CRITICAL_VALUES - the two-sided 95% critical values of Student's t-distribution, indexed by degrees
+                            of freedom minus one, up to 30 degrees of freedom
+
+        Z_CRITICAL_VALUE  - the two-sided 95% critical value of the normal distribution, used for more than
+                            30 degrees of freedom
+
+        mean              - the sample mean
+
+        halfWidth         - the distance from the mean to either end of the interval
+
+        sampleSize        - the number of measurements
+     */
+
+    private static final double[] T_CRITICAL_VALUES =
+    {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_CRITICAL_VALUE = 1.960;
+
+    private final double mean;
+    private final double halfWidth;
+    private final int sampleSize;
+
+    // Initializes a ConfidenceInterval with the given mean and half-width.
+
+    public ConfidenceInterval(double mean, double halfWidth, int sampleSize)
+    {
+        this.mean = mean;
+        this.halfWidth = halfWidth;
+        this.sampleSize = sampleSize;
+    }
+
+    /*
+    Computes the 95% confidence interval for the mean of the measurement taken from each element of the list.
+    The half-width is 0 for fewer than two measurements, since their spread is unknown.
+     */
+
+    public static <T> ConfidenceInterval of(List<T> samples, ToDoubleFunction<T> measurement)
+    {
+        int n = samples.size();
+
+        if(n == 0)
+        {
+            return new ConfidenceInterval(0.0, 0.0, 0);
+        }
+
+        // Welford's algorithm keeps the variance accurate when the values are large and close together.
+        double mean = 0.0;
+        double squaredDeviations = 0.0;
+
+        for(int i = 0; i < n; i++)
+        {
+            double value = measurement.applyAsDouble(samples.get(i));
+            double delta = value - mean;
+            mean += delta / (i + 1);
+            squaredDeviations += delta * (value - mean);
+        }
+
+        if(n < 2)
+        {
+            return new ConfidenceInterval(mean, 0.0, n);
+        }
+
+        double standardError = Math.sqrt(squaredDeviations / (n - 1) / n);
+        double critical = n - 1 <= T_CRITICAL_VALUES.length ? T_CRITICAL_VALUES[n - 2] : Z_CRITICAL_VALUE;
+        return new ConfidenceInterval(mean, critical * standardError, n);
+    }
+
+    // Returns the sample mean.
+
+    public double getMean()
+    {
+        return mean;
+    }
+
+    // Returns the distance from the mean to either end of the interval.
+
+    public double getHalfWidth()
+    {
+        return halfWidth;
+    }
+
+    // Returns the lower end of the interval.
+
+    public double getLower()
+    {
+        return mean - halfWidth;
+    }
+
+    // Returns the upper end of the interval.
+
+    public double getUpper()
+    {
+        return mean + halfWidth;
+    }
+
+    // Returns the number of measurements the interval was computed from.
+
+    public int getSampleSize()
+    {
+        return sampleSize;
+    }
+
+    // Returns the interval in the form "mean +/- halfWidth".
+
+    @Override
+    public String toString()
+    {
+        return String.format("%.1f +/- %.1f", mean, halfWidth);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,375 @@
+package elevatorsystem;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class ConfigurationSpace
+{
+    /*
+    The ConfigurationSpace class describes the ElevatorBank configurations a BankOptimizer searches, as a list of
+    candidate values for each dimension: the number of cars, their capacity and weight limit, their starting and
+    parking floors, the scheduling strategy and the boarding policy. Every combination of one value per dimension
+    is a BankConfiguration, numbered in mixed radix with the number of cars as the most significant digit, so
+    that a grid search visits the smaller banks first. Each dimension defaults to a single value, the one an
+    ElevatorBank uses when nothing else is set.
+
+    Attributes:
+        NO_PARKING         - a parking floor meaning idle Elevators wait wherever their last trip ended
+
+        PREDICTIVE_PARKING - a parking floor meaning idle Elevators are parked by a PredictiveParkingPolicy
+
+        RATE_BUCKET_LENGTH - the time-of-day bucket length, in milliseconds, of the arrival rates predictive
+                             parking learns
+
+        RATE_SMOOTHING     - the weight of the latest interval in the arrival rates predictive parking learns
+
+        minFloor           - the lowest floor of the Building
+
+        maxFloor           - the highest floor of the Building
+
+        numbersOfCars      - the candidate numbers of Elevators
+
+        maximumPeople      - the candidate numbers of passengers an Elevator can carry
+
+        maximumWeights     - the candidate total passenger weights an Elevator can carry
+
+        startingFloors     - the candidate floors the Elevators start at
+
+        parkingFloors      - the candidate parking floors, which may include the parking constants
+
+        strategies         - the candidate scheduling strategies
+
+        boardingPolicies   - the candidate boarding policies
+     */
+
+    public static final int NO_PARKING = Integer.MAX_VALUE;
+    public static final int PREDICTIVE_PARKING = Integer.MIN_VALUE;
+    static final long RATE_BUCKET_LENGTH = 5 * 60 * 1000L;
+    static final double RATE_SMOOTHING = 0.3;
+
+    private final int minFloor;
+    private final int maxFloor;
+    private int[] numbersOfCars;
+    private int[] maximumPeople;
+    private int[] maximumWeights;
+    private int[] startingFloors;
+    private int[] parkingFloors;
+    private List<SchedulingStrategy> strategies;
+    private List<BoardingPolicy> boardingPolicies;
+
+    // Initializes a space of single-car banks, with default values, for a Building with the given floors.
+
+    public ConfigurationSpace(int minFloor, int maxFloor)
+    {
+        if(minFloor >= maxFloor)
+        {
+            throw new IllegalArgumentException("The Building must have at least two floors.");
+        }
+
+        this.minFloor = minFloor;
+        this.maxFloor = maxFloor;
+        this.numbersOfCars = new int[] {1};
+        this.maximumPeople = new int[] {Elevator.DEFAULT_MAXIMUM_PEOPLE};
+        this.maximumWeights = new int[] {Elevator.DEFAULT_MAXIMUM_WEIGHT};
+        this.startingFloors = new int[] {minFloor};
+        this.parkingFloors = new int[] {NO_PARKING};
+        this.strategies = List.of(LookStrategy.INSTANCE);
+        this.boardingPolicies = List.of(BoardingPolicy.FIFO);
+    }
+
+    // Returns the values from 'from' to 'to', inclusive, in steps of 'step'.
+
+    public static int[] range(int from, int to, int step)
+    {
+        if(step < 1 || to < from)
+        {
+            throw new IllegalArgumentException("Invalid range: " + from + " to " + to + " in steps of " + step);
+        }
+
+        int[] values = new int[(to - from) / step + 1];
+
+        for(int i = 0; i < values.length; i++)
+        {
+            values[i] = from + i * step;
+        }
+
+        return values;
+    }
+
+    // Sets the candidate numbers of Elevators.
+
+    public void setNumbersOfCars(int... values)
+    {
+        numbersOfCars = checkPositive(values, "number of cars");
+    }
+
+    // Sets the candidate numbers of passengers an Elevator can carry.
+
+    public void setMaximumPeople(int... values)
+    {
+        maximumPeople = checkPositive(values, "maximum number of people");
+    }
+
+    // Sets the candidate total passenger weights an Elevator can carry.
+
+    public void setMaximumWeights(int... values)
+    {
+        maximumWeights = checkPositive(values, "maximum weight");
+    }
+
+    // Sets the candidate floors the Elevators start at.
+
+    public void setStartingFloors(int... values)
+    {
+        checkNotEmpty(values.length, "starting floor");
+
+        for(int floor : values)
+        {
+            checkFloor(floor);
+        }
+
+        startingFloors = values.clone();
+    }
+
+    // Sets the candidate parking floors, which may include NO_PARKING and PREDICTIVE_PARKING.
+
+    public void setParkingFloors(int... values)
+    {
+        checkNotEmpty(values.length, "parking floor");
+
+        for(int floor : values)
+        {
+            if(floor != NO_PARKING && floor != PREDICTIVE_PARKING)
+            {
+                checkFloor(floor);
+            }
+        }
+
+        parkingFloors = values.clone();
+    }
+
+    // Sets the candidate scheduling strategies.
+
+    public void setSchedulingStrategies(SchedulingStrategy... values)
+    {
+        checkNotEmpty(values.length, "scheduling strategy");
+        strategies = List.of(values);
+    }
+
+    // Sets the candidate boarding policies.
+
+    public void setBoardingPolicies(BoardingPolicy... values)
+    {
+        checkNotEmpty(values.length, "boarding policy");
+        boardingPolicies = List.of(values);
+    }
+
+    // Returns a copy of the given values after checking that there is at least one and that all are positive.
+
+    private static int[] checkPositive(int[] values, String dimension)
+    {
+        checkNotEmpty(values.length, dimension);
+
+        for(int value : values)
+        {
+            if(value < 1)
+            {
+                throw new IllegalArgumentException("Every " + dimension + " must be positive: " + value);
+            }
+        }
+
+        return values.clone();
+    }
+
+    // Throws an exception if a dimension has no candidate values.
+
+    private static void checkNotEmpty(int length, String dimension)
+    {
+        if(length == 0)
+        {
+            throw new IllegalArgumentException("At least one " + dimension + " is required.");
+        }
+    }
+
+    // Throws an exception if the floor is outside the Building.
+
+    private void checkFloor(int floor)
+    {
+        if(floor < minFloor || floor > maxFloor)
+        {
+            throw new IllegalArgumentException("Floor " + floor + " is outside the Building.");
+        }
+    }
+
+    // Returns the lowest floor of the Building.
+
+    public int getMinFloor()
+    {
+        return minFloor;
+    }
+
+    // Returns the highest floor of the Building.
+
+    public int getMaxFloor()
+    {
+        return maxFloor;
+    }
+
+    // Returns the number of candidate values of each dimension, from the most significant digit of an index.
+
+    private int[] getRadices()
+    {
+        return new int[] {numbersOfCars.length, maximumPeople.length, maximumWeights.length, startingFloors.length,
+                parkingFloors.length, strategies.size(), boardingPolicies.size()};
+    }
+
+    // Returns the number of configurations in the space.
+
+    public long size()
+    {
+        long size = 1;
+
+        for(int radix : getRadices())
+        {
+            size = Math.multiplyExact(size, radix);
+        }
+
+        return size;
+    }
+
+    // Returns the configuration with the given index.
+
+    public BankConfiguration get(long index)
+    {
+        if(index < 0 || index >= size())
+        {
+            throw new IndexOutOfBoundsException("No configuration " + index + " in a space of " + size());
+        }
+
+        return configurationOf(toChoices(index));
+    }
+
+    // Returns a configuration chosen uniformly at random.
+
+    public BankConfiguration random(SplittableRandom random)
+    {
+        return get(random.nextLong(size()));
+    }
+
+    /*
+    Returns a configuration which differs from the given one in at least one dimension, or the same configuration
+    if the space has only one. Each dimension changes with a probability of one over the number of dimensions
+    which can change, usually to a neighbouring value, so that numeric dimensions are explored in small steps.
+     */
+
+    public BankConfiguration mutate(BankConfiguration configuration, SplittableRandom random)
+    {
+        int[] radices = getRadices();
+        int[] choices = toChoices(configuration.getIndex());
+        int variable = 0;
+
+        for(int radix : radices)
+        {
+            if(radix > 1)
+            {
+                variable++;
+            }
+        }
+
+        if(variable == 0)
+        {
+            return configuration;
+        }
+
+        // One dimension always changes, so that the mutant is a new configuration.
+        int forced = random.nextInt(variable);
+
+        for(int i = 0; i < radices.length; i++)
+        {
+            if(radices[i] == 1)
+            {
+                continue;
+            }
+
+            if(forced-- == 0 || random.nextInt(variable) == 0)
+            {
+                choices[i] = mutateChoice(choices[i], radices[i], random);
+            }
+        }
+
+        return configurationOf(choices);
+    }
+
+    // Returns a different choice out of 'radix', a neighbouring one three times out of four.
+
+    private static int mutateChoice(int choice, int radix, SplittableRandom random)
+    {
+        if(random.nextInt(4) > 0)
+        {
+            if(choice == 0)
+            {
+                return 1;
+            }
+
+            if(choice == radix - 1)
+            {
+                return choice - 1;
+            }
+
+            return random.nextBoolean() ? choice + 1 : choice - 1;
+        }
+
+        int other = random.nextInt(radix - 1);
+        return other >= choice ? other + 1 : other;
+    }
+
+    // Returns a configuration which takes the value of each dimension from either parent, with equal probability.
+
+    public BankConfiguration crossover(BankConfiguration first, BankConfiguration second, SplittableRandom random)
+    {
+        int[] choices = toChoices(first.getIndex());
+        int[] others = toChoices(second.getIndex());
+
+        for(int i = 0; i < choices.length; i++)
+        {
+            if(random.nextBoolean())
+            {
+                choices[i] = others[i];
+            }
+        }
+
+        return configurationOf(choices);
+    }
+
+    // Splits an index into the choice of each dimension.
+
+    private int[] toChoices(long index)
+    {
+        int[] radices = getRadices();
+        int[] choices = new int[radices.length];
+
+        for(int i = radices.length - 1; i >= 0; i--)
+        {
+            choices[i] = (int) (index % radices[i]);
+            index /= radices[i];
+        }
+
+        return choices;
+    }
+
+    // Returns the configuration with the given choice of each dimension.
+
+    private BankConfiguration configurationOf(int[] choices)
+    {
+        int[] radices = getRadices();
+        long index = 0;
+
+        for(int i = 0; i < radices.length; i++)
+        {
+            index = index * radices[i] + choices[i];
+        }
+
+        return new BankConfiguration(index, numbersOfCars[choices[0]], maximumPeople[choices[1]],
+                maximumWeights[choices[2]], startingFloors[choices[3]], parkingFloors[choices[4]],
+                strategies.get(choices[5]), boardingPolicies.get(choices[6]));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+package elevatorsystem;
+
+public class CostBasedStrategy implements SchedulingStrategy
+{
+    /*
+    The CostBasedStrategy class plans each trip by scoring the candidate trips up and down and picking the one
+    with the lowest expected total passenger time. A candidate trip stops for the passengers whose floors lie
+    ahead, for the people waiting to travel its way ahead of the Elevator, and turns around at the farthest floor
+    ahead with anyone waiting. Its cost adds up, using the Elevator's TimingModel:
+
+        - for each passenger and each person picked up, the time until they leave or board the Elevator
+        - for everyone the trip leaves behind, the time until the end of the trip plus the time to travel
+          back to them from there
+
+    When every passenger's floor lies in one direction, the Elevator heads that way without comparing costs. The
+    estimate ignores capacity and the destinations of people not yet on board, so it is a heuristic rather than
+    an exact prediction.
+
+    Attributes:
+        INSTANCE - a shared instance, since the strategy keeps no state
+     */
+
+    public static final CostBasedStrategy INSTANCE = new CostBasedStrategy();
+
+    // Chooses the cheaper of the trips up and down and marks its stops.
+
+    @Override
+    public void planTrip(TripPlan plan)
+    {
+        boolean callsAbove = findLastCarCall(plan, Direction.UP) != plan.getCurrentFloor();
+        boolean callsBelow = findLastCarCall(plan, Direction.DOWN) != plan.getCurrentFloor();
+        Direction direction;
+
+        if(callsAbove != callsBelow)
+        {
+            direction = callsAbove ? Direction.UP : Direction.DOWN;
+        }
+        else
+        {
+            long upCost = getCost(plan, Direction.UP);
+            long downCost = getCost(plan, Direction.DOWN);
+
+            // Ties go up, as they do for LOOK.
+            direction = upCost <= downCost ? Direction.UP : Direction.DOWN;
+        }
+
+        plan.setDirection(direction);
+        int lastStop = findLastStop(plan, direction);
+
+        for(int f = plan.getCurrentFloor(); f != lastStop; f = findNextStop(plan, f, direction, lastStop))
+        {
+            plan.addStop(f);
+        }
+
+        plan.addStop(lastStop);
+        plan.setDestination(lastStop);
+    }
+
+    /*
+    Returns the farthest floor ahead in the given direction where a passenger wants to leave, whichever way they
+    were travelling when they boarded. Returns the current floor if there is none.
+     */
+
+    private int findLastCarCall(TripPlan plan, Direction direction)
+    {
+        int currentFloor = plan.getCurrentFloor();
+        int call = direction == Direction.UP ? plan.findHighestCarCall() : plan.findLowestCarCall();
+
+        if(call == Integer.MAX_VALUE)
+        {
+            return currentFloor;
+        }
+
+        return direction == Direction.UP ? Math.max(currentFloor, call) : Math.min(currentFloor, call);
+    }
+
+    /*
+    Returns the last floor of the trip in the given direction: the farthest floor ahead with a passenger call or
+    anyone waiting. Returns the current floor if the trip would not leave it.
+     */
+
+    private int findLastStop(TripPlan plan, Direction direction)
+    {
+        int lastStop = findLastCarCall(plan, direction);
+        int currentFloor = plan.getCurrentFloor();
+
+        if(direction == Direction.UP)
+        {
+            int highest = plan.findWaitingFloorBelow(plan.getMaxFloor() + 1, Direction.STATIONARY);
+
+            if(highest != Integer.MAX_VALUE && highest > currentFloor)
+            {
+                lastStop = Math.max(lastStop, highest);
+            }
+        }
+        else
+        {
+            int lowest = plan.findWaitingFloorAbove(plan.getMinFloor() - 1, Direction.STATIONARY);
+
+            if(lowest < currentFloor)
+            {
+                lastStop = Math.min(lastStop, lowest);
+            }
+        }
+
+        return lastStop;
+    }
+
+    /*
+    Returns the next floor after the given one at which a trip in the given direction, ending at 'lastStop', stops:
+    the nearest floor ahead where a passenger leaves or people wait to travel that way, or 'lastStop' if it is
+    nearer. Only the Building's and the Elevator's indexes are searched, so floors without stops are skipped.
+     */
+
+    private int findNextStop(TripPlan plan, int floor, Direction direction, int lastStop)
+    {
+        if(direction == Direction.UP)
+        {
+            int next = Math.min(plan.findCarCallAbove(floor), plan.findWaitingFloorAbove(floor, direction));
+            return Math.min(lastStop, next);
+        }
+
+        int next = lastStop;
+        int call = plan.findCarCallBelow(floor);
+        int waiting = plan.findWaitingFloorBelow(floor, direction);
+
+        if(call != Integer.MAX_VALUE)
+        {
+            next = Math.max(next, call);
+        }
+
+        if(waiting != Integer.MAX_VALUE)
+        {
+            next = Math.max(next, waiting);
+        }
+
+        return next;
+    }
+
+    // Returns the number of passengers who want to leave at the given floor.
+
+    private int getCarCalls(TripPlan plan, int floor)
+    {
+        return plan.getNumberOfCarCalls(floor, Direction.UP) + plan.getNumberOfCarCalls(floor, Direction.DOWN);
+    }
+
+    /*
+    Returns the expected total time, in milliseconds, everyone waiting or riding would spend until they are next
+    served if the Elevator made a trip in the given direction. Returns Long.MAX_VALUE if the trip is impossible
+    or would achieve nothing.
+     */
+
+    private long getCost(TripPlan plan, Direction direction)
+    {
+        int currentFloor = plan.getCurrentFloor();
+        int lastStop = findLastStop(plan, direction);
+
+        // A trip which neither moves nor picks anybody up would be planned again and again.
+        if(lastStop == currentFloor && plan.getNumberOfPeopleWaiting(currentFloor, direction) == 0)
+        {
+            return Long.MAX_VALUE;
+        }
+
+        TimingModel timing = plan.getTimingModel();
+        Direction opposite = direction == Direction.UP ? Direction.DOWN : Direction.UP;
+
+        long time = 0;
+        long cost = 0;
+        int position = currentFloor;
+
+        // People served on the way, in the order the Elevator reaches them.
+        for(int f = currentFloor; ; f = findNextStop(plan, f, direction, lastStop))
+        {
+            time += timing.getTravelTime(Math.abs(f - position));
+            position = f;
+
+            int served = getCarCalls(plan, f) + plan.getNumberOfPeopleWaiting(f, direction);
+            cost += served * time;
+
+            if(served != 0)
+            {
+                time += timing.getStopTime(served);
+            }
+
+            if(f == lastStop)
+            {
+                break;
+            }
+        }
+
+        // Everyone left behind waits for the trip to end and for the Elevator to come back. Only the floors with
+        // people waiting and the floors behind with passenger calls are visited, using the Building's and the
+        // Elevator's indexes.
+        for(int f = plan.findWaitingFloorAbove(plan.getMinFloor() - 1, Direction.STATIONARY); f != Integer.MAX_VALUE;
+            f = plan.findWaitingFloorAbove(f, Direction.STATIONARY))
+        {
+            boolean behind = direction == Direction.UP ? f < currentFloor : f > currentFloor;
+            int waiting = plan.getNumberOfPeopleWaiting(f, opposite);
+
+            if(behind)
+            {
+                waiting += plan.getNumberOfPeopleWaiting(f, direction);
+            }
+
+            if(waiting != 0)
+            {
+                cost += waiting * (time + timing.getTravelTime(Math.abs(f - position)));
+            }
+        }
+
+        int firstBehind = direction == Direction.UP ? plan.getMinFloor() : currentFloor + 1;
+        int lastBehind = direction == Direction.UP ? currentFloor - 1 : plan.getMaxFloor();
+
+        for(int f = plan.findCarCallAbove(firstBehind - 1); f <= lastBehind; f = plan.findCarCallAbove(f))
+        {
+            cost += getCarCalls(plan, f) * (time + timing.getTravelTime(Math.abs(f - position)));
+        }
+
+        return cost;
+    }
+}
\ No newline at end of file
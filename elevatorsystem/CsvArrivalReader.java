@@ -0,0 +1,303 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class CsvArrivalReader implements ArrivalSource
+{
+    /*
+    The CsvArrivalReader class streams passenger arrivals from a CSV trace with one arrival per line:
+
+        time,id,weight,startingFloor,destinationFloor
+
+    where 'time' is in milliseconds. The file is read through a fixed-size buffer and each line is parsed
+    in place, so no Strings are created for numeric fields and memory use does not depend on the length of
+    the trace. A header line starting with a letter, blank lines and '\r\n' line endings are accepted.
+
+    When the reader is given a FloorMap, floors are read as labels, such as "B3" or "12A", and translated to
+    floor numbers. Otherwise floors must be plain floor numbers.
+
+    Attributes:
+        BUFFER_SIZE - the number of bytes read from the file at a time, which also limits the length of a line
+
+        channel     - the channel the trace is read from
+
+        buffer      - the unparsed bytes read from 'channel', between its position and limit
+
+        floorMap    - the FloorMap used to translate floor labels, or null if floors are numbers
+
+        endOfFile   - whether every byte of the file has been read into 'buffer'
+
+        lineNumber  - the number of the last line read, used in error messages
+
+        fieldStart  - the index in 'buffer' of the next field to parse on the current line
+
+        time / id / weight / startingFloor / destinationFloor - the details of the current arrival
+     */
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final FloorMap floorMap;
+    private boolean endOfFile;
+    private long lineNumber;
+    private int fieldStart;
+
+    private long time;
+    private int id;
+    private int weight;
+    private int startingFloor;
+    private int destinationFloor;
+
+    // Opens a CSV trace whose floors are given as floor numbers.
+
+    public CsvArrivalReader(Path path) throws IOException
+    {
+        this(path, null);
+    }
+
+    // Opens a CSV trace whose floors are given as labels from the given FloorMap.
+
+    public CsvArrivalReader(Path path, FloorMap floorMap) throws IOException
+    {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+        this.floorMap = floorMap;
+    }
+
+    // Parses the next non-blank line of the trace.
+
+    @Override
+    public boolean next() throws IOException
+    {
+        byte[] bytes = buffer.array();
+
+        while(true)
+        {
+            int lineEnd = findLineEnd();
+
+            if(lineEnd < 0)
+            {
+                if(!endOfFile)
+                {
+                    fill();
+                    continue;
+                }
+
+                // The last line of the file may not end with a line break.
+                if(!buffer.hasRemaining())
+                {
+                    return false;
+                }
+
+                lineEnd = buffer.limit();
+            }
+
+            int lineStart = buffer.position();
+            buffer.position(Math.min(lineEnd + 1, buffer.limit()));
+            lineNumber++;
+
+            if(lineEnd > lineStart && bytes[lineEnd - 1] == '\r')
+            {
+                lineEnd--;
+            }
+
+            if(lineEnd == lineStart || (lineNumber == 1 && Character.isLetter(bytes[lineStart])))
+            {
+                continue;
+            }
+
+            fieldStart = lineStart;
+            time = parseNumber(lineEnd);
+            id = parseInt(lineEnd);
+            weight = parseInt(lineEnd);
+            startingFloor = parseFloor(lineEnd);
+            destinationFloor = parseFloor(lineEnd);
+
+            if(fieldStart <= lineEnd)
+            {
+                throw new IllegalArgumentException("Too many fields on line " + lineNumber);
+            }
+
+            return true;
+        }
+    }
+
+    // Returns the index of the next '\n' in the buffer, or -1 if the buffer holds no complete line.
+
+    private int findLineEnd()
+    {
+        byte[] bytes = buffer.array();
+
+        for(int i = buffer.position(); i < buffer.limit(); i++)
+        {
+            if(bytes[i] == '\n')
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    // Moves the unparsed bytes to the front of the buffer and reads more of the file after them.
+
+    private void fill() throws IOException
+    {
+        buffer.compact();
+
+        if(!buffer.hasRemaining())
+        {
+            throw new IOException("Line " + (lineNumber + 1) + " is longer than " + BUFFER_SIZE + " bytes.");
+        }
+
+        if(channel.read(buffer) < 0)
+        {
+            endOfFile = true;
+        }
+
+        buffer.flip();
+    }
+
+    // Returns the index at which the field starting at 'fieldStart' ends, which is a comma or 'lineEnd'.
+
+    private int findFieldEnd(int lineEnd)
+    {
+        if(fieldStart > lineEnd)
+        {
+            throw new IllegalArgumentException("Missing field on line " + lineNumber);
+        }
+
+        byte[] bytes = buffer.array();
+        int i = fieldStart;
+
+        while(i < lineEnd && bytes[i] != ',')
+        {
+            i++;
+        }
+
+        return i;
+    }
+
+    /*
+    Parses the next field of the current line as a base-10 integer, allowing a leading minus sign. A number too
+    large for a long is rejected rather than left to overflow.
+     */
+
+    private long parseNumber(int lineEnd)
+    {
+        byte[] bytes = buffer.array();
+        int fieldEnd = findFieldEnd(lineEnd);
+        int i = fieldStart;
+        boolean negative = i < fieldEnd && bytes[i] == '-';
+
+        if(negative)
+        {
+            i++;
+        }
+
+        if(i == fieldEnd)
+        {
+            throw new IllegalArgumentException("Expected a number on line " + lineNumber);
+        }
+
+        long value = 0;
+
+        for(; i < fieldEnd; i++)
+        {
+            int digit = bytes[i] - '0';
+
+            if(digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10)
+            {
+                throw new IllegalArgumentException("Expected a number on line " + lineNumber);
+            }
+
+            value = value * 10 + digit;
+        }
+
+        fieldStart = fieldEnd + 1;
+        return negative ? -value : value;
+    }
+
+    // Parses the next field of the current line as a base-10 integer which fits in an int.
+
+    private int parseInt(int lineEnd)
+    {
+        long value = parseNumber(lineEnd);
+
+        if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Expected a number on line " + lineNumber);
+        }
+
+        return (int) value;
+    }
+
+    // Parses the next field of the current line as a floor label or floor number.
+
+    private int parseFloor(int lineEnd)
+    {
+        if(floorMap == null)
+        {
+            return parseInt(lineEnd);
+        }
+
+        int fieldEnd = findFieldEnd(lineEnd);
+        String label = new String(buffer.array(), fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8);
+        fieldStart = fieldEnd + 1;
+        return floorMap.getFloorNumber(label);
+    }
+
+    // Returns the simulated time, in milliseconds, at which the current person arrives.
+
+    @Override
+    public long getTime()
+    {
+        return time;
+    }
+
+    // Returns the id of the current person.
+
+    @Override
+    public int getID()
+    {
+        return id;
+    }
+
+    // Returns the weight of the current person.
+
+    @Override
+    public int getWeight()
+    {
+        return weight;
+    }
+
+    // Returns the floor number on which the current person arrives.
+
+    @Override
+    public int getStartingFloor()
+    {
+        return startingFloor;
+    }
+
+    // Returns the floor number to which the current person is travelling.
+
+    @Override
+    public int getDestinationFloor()
+    {
+        return destinationFloor;
+    }
+
+    // Closes the underlying file.
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+}
\ No newline at end of file
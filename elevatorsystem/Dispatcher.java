@@ -0,0 +1,19 @@
+package elevatorsystem;
+import java.util.List;
+
+public interface Dispatcher
+{
+    /*
+    The Dispatcher interface is used by an ElevatorBank to decide which of its Elevators answers a hall call.
+    Every hall call is assigned to exactly one Elevator, so that Elevators never compete for the same person.
+    Dispatchers only see the ElevatorState of each Elevator, so that a LiveController can hand them state
+    published by its cars' threads.
+     */
+
+    /*
+    Returns the index, within 'elevators', of the Elevator which should pick up a person of the given weight
+    travelling from 'floor' to 'destinationFloor', or -1 if none of the Elevators is able to carry them.
+     */
+
+    int selectElevator(int floor, int destinationFloor, int weight, List<? extends ElevatorState> elevators);
+}
\ No newline at end of file
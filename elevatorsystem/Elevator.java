@@ -1,75 +1,245 @@
 package elevatorsystem;
-import java.util.*;
-
-public class Elevator
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+public class Elevator implements ElevatorState
 {
     /*
     The Elevator class represents a single elevator operating within a Building,
     processing requests from People and moving between Floors.
 
     Attributes:
-        logger             - a singleton instance of the Logger class used to log elevator movements
+        logger             - the Logger of the elevator's Building, used to log elevator movements
                              and passenger activity
 
+        id                 - the number of the elevator within its ElevatorBank, or 0 for a single elevator
+
         currentFloor       - the current floor number of the elevator
 
         currentDestination - the current destination floor of the elevator
 
         currentDirection   - current direction of movement of the elevator
 
-        MAXIMUM_PEOPLE     - maximum number of people allowed in the elevator
+        DEFAULT_MAXIMUM_PEOPLE - maximum number of people allowed in an elevator unless specified otherwise
+
+        DEFAULT_MAXIMUM_WEIGHT - maximum supported total weight of an elevator unless specified otherwise
+
+        maximumPeople      - maximum number of people allowed in the elevator
+
+        maximumWeight      - maximum supported total weight of the elevator
+
+        passengers         - handles of the passengers currently inside the elevator, indexed by the seat each
+                             one occupies. Their details are held in the Building's PassengerStore
+
+        seats              - every seat number once. The first 'numberOfPassengers' entries are the occupied
+                             seats and the rest are free, so a seat is taken or given back in constant time
+
+        seatPositions      - the position of each seat within 'seats'
+
+        numberOfPassengers - number of seats currently occupied
+
+        boardedGoingUp     - true for each occupied seat whose passenger boarded while the elevator moved up, and
+                             so is counted in 'upCalls' rather than 'downCalls'
+
+        nextPassenger      - the next seat whose passenger leaves at the same floor, or NO_SEAT
+
+        firstPassenger     - the first seat in the list of passengers leaving at each floor, or NO_SEAT, indexed
+                             by floor number relative to the lowest floor of the building. Each list keeps the
+                             order in which its passengers entered, and unloading walks only the list of the
+                             floor being serviced
 
-        MAXIMUM_WEIGHT     - maximum supported total weight of the elevator
+        lastPassenger      - the last seat in the list of passengers leaving at each floor, or NO_SEAT
 
-        passengers         - list of passengers currently inside the elevator
+        NO_SEAT            - marks the end of a list of seats
+
+        store              - the PassengerStore shared with the Floors of the building
 
         currentWeight      - total weight of all passengers in the elevator
 
-        upCalls            - priority queue of passenger's destination floors located above the current floor
+        upCalls            - number of passengers bound for each floor who boarded while the elevator moved up,
+                             indexed by floor number relative to the lowest floor of the building
+
+        downCalls          - number of passengers bound for each floor who boarded while the elevator moved down,
+                             indexed by floor number relative to the lowest floor of the building
+
+        numberOfUpCalls    - total of all counts stored in 'upCalls'
+
+        numberOfDownCalls  - total of all counts stored in 'downCalls'
+
+        upCallFloors       - an index with one bit per floor, set while the count in 'upCalls' is not zero. Kept up
+                             to date as passengers board and leave, so the lowest and highest calls are found
+                             without scanning every floor
+
+        downCallFloors     - an index with one bit per floor, set while the count in 'downCalls' is not zero
 
-        downCalls          - priority queue of passenger's destination floors located below the current floor
+        route              - marks the floors the elevator will visit on its current trip, indexed the same way
+                             as 'upCalls' and 'downCalls'. Allocated once and reused for every trip, and cleared
+                             floor by floor as they are visited, so finding the next stop skips unmarked floors
+                             a word at a time
+
+        routeLowest        - lowest floor number marked in 'route'
+
+        routeHighest       - highest floor number marked in 'route'
+
+        routePosition      - the next floor to examine when looking for the next stop on the current route
+
+        parkingFloor       - the floor an idle elevator is moving to, to wait there for the next request, or
+                             Integer.MAX_VALUE if it is not moving to park
 
         building           - the building that defines the range of floors the elevator operates within
+
+        timingModel        - the model used to estimate how long the elevator takes to travel and to stop
+
+        schedulingStrategy - decides the direction of each trip and the floors the elevator stops at
+
+        tripPlan           - the elevator's view handed to 'schedulingStrategy' when planning a trip
+
+        boardingPolicy     - decides whether people may board past people ahead of them who do not fit
+
+        elapsedTime        - the simulated time, in milliseconds, the elevator has spent travelling and stopping
+
+        passengersDelivered - the number of passengers who have left the elevator at their final destination floor
+
+        bank               - the ElevatorBank the elevator belongs to, which dispatches people who leave it at a
+                             transfer floor, or null for a single elevator
+
+        zone               - the Zone of 'bank' the elevator serves, or null if it serves every floor
+
+        listeners          - objects notified whenever the elevator moves or a passenger boards or leaves
      */
 
-    private static final Logger logger = Logger.getLogger();
+    private final Logger logger;
 
+    private final int id;
     private int currentFloor;
     private int currentDestination;
     private Direction currentDirection;
 
-    private static final int MAXIMUM_PEOPLE = 10;
-    private static final int MAXIMUM_WEIGHT = 1000;
-
-    private final List<Person> passengers;
+    public static final int DEFAULT_MAXIMUM_PEOPLE = 10;
+    public static final int DEFAULT_MAXIMUM_WEIGHT = 1000;
+
+    private final int maximumPeople;
+    private final int maximumWeight;
+
+    private final int[] passengers;
+    private final int[] seats;
+    private final int[] seatPositions;
+    private int numberOfPassengers;
+    private final boolean[] boardedGoingUp;
+    private final int[] nextPassenger;
+    private final int[] firstPassenger;
+    private final int[] lastPassenger;
+    private static final int NO_SEAT = -1;
+    private final PassengerStore store;
     private int currentWeight;
 
-    private final PriorityQueue<Integer> upCalls;
-    private final PriorityQueue<Integer> downCalls;
+    private final int[] upCalls;
+    private final int[] downCalls;
+    private int numberOfUpCalls;
+    private int numberOfDownCalls;
+
+    private final BitSet upCallFloors;
+    private final BitSet downCallFloors;
+
+    private final BitSet route;
+    private int routeLowest;
+    private int routeHighest;
+    private int routePosition;
+    private int parkingFloor;
 
     private final Building building;
 
+    private TimingModel timingModel;
+    private SchedulingStrategy schedulingStrategy;
+    private final TripPlan tripPlan;
+    private BoardingPolicy boardingPolicy;
+    private long elapsedTime;
+    private int passengersDelivered;
+    private ElevatorBank bank;
+    private Zone zone;
+
+    private final List<ElevatorListener> listeners;
+
     // Initializes an elevator at the specified starting floor within the given building.
 
     public Elevator(int startingFloor, Building building)
     {
+        this(startingFloor, building, DEFAULT_MAXIMUM_PEOPLE, DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /*
+    Initializes an elevator at the specified starting floor within the given building, which can carry
+    at most 'maximumPeople' passengers with a total weight of at most 'maximumWeight'.
+     */
+
+    public Elevator(int startingFloor, Building building, int maximumPeople, int maximumWeight)
+    {
+        this(0, startingFloor, building, maximumPeople, maximumWeight);
+    }
+
+    // Initializes an elevator with the given number within an ElevatorBank.
+
+    Elevator(int id, int startingFloor, Building building, int maximumPeople, int maximumWeight)
+    {
+        this.id = id;
+        this.maximumPeople = maximumPeople;
+        this.maximumWeight = maximumWeight;
+        timingModel = TimingModel.DEFAULT;
+        schedulingStrategy = LookStrategy.INSTANCE;
+        tripPlan = new TripPlan(this);
+        boardingPolicy = BoardingPolicy.FIFO;
+
         currentFloor = startingFloor;
         currentDirection = Direction.STATIONARY;
         currentDestination = currentFloor;
+        parkingFloor = Integer.MAX_VALUE;
 
         currentWeight = 0;
-        passengers = new ArrayList<>();
+        passengers = new int[maximumPeople];
+        seats = new int[maximumPeople];
+        seatPositions = new int[maximumPeople];
+        boardedGoingUp = new boolean[maximumPeople];
+        nextPassenger = new int[maximumPeople];
+        store = building.getPassengerStore();
+
+        for(int i = 0; i < maximumPeople; i++)
+        {
+            seats[i] = i;
+            seatPositions[i] = i;
+        }
 
-        upCalls = new PriorityQueue<>();
-        downCalls = new PriorityQueue<>((a, b) -> b - a);
+        int numberOfFloors = building.getMaxFloor() - building.getMinFloor() + 1;
+        firstPassenger = new int[numberOfFloors];
+        lastPassenger = new int[numberOfFloors];
+        Arrays.fill(firstPassenger, NO_SEAT);
+        Arrays.fill(lastPassenger, NO_SEAT);
+        upCalls = new int[numberOfFloors];
+        downCalls = new int[numberOfFloors];
+        upCallFloors = new BitSet(numberOfFloors);
+        downCallFloors = new BitSet(numberOfFloors);
+        route = new BitSet(numberOfFloors);
+        listeners = new ArrayList<>();
 
         this.building = building;
+        this.logger = building.getLogger();
 
         logger.logElevator(this);
     }
 
+    // Returns the number of the elevator within its ElevatorBank, or 0 if it is not part of a bank.
+
+    public int getID()
+    {
+        return id;
+    }
+
     // Returns the current floor number of the elevator.
 
+    @Override
     public int getCurrentFloor()
     {
         return currentFloor;
@@ -77,6 +247,7 @@ public class Elevator
 
     // Returns the floor number of the current destination of the elevator.
 
+    @Override
     public int getCurrentDestination()
     {
         return currentDestination;
@@ -84,6 +255,7 @@ public class Elevator
 
     // Returns the current direction of the elevator.
 
+    @Override
     public Direction getCurrentDirection()
     {
         return currentDirection;
@@ -98,41 +270,233 @@ public class Elevator
 
     // Returns the current number of passengers in the elevator.
 
+    @Override
     public int getNumberOfPassengers()
     {
-        return passengers.size();
+        return numberOfPassengers;
+    }
+
+    // Returns the maximum number of people allowed in the elevator.
+
+    @Override
+    public int getMaximumPeople()
+    {
+        return maximumPeople;
+    }
+
+    // Returns the maximum supported total weight of the elevator.
+
+    @Override
+    public int getMaximumWeight()
+    {
+        return maximumWeight;
+    }
+
+    // Returns the number of people waiting on Floors for this elevator to pick them up.
+
+    @Override
+    public int getNumberOfPendingHallCalls()
+    {
+        return building.getNumberOfPeopleWaiting();
+    }
+
+    // Returns the Zone the elevator serves, or null if it serves every floor of its Building.
+
+    public Zone getZone()
+    {
+        return zone;
+    }
+
+    // Records the ElevatorBank the elevator belongs to and the Zone of the bank it serves, which may be null.
+
+    void setZone(ElevatorBank bank, Zone zone)
+    {
+        this.bank = bank;
+        this.zone = zone;
+    }
+
+    // Returns the number of passengers who have left the elevator at their final destination floor.
+
+    public int getPassengersDelivered()
+    {
+        return passengersDelivered;
+    }
+
+    // Returns the simulated time, in milliseconds, the elevator has spent travelling and stopping.
+
+    public long getElapsedTime()
+    {
+        return elapsedTime;
+    }
+
+    // Returns the model used to estimate how long the elevator takes to travel and to stop.
+
+    public TimingModel getTimingModel()
+    {
+        return timingModel;
+    }
+
+    // Sets the model used to estimate how long the elevator takes to travel and to stop.
+
+    public void setTimingModel(TimingModel timingModel)
+    {
+        this.timingModel = timingModel;
+    }
+
+    // Returns the strategy which plans the elevator's trips.
+
+    public SchedulingStrategy getSchedulingStrategy()
+    {
+        return schedulingStrategy;
+    }
+
+    // Sets the strategy which plans the elevator's trips, taking effect from the next trip.
+
+    public void setSchedulingStrategy(SchedulingStrategy schedulingStrategy)
+    {
+        this.schedulingStrategy = schedulingStrategy;
+    }
+
+    // Returns the policy which decides the order in which waiting people board the elevator.
+
+    public BoardingPolicy getBoardingPolicy()
+    {
+        return boardingPolicy;
+    }
+
+    // Sets the policy which decides the order in which waiting people board the elevator.
+
+    public void setBoardingPolicy(BoardingPolicy boardingPolicy)
+    {
+        this.boardingPolicy = boardingPolicy;
+    }
+
+    // Registers a listener which is notified whenever the elevator moves or a passenger boards or leaves.
+
+    public void addListener(ElevatorListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    // Returns the PassengerStore holding the details of this elevator's passengers.
+
+    public PassengerStore getPassengerStore()
+    {
+        return store;
+    }
+
+    // Returns the building whose Floors hold the hall calls this elevator serves.
+
+    Building getBuilding()
+    {
+        return building;
     }
 
     // Returns the number of passengers whose destination floors are above the current floor.
 
     public int getNumberOfPassengersGoingUp()
     {
-        return upCalls.size();
+        return numberOfUpCalls;
     }
 
     // Returns the number of passengers whose destination floors are below the current floor.
 
     public int getNumberOfPassengersGoingDown()
     {
-        return downCalls.size();
+        return numberOfDownCalls;
     }
 
     // Determines the direction of the elevator, calculates a route, and processes all floors along the path.
 
     public void move()
     {
+        // Finds the next direction and destination, produces a route given the direction and destination, and
+        // iterates through each floor on the route, unloading and loading people along the way.
+        if (startTrip())
+        {
+            travelRoute();
+        }
+    }
+
+    /*
+    Determines the direction of the elevator and calculates the route of its next trip using its
+    SchedulingStrategy, without visiting any floors. The current floor is always part of the route. Returns
+    false, and the elevator stops, if there are no pending requests. Used by the EventSimulation
+    to move the elevator one stop at a time.
+     */
+
+    boolean startTrip()
+    {
+        parkingFloor = Integer.MAX_VALUE;
+
         // Checks for any remaining pending requests, otherwise, the elevator stops.
         if (!shouldContinueOperating())
         {
-            currentDirection = Direction.STATIONARY;
-            return;
+            // Only an elevator which was on a trip becomes idle. One that is already idle stays silent.
+            if (currentDirection != Direction.STATIONARY)
+            {
+                currentDirection = Direction.STATIONARY;
+
+                for(int i = 0; i < listeners.size(); i++)
+                {
+                    listeners.get(i).elevatorIdle(this, currentFloor);
+                }
+            }
+
+            return false;
         }
 
-        // Finds the next direction and destination, produces a route given the direction and destination, and
-        // iterates through each floor on the route, unloading and loading people along the way.
-        findNextDirectionAndDestination();
-        TreeSet<Integer> route = calculateRoute();
-        travelRoute(route);
+        routeLowest = currentFloor;
+        routeHighest = currentFloor;
+        addToRoute(currentFloor);
+        schedulingStrategy.planTrip(tripPlan);
+        routePosition = currentDirection == Direction.UP ? routeLowest : routeHighest;
+
+        for(int i = 0; i < listeners.size(); i++)
+        {
+            listeners.get(i).tripStarted(this, currentDirection);
+        }
+
+        return true;
+    }
+
+    /*
+    Starts moving an idle elevator, with nobody on board, to the given floor to wait there for the next request.
+    The move is a route with a single stop, at which the elevator picks up anybody waiting to travel on in the
+    same direction. Returns false if the elevator is already at that floor.
+     */
+
+    boolean startParking(int floor)
+    {
+        if(floor == currentFloor)
+        {
+            return false;
+        }
+
+        currentDirection = floor > currentFloor ? Direction.UP : Direction.DOWN;
+        currentDestination = floor;
+        parkingFloor = floor;
+        routeLowest = Math.min(currentFloor, floor);
+        routeHighest = Math.max(currentFloor, floor);
+        route.set(floor - building.getMinFloor());
+        routePosition = currentDirection == Direction.UP ? routeLowest : routeHighest;
+
+        return true;
+    }
+
+    /*
+    Returns the floor at which the elevator waits for its next request: the floor it is moving to park at, or
+    its current floor if it is idle. Returns Integer.MAX_VALUE if it is on a trip.
+     */
+
+    public int getParkingFloor()
+    {
+        if(parkingFloor != Integer.MAX_VALUE)
+        {
+            return parkingFloor;
+        }
+
+        return currentDirection == Direction.STATIONARY ? currentFloor : Integer.MAX_VALUE;
     }
 
     /*
@@ -142,9 +506,9 @@ public class Elevator
 
     public boolean shouldContinueOperating()
     {
-        Floor current = building.getFloor(currentFloor);
-        Queue<Person> upQueue = current.getPeopleGoingUp();
-        Queue<Person> downQueue = current.getPeopleGoingDown();
+        Floor current = building.peekFloor(currentFloor);
+        IntQueue upQueue = current.getPeopleGoingUp();
+        IntQueue downQueue = current.getPeopleGoingDown();
 
         // Checks if the current floor has pending requests.
         if (!upQueue.isEmpty() || !downQueue.isEmpty())
@@ -153,7 +517,7 @@ public class Elevator
         }
 
         // Checks if the passengers on the elevator have pending requests.
-        if (!upCalls.isEmpty() || !downCalls.isEmpty())
+        if (numberOfUpCalls != 0 || numberOfDownCalls != 0)
         {
             return true;
         }
@@ -168,240 +532,537 @@ public class Elevator
         return false;
     }
 
+    // Marks a floor as part of the current route and widens the range of marked floors if needed.
+
+    void addToRoute(int floor)
+    {
+        route.set(floor - building.getMinFloor());
+        routeLowest = Math.min(routeLowest, floor);
+        routeHighest = Math.max(routeHighest, floor);
+    }
+
+    // Sets the direction of the next trip.
+
+    void setCurrentDirection(Direction direction)
+    {
+        currentDirection = direction;
+    }
+
+    // Sets the floor at which the next trip ends.
+
+    void setCurrentDestination(int destination)
+    {
+        currentDestination = destination;
+    }
+
+    // Returns the number of passengers travelling in the given direction who want to leave at the given floor.
+
+    int getNumberOfCarCalls(int floor, Direction direction)
+    {
+        int[] calls = direction == Direction.UP ? upCalls : downCalls;
+        return calls[floor - building.getMinFloor()];
+    }
+
+    // Returns the number of passengers travelling in the given direction.
+
+    int getNumberOfCarCalls(Direction direction)
+    {
+        return direction == Direction.UP ? numberOfUpCalls : numberOfDownCalls;
+    }
+
     /*
-    Determines the next direction and destination by checking for requests on the current floor, then inside
-    the elevator, and finally on other floors.
+    Returns the destination floor of the passenger at the given position inside the elevator. Positions run from 0
+    to getNumberOfPassengers() - 1, but do not follow the order in which the passengers entered.
      */
 
-    private void findNextDirectionAndDestination()
+    int getPassengerDestination(int index)
     {
-        Floor current = building.getFloor(currentFloor);
-        Queue<Person> upQueue = current.getPeopleGoingUp();
-        Queue<Person> downQueue = current.getPeopleGoingDown();
+        return store.getDestinationFloor(passengers[seats[index]]);
+    }
+
+    // Returns the lowest floor number at which a passenger travelling in the given direction wants to leave.
+
+    int findLowestCall(Direction direction)
+    {
+        int index = (direction == Direction.UP ? upCallFloors : downCallFloors).nextSetBit(0);
+        return index < 0 ? Integer.MAX_VALUE : index + building.getMinFloor();
+    }
 
-        // Checks if there are no pending requests on the current floor, then in the elevator, and finally
-        // on other floors above or below the current floor. If there are no pending requests remaining,
-        // then the elevator is stationary, and the simulation is over. Otherwise, sets the current direction
-        // and destination of the elevator.
+    // Returns the highest floor number at which a passenger travelling in the given direction wants to leave.
 
-        if (upQueue.isEmpty() && downQueue.isEmpty())
+    int findHighestCall(Direction direction)
+    {
+        int index = (direction == Direction.UP ? upCallFloors : downCallFloors).length() - 1;
+        return index < 0 ? Integer.MAX_VALUE : index + building.getMinFloor();
+    }
+
+    /*
+    Returns the lowest floor number above the given floor at which any passenger wants to leave, or
+    Integer.MAX_VALUE if there is none.
+     */
+
+    int findCallAbove(int floor)
+    {
+        int index = nextCallFloor(Math.max(floor - building.getMinFloor() + 1, 0));
+        return index < 0 ? Integer.MAX_VALUE : index + building.getMinFloor();
+    }
+
+    /*
+    Returns the highest floor number below the given floor at which any passenger wants to leave, or
+    Integer.MAX_VALUE if there is none.
+     */
+
+    int findCallBelow(int floor)
+    {
+        int index = previousCallFloor(Math.min(floor - building.getMinFloor() - 1, upCalls.length - 1));
+        return index < 0 ? Integer.MAX_VALUE : index + building.getMinFloor();
+    }
+
+    /*
+    Marks the destination floor of every passenger as part of the current route, using the call indexes rather
+    than visiting each passenger.
+     */
+
+    void addCallsToRoute()
+    {
+        if(numberOfUpCalls == 0 && numberOfDownCalls == 0)
         {
-            if (upCalls.isEmpty() && downCalls.isEmpty())
-            {
-                int nearestWaitingFloor = building.findNearestWaitingFloor(currentFloor);
+            return;
+        }
 
-                if (nearestWaitingFloor == Integer.MAX_VALUE)
-                {
-                    currentDirection = Direction.STATIONARY;
-                }
-                else
-                {
-                    currentDirection = currentFloor > nearestWaitingFloor ? Direction.DOWN : Direction.UP;
-                    currentDestination = nearestWaitingFloor;
-                }
-            }
-            else
-            {
-                int belowDistance = downCalls.isEmpty() ? Integer.MAX_VALUE : Math.abs(currentFloor - downCalls.peek());
-                int aboveDistance = upCalls.isEmpty() ? Integer.MAX_VALUE : Math.abs(currentFloor - upCalls.peek());
+        route.or(upCallFloors);
+        route.or(downCallFloors);
+        routeLowest = Math.min(routeLowest, findLowestCall());
+        routeHighest = Math.max(routeHighest, findHighestCall());
+    }
 
-                int aboveDest = upCalls.isEmpty() ? Integer.MAX_VALUE : upCalls.peek();
-                int belowDest = downCalls.isEmpty() ? Integer.MAX_VALUE : downCalls.peek();
+    // Returns the lowest floor number at which any passenger wants to leave, or Integer.MAX_VALUE if it is empty.
 
-                setNextDirectionAndDestination(belowDistance, aboveDistance, belowDest, aboveDest);
+    int findLowestCall()
+    {
+        return Math.min(findLowestCall(Direction.UP), findLowestCall(Direction.DOWN));
+    }
+
+    // Returns the highest floor number at which any passenger wants to leave, or Integer.MAX_VALUE if it is empty.
+
+    int findHighestCall()
+    {
+        int index = Math.max(upCallFloors.length(), downCallFloors.length()) - 1;
+        return index < 0 ? Integer.MAX_VALUE : index + building.getMinFloor();
+    }
+
+    /*
+    Writes the position, direction, passengers and current route of the elevator to a simulation snapshot.
+    Passengers are written floor by floor, each with the direction they boarded in, so that reading them back
+    rebuilds the car calls and the order in which they leave. Only the floors marked on the route are written.
+     */
+
+    void writeState(SnapshotWriter out) throws IOException
+    {
+        out.putInt(currentFloor);
+        out.putInt(currentDestination);
+        out.putInt(parkingFloor);
+        out.putInt(currentDirection.ordinal());
+        out.putLong(elapsedTime);
+        out.putInt(passengersDelivered);
+
+        out.putInt(numberOfPassengers);
+
+        for(int i = nextCallFloor(0); i >= 0; i = nextCallFloor(i + 1))
+        {
+            for(int seat = firstPassenger[i]; seat != NO_SEAT; seat = nextPassenger[seat])
+            {
+                out.putInt(boardedGoingUp[seat] ? 1 : 0);
+                store.writePassenger(out, passengers[seat]);
             }
         }
-        else
+
+        out.putInt(routeLowest);
+        out.putInt(routeHighest);
+        out.putInt(routePosition);
+
+        out.putInt(route.cardinality());
+
+        for(int i = route.nextSetBit(0); i >= 0; i = route.nextSetBit(i + 1))
         {
-            int belowDistance = downQueue.isEmpty() ? Integer.MAX_VALUE : Math.abs(downQueue.peek().getDestinationFloor() - currentFloor);
-            int aboveDistance = upQueue.isEmpty() ? Integer.MAX_VALUE : Math.abs(upQueue.peek().getDestinationFloor() - currentFloor);
+            out.putInt(i + building.getMinFloor());
+        }
+    }
+
+    // Returns the first floor index from the given one on at which a passenger wants to leave, or -1 if none does.
+
+    private int nextCallFloor(int index)
+    {
+        int up = upCallFloors.nextSetBit(index);
+        int down = downCallFloors.nextSetBit(index);
+
+        return up < 0 || down < 0 ? Math.max(up, down) : Math.min(up, down);
+    }
 
-            int aboveDest = upQueue.isEmpty() ? Integer.MAX_VALUE : upQueue.peek().getDestinationFloor();
-            int belowDest = downQueue.isEmpty() ? Integer.MAX_VALUE : downQueue.peek().getDestinationFloor();
+    // Returns the last floor index up to the given one at which a passenger wants to leave, or -1 if none does.
 
-            setNextDirectionAndDestination(belowDistance, aboveDistance, belowDest, aboveDest);
+    private int previousCallFloor(int index)
+    {
+        if(index < 0)
+        {
+            return -1;
         }
+
+        return Math.max(upCallFloors.previousSetBit(index), downCallFloors.previousSetBit(index));
     }
 
     /*
-    Calculates the sequence of floors the elevator will visit in its current direction.
-    Returns the result in a TreeSet to ensure floors are unique and sorted.
+    Replaces the state of the elevator with the state written by writeState. The elevator must be empty, and
+    its passengers are added to its PassengerStore again under new handles.
      */
 
-    private TreeSet<Integer> calculateRoute()
+    void readState(ByteBuffer in)
     {
-        // Add the current floor and current destination to the route.
-        int destination = currentFloor;
-        TreeSet<Integer> route = currentDirection == Direction.UP ? new TreeSet<>() : new TreeSet<>((a, b) -> b - a);
-        route.add(currentFloor);
-        route.add(currentDestination);
+        currentFloor = in.getInt();
+        currentDestination = in.getInt();
+        parkingFloor = in.getInt();
+        currentDirection = Direction.values()[in.getInt()];
+        elapsedTime = in.getLong();
+        passengersDelivered = in.getInt();
 
-        // On the way up (or down), add any floors to the route that have passengers with a destination in the
-        // same direction. Also, find the highest (or lowest) floor and set that floor equal to the new destination.
+        int passengersOnBoard = in.getInt();
 
-        if (currentDirection == Direction.UP)
+        for(int i = 0; i < passengersOnBoard; i++)
         {
-            for (Person p : passengers)
-            {
-                destination = Math.max(destination, p.getDestinationFloor());
-                route.add(p.getDestinationFloor());
-            }
+            boolean goingUp = in.getInt() != 0;
+            addPassenger(store.readPassenger(in), goingUp);
+        }
 
-            for (int f = currentFloor + 1; f < building.getMaxFloor(); f++)
-            {
-                Floor floor = building.getFloor(f);
+        routeLowest = in.getInt();
+        routeHighest = in.getInt();
+        routePosition = in.getInt();
+        route.clear();
 
-                if (!floor.getPeopleGoingUp().isEmpty())
-                {
-                    destination = Math.max(destination, f);
-                    route.add(f);
-                }
-            }
+        int marked = in.getInt();
+
+        for(int i = 0; i < marked; i++)
+        {
+            route.set(in.getInt() - building.getMinFloor());
+        }
+    }
 
-            if(!building.getFloor(building.getMaxFloor()).getPeopleGoingDown().isEmpty())
+    /*
+    Abandons the rest of the current route without visiting its floors, leaving the elevator where it is.
+    The marks of any unvisited floors are cleared so that the route array is ready for the next trip.
+     */
+
+    void cancelTrip()
+    {
+        route.clear(routeLowest - building.getMinFloor(), routeHighest - building.getMinFloor() + 1);
+
+        routePosition = currentDirection == Direction.UP ? routeHighest + 1 : routeLowest - 1;
+    }
+
+    /*
+    Moves the elevator along the marked route, unloading and loading passengers at each floor. Floors are
+    visited in ascending order when moving up and in descending order otherwise.
+     */
+
+    private void travelRoute()
+    {
+        int floor;
+
+        while((floor = getNextStop()) != Integer.MAX_VALUE)
+        {
+            // For each floor in the route, log movement when the elevator changes floors, and unload / load
+            // passengers as needed.
+            arriveAt(floor);
+            serviceCurrentFloor();
+        }
+    }
+
+    /*
+    Returns the next floor on the current route, or Integer.MAX_VALUE if the elevator has reached the end of
+    its route or has no route.
+     */
+
+    int getNextStop()
+    {
+        // A stationary elevator has no route.
+        if(currentDirection == Direction.STATIONARY)
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        int minFloor = building.getMinFloor();
+
+        if(currentDirection == Direction.UP)
+        {
+            int index = route.nextSetBit(Math.max(routePosition - minFloor, 0));
+
+            if(index < 0 || index + minFloor > routeHighest)
             {
-                route.add(building.getMaxFloor());
+                routePosition = routeHighest + 1;
+                return Integer.MAX_VALUE;
             }
+
+            routePosition = index + minFloor;
         }
         else
         {
-            for (Person p : passengers)
+            int index = routePosition < minFloor ? -1 : route.previousSetBit(routePosition - minFloor);
+
+            if(index < 0 || index + minFloor < routeLowest)
             {
-                destination = Math.min(destination, p.getDestinationFloor());
-                route.add(p.getDestinationFloor());
+                routePosition = routeLowest - 1;
+                return Integer.MAX_VALUE;
             }
 
-            for (int f = currentFloor - 1; f > building.getMinFloor(); f--)
-            {
-                Floor floor = building.getFloor(f);
+            routePosition = index + minFloor;
+        }
 
-                if (!floor.getPeopleGoingDown().isEmpty())
-                {
-                    destination = Math.min(destination, f);
-                    route.add(f);
-                }
-            }
+        return routePosition;
+    }
+
+    /*
+    Moves the elevator to the next floor on its route, which is returned by getNextStop(). The floor's mark is
+    cleared once visited so that the route array is ready for the next trip.
+     */
+
+    void arriveAt(int floor)
+    {
+        route.clear(floor - building.getMinFloor());
+        routePosition = floor + (currentDirection == Direction.UP ? 1 : -1);
 
-            if(!building.getFloor(building.getMinFloor()).getPeopleGoingUp().isEmpty())
+        if(currentFloor != floor)
+        {
+            logger.logCurrentDirectionAndFloor(this, currentDirection, currentFloor, floor);
+            elapsedTime += timingModel.getTravelTime(Math.abs(floor - currentFloor));
+
+            for(int i = 0; i < listeners.size(); i++)
             {
-                route.add(building.getMinFloor());
+                listeners.get(i).elevatorMoved(this, currentFloor, floor);
             }
         }
 
-        currentDestination = destination;
-        return route;
+        currentFloor = floor;
     }
 
-    // Sets the current direction and destination based on the nearest floor with pending requests.
+    // Unloads and loads passengers at the current floor and returns the number of people who got off or on.
 
-    private void setNextDirectionAndDestination(int belowDistance, int aboveDistance, int belowDest, int aboveDest)
+    int serviceCurrentFloor()
     {
-        // Find the floor nearest to the current floor and update the current destination
-        // and direction of the elevator.
-        if (aboveDistance <= belowDistance)
+        int peopleTransferred = unloadPeopleAt(currentFloor) + loadPeopleAt(currentFloor);
+
+        // The doors only open if somebody gets on or off.
+        if(peopleTransferred != 0)
         {
-            currentDirection = Direction.UP;
-            currentDestination = aboveDest;
+            elapsedTime += timingModel.getStopTime(peopleTransferred);
         }
-        else
+
+        for(int i = 0; i < listeners.size(); i++)
         {
-            currentDirection = Direction.DOWN;
-            currentDestination = belowDest;
+            listeners.get(i).elevatorStopped(this, currentFloor, peopleTransferred);
         }
+
+        return peopleTransferred;
     }
 
-    // Moves the elevator along the specified route, unloading and loading passengers at each floor.
+    // Unloads all passengers whose destination matches the given floor and returns the number of people unloaded.
 
-    private void travelRoute(TreeSet<Integer> route)
+    private int unloadPeopleAt(int floor)
     {
-        for(int floor : route)
+        // Walks the list of passengers leaving at this floor in the order they entered, and logs each of them.
+        // Their weight is subtracted from the elevator's total capacity, the call they registered when boarding
+        // is removed and their seat is given back. Passengers leaving at other floors are never visited.
+        // The handles of people who left are released once listeners have been notified, except for people
+        // changing to an Elevator of another Zone, who are dispatched again by the bank.
+
+        int index = floor - building.getMinFloor();
+        int seat = firstPassenger[index];
+        int unloaded = 0;
+        int transferred = 0;
+
+        firstPassenger[index] = NO_SEAT;
+        lastPassenger[index] = NO_SEAT;
+
+        while (seat != NO_SEAT)
         {
-            // For each floor in the route, log movement when the elevator changes floors, and unload / load
-            // passengers as needed.
+            int passenger = passengers[seat];
+            int next = nextPassenger[seat];
+
+            logger.logPersonLeavingFromElevator(this, store.getID(passenger), floor);
+            currentWeight -= store.getWeight(passenger);
+            removeCall(index, boardedGoingUp[seat]);
+            freeSeat(seat);
+            unloaded++;
 
-            if(currentFloor != floor)
+            for(int j = 0; j < listeners.size(); j++)
             {
-                logger.logCurrentDirectionAndFloor(currentDirection, currentFloor, floor);
+                listeners.get(j).personAlighted(this, passenger, floor);
             }
 
-            currentFloor = floor;
-            unloadPeopleAt(currentFloor);
-            loadPeopleAt(currentFloor);
+            if(store.isTransferring(passenger))
+            {
+                transferred++;
+                bank.transfer(floor, passenger);
+            }
+            else
+            {
+                store.release(passenger);
+            }
+
+            seat = next;
         }
+
+        passengersDelivered += unloaded - transferred;
+
+        return unloaded;
     }
 
-    // Unloads all passengers whose destination matches the given floor.
+    // Gives back an occupied seat by swapping it with the last occupied seat.
 
-    private void unloadPeopleAt(int floor)
+    private void freeSeat(int seat)
     {
-        // Initializes an iterator so that passengers can be safely removed mid-iteration.
+        int position = seatPositions[seat];
+        int last = seats[--numberOfPassengers];
 
-        Iterator<Person> iterator = passengers.iterator();
+        seats[position] = last;
+        seatPositions[last] = position;
+        seats[numberOfPassengers] = seat;
+        seatPositions[seat] = numberOfPassengers;
+    }
 
-        // Iterates through passengers and removes / logs any whose destination matches the current floor.
-        // Their weight is subtracted from the elevator's total capacity and their pending request
-        // is removed.
+    /*
+    Removes the call registered for the floor with the given index by a passenger who boarded in the given direction.
+    Every passenger removes exactly the call they added, so the counts always match the passengers on board.
+     */
 
-        while (iterator.hasNext())
+    private void removeCall(int index, boolean goingUp)
+    {
+        if (goingUp)
         {
-            Person p = iterator.next();
+            numberOfUpCalls--;
 
-            if (p.getDestinationFloor() == floor)
+            if(--upCalls[index] == 0)
             {
-                logger.logPersonLeavingFromElevator(p);
-                currentWeight -= p.getWeight();
-                iterator.remove();
+                upCallFloors.clear(index);
+            }
+        }
+        else
+        {
+            numberOfDownCalls--;
 
-                if(currentDirection == Direction.UP)
-                {
-                    upCalls.poll();
-                }
-                else
-                {
-                    downCalls.poll();
-                }
+            if(--downCalls[index] == 0)
+            {
+                downCallFloors.clear(index);
             }
         }
     }
 
     /*
     Loads passengers from the current floor whose destination matches the elevator's current direction,
-    as long as they are within the elevator's remaining weight and space capacity.
+    as long as they are within the elevator's remaining weight and space capacity. People board in the order
+    they arrived unless the BoardingPolicy lets them board past people ahead of them who do not fit. Returns the
+    number of people loaded.
      */
 
-    private void loadPeopleAt(int floor)
+    private int loadPeopleAt(int floor)
     {
-        Floor currentFloor = building.getFloor(floor);
-        Queue<Person> floorQueue = currentDirection == Direction.UP ? currentFloor.getPeopleGoingUp() : currentFloor.getPeopleGoingDown();
+        Floor currentFloor = building.peekFloor(floor);
+        int loaded = 0;
 
-        // Loads all passengers that are within the remaining weight and space capacity and
-        // adds their weight to the total weight of the elevator. Also adds all 'Person' objects to the list of
-        // passengers on the elevator, and removes them from the waiting queue.
+        // When everybody waiting fits, nobody needs to be weighed against the remaining capacity.
+        boolean everybodyFits = currentWeight + currentFloor.getWeightWaiting(currentDirection) <= maximumWeight
+                && numberOfPassengers + currentFloor.getNumberOfPeopleWaiting(currentDirection) <= maximumPeople;
 
-        while (!floorQueue.isEmpty())
+        // Walks the waiting queue from the front. A person who fits boards and is removed from the queue. A person
+        // who does not fit ends loading, unless the boarding policy allows passing over them, in which case they
+        // keep their place and the people they were passed over by are counted against them once per stop.
+
+        int position = 0;
+        int charged = 0;
+
+        while (position < currentFloor.getNumberOfPeopleWaiting(currentDirection) && numberOfPassengers < maximumPeople)
         {
-            Person p = floorQueue.peek();
+            int passenger = currentFloor.getPassenger(currentDirection, position);
 
-            if (currentWeight + p.getWeight() <= MAXIMUM_WEIGHT && passengers.size() < MAXIMUM_PEOPLE)
+            if (everybodyFits || currentWeight + store.getWeight(passenger) <= maximumWeight)
             {
-                logger.logPersonEnteringElevator(p);
-                currentWeight += p.getWeight();
-                passengers.add(p);
-                floorQueue.poll();
+                currentFloor.removePassenger(currentDirection, position);
+                boardPerson(passenger, floor);
+                loaded++;
 
-                if (Direction.UP == currentDirection)
-                {
-                    upCalls.offer(p.getDestinationFloor());
-                }
-                else
+                for (; charged < position; charged++)
                 {
-                    downCalls.offer(p.getDestinationFloor());
+                    store.incrementSkipCount(currentFloor.getPassenger(currentDirection, charged));
                 }
             }
+            else if (position < boardingPolicy.getLookahead()
+                    && store.getSkipCount(passenger) < boardingPolicy.getMaximumSkips())
+            {
+                position++;
+            }
             else
             {
                 break;
             }
         }
+
+        return loaded;
+    }
+
+    // Adds a person to the elevator's passengers and registers a call for their destination floor.
+
+    private void boardPerson(int passenger, int floor)
+    {
+        logger.logPersonEnteringElevator(this, store.getID(passenger), floor);
+        addPassenger(passenger, Direction.UP == currentDirection);
+
+        for(int i = 0; i < listeners.size(); i++)
+        {
+            listeners.get(i).personBoarded(this, passenger, floor);
+        }
+    }
+
+    /*
+    Seats a passenger, appends them to the list of passengers leaving at their destination floor and registers a
+    call for that floor in the direction they boarded in.
+     */
+
+    private void addPassenger(int passenger, boolean goingUp)
+    {
+        int seat = seats[numberOfPassengers++];
+        int index = store.getDestinationFloor(passenger) - building.getMinFloor();
+
+        passengers[seat] = passenger;
+        boardedGoingUp[seat] = goingUp;
+        nextPassenger[seat] = NO_SEAT;
+        currentWeight += store.getWeight(passenger);
+
+        if (firstPassenger[index] == NO_SEAT)
+        {
+            firstPassenger[index] = seat;
+        }
+        else
+        {
+            nextPassenger[lastPassenger[index]] = seat;
+        }
+
+        lastPassenger[index] = seat;
+
+        if (goingUp)
+        {
+            numberOfUpCalls++;
+
+            if(upCalls[index]++ == 0)
+            {
+                upCallFloors.set(index);
+            }
+        }
+        else
+        {
+            numberOfDownCalls++;
+
+            if(downCalls[index]++ == 0)
+            {
+                downCallFloors.set(index);
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,394 @@
+package elevatorsystem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ElevatorBank
+{
+    /*
+    The ElevatorBank class represents a group of Elevators which serve the same Building. Every person who calls
+    an elevator from one of the Building's Floors is assigned to exactly one Elevator by a Dispatcher, and waits
+    for that Elevator only. Each Elevator keeps the hall calls assigned to it in its own view of the Building,
+    so Elevators never compete for the same waiting person.
+
+    A bank may also be divided into Zones, each served by its own Elevators. A person is then dispatched to an
+    Elevator of the Zone which carries them on the next leg of their trip, and a person whose trip crosses Zones
+    is dispatched again when they leave an Elevator at a transfer floor.
+
+    Attributes:
+        MILLISECONDS_PER_HOUR - number of milliseconds in a simulated hour
+
+        building   - the Building whose Floors receive the hall calls
+
+        dispatcher - decides which Elevator answers each hall call
+
+        elevators  - the Elevators in the bank, each with its own capacity
+
+        elevatorsView - a read-only view of 'elevators' handed to the dispatcher and to callers
+
+        schedulingStrategy - plans the trips of every Elevator in the bank
+
+        boardingPolicy - decides the order in which waiting people board every Elevator in the bank
+
+        timingModel - estimates how long every Elevator in the bank takes to travel and to stop
+
+        zoneRouter - plans the legs of trips through the bank's Zones
+
+        zoneElevators - the Elevators serving each Zone, by Zone index
+
+        zoneElevatorsViews - read-only views of 'zoneElevators', handed to the dispatcher when a leg is served
+                             by that Zone
+
+        transfers  - the number of times a person has left an Elevator at a transfer floor and been dispatched
+                     to another
+     */
+
+    private static final double MILLISECONDS_PER_HOUR = 3_600_000.0;
+
+    private final Building building;
+    private final Dispatcher dispatcher;
+    private final List<Elevator> elevators;
+    private final List<Elevator> elevatorsView;
+    private SchedulingStrategy schedulingStrategy;
+    private BoardingPolicy boardingPolicy;
+    private TimingModel timingModel;
+    private final ZoneRouter zoneRouter;
+    private final List<List<Elevator>> zoneElevators;
+    private final List<List<Elevator>> zoneElevatorsViews;
+    private long transfers;
+
+    // Initializes an ElevatorBank for the given Building which assigns hall calls to the nearest Elevator.
+
+    public ElevatorBank(Building building)
+    {
+        this(building, new NearestCarDispatcher());
+    }
+
+    // Initializes an ElevatorBank for the given Building which assigns hall calls using the given Dispatcher.
+
+    public ElevatorBank(Building building, Dispatcher dispatcher)
+    {
+        this.building = building;
+        this.dispatcher = dispatcher;
+        this.elevators = new ArrayList<>();
+        this.elevatorsView = Collections.unmodifiableList(elevators);
+        this.schedulingStrategy = LookStrategy.INSTANCE;
+        this.boardingPolicy = BoardingPolicy.FIFO;
+        this.timingModel = TimingModel.DEFAULT;
+        this.zoneRouter = new ZoneRouter();
+        this.zoneElevators = new ArrayList<>();
+        this.zoneElevatorsViews = new ArrayList<>();
+
+        building.setElevatorBank(this);
+    }
+
+    // Adds an Elevator with the default capacity, starting at the given floor, to the bank.
+
+    public Elevator addElevator(int startingFloor)
+    {
+        return addElevator(startingFloor, Elevator.DEFAULT_MAXIMUM_PEOPLE, Elevator.DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /*
+    Adds an Elevator, starting at the given floor, which can carry at most 'maximumPeople' passengers with a total
+    weight of at most 'maximumWeight'. People already waiting in the Building are dispatched to the bank's Elevators.
+     */
+
+    public Elevator addElevator(int startingFloor, int maximumPeople, int maximumWeight)
+    {
+        if(!zoneRouter.isEmpty())
+        {
+            throw new IllegalStateException("Every elevator of a bank divided into zones must be added to a zone.");
+        }
+
+        return addElevator(null, startingFloor, maximumPeople, maximumWeight);
+    }
+
+    /*
+    Divides the bank into Zones, or adds another Zone. Zones must be added before any Elevators, and every
+    floor people travel between must be reachable through the Zones, changing Elevators at floors shared by
+    two Zones.
+     */
+
+    public void addZone(Zone zone)
+    {
+        if(zoneRouter.isEmpty() && !elevators.isEmpty())
+        {
+            throw new IllegalStateException("Zones must be added before the elevators of the bank.");
+        }
+
+        if(zone.getLowestFloor() < building.getMinFloor() || zone.getHighestFloor() > building.getMaxFloor())
+        {
+            throw new IllegalArgumentException("Zone " + zone.getName() + " serves floors outside the Building.");
+        }
+
+        List<Elevator> served = new ArrayList<>();
+        zoneRouter.addZone(zone);
+        zoneElevators.add(served);
+        zoneElevatorsViews.add(Collections.unmodifiableList(served));
+    }
+
+    // Returns the Zones of the bank, in the order they were added, which is empty if the bank is not divided.
+
+    public List<Zone> getZones()
+    {
+        return Collections.unmodifiableList(zoneRouter.getZones());
+    }
+
+    // Adds an Elevator with the default capacity, serving the given Zone and starting at the given floor.
+
+    public Elevator addElevator(Zone zone, int startingFloor)
+    {
+        return addElevator(zone, startingFloor, Elevator.DEFAULT_MAXIMUM_PEOPLE, Elevator.DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /*
+    Adds an Elevator serving the given Zone, which must belong to the bank, or every floor if the Zone is null.
+    People already waiting in the Building are dispatched to the bank's Elevators.
+     */
+
+    public Elevator addElevator(Zone zone, int startingFloor, int maximumPeople, int maximumWeight)
+    {
+        if(zone != null && (zone.getIndex() < 0 || zoneRouter.getZones().get(zone.getIndex()) != zone))
+        {
+            throw new IllegalArgumentException("Zone " + zone.getName() + " does not belong to this bank.");
+        }
+
+        if(zone != null && !zone.serves(startingFloor))
+        {
+            throw new IllegalArgumentException("Zone " + zone.getName() + " does not serve floor " + startingFloor);
+        }
+
+        Elevator e = new Elevator(elevators.size() + 1, startingFloor, new Building(building), maximumPeople,
+                maximumWeight);
+        e.setSchedulingStrategy(schedulingStrategy);
+        e.setBoardingPolicy(boardingPolicy);
+        e.setTimingModel(timingModel);
+        e.setZone(this, zone);
+        elevators.add(e);
+
+        if(zone != null)
+        {
+            zoneElevators.get(zone.getIndex()).add(e);
+        }
+
+        dispatchWaitingPeople();
+        return e;
+    }
+
+    // Sets the strategy which plans the trips of every Elevator in the bank, including Elevators added later.
+
+    public void setSchedulingStrategy(SchedulingStrategy schedulingStrategy)
+    {
+        this.schedulingStrategy = schedulingStrategy;
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            elevators.get(i).setSchedulingStrategy(schedulingStrategy);
+        }
+    }
+
+    // Sets the policy which decides the order in which people board every Elevator in the bank, including later ones.
+
+    public void setBoardingPolicy(BoardingPolicy boardingPolicy)
+    {
+        this.boardingPolicy = boardingPolicy;
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            elevators.get(i).setBoardingPolicy(boardingPolicy);
+        }
+    }
+
+    // Sets the model which times the trips and stops of every Elevator in the bank, including Elevators added later.
+
+    public void setTimingModel(TimingModel timingModel)
+    {
+        this.timingModel = timingModel;
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            elevators.get(i).setTimingModel(timingModel);
+        }
+    }
+
+    // Returns the Elevators in the bank.
+
+    public List<Elevator> getElevators()
+    {
+        return elevatorsView;
+    }
+
+    // Returns the Building served by the bank.
+
+    public Building getBuilding()
+    {
+        return building;
+    }
+
+    /*
+    Assigns the person with the given handle, who called an elevator from the given floor, to one of the bank's
+    Elevators. Returns false if the bank does not have any Elevators yet, in which case the person waits on the
+    Building's Floor.
+     */
+
+    boolean dispatch(int floor, int passenger)
+    {
+        PassengerStore passengers = building.getPassengerStore();
+        List<Elevator> candidates = elevatorsView;
+
+        // In a bank divided into Zones, the person's destination is the end of the leg served by one Zone.
+        if(!zoneRouter.isEmpty())
+        {
+            int zone = zoneRouter.selectZone(floor, passengers.getFinalDestinationFloor(passenger));
+            passengers.setDestinationFloor(passenger, zoneRouter.getLegDestination());
+            candidates = zoneElevatorsViews.get(zone);
+        }
+
+        if(candidates.isEmpty())
+        {
+            return false;
+        }
+
+        int selected = dispatcher.selectElevator(floor, passengers.getDestinationFloor(passenger),
+                passengers.getWeight(passenger), candidates);
+
+        if(selected < 0)
+        {
+            throw new IllegalStateException("No elevator in the bank can carry Person "
+                    + passengers.getID(passenger) + ".");
+        }
+
+        // The Elevator's view of the Building shares the bank's PassengerStore, so the handle stays valid.
+        candidates.get(selected).getBuilding().getFloor(floor).enqueuePassenger(passenger);
+        return true;
+    }
+
+    /*
+    Dispatches a person who has left an Elevator at a transfer floor to an Elevator serving the next leg of
+    their trip. If no such Elevator has been added yet, the person waits on the Building's Floor.
+     */
+
+    void transfer(int floor, int passenger)
+    {
+        building.getPassengerStore().beginTransfer(passenger, floor);
+        transfers++;
+
+        if(!dispatch(floor, passenger))
+        {
+            building.getFloor(floor).queuePassenger(passenger);
+        }
+    }
+
+    // Returns the number of times a person has changed Elevators at a transfer floor.
+
+    public long getNumberOfTransfers()
+    {
+        return transfers;
+    }
+
+    /*
+    Dispatches every person waiting on the Building's Floors, in the order of their floors. People whose Zone
+    has no Elevators yet are queued on their Floor again once it has been drained, so that they are dispatched
+    when one is added.
+     */
+
+    private void dispatchWaitingPeople()
+    {
+        int floor = building.findWaitingFloorAbove(building.getMinFloor() - 1, Direction.STATIONARY);
+        IntQueue undispatched = null;
+
+        while(floor != Integer.MAX_VALUE)
+        {
+            Floor waiting = building.getFloor(floor);
+            int passenger;
+
+            while((passenger = waiting.dequeuePassenger(Direction.UP)) != PassengerStore.NO_HANDLE
+                    || (passenger = waiting.dequeuePassenger(Direction.DOWN)) != PassengerStore.NO_HANDLE)
+            {
+                if(!dispatch(floor, passenger))
+                {
+                    if(undispatched == null)
+                    {
+                        undispatched = new IntQueue();
+                    }
+
+                    undispatched.offer(passenger);
+                }
+            }
+
+            while(undispatched != null && !undispatched.isEmpty())
+            {
+                waiting.queuePassenger(undispatched.poll());
+            }
+
+            floor = building.findWaitingFloorAbove(floor, Direction.STATIONARY);
+        }
+    }
+
+    // Determines whether any Elevator in the bank is still moving or has pending requests to handle.
+
+    public boolean shouldContinueOperating()
+    {
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            Elevator e = elevators.get(i);
+
+            if(e.getCurrentDirection() != Direction.STATIONARY || e.shouldContinueOperating())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // Moves every Elevator in the bank once.
+
+    public void move()
+    {
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            elevators.get(i).move();
+        }
+    }
+
+    // Returns the total number of passengers delivered to their destination floors by all Elevators in the bank.
+
+    public int getPassengersDelivered()
+    {
+        int delivered = 0;
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            delivered += elevators.get(i).getPassengersDelivered();
+        }
+
+        return delivered;
+    }
+
+    /*
+    Returns the simulated time, in milliseconds, the bank has been operating. Elevators operate at the same time,
+    so this is the longest time spent by any single Elevator.
+     */
+
+    public long getElapsedTime()
+    {
+        long elapsed = 0;
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            elapsed = Math.max(elapsed, elevators.get(i).getElapsedTime());
+        }
+
+        return elapsed;
+    }
+
+    // Returns the number of passengers delivered by the bank per simulated hour.
+
+    public double getThroughputPerHour()
+    {
+        long elapsed = getElapsedTime();
+        return elapsed == 0 ? 0.0 : getPassengersDelivered() * MILLISECONDS_PER_HOUR / elapsed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package elevatorsystem;
+
+public class ElevatorEvent
+{
+    /*
+    The ElevatorEvent class represents a single event delivered to the subscribers of an ElevatorEventPublisher.
+    Events are immutable and identify people and elevators by their ids rather than by handles, so they stay
+    meaningful after they have been handed to another thread.
+
+    Attributes:
+        NO_ELEVATOR      - the elevator id of a hall call, which is not made to a particular elevator
+
+        NO_PERSON        - the person id of an event which does not involve a person
+
+        time             - the simulated time, in milliseconds, at which the event occurred
+
+        type             - the type of the event
+
+        elevatorID       - the id of the Elevator involved in the event, or NO_ELEVATOR
+
+        floor            - the floor number at which the event occurred. For a move, the floor the elevator
+                           arrived at
+
+        fromFloor        - the floor number a move started from, or Integer.MAX_VALUE for other events
+
+        personID         - the id of the person who boarded, alighted or made a hall call, or NO_PERSON
+
+        destinationFloor - the floor number the person is travelling to, or Integer.MAX_VALUE for events which
+                           do not involve a person
+     */
+
+    public static final int NO_ELEVATOR = -1;
+    public static final int NO_PERSON = -1;
+
+    private final long time;
+    private final ElevatorEventType type;
+    private final int elevatorID;
+    private final int floor;
+    private final int fromFloor;
+    private final int personID;
+    private final int destinationFloor;
+
+    // Initializes an ElevatorEvent. Events are created by an ElevatorEventPublisher.
+
+    ElevatorEvent(long time, ElevatorEventType type, int elevatorID, int floor, int fromFloor, int personID,
+            int destinationFloor)
+    {
+        this.time = time;
+        this.type = type;
+        this.elevatorID = elevatorID;
+        this.floor = floor;
+        this.fromFloor = fromFloor;
+        this.personID = personID;
+        this.destinationFloor = destinationFloor;
+    }
+
+    // Returns the simulated time, in milliseconds, at which the event occurred.
+
+    public long getTime()
+    {
+        return time;
+    }
+
+    // Returns the type of the event.
+
+    public ElevatorEventType getType()
+    {
+        return type;
+    }
+
+    // Returns the id of the Elevator involved in the event, or NO_ELEVATOR for a hall call.
+
+    public int getElevatorID()
+    {
+        return elevatorID;
+    }
+
+    // Returns the floor number at which the event occurred.
+
+    public int getFloor()
+    {
+        return floor;
+    }
+
+    // Returns the floor number a move started from, or Integer.MAX_VALUE if the event is not a move.
+
+    public int getFromFloor()
+    {
+        return fromFloor;
+    }
+
+    // Returns the id of the person involved in the event, or NO_PERSON.
+
+    public int getPersonID()
+    {
+        return personID;
+    }
+
+    // Returns the floor number the person involved in the event is travelling to, or Integer.MAX_VALUE.
+
+    public int getDestinationFloor()
+    {
+        return destinationFloor;
+    }
+
+    // Returns a single line describing the event.
+
+    @Override
+    public String toString()
+    {
+        String subject = elevatorID == NO_ELEVATOR ? "" : "elevator " + elevatorID + " ";
+        String detail = type == ElevatorEventType.CAR_MOVED ? ", from floor " + fromFloor
+                : personID == NO_PERSON ? "" : ", person " + personID + " to floor " + destinationFloor;
+
+        return "t=" + time + " " + subject + type.getRepresentation() + " at floor " + floor + detail;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,528 @@
+package elevatorsystem;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+
+public class ElevatorEventPublisher implements Flow.Publisher<List<ElevatorEvent>>, ElevatorListener, FloorListener,
+        AutoCloseable
+{
+    /*
+    The ElevatorEventPublisher class streams the events of a simulation to any number of subscribers, so that
+    dashboards and analytics can follow a run without parsing the Logger's output. It listens to Elevators and
+    to the Floors of a Building, and collects their events into batches of 'batchSize' events. Each subscriber
+    receives whole batches through onNext(), so handing events to other threads costs one lock and one queue
+    operation per batch rather than per event.
+
+    Every subscriber has its own buffer of at most 'bufferCapacity' batches, which is drained on 'executor' as the
+    subscriber requests them. What happens when a batch is ready for a subscriber whose buffer is full is decided
+    by the BackpressurePolicy, so a fast simulation is only ever held back by a slow subscriber under
+    BackpressurePolicy.BLOCK. The publisher is hot: events which occur while nobody is subscribed are not kept,
+    and a simulation with no subscribers pays a single check per event.
+
+    Events are collected on the thread running the simulation, which must also be the thread that calls flush()
+    and close(). Subscribers may subscribe, request and cancel from any thread.
+
+    Attributes:
+        clock          - supplies the simulated time, in milliseconds, each event is stamped with
+
+        policy         - what to do with a batch for a subscriber whose buffer is full
+
+        bufferCapacity - the number of batches buffered for each subscriber
+
+        batchSize      - the number of events collected before a batch is offered to the subscribers
+
+        executor       - runs the tasks which deliver batches and signals to the subscribers
+
+        batch          - the events collected since the last batch was offered
+
+        subscriptions  - the subscriptions which have not been cancelled or completed
+
+        closed         - whether close() has been called
+
+        droppedBatches - the number of batches discarded for a subscriber whose buffer was full
+     */
+
+    private final LongSupplier clock;
+    private final BackpressurePolicy policy;
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final Executor executor;
+    private List<ElevatorEvent> batch;
+    private final List<EventSubscription> subscriptions;
+    private boolean closed;
+    private volatile long droppedBatches;
+
+    /*
+    Initializes a publisher which stamps events with the time read from the given clock, such as the clock of an
+    EventSimulation, and delivers them on the common ForkJoinPool. When the common pool has a single thread, as on
+    a single processor, each delivery task runs on a thread of its own instead, so that one slow subscriber cannot
+    hold up the others.
+     */
+
+    public ElevatorEventPublisher(LongSupplier clock, BackpressurePolicy policy, int bufferCapacity, int batchSize)
+    {
+        this(clock, policy, bufferCapacity, batchSize, ForkJoinPool.getCommonPoolParallelism() > 1
+                ? ForkJoinPool.commonPool() : task -> new Thread(task).start());
+    }
+
+    /*
+    Initializes a publisher which delivers events on the given Executor. Under BackpressurePolicy.BLOCK the
+    Executor must run tasks on other threads than the simulation, or a full buffer is never drained.
+     */
+
+    public ElevatorEventPublisher(LongSupplier clock, BackpressurePolicy policy, int bufferCapacity, int batchSize,
+            Executor executor)
+    {
+        if(bufferCapacity <= 0 || batchSize <= 0)
+        {
+            throw new IllegalArgumentException("The buffer capacity and batch size must be positive");
+        }
+
+        this.clock = Objects.requireNonNull(clock);
+        this.policy = Objects.requireNonNull(policy);
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.executor = Objects.requireNonNull(executor);
+        this.batch = new ArrayList<>(batchSize);
+        this.subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    // Starts publishing the events of the given Elevator.
+
+    public void attach(Elevator e)
+    {
+        e.addListener(this);
+    }
+
+    // Starts publishing the hall calls made on the Floors of the given Building.
+
+    public void attach(Building building)
+    {
+        building.addFloorListener(this);
+    }
+
+    // Starts publishing the events of every Elevator in the given ElevatorBank and the hall calls made to it.
+
+    public void attach(ElevatorBank bank)
+    {
+        for(Elevator e : bank.getElevators())
+        {
+            attach(e);
+        }
+
+        attach(bank.getBuilding());
+    }
+
+    /*
+    Adds a subscriber, which is sent onSubscribe() and then receives the batches published from now on as it
+    requests them. A subscriber added after close() is sent onComplete() straight away.
+     */
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<ElevatorEvent>> subscriber)
+    {
+        EventSubscription subscription = new EventSubscription(Objects.requireNonNull(subscriber));
+
+        synchronized(this)
+        {
+            if(closed)
+            {
+                subscription.completing = true;
+            }
+            else
+            {
+                subscriptions.add(subscription);
+            }
+        }
+
+        subscription.start();
+    }
+
+    // Returns the number of subscribers which have not cancelled and have not been completed.
+
+    public int getNumberOfSubscribers()
+    {
+        return subscriptions.size();
+    }
+
+    // Returns the number of batches discarded because a subscriber's buffer was full.
+
+    public long getNumberOfDroppedBatches()
+    {
+        return droppedBatches;
+    }
+
+    // Publishes an Elevator moving from one floor to another.
+
+    @Override
+    public void elevatorMoved(Elevator e, int fromFloor, int toFloor)
+    {
+        publish(e, ElevatorEventType.CAR_MOVED, toFloor, fromFloor, PassengerStore.NO_HANDLE);
+    }
+
+    // Publishes a person entering an Elevator.
+
+    @Override
+    public void personBoarded(Elevator e, int passenger, int floor)
+    {
+        publish(e, ElevatorEventType.PERSON_BOARDED, floor, Integer.MAX_VALUE, passenger);
+    }
+
+    // Publishes a person leaving an Elevator.
+
+    @Override
+    public void personAlighted(Elevator e, int passenger, int floor)
+    {
+        publish(e, ElevatorEventType.PERSON_ALIGHTED, floor, Integer.MAX_VALUE, passenger);
+    }
+
+    // Publishes an Elevator running out of requests.
+
+    @Override
+    public void elevatorIdle(Elevator e, int floor)
+    {
+        publish(e, ElevatorEventType.IDLE, floor, Integer.MAX_VALUE, PassengerStore.NO_HANDLE);
+    }
+
+    // Publishes a person calling an elevator from a Floor.
+
+    @Override
+    public void hallCallRegistered(Floor floor, int passenger)
+    {
+        if(!subscriptions.isEmpty())
+        {
+            PassengerStore store = floor.getPassengerStore();
+            add(new ElevatorEvent(clock.getAsLong(), ElevatorEventType.HALL_CALL, ElevatorEvent.NO_ELEVATOR,
+                    floor.getFloorNumber(), Integer.MAX_VALUE, store.getID(passenger),
+                    store.getDestinationFloor(passenger)));
+        }
+    }
+
+    // Adds an event involving the given Elevator and, unless the handle is NO_HANDLE, one of its passengers.
+
+    private void publish(Elevator e, ElevatorEventType type, int floor, int fromFloor, int passenger)
+    {
+        if(subscriptions.isEmpty())
+        {
+            return;
+        }
+
+        PassengerStore store = e.getPassengerStore();
+        boolean person = passenger != PassengerStore.NO_HANDLE;
+
+        add(new ElevatorEvent(clock.getAsLong(), type, e.getID(), floor, fromFloor,
+                person ? store.getID(passenger) : ElevatorEvent.NO_PERSON,
+                person ? store.getDestinationFloor(passenger) : Integer.MAX_VALUE));
+    }
+
+    // Adds an event to the current batch, and offers the batch to the subscribers once it is full.
+
+    private void add(ElevatorEvent event)
+    {
+        batch.add(event);
+
+        if(batch.size() == batchSize)
+        {
+            flush();
+        }
+    }
+
+    /*
+    Offers the events collected so far to the subscribers as a batch, without waiting for 'batchSize' events.
+    Called at the end of a run, or whenever subscribers should see the latest events.
+     */
+
+    public void flush()
+    {
+        if(batch.isEmpty())
+        {
+            return;
+        }
+
+        List<ElevatorEvent> events = Collections.unmodifiableList(batch);
+        batch = new ArrayList<>(batchSize);
+
+        for(EventSubscription subscription : subscriptions)
+        {
+            subscription.offer(events);
+        }
+    }
+
+    // Offers any remaining events, then completes every subscriber once it has received its buffered batches.
+
+    @Override
+    public void close()
+    {
+        flush();
+
+        List<EventSubscription> completed;
+
+        synchronized(this)
+        {
+            closed = true;
+            completed = new ArrayList<>(subscriptions);
+            subscriptions.clear();
+        }
+
+        for(EventSubscription subscription : completed)
+        {
+            subscription.complete();
+        }
+    }
+
+    private class EventSubscription implements Flow.Subscription, Runnable
+    {
+        /*
+        The EventSubscription class connects one subscriber to the publisher. Batches are added to its buffer
+        on the simulation thread and delivered by a task on the publisher's Executor, which runs while there is
+        something to deliver and is started again when there is more. At most one task runs at a time, so the
+        subscriber's methods are never called concurrently. All fields are guarded by the subscription's lock.
+
+        Attributes:
+            subscriber - the subscriber batches are delivered to
+
+            buffer     - batches which have been published but not yet delivered
+
+            demand     - the number of batches requested but not yet delivered
+
+            running    - whether a delivery task has been started and has not finished
+
+            subscribed - whether onSubscribe() has been delivered
+
+            completing - whether onComplete() is to be delivered once 'buffer' is empty
+
+            error      - an error to be delivered in place of any further batches, or null
+
+            cancelled  - whether nothing more is to be delivered
+         */
+
+        private final Flow.Subscriber<? super List<ElevatorEvent>> subscriber;
+        private final ArrayDeque<List<ElevatorEvent>> buffer;
+        private long demand;
+        private boolean running;
+        private boolean subscribed;
+        private boolean completing;
+        private Throwable error;
+        private boolean cancelled;
+
+        // Initializes a subscription which has not yet been announced to the given subscriber.
+
+        EventSubscription(Flow.Subscriber<? super List<ElevatorEvent>> subscriber)
+        {
+            this.subscriber = subscriber;
+            this.buffer = new ArrayDeque<>();
+        }
+
+        // Starts the task which sends onSubscribe() to the subscriber.
+
+        void start()
+        {
+            synchronized(this)
+            {
+                running = true;
+            }
+
+            executor.execute(this);
+        }
+
+        /*
+        Adds a batch to the buffer, applying the publisher's BackpressurePolicy if the buffer is full, and
+        starts a delivery task if none is running.
+         */
+
+        void offer(List<ElevatorEvent> events)
+        {
+            synchronized(this)
+            {
+                while(buffer.size() >= bufferCapacity && !cancelled && error == null)
+                {
+                    if(policy == BackpressurePolicy.DROP)
+                    {
+                        droppedBatches++;
+                        return;
+                    }
+                    else if(policy == BackpressurePolicy.BUFFER)
+                    {
+                        buffer.clear();
+                        error = new IllegalStateException("The subscriber fell more than " + bufferCapacity
+                                + " batches behind the simulation");
+                    }
+                    else
+                    {
+                        try
+                        {
+                            wait();
+                        }
+                        catch(InterruptedException e)
+                        {
+                            Thread.currentThread().interrupt();
+                            droppedBatches++;
+                            return;
+                        }
+                    }
+                }
+
+                if(cancelled)
+                {
+                    return;
+                }
+
+                if(error == null)
+                {
+                    buffer.add(events);
+                }
+            }
+
+            schedule();
+        }
+
+        // Delivers onComplete() once the subscriber has received its buffered batches.
+
+        void complete()
+        {
+            synchronized(this)
+            {
+                completing = true;
+            }
+
+            schedule();
+        }
+
+        // Adds the given number of batches to the demand of the subscriber.
+
+        @Override
+        public void request(long n)
+        {
+            synchronized(this)
+            {
+                if(cancelled)
+                {
+                    return;
+                }
+
+                if(n <= 0)
+                {
+                    buffer.clear();
+                    error = new IllegalArgumentException("The number of batches requested must be positive: " + n);
+                }
+                else
+                {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+
+            schedule();
+        }
+
+        // Stops delivering batches and releases the buffered ones, waking the simulation if it is blocked.
+
+        @Override
+        public void cancel()
+        {
+            synchronized(this)
+            {
+                cancelled = true;
+                buffer.clear();
+                notifyAll();
+            }
+
+            subscriptions.remove(this);
+        }
+
+        // Starts a delivery task unless one is running. The task is started outside the lock.
+
+        private void schedule()
+        {
+            synchronized(this)
+            {
+                if(running || cancelled)
+                {
+                    return;
+                }
+
+                running = true;
+            }
+
+            executor.execute(this);
+        }
+
+        /*
+        Delivers signals to the subscriber until there is nothing it can receive: onSubscribe() first, then
+        batches while it has demand, and then any error or completion.
+         */
+
+        @Override
+        public void run()
+        {
+            if(!subscribed)
+            {
+                subscribed = true;
+                subscriber.onSubscribe(this);
+            }
+
+            while(true)
+            {
+                List<ElevatorEvent> events = null;
+                Throwable failure = null;
+
+                synchronized(this)
+                {
+                    if(cancelled)
+                    {
+                        running = false;
+                        return;
+                    }
+                    else if(error != null)
+                    {
+                        failure = error;
+                        cancelled = true;
+                        notifyAll();
+                    }
+                    else if(demand > 0 && !buffer.isEmpty())
+                    {
+                        events = buffer.poll();
+                        demand--;
+                        notifyAll();
+                    }
+                    else if(completing && buffer.isEmpty())
+                    {
+                        cancelled = true;
+                    }
+                    else
+                    {
+                        running = false;
+                        return;
+                    }
+                }
+
+                if(events != null)
+                {
+                    try
+                    {
+                        subscriber.onNext(events);
+                    }
+                    catch(RuntimeException e)
+                    {
+                        cancel();
+                    }
+                }
+                else if(failure != null)
+                {
+                    subscriptions.remove(this);
+                    subscriber.onError(failure);
+                }
+                else
+                {
+                    subscriber.onComplete();
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
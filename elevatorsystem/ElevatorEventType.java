@@ -0,0 +1,36 @@
+package elevatorsystem;
+
+public enum ElevatorEventType
+{
+    /*
+    The ElevatorEventType enumeration is used to enumerate the events delivered to the subscribers of an
+    ElevatorEventPublisher: an elevator moving between floors, a person entering or leaving an elevator, a person
+    calling an elevator from a floor, and an elevator running out of requests.
+
+    Attributes:
+        representation - a String representation of the different events, which is used when printing
+                         events. Set to 'final' because it should not be changed
+     */
+
+    CAR_MOVED("moved"),
+    PERSON_BOARDED("boarded"),
+    PERSON_ALIGHTED("alighted"),
+    HALL_CALL("hall call"),
+    IDLE("idle");
+
+    private final String representation;
+
+    // Constructor of the ElevatorEventType class. 'ElevatorEventType' objects are not meant to be instantiated.
+
+    private ElevatorEventType(String representation)
+    {
+        this.representation = representation;
+    }
+
+    // Returns the corresponding representation of one of the events.
+
+    public String getRepresentation()
+    {
+        return representation;
+    }
+}
\ No newline at end of file
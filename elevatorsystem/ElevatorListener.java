@@ -0,0 +1,35 @@
+package elevatorsystem;
+
+public interface ElevatorListener
+{
+    /*
+    The ElevatorListener interface is used to observe an Elevator as it moves between Floors and as passengers
+    enter and leave it. All methods do nothing by default, so implementations only override the events they need.
+    Passengers are identified by their handle in the Elevator's PassengerStore, which remains valid until
+    personAlighted() returns.
+     */
+
+    // Called when the elevator sets off on a new trip in the given direction.
+
+    default void tripStarted(Elevator e, Direction direction) {}
+
+    // Called when the elevator moves from one floor to another.
+
+    default void elevatorMoved(Elevator e, int fromFloor, int toFloor) {}
+
+    // Called when a person enters the elevator at the given floor.
+
+    default void personBoarded(Elevator e, int passenger, int floor) {}
+
+    // Called when a person leaves the elevator at the given floor.
+
+    default void personAlighted(Elevator e, int passenger, int floor) {}
+
+    // Called after people have left and entered the elevator at a stop on its route.
+
+    default void elevatorStopped(Elevator e, int floor, int peopleTransferred) {}
+
+    // Called when the elevator finishes a trip and has no requests left, leaving it idle at the given floor.
+
+    default void elevatorIdle(Elevator e, int floor) {}
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package elevatorsystem;
+
+public interface ElevatorState
+{
+    /*
+    The ElevatorState interface is the read-only view of an Elevator which a Dispatcher uses to assign hall calls.
+    An Elevator is its own view. A LiveController hands its Dispatcher a view of each car which that car's thread
+    publishes at every stop, so that calls can be assigned from other threads while the cars move.
+     */
+
+    // Returns the current floor number of the elevator.
+
+    int getCurrentFloor();
+
+    // Returns the floor number of the current destination of the elevator.
+
+    int getCurrentDestination();
+
+    // Returns the current direction of the elevator.
+
+    Direction getCurrentDirection();
+
+    // Returns the current number of passengers in the elevator.
+
+    int getNumberOfPassengers();
+
+    // Returns the number of people waiting for the elevator to pick them up.
+
+    int getNumberOfPendingHallCalls();
+
+    // Returns the maximum number of people allowed in the elevator.
+
+    int getMaximumPeople();
+
+    // Returns the maximum supported total weight of the elevator.
+
+    int getMaximumWeight();
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package elevatorsystem;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+public class EventQueue
+{
+    /*
+    The EventQueue class is a priority queue of SimulationEvents which are processed in chronological order.
+
+    Attributes:
+        events       - a priority queue of pending events, ordered by time and then by scheduling order
+
+        nextSequence - the sequence number given to the next scheduled event
+     */
+
+    private final PriorityQueue<SimulationEvent> events;
+    private long nextSequence;
+
+    // Initializes an empty EventQueue.
+
+    public EventQueue()
+    {
+        events = new PriorityQueue<>();
+        nextSequence = 0;
+    }
+
+    // Schedules an event of the given type at the given time.
+
+    public void schedule(long time, EventType type, Elevator elevator, int floor, Person person)
+    {
+        events.offer(new SimulationEvent(time, nextSequence++, type, elevator, floor, person));
+    }
+
+    // Removes and returns the earliest pending event, or null if there are no pending events.
+
+    public SimulationEvent poll()
+    {
+        return events.poll();
+    }
+
+    // Returns the earliest pending event without removing it, or null if there are no pending events.
+
+    public SimulationEvent peek()
+    {
+        return events.peek();
+    }
+
+    // Returns the pending events in the order they will be processed, without removing them.
+
+    SimulationEvent[] toSortedArray()
+    {
+        SimulationEvent[] pending = events.toArray(new SimulationEvent[0]);
+        Arrays.sort(pending);
+        return pending;
+    }
+
+    // Returns true if there are no pending events.
+
+    public boolean isEmpty()
+    {
+        return events.isEmpty();
+    }
+
+    // Returns the number of pending events.
+
+    public int size()
+    {
+        return events.size();
+    }
+}
\ No newline at end of file
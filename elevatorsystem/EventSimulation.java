@@ -0,0 +1,612 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public class EventSimulation
+{
+    /*
+    The EventSimulation class runs a discrete-event simulation of one or more Elevators serving a Building.
+    People arrive at timestamped moments, and the simulated clock jumps straight from one event to the next,
+    so idle periods cost nothing to simulate. Elevators move one stop at a time, using their TimingModel to
+    schedule when they reach each floor and when their doors close.
+
+    Attributes:
+        building      - the Building whose Floors people arrive on
+
+        elevators     - the Elevators serving the Building
+
+        idle          - whether each Elevator, by index, is waiting for a hall call
+
+        eventQueue    - pending events, processed in chronological order
+
+        arrivalSource - a stream of arrivals read one at a time as the simulation reaches them, or null
+
+        arrivalsStreamed - the number of arrivals read from 'arrivalSource', including any read before the
+                           checkpoint the simulation was restored from
+
+        currentTime   - the simulated time, in milliseconds, of the event being processed
+
+        started       - whether the Elevators have been started
+
+        metrics       - measures wait times, ride times, stops and loads as the simulated clock advances
+
+        metricsPeriod - the simulated time, in milliseconds, between published metrics snapshots, or 0 if
+                        snapshots are only published on request
+
+        parkingPolicy - decides where Elevators which run out of requests wait for the next one, or null if
+                        they wait wherever their last trip ended
+     */
+
+    private final Building building;
+    private final List<Elevator> elevators;
+    private final boolean[] idle;
+    private final EventQueue eventQueue;
+    private ArrivalSource arrivalSource;
+    private long arrivalsStreamed;
+    private long currentTime;
+    private boolean started;
+
+    private final SimulationMetrics metrics;
+    private long metricsPeriod;
+    private ParkingPolicy parkingPolicy;
+
+    // Initializes an EventSimulation of a single Elevator operating within the given Building.
+
+    public EventSimulation(Building building, Elevator elevator)
+    {
+        this(building, List.of(elevator));
+    }
+
+    // Initializes an EventSimulation of all Elevators in an ElevatorBank.
+
+    public EventSimulation(ElevatorBank bank)
+    {
+        this(bank.getBuilding(), bank.getElevators());
+    }
+
+    // Initializes an EventSimulation of the given Elevators, which all start idle at time 0.
+
+    private EventSimulation(Building building, List<Elevator> elevators)
+    {
+        this.building = building;
+        this.elevators = List.copyOf(elevators);
+        this.idle = new boolean[elevators.size()];
+        this.eventQueue = new EventQueue();
+        this.metrics = new SimulationMetrics(this::getCurrentTime);
+
+        for(int i = 0; i < this.elevators.size(); i++)
+        {
+            idle[i] = true;
+            metrics.attach(this.elevators.get(i));
+        }
+
+        // Logged events are stamped with the simulated time rather than the wall-clock time. The shared Logger
+        // is only bound while the simulation runs, so that it does not keep the simulation reachable.
+        if(!building.getLogger().isShared())
+        {
+            building.getLogger().setTimeSource(this::getCurrentTime);
+        }
+    }
+
+    // Returns the simulated time, in milliseconds, of the most recently processed event.
+
+    public long getCurrentTime()
+    {
+        return currentTime;
+    }
+
+    // Returns the Building being simulated.
+
+    public Building getBuilding()
+    {
+        return building;
+    }
+
+    // Returns the SimulationMetrics measuring this simulation.
+
+    public SimulationMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /*
+    Publishes a metrics snapshot every 'period' milliseconds of simulated time, and once more when the
+    simulation runs out of events. Snapshots stop being scheduled once no other events are pending, so that
+    run() still finishes.
+     */
+
+    public void setMetricsPeriod(long period)
+    {
+        if(period <= 0)
+        {
+            throw new IllegalArgumentException("The metrics period must be positive: " + period);
+        }
+
+        boolean scheduled = metricsPeriod != 0;
+        metricsPeriod = period;
+
+        if(!scheduled)
+        {
+            eventQueue.schedule(currentTime + period, EventType.METRICS_SNAPSHOT, null, 0, null);
+        }
+    }
+
+    // Returns the number of events which have been scheduled but not yet processed.
+
+    public int getNumberOfPendingEvents()
+    {
+        return eventQueue.size();
+    }
+
+    // Schedules a person to arrive on their starting floor at the given time and call an elevator.
+
+    public void scheduleArrival(long time, Person p)
+    {
+        if(time < currentTime)
+        {
+            throw new IllegalArgumentException("Cannot schedule an arrival in the past: " + time);
+        }
+
+        eventQueue.schedule(time, EventType.ARRIVAL, null, p.getStartingFloor(), p);
+    }
+
+    /*
+    Streams arrivals from the given source. Only the next arrival is read ahead and scheduled, and each
+    following one is read when that person calls an Elevator, so traces of any length can be simulated in
+    constant memory. The source must be in chronological order and is not closed by the simulation.
+
+    If the simulation was restored from a snapshot taken while streaming, the source must be a new reader of
+    the same trace. It is read forward past the arrivals which had been read when the snapshot was taken.
+     */
+
+    public void setArrivalSource(ArrivalSource source)
+    {
+        if(arrivalSource != null)
+        {
+            throw new IllegalStateException("An arrival source has already been set.");
+        }
+
+        arrivalSource = source;
+
+        if(arrivalsStreamed == 0)
+        {
+            scheduleNextStreamedArrival();
+            return;
+        }
+
+        // The hall call of the last arrival read before the snapshot is already pending, and its details
+        // are read from the source's current arrival.
+        try
+        {
+            for(long i = 0; i < arrivalsStreamed; i++)
+            {
+                if(!source.next())
+                {
+                    throw new IllegalStateException("The arrival trace is shorter than the trace the "
+                            + "snapshot was taken with.");
+                }
+            }
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+    Reads the next arrival from the arrival source and schedules its hall call. Streamed arrivals skip the
+    ARRIVAL event and carry no Person, so the HALL_CALL handler reads their details from the source.
+     */
+
+    private void scheduleNextStreamedArrival()
+    {
+        try
+        {
+            if(!arrivalSource.next())
+            {
+                return;
+            }
+
+            arrivalsStreamed++;
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        if(arrivalSource.getTime() < currentTime)
+        {
+            throw new IllegalStateException("Arrival trace is not in chronological order at time "
+                    + arrivalSource.getTime());
+        }
+
+        eventQueue.schedule(arrivalSource.getTime(), EventType.HALL_CALL, null, arrivalSource.getStartingFloor(), null);
+    }
+
+    // Processes events until none remain.
+
+    public void run()
+    {
+        runUntil(Long.MAX_VALUE);
+    }
+
+    /*
+    Sets the policy which decides where Elevators wait once they run out of requests, or null to leave them where
+    their last trip ended. An Elevator moving to park answers hall calls once it has arrived.
+     */
+
+    public void setParkingPolicy(ParkingPolicy parkingPolicy)
+    {
+        this.parkingPolicy = parkingPolicy;
+    }
+
+    /*
+    Processes every event which occurs at or before the given time, then advances the clock to that time.
+    Events scheduled later remain in the queue, so the simulation can be resumed.
+     */
+
+    public void runUntil(long endTime)
+    {
+        Logger logger = building.getLogger();
+
+        if(!logger.isShared())
+        {
+            processUntil(endTime);
+            return;
+        }
+
+        LongSupplier previousTimeSource = logger.getTimeSource();
+        logger.setTimeSource(this::getCurrentTime);
+
+        try
+        {
+            processUntil(endTime);
+        }
+        finally
+        {
+            logger.setTimeSource(previousTimeSource);
+        }
+    }
+
+    // Starts the Elevators if necessary and processes every event which occurs at or before the given time.
+
+    private void processUntil(long endTime)
+    {
+        // People enqueued on Floors before the simulation started have not made a hall call, so the
+        // Elevators are started explicitly.
+        if(!started)
+        {
+            started = true;
+            startIdleElevators();
+        }
+
+        while(!eventQueue.isEmpty() && eventQueue.peek().getTime() <= endTime)
+        {
+            process(eventQueue.poll());
+        }
+
+        if(endTime != Long.MAX_VALUE)
+        {
+            currentTime = Math.max(currentTime, endTime);
+        }
+    }
+
+    // Advances the clock to the time of the given event and handles it.
+
+    private void process(SimulationEvent event)
+    {
+        currentTime = event.getTime();
+        Elevator e = event.getElevator();
+
+        switch(event.getType())
+        {
+            case ARRIVAL:
+                eventQueue.schedule(currentTime, EventType.HALL_CALL, null, event.getFloor(), event.getPerson());
+                break;
+
+            case HALL_CALL:
+                // Arrival times are kept with the person's details in the PassengerStore.
+                Floor floor = building.getFloor(event.getFloor());
+                int passenger;
+
+                if(event.getPerson() != null)
+                {
+                    passenger = floor.enqueuePerson(event.getPerson());
+                }
+                else if(arrivalSource == null)
+                {
+                    throw new IllegalStateException("The simulation was restored from a snapshot taken while "
+                            + "streaming arrivals, but no arrival source has been set.");
+                }
+                else
+                {
+                    passenger = floor.enqueuePerson(arrivalSource.getID(), arrivalSource.getWeight(),
+                            arrivalSource.getDestinationFloor());
+                    scheduleNextStreamedArrival();
+                }
+
+                if(passenger != PassengerStore.NO_HANDLE)
+                {
+                    building.getPassengerStore().setArrivalTime(passenger, currentTime);
+                }
+
+                startIdleElevators();
+                break;
+
+            case CAR_ARRIVAL:
+                e.arriveAt(event.getFloor());
+                eventQueue.schedule(currentTime, EventType.DOOR_OPEN, e, event.getFloor(), null);
+                break;
+
+            case DOOR_OPEN:
+                // The doors stay open while people get off and on. If nobody does, the elevator leaves at once.
+                ElevatorBank bank = building.getElevatorBank();
+                long transfers = bank == null ? 0 : bank.getNumberOfTransfers();
+                int peopleTransferred = e.serviceCurrentFloor();
+                long dwellTime = peopleTransferred == 0 ? 0 : e.getTimingModel().getStopTime(peopleTransferred);
+                eventQueue.schedule(currentTime + dwellTime, EventType.DOOR_CLOSE, e, event.getFloor(), null);
+
+                // People who changed Zones here have been dispatched to Elevators which may be idle.
+                if(bank != null && bank.getNumberOfTransfers() != transfers)
+                {
+                    startIdleElevators();
+                }
+                break;
+
+            case DOOR_CLOSE:
+                depart(e);
+                break;
+
+            case METRICS_SNAPSHOT:
+                metrics.publish();
+
+                if(!eventQueue.isEmpty())
+                {
+                    eventQueue.schedule(currentTime + metricsPeriod, EventType.METRICS_SNAPSHOT, null, 0, null);
+                }
+                else
+                {
+                    metricsPeriod = 0;
+                }
+                break;
+        }
+    }
+
+    // Starts a trip for every idle Elevator which has pending requests.
+
+    private void startIdleElevators()
+    {
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            if(idle[i])
+            {
+                idle[i] = false;
+                depart(elevators.get(i));
+            }
+        }
+    }
+
+    /*
+    Schedules the arrival of an Elevator at the next floor on its route, starting a new trip if the current one is
+    over. If the Elevator has no pending requests, it moves to the floor chosen by the ParkingPolicy, if any, and
+    becomes idle until the next hall call once it is there.
+     */
+
+    private void depart(Elevator e)
+    {
+        int nextStop = e.getNextStop();
+
+        if(nextStop == Integer.MAX_VALUE)
+        {
+            if(!e.startTrip() && !(parkingPolicy != null
+                    && e.startParking(parkingPolicy.selectParkingFloor(e, elevators))))
+            {
+                idle[elevators.indexOf(e)] = true;
+                return;
+            }
+
+            nextStop = e.getNextStop();
+        }
+
+        long travelTime = e.getTimingModel().getTravelTime(Math.abs(nextStop - e.getCurrentFloor()));
+        eventQueue.schedule(currentTime + travelTime, EventType.CAR_ARRIVAL, e, nextStop, null);
+    }
+
+    /*
+    Writes the complete state of the simulation to the given file: the clock, the people waiting on every
+    Floor, the position, direction, passengers, calls and route of every Elevator, the pending events,
+    including arrivals which have not happened yet, and the metrics recorded so far. The simulation can be
+    resumed from the snapshot with restore(), any number of times.
+     */
+
+    public void checkpoint(Path path) throws IOException
+    {
+        SimulationSnapshot.write(this, path);
+    }
+
+    /*
+    Replaces the state of this simulation with the state saved by checkpoint(). The simulation must not have
+    been started or have any arrivals scheduled, and must be set up like the one the snapshot was taken of,
+    with the same floors and the same Elevators, in the same order and with the same capacities. Settings
+    which are not part of the state, such as timing models, strategies, listeners and loggers, are kept, so
+    several differently configured runs can be resumed from the same snapshot.
+     */
+
+    public void restore(Path path) throws IOException
+    {
+        if(started || !eventQueue.isEmpty() || arrivalSource != null || building.getNumberOfPeopleWaiting() != 0)
+        {
+            throw new IllegalStateException("Only a simulation which has not been started can be restored.");
+        }
+
+        SimulationSnapshot.read(path, this);
+    }
+
+    // Returns the number of Elevators in the simulation.
+
+    int getNumberOfElevators()
+    {
+        return elevators.size();
+    }
+
+    // Returns the number of floors in the Building.
+
+    int getNumberOfFloors()
+    {
+        return building.getMaxFloor() - building.getMinFloor() + 1;
+    }
+
+    // Writes the state of the simulation, after the snapshot header, in the order readState() reads it.
+
+    void writeState(SnapshotWriter out) throws IOException
+    {
+        out.putInt(building.getMinFloor());
+        out.putLong(currentTime);
+        out.putInt(started ? 1 : 0);
+        out.putLong(metricsPeriod);
+        out.putLong(arrivalsStreamed);
+        building.writeWaitingPeople(out);
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            Elevator e = elevators.get(i);
+            out.putInt(e.getMaximumPeople());
+            out.putInt(e.getMaximumWeight());
+            out.putInt(idle[i] ? 1 : 0);
+            e.writeState(out);
+
+            // Elevators in an ElevatorBank wait for the hall calls assigned to them on their own view of the
+            // Building.
+            if(e.getBuilding() != building)
+            {
+                e.getBuilding().writeWaitingPeople(out);
+            }
+        }
+
+        SimulationEvent[] pending = eventQueue.toSortedArray();
+        out.putInt(pending.length);
+
+        for(SimulationEvent event : pending)
+        {
+            Person p = event.getPerson();
+            out.putLong(event.getTime());
+            out.putInt(event.getType().ordinal());
+            out.putInt(event.getElevator() == null ? -1 : elevators.indexOf(event.getElevator()));
+            out.putInt(event.getFloor());
+            out.putInt(p == null ? 0 : 1);
+
+            if(p != null)
+            {
+                out.putInt(p.getID());
+                out.putInt(p.getWeight());
+                out.putInt(p.getStartingFloor());
+                out.putInt(p.getDestinationFloor());
+            }
+        }
+
+        metrics.writeState(out);
+    }
+
+    // Replaces the state of the simulation with the state written by writeState().
+
+    void readState(ByteBuffer in)
+    {
+        if(in.getInt() != building.getMinFloor())
+        {
+            throw new IllegalArgumentException("The snapshot was taken of a Building with different floors.");
+        }
+
+        currentTime = in.getLong();
+        started = in.getInt() != 0;
+        metricsPeriod = in.getLong();
+        arrivalsStreamed = in.getLong();
+        building.readWaitingPeople(in);
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            Elevator e = elevators.get(i);
+
+            if(in.getInt() != e.getMaximumPeople() || in.getInt() != e.getMaximumWeight())
+            {
+                throw new IllegalArgumentException("The snapshot was taken of an elevator with a different "
+                        + "capacity than Elevator " + e.getID() + ".");
+            }
+
+            idle[i] = in.getInt() != 0;
+            e.readState(in);
+
+            if(e.getBuilding() != building)
+            {
+                e.getBuilding().readWaitingPeople(in);
+            }
+        }
+
+        int numberOfEvents = in.getInt();
+        EventType[] types = EventType.values();
+
+        for(int i = 0; i < numberOfEvents; i++)
+        {
+            long time = in.getLong();
+            EventType type = types[in.getInt()];
+            int elevator = in.getInt();
+            int floor = in.getInt();
+            Person p = in.getInt() == 0 ? null : new Person(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+            eventQueue.schedule(time, type, elevator < 0 ? null : elevators.get(elevator), floor, p);
+        }
+
+        metrics.readState(in);
+    }
+
+    // Returns the number of people who have left an Elevator at their destination floor.
+
+    public int getPassengersDelivered()
+    {
+        return (int) metrics.getPassengersDelivered();
+    }
+
+    // Returns the average time, in milliseconds, between a person arriving and entering an Elevator.
+
+    public double getAverageWaitTime()
+    {
+        return metrics.getWaitTimeHistogram().getMean();
+    }
+
+    // Returns the longest time, in milliseconds, any person waited before entering an Elevator.
+
+    public long getMaximumWaitTime()
+    {
+        return metrics.getWaitTimeHistogram().getMaximum();
+    }
+
+    // Returns the average time, in milliseconds, people spent inside an Elevator.
+
+    public double getAverageRideTime()
+    {
+        return metrics.getRideTimeHistogram().getMean();
+    }
+
+    // Returns the longest time, in milliseconds, any person spent inside an Elevator.
+
+    public long getMaximumRideTime()
+    {
+        return metrics.getRideTimeHistogram().getMaximum();
+    }
+
+    // Returns the distribution of the time, in milliseconds, between people arriving and entering an Elevator.
+
+    public LatencyHistogram getWaitTimeHistogram()
+    {
+        return metrics.getWaitTimeHistogram();
+    }
+
+    // Returns the distribution of the time, in milliseconds, people spent inside an Elevator.
+
+    public LatencyHistogram getRideTimeHistogram()
+    {
+        return metrics.getRideTimeHistogram();
+    }
+}
\ No newline at end of file
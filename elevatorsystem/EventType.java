@@ -0,0 +1,37 @@
+package elevatorsystem;
+
+public enum EventType
+{
+    /*
+    The EventType enumeration is used to enumerate the different events processed by an EventSimulation.
+    The events include: a person arriving on a floor, a person pressing a call button, an elevator arriving
+    at a floor, an elevator opening or closing its doors, and a periodic snapshot of the simulation's metrics.
+
+    Attributes:
+        representation - a String representation of the different events, which is used for
+                         logging purposes. Set to 'final' because it should not be changed
+     */
+
+    ARRIVAL("arrival"),
+    HALL_CALL("hall call"),
+    CAR_ARRIVAL("car arrival"),
+    DOOR_OPEN("door open"),
+    DOOR_CLOSE("door close"),
+    METRICS_SNAPSHOT("metrics snapshot");
+
+    private final String representation;
+
+    // Constructor of the EventType class. 'EventType' objects are not meant to be instantiated.
+
+    private EventType(String representation)
+    {
+        this.representation = representation;
+    }
+
+    // Returns the corresponding representation of one of the events.
+
+    public String getRepresentation()
+    {
+        return representation;
+    }
+}
\ No newline at end of file
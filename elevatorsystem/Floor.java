@@ -1,32 +1,69 @@
 package elevatorsystem;
-import java.util.LinkedList;
-import java.util.Queue;
 
 public class Floor
 {
     /*
-    The Floor class represents floors with separate queues for people going up or down.
+    The Floor class represents floors with separate queues for people going up or down. A queue nobody is
+    waiting in is the shared IntQueue.EMPTY until someone joins it, so that a Floor nobody has called from holds
+    no queue storage. A queue whose buffer grew large during a busy spell is released when its last person
+    leaves, while a small one is kept, so that a Floor called from again and again does not allocate each time.
 
     Attributes:
+        EMPTY           - a shared Floor nobody is waiting on, which a Building hands to code which only reads
+                          the queues of a Floor it has not created yet. It has no PassengerStore, and adding
+                          anyone to it throws an IllegalStateException
         floorNumber     - the number associated with this floor
-        peopleGoingUp   - a queue of people on the current Floor who want to go to a higher floor
-        peopleGoingDown - a queue of people on the current Floor who want to go to a lower floor
+        peopleGoingUp   - a queue of handles of people on the current Floor who want to go to a higher floor
+        peopleGoingDown - a queue of handles of people on the current Floor who want to go to a lower floor
+        weightGoingUp   - the total weight of the people in 'peopleGoingUp'
+        weightGoingDown - the total weight of the people in 'peopleGoingDown'
+        passengers      - the PassengerStore holding the details of the people behind each handle
+        building        - the Building this Floor belongs to, which is notified whenever a waiting queue
+                          becomes empty or non-empty. May be null for a Floor that is not part of a Building
      */
 
+    static final Floor EMPTY = new Floor();
+
     private final int floorNumber;
-    private final Queue<Person> peopleGoingUp;
-    private final Queue<Person> peopleGoingDown;
+    private IntQueue peopleGoingUp;
+    private IntQueue peopleGoingDown;
+    private long weightGoingUp;
+    private long weightGoingDown;
+    private final PassengerStore passengers;
+    private final Building building;
 
     /*
-    Initializes a Floor object which initially contains an empty waiting queue for people who want to go
-    to a higher floor or a lower floor.
+    Initializes a Floor object which initially has no one waiting to go to a higher floor or a lower floor.
      */
 
     public Floor(int floorNumber)
+    {
+        this(floorNumber, null);
+    }
+
+    /*
+    Initializes a Floor object which keeps the waiting index of the given Building up to date and shares
+    the Building's PassengerStore.
+     */
+
+    Floor(int floorNumber, Building building)
     {
         this.floorNumber = floorNumber;
-        this.peopleGoingUp = new LinkedList<>();
-        this.peopleGoingDown = new LinkedList<>();
+        this.peopleGoingUp = IntQueue.EMPTY;
+        this.peopleGoingDown = IntQueue.EMPTY;
+        this.passengers = building == null ? new PassengerStore() : building.getPassengerStore();
+        this.building = building;
+    }
+
+    // Initializes the shared EMPTY Floor, which belongs to no Building and holds no PassengerStore.
+
+    private Floor()
+    {
+        this.floorNumber = Integer.MAX_VALUE;
+        this.peopleGoingUp = IntQueue.EMPTY;
+        this.peopleGoingDown = IntQueue.EMPTY;
+        this.passengers = null;
+        this.building = null;
     }
 
     // Returns the current Floor's number.
@@ -36,9 +73,16 @@ public class Floor
         return floorNumber;
     }
 
+    // Returns the PassengerStore holding the details of the people waiting on this Floor.
+
+    public PassengerStore getPassengerStore()
+    {
+        return passengers;
+    }
+
     // Returns the current queue of people waiting to enter an elevator and move to a higher floor.
 
-    protected Queue<Person> getPeopleGoingUp()
+    protected IntQueue getPeopleGoingUp()
     {
         return peopleGoingUp;
     }
@@ -55,14 +99,14 @@ public class Floor
 
     // Returns the current queue of people waiting to enter an elevator and move to a lower floor.
 
-    protected Queue<Person> getPeopleGoingDown()
+    protected IntQueue getPeopleGoingDown()
     {
         return peopleGoingDown;
     }
 
     /*
     Returns the number of people in the current queue waiting to enter an elevator
-    and move to a higher floor.
+    and move to a lower floor.
      */
 
     public int getNumberOfPeopleWaitingGoingDown()
@@ -70,20 +114,198 @@ public class Floor
         return peopleGoingDown.size();
     }
 
+    // Returns the number of people waiting to move in the given direction.
+
+    public int getNumberOfPeopleWaiting(Direction direction)
+    {
+        return direction == Direction.UP ? peopleGoingUp.size() : peopleGoingDown.size();
+    }
+
+    // Returns the total weight of the people waiting to move in the given direction, without walking the queue.
+
+    public long getWeightWaiting(Direction direction)
+    {
+        return direction == Direction.UP ? weightGoingUp : weightGoingDown;
+    }
+
+    /*
+    Enqueues a person to the correct queue based on the direction in which the destination floor is located.
+    Returns the handle of the person in the Floor's PassengerStore, or PassengerStore.NO_HANDLE if the person
+    does not need to travel.
+     */
+
+    public int enqueuePerson(Person p)
+    {
+        checkNotShared();
+
+        if(p.getDirectionToDestination() == Direction.STATIONARY)
+        {
+            return PassengerStore.NO_HANDLE;
+        }
+
+        int passenger = passengers.add(p);
+        enqueuePassenger(passenger);
+        return passenger;
+    }
+
+    /*
+    Enqueues a person starting on this Floor without creating a Person object. Returns the handle of the
+    person in the Floor's PassengerStore, or PassengerStore.NO_HANDLE if the person does not need to travel.
+     */
+
+    public int enqueuePerson(int id, int weight, int destinationFloor)
+    {
+        checkNotShared();
+
+        if(destinationFloor == floorNumber)
+        {
+            return PassengerStore.NO_HANDLE;
+        }
+
+        int passenger = passengers.add(id, weight, floorNumber, destinationFloor);
+        enqueuePassenger(passenger);
+        return passenger;
+    }
+
+    // Enqueues a person already held in the Floor's PassengerStore.
+
+    void enqueuePassenger(int passenger)
+    {
+        if(building != null)
+        {
+            building.hallCallRegistered(this, passenger);
+        }
+
+        // When the Building is served by an ElevatorBank, the person is handed to the car assigned by the
+        // bank's dispatcher instead of waiting in this Floor's queues.
+        if(building != null && building.dispatchHallCall(floorNumber, passenger))
+        {
+            return;
+        }
+
+        queuePassenger(passenger);
+    }
+
+    // Adds a person already held in the Floor's PassengerStore to the waiting queue for their direction.
+
+    void queuePassenger(int passenger)
+    {
+        checkNotShared();
+
+        if(passengers.getDirectionToDestination(passenger) == Direction.DOWN)
+        {
+            if(peopleGoingDown == IntQueue.EMPTY)
+            {
+                peopleGoingDown = new IntQueue();
+            }
+
+            peopleGoingDown.offer(passenger);
+            weightGoingDown += passengers.getWeight(passenger);
+        }
+        else
+        {
+            if(peopleGoingUp == IntQueue.EMPTY)
+            {
+                peopleGoingUp = new IntQueue();
+            }
+
+            peopleGoingUp.offer(passenger);
+            weightGoingUp += passengers.getWeight(passenger);
+        }
+
+        updateBuilding(1);
+    }
+
+    /*
+    Returns the handle of the person at the front of the queue for the given direction without removing them,
+    or PassengerStore.NO_HANDLE if nobody is waiting to move in that direction.
+     */
+
+    protected int peekPassenger(Direction direction)
+    {
+        IntQueue queue = direction == Direction.UP ? peopleGoingUp : peopleGoingDown;
+        return queue.isEmpty() ? PassengerStore.NO_HANDLE : queue.peek();
+    }
+
+    /*
+    Removes and returns the handle of the person at the front of the queue for the given direction, or
+    PassengerStore.NO_HANDLE if nobody is waiting to move in that direction.
+     */
+
+    protected int dequeuePassenger(Direction direction)
+    {
+        IntQueue queue = direction == Direction.UP ? peopleGoingUp : peopleGoingDown;
+
+        if(queue.isEmpty())
+        {
+            return PassengerStore.NO_HANDLE;
+        }
+
+        return removePassenger(direction, 0);
+    }
+
     /*
-    Enqueues a person to the correct queue based on the direction in which
-    the destination floor is located.
+    Returns the handle of the person at the given position in the queue for the given direction, counted from the
+    front, without removing them. The position must be less than the number of people waiting.
      */
 
-    public void enqueuePerson(Person p)
+    protected int getPassenger(Direction direction, int position)
+    {
+        return (direction == Direction.UP ? peopleGoingUp : peopleGoingDown).get(position);
+    }
+
+    /*
+    Removes and returns the handle of the person at the given position in the queue for the given direction,
+    counted from the front. Used to let a person board past people ahead of them who do not fit. A queue left
+    empty with a grown buffer is released.
+     */
+
+    protected int removePassenger(Direction direction, int position)
+    {
+        int passenger;
+
+        if(direction == Direction.UP)
+        {
+            passenger = peopleGoingUp.remove(position);
+            weightGoingUp -= passengers.getWeight(passenger);
+
+            if(peopleGoingUp.isEmptyWithGrownBuffer())
+            {
+                peopleGoingUp = IntQueue.EMPTY;
+            }
+        }
+        else
+        {
+            passenger = peopleGoingDown.remove(position);
+            weightGoingDown -= passengers.getWeight(passenger);
+
+            if(peopleGoingDown.isEmptyWithGrownBuffer())
+            {
+                peopleGoingDown = IntQueue.EMPTY;
+            }
+        }
+
+        updateBuilding(-1);
+        return passenger;
+    }
+
+    // Throws an IllegalStateException if this is the shared EMPTY Floor, which nobody may be added to.
+
+    private void checkNotShared()
     {
-        if(p.getDirectionToDestination() == Direction.DOWN)
+        if(this == EMPTY)
         {
-            peopleGoingDown.offer(p);
+            throw new IllegalStateException("Nobody can be added to the shared empty Floor.");
         }
-        else if(p.getDirectionToDestination() == Direction.UP)
+    }
+
+    // Notifies the Building, if any, that the waiting queues of this Floor have changed by the given number of people.
+
+    private void updateBuilding(int change)
+    {
+        if(building != null)
         {
-            peopleGoingUp.offer(p);
+            building.updateWaitingIndex(this, change);
         }
     }
 }
\ No newline at end of file
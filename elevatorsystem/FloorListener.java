@@ -0,0 +1,14 @@
+package elevatorsystem;
+
+public interface FloorListener
+{
+    /*
+    The FloorListener interface is used to observe the Floors of a Building as people arrive on them and call an
+    Elevator. All methods do nothing by default, so implementations only override the events they need. People
+    are identified by their handle in the Floor's PassengerStore.
+     */
+
+    // Called when a person arrives on the given floor and calls an elevator to take them to their destination.
+
+    default void hallCallRegistered(Floor floor, int passenger) {}
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package elevatorsystem;
+import java.util.HashMap;
+import java.util.Map;
+
+public class FloorMap
+{
+    /*
+    The FloorMap class maps floor labels, such as "B3" or "12A", to the consecutive floor numbers used
+    internally by a Building and its Elevators, and back again. Labels are only needed at the edges of the
+    simulation, when reading input and when logging, so that the rest of the simulation can work with
+    plain integers.
+
+    Attributes:
+        minFloor     - the floor number associated with the first label
+
+        labels       - an array of floor labels, indexed by floor number relative to 'minFloor'
+
+        floorNumbers - a hashmap which stores key-value pairs where the String is a floor label
+                       and the value is the associated floor number
+     */
+
+    private final int minFloor;
+    private final String[] labels;
+    private final Map<String, Integer> floorNumbers;
+
+    /*
+    Initializes a FloorMap for floors numbered 'minFloor' to 'maxFloor' where each floor is labeled
+    with its own number. Negative floor numbers are allowed.
+     */
+
+    public FloorMap(int minFloor, int maxFloor)
+    {
+        this.minFloor = minFloor;
+        this.labels = new String[maxFloor - minFloor + 1];
+        this.floorNumbers = new HashMap<>();
+
+        for(int i = minFloor; i <= maxFloor; i++)
+        {
+            addLabel(i, String.valueOf(i));
+        }
+    }
+
+    /*
+    Initializes a FloorMap from a list of labels ordered from the lowest floor to the highest floor.
+    The first label is assigned floor number 0, the next floor number 1, and so on, which allows
+    buildings with basements, skipped floor numbers or mezzanines to be represented.
+     */
+
+    public FloorMap(String... labels)
+    {
+        if(labels.length == 0)
+        {
+            throw new IllegalArgumentException("A building must have at least one floor.");
+        }
+
+        this.minFloor = 0;
+        this.labels = new String[labels.length];
+        this.floorNumbers = new HashMap<>();
+
+        for(int i = 0; i < labels.length; i++)
+        {
+            addLabel(i, labels[i]);
+        }
+    }
+
+    // Associates a label with a floor number, rejecting duplicate labels.
+
+    private void addLabel(int floorNumber, String label)
+    {
+        if(floorNumbers.putIfAbsent(label, floorNumber) != null)
+        {
+            throw new IllegalArgumentException("Duplicate floor label: " + label);
+        }
+
+        labels[floorNumber - minFloor] = label;
+    }
+
+    // Returns the lowest floor number in the mapping.
+
+    public int getMinFloor()
+    {
+        return minFloor;
+    }
+
+    // Returns the highest floor number in the mapping.
+
+    public int getMaxFloor()
+    {
+        return minFloor + labels.length - 1;
+    }
+
+    // Returns the floor number associated with a label.
+
+    public int getFloorNumber(String label)
+    {
+        Integer floorNumber = floorNumbers.get(label);
+
+        if(floorNumber == null)
+        {
+            throw new IllegalArgumentException("Unknown floor label: " + label);
+        }
+
+        return floorNumber;
+    }
+
+    // Returns the label associated with a floor number.
+
+    public String getLabel(int floorNumber)
+    {
+        if(floorNumber < minFloor || floorNumber > getMaxFloor())
+        {
+            throw new IllegalArgumentException("Invalid floor number: " + floorNumber);
+        }
+
+        return labels[floorNumber - minFloor];
+    }
+}
\ No newline at end of file
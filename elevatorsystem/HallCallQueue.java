@@ -0,0 +1,161 @@
+package elevatorsystem;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class HallCallQueue
+{
+    /*
+    The HallCallQueue class is a bounded, lock-free, multi-producer single-consumer queue of hall calls. Any
+    number of threads can offer calls at the same time, while a single consumer, the control thread of one car,
+    takes them in order. Calls are kept in parallel primitive arrays laid out like the Logger's ring buffer, so
+    offering a call never allocates.
+
+    The consumer reads calls through a cursor: poll() moves to the next call and the getters describe it until
+    poll() is called again.
+
+    Attributes:
+        ids / weights / floors / destinationFloors - the fields of the calls in the ring buffer, indexed by
+                          the call's sequence number modulo the capacity
+
+        mask            - the capacity minus one, used to find a call's index
+
+        published       - the sequence number of the call most recently completed in each slot
+
+        claimed         - the sequence number which will be given to the next call
+
+        consumed        - the sequence number of the next call to be taken by the consumer
+
+        id / weight / floor / destinationFloor - the call most recently taken by poll()
+     */
+
+    private final int[] ids;
+    private final int[] weights;
+    private final int[] floors;
+    private final int[] destinationFloors;
+    private final int mask;
+
+    private final AtomicLongArray published;
+    private final AtomicLong claimed;
+    private volatile long consumed;
+
+    private int id;
+    private int weight;
+    private int floor;
+    private int destinationFloor;
+
+    // Initializes an empty HallCallQueue whose capacity is the given capacity rounded up to a power of two.
+
+    HallCallQueue(int capacity)
+    {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+
+        ids = new int[size];
+        weights = new int[size];
+        floors = new int[size];
+        destinationFloors = new int[size];
+        mask = size - 1;
+
+        published = new AtomicLongArray(size);
+
+        for(int i = 0; i < size; i++)
+        {
+            published.set(i, -1);
+        }
+
+        claimed = new AtomicLong();
+    }
+
+    // Adds a call to the queue, returning false if the queue is full. Safe to call from any thread.
+
+    boolean offer(int id, int weight, int floor, int destinationFloor)
+    {
+        long sequence;
+
+        do
+        {
+            sequence = claimed.get();
+
+            if(sequence - consumed > mask)
+            {
+                return false;
+            }
+        }
+        while(!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        ids[index] = id;
+        weights[index] = weight;
+        floors[index] = floor;
+        destinationFloors[index] = destinationFloor;
+
+        published.set(index, sequence);
+        return true;
+    }
+
+    /*
+    Takes the next call, returning false if no call has been completely offered yet. Must only be called by the
+    consumer thread.
+     */
+
+    boolean poll()
+    {
+        long next = consumed;
+        int index = (int) (next & mask);
+
+        if(published.get(index) != next)
+        {
+            return false;
+        }
+
+        id = ids[index];
+        weight = weights[index];
+        floor = floors[index];
+        destinationFloor = destinationFloors[index];
+
+        // Frees the slot for producers.
+        consumed = next + 1;
+        return true;
+    }
+
+    // Returns true if no call has been claimed by a producer since the consumer last emptied the queue.
+
+    boolean isEmpty()
+    {
+        return claimed.get() == consumed;
+    }
+
+    // Returns the number of calls which have been claimed by producers but not yet taken. Safe to call from any thread.
+
+    int size()
+    {
+        return (int) (claimed.get() - consumed);
+    }
+
+    // Returns the id of the person who made the call most recently taken.
+
+    int getID()
+    {
+        return id;
+    }
+
+    // Returns the weight of the person who made the call most recently taken.
+
+    int getWeight()
+    {
+        return weight;
+    }
+
+    // Returns the floor the call most recently taken was made from.
+
+    int getFloor()
+    {
+        return floor;
+    }
+
+    // Returns the destination floor of the person who made the call most recently taken.
+
+    int getDestinationFloor()
+    {
+        return destinationFloor;
+    }
+}
\ No newline at end of file
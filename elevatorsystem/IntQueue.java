@@ -0,0 +1,171 @@
+package elevatorsystem;
+import java.util.Arrays;
+
+public class IntQueue
+{
+    /*
+    The IntQueue class is a first-in, first-out queue of int values stored in a ring buffer, which grows
+    as needed. It is used instead of a Queue<Integer> so that values are not boxed and no node is allocated
+    for each element.
+
+    Attributes:
+        RETAINED_CAPACITY - the largest ring buffer an empty queue is worth keeping, since a queue which
+                            fills and drains over and over would otherwise allocate its buffer every time
+
+        EMPTY             - a shared queue with no ring buffer, which stands in for the queues of a Floor
+                            nobody is waiting on. Adding to or removing from it throws an IllegalStateException
+
+        values            - the ring buffer holding the elements; its length is always a power of two, or
+                            zero for 'EMPTY'
+
+        head              - the index of the first element in the ring buffer
+
+        size              - the number of elements in the queue
+     */
+
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final int RETAINED_CAPACITY = 64;
+
+    static final IntQueue EMPTY = new IntQueue(0);
+
+    private int[] values;
+    private int head;
+    private int size;
+
+    // Initializes an empty IntQueue.
+
+    public IntQueue()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Initializes an empty IntQueue with a ring buffer of the given capacity.
+
+    private IntQueue(int capacity)
+    {
+        values = new int[capacity];
+    }
+
+    // Adds a value to the end of the queue.
+
+    public void offer(int value)
+    {
+        if(size == values.length)
+        {
+            checkNotShared();
+            grow();
+        }
+
+        values[(head + size) & (values.length - 1)] = value;
+        size++;
+    }
+
+    // Returns the value at the front of the queue without removing it. The queue must not be empty.
+
+    public int peek()
+    {
+        return values[head];
+    }
+
+    // Removes and returns the value at the front of the queue. The queue must not be empty.
+
+    public int poll()
+    {
+        checkNotShared();
+        int value = values[head];
+        head = (head + 1) & (values.length - 1);
+        size--;
+        return value;
+    }
+
+    // Returns the value at the given position, counted from the front of the queue.
+
+    public int get(int position)
+    {
+        return values[(head + position) & (values.length - 1)];
+    }
+
+    /*
+    Removes and returns the value at the given position, counted from the front of the queue. The values
+    in front of it are shifted back by one place, so the cost grows with the position.
+     */
+
+    public int remove(int position)
+    {
+        checkNotShared();
+        int mask = values.length - 1;
+        int value = values[(head + position) & mask];
+
+        for(int i = position; i > 0; i--)
+        {
+            values[(head + i) & mask] = values[(head + i - 1) & mask];
+        }
+
+        head = (head + 1) & mask;
+        size--;
+        return value;
+    }
+
+    // Returns true if the queue has no elements.
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    // Returns true if the queue is empty and its ring buffer has grown past the capacity worth keeping.
+
+    boolean isEmptyWithGrownBuffer()
+    {
+        return size == 0 && values.length > RETAINED_CAPACITY;
+    }
+
+    // Returns the number of elements in the queue.
+
+    public int size()
+    {
+        return size;
+    }
+
+    // Throws an IllegalStateException if this is the shared EMPTY queue, which must never change.
+
+    private void checkNotShared()
+    {
+        if(this == EMPTY)
+        {
+            throw new IllegalStateException("The shared empty IntQueue cannot be modified.");
+        }
+    }
+
+    // Doubles the capacity of the ring buffer, moving the elements to the start of the new buffer.
+
+    private void grow()
+    {
+        int[] grown = new int[values.length * 2];
+        int firstPart = values.length - head;
+        System.arraycopy(values, head, grown, 0, firstPart);
+        System.arraycopy(values, 0, grown, firstPart, head);
+        values = grown;
+        head = 0;
+    }
+
+    // Returns the elements of the queue, in order, as an array.
+
+    public int[] toArray()
+    {
+        int[] elements = new int[size];
+
+        for(int i = 0; i < size; i++)
+        {
+            elements[i] = get(i);
+        }
+
+        return elements;
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(toArray());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package elevatorsystem;
+
+public class KinematicTimingModel extends TimingModel
+{
+    /*
+    The KinematicTimingModel class estimates travel times from the motion of a real elevator car, rather than
+    from a fixed time per floor. A run starts and ends at rest, and follows the usual jerk-limited profile: the
+    acceleration builds up at the rated jerk until it reaches the rated acceleration, the car accelerates until
+    it approaches the rated speed, cruises, and then slows down symmetrically. Short runs never reach the rated
+    speed, and very short runs never reach the rated acceleration, so one-floor hops take proportionally much
+    longer than express runs, as they do in practice.
+
+    The time of a run is computed in closed form from its length, so a run of a hundred floors costs the same to
+    simulate as a run of one. Stops take the time to open and close the doors plus a transfer time for every
+    person who enters or leaves.
+
+    Attributes:
+        floorHeight  - the distance between two adjacent floors, in metres
+
+        ratedSpeed   - the highest speed of the car, in metres per second
+
+        acceleration - the highest acceleration and deceleration of the car, in metres per second squared
+
+        jerk         - the rate at which the acceleration changes, in metres per second cubed
+     */
+
+    private final double floorHeight;
+    private final double ratedSpeed;
+    private final double acceleration;
+    private final double jerk;
+
+    /*
+    Initializes a KinematicTimingModel for floors 'floorHeight' metres apart, a car with the given rated speed,
+    acceleration and jerk, doors which take the given times in milliseconds to open and to close, and the given
+    time in milliseconds for each person to enter or leave.
+     */
+
+    public KinematicTimingModel(double floorHeight, double ratedSpeed, double acceleration, double jerk,
+            long doorOpenTime, long doorCloseTime, long transferTime)
+    {
+        super(getFloorTravelTime(floorHeight, ratedSpeed, acceleration, jerk), doorOpenTime + doorCloseTime,
+                transferTime);
+
+        this.floorHeight = floorHeight;
+        this.ratedSpeed = ratedSpeed;
+        this.acceleration = acceleration;
+        this.jerk = jerk;
+    }
+
+    // Returns the time taken to travel the given number of floors without stopping.
+
+    @Override
+    public long getTravelTime(int floors)
+    {
+        if(floors == 0)
+        {
+            return 0;
+        }
+
+        return toMilliseconds(getRunSeconds(Math.abs(floors) * floorHeight, ratedSpeed, acceleration, jerk));
+    }
+
+    // Returns the distance between two adjacent floors, in metres.
+
+    public double getFloorHeight()
+    {
+        return floorHeight;
+    }
+
+    // Returns the highest speed of the car, in metres per second.
+
+    public double getRatedSpeed()
+    {
+        return ratedSpeed;
+    }
+
+    // Returns the highest acceleration of the car, in metres per second squared.
+
+    public double getAcceleration()
+    {
+        return acceleration;
+    }
+
+    // Returns the rate at which the acceleration of the car changes, in metres per second cubed.
+
+    public double getJerk()
+    {
+        return jerk;
+    }
+
+    /*
+    Returns the time, in seconds, of a run of the given length which starts and ends at rest, for a car with the
+    given rated speed, acceleration and jerk. A run long enough to reach the rated speed cruises for the distance
+    left over after accelerating and slowing down. A shorter run accelerates to the highest speed from which it
+    can still stop in time, found by solving the distance formula of the profile for that speed.
+     */
+
+    private static double getRunSeconds(double distance, double ratedSpeed, double acceleration, double jerk)
+    {
+        // The speed gained while the acceleration builds up to its highest value and falls back to zero. A run
+        // whose top speed is lower never reaches full acceleration.
+        double fullAccelerationSpeed = acceleration * acceleration / jerk;
+        double accelerationTime = getTimeToReach(ratedSpeed, acceleration, jerk);
+        double cruiseDistance = ratedSpeed * accelerationTime;
+
+        if(distance >= cruiseDistance)
+        {
+            return 2 * accelerationTime + (distance - cruiseDistance) / ratedSpeed;
+        }
+
+        // A run whose top speed is exactly 'fullAccelerationSpeed' covers 2 a^3 / j^2 metres.
+        if(distance >= 2 * fullAccelerationSpeed * acceleration / jerk)
+        {
+            // Solves d = v^2 / a + v a / j for the top speed v.
+            double topSpeed = (-fullAccelerationSpeed
+                    + Math.sqrt(fullAccelerationSpeed * fullAccelerationSpeed + 4 * acceleration * distance)) / 2;
+            return 2 * getTimeToReach(topSpeed, acceleration, jerk);
+        }
+
+        // The acceleration rises and falls without levelling off, and d = 2 j t^3 for a quarter of the run t.
+        return 4 * Math.cbrt(distance / (2 * jerk));
+    }
+
+    /*
+    Returns the time, in seconds, taken to accelerate from rest to the given speed. The distance covered meanwhile
+    is half the speed times this time, since the profile is symmetric about its midpoint.
+     */
+
+    private static double getTimeToReach(double speed, double acceleration, double jerk)
+    {
+        if(speed >= acceleration * acceleration / jerk)
+        {
+            return speed / acceleration + acceleration / jerk;
+        }
+
+        return 2 * Math.sqrt(speed / jerk);
+    }
+
+    /*
+    Returns the time, in milliseconds, of a run between adjacent floors with the given parameters, after checking
+    that they describe a car which can move. Used to give the TimingModel its time per floor.
+     */
+
+    private static long getFloorTravelTime(double floorHeight, double ratedSpeed, double acceleration, double jerk)
+    {
+        if(!(floorHeight > 0 && ratedSpeed > 0 && acceleration > 0 && jerk > 0))
+        {
+            throw new IllegalArgumentException("The floor height, speed, acceleration and jerk must be positive");
+        }
+
+        return toMilliseconds(getRunSeconds(floorHeight, ratedSpeed, acceleration, jerk));
+    }
+
+    // Converts a time in seconds to the nearest millisecond.
+
+    private static long toMilliseconds(double seconds)
+    {
+        return Math.round(seconds * 1000);
+    }
+}
\ No newline at end of file
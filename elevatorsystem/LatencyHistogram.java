@@ -0,0 +1,224 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class LatencyHistogram
+{
+    /*
+    The LatencyHistogram class counts non-negative durations, such as wait times in milliseconds, in
+    log-linear buckets in the style of HdrHistogram. Values below 'SUB_BUCKET_COUNT' get a bucket each, and
+    every larger power-of-two range is split into 'SUB_BUCKET_COUNT / 2' equal buckets, so any recorded value
+    can be recovered to within about 1.6% using a fixed array of counts. Recording is a few arithmetic
+    operations and never allocates, and histograms from separate runs can be added together.
+
+    Attributes:
+        SUB_BUCKET_BITS  - the number of bits of precision kept for each value
+
+        SUB_BUCKET_COUNT - the number of values below which every value has its own bucket
+
+        counts           - the number of values recorded in each bucket
+
+        totalCount       - the number of values recorded
+
+        sum              - the sum of the values recorded, used to find the mean exactly
+
+        minimum / maximum - the smallest and largest values recorded
+     */
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int NUMBER_OF_BUCKETS = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * HALF_COUNT;
+
+    private final long[] counts;
+    private long totalCount;
+    private long sum;
+    private long minimum;
+    private long maximum;
+
+    // Initializes an empty LatencyHistogram.
+
+    public LatencyHistogram()
+    {
+        counts = new long[NUMBER_OF_BUCKETS];
+        minimum = Long.MAX_VALUE;
+    }
+
+    // Returns the index of the bucket which counts the given value.
+
+    private static int bucketIndex(long value)
+    {
+        if(value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        // The value is shifted right until it lies between HALF_COUNT and SUB_BUCKET_COUNT.
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_COUNT + (int) ((value >>> shift) - HALF_COUNT);
+    }
+
+    // Returns the largest value counted by the bucket with the given index.
+
+    private static long highestValueInBucket(int index)
+    {
+        if(index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % HALF_COUNT + HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    // Records a single value, which must not be negative.
+
+    public void record(long value)
+    {
+        if(value < 0)
+        {
+            throw new IllegalArgumentException("Cannot record a negative value: " + value);
+        }
+
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        sum += value;
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+    }
+
+    // Adds every value recorded by another LatencyHistogram to this one.
+
+    public void add(LatencyHistogram other)
+    {
+        for(int i = 0; i < NUMBER_OF_BUCKETS; i++)
+        {
+            counts[i] += other.counts[i];
+        }
+
+        totalCount += other.totalCount;
+        sum += other.sum;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+    // Removes every recorded value.
+
+    public void reset()
+    {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        minimum = Long.MAX_VALUE;
+        maximum = 0;
+    }
+
+    // Writes the recorded values to a simulation snapshot. Only the buckets with a count are written.
+
+    void writeTo(SnapshotWriter out) throws IOException
+    {
+        int buckets = 0;
+
+        for(int i = 0; i < NUMBER_OF_BUCKETS; i++)
+        {
+            buckets += counts[i] != 0 ? 1 : 0;
+        }
+
+        out.putLong(totalCount);
+        out.putLong(sum);
+        out.putLong(minimum);
+        out.putLong(maximum);
+        out.putInt(buckets);
+
+        for(int i = 0; i < NUMBER_OF_BUCKETS; i++)
+        {
+            if(counts[i] != 0)
+            {
+                out.putInt(i);
+                out.putLong(counts[i]);
+            }
+        }
+    }
+
+    // Replaces the recorded values with the values written by writeTo.
+
+    void readFrom(ByteBuffer in)
+    {
+        Arrays.fill(counts, 0);
+        totalCount = in.getLong();
+        sum = in.getLong();
+        minimum = in.getLong();
+        maximum = in.getLong();
+
+        int buckets = in.getInt();
+
+        for(int i = 0; i < buckets; i++)
+        {
+            counts[in.getInt()] = in.getLong();
+        }
+    }
+
+    // Returns the number of values recorded.
+
+    public long getTotalCount()
+    {
+        return totalCount;
+    }
+
+    // Returns the exact mean of the recorded values, or 0 if none were recorded.
+
+    public double getMean()
+    {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    // Returns the smallest recorded value, or 0 if none were recorded.
+
+    public long getMinimum()
+    {
+        return totalCount == 0 ? 0 : minimum;
+    }
+
+    // Returns the largest recorded value, or 0 if none were recorded.
+
+    public long getMaximum()
+    {
+        return maximum;
+    }
+
+    /*
+    Returns the value at the given percentile, from 0 to 100, meaning that at least that percentage of the
+    recorded values are less than or equal to it, to within the precision of the buckets. Returns 0 if no
+    values were recorded.
+     */
+
+    public long getValueAtPercentile(double percentile)
+    {
+        if(percentile < 0.0 || percentile > 100.0)
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+
+        if(totalCount == 0)
+        {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+
+        for(int i = 0; i < NUMBER_OF_BUCKETS; i++)
+        {
+            seen += counts[i];
+
+            if(seen >= target)
+            {
+                return Math.max(minimum, Math.min(maximum, highestValueInBucket(i)));
+            }
+        }
+
+        return maximum;
+    }
+}
\ No newline at end of file
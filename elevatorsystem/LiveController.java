@@ -0,0 +1,489 @@
+package elevatorsystem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class LiveController
+{
+    /*
+    The LiveController class runs a group of Elevators in real time, taking hall calls from any number of
+    threads while the cars are moving. Each car runs its own control loop on its own thread and owns its view
+    of the Building, its Floor queues and its PassengerStore, so none of them need locks. Calls reach a car
+    through a lock-free multi-producer single-consumer HallCallQueue: the calling thread picks a car with the
+    Dispatcher and offers the call to that car's queue, and the car moves it onto its own Floor queue at its
+    next stop or when it wakes up. An idle car parks its thread and is woken by the next call assigned to it,
+    rather than polling. A caller whose car's queue is full waits, with backoff, for the car to take its calls.
+
+    The Dispatcher never reads a car's Elevator, which only its own thread may touch. Each car publishes an
+    immutable Status of its floor, direction, destination and load whenever it starts a trip or stops, and the
+    Dispatcher sees the cars through those, counting the calls still in a car's queue as pending.
+
+    Travel and stop times come from each car's TimingModel and are slept through in real time, multiplied by
+    'timeScale'.
+
+    Attributes:
+        QUEUE_CAPACITY - the number of calls which can wait in a car's HallCallQueue
+
+        building       - the Building whose floors the cars serve
+
+        dispatcher     - decides which car answers each hall call
+
+        timeScale      - real seconds per simulated second; 1 runs in real time and 0 runs as fast as possible
+
+        cars           - the cars, with their control threads and call queues
+
+        elevators      - a read-only view of the cars' Elevators
+
+        started        - whether the control threads have been started
+
+        running        - whether the control threads should keep running
+
+        outstanding    - the number of people who have called an elevator but not yet reached their floor
+
+        delivered      - the number of people who have reached their destination floor
+     */
+
+    private static final int QUEUE_CAPACITY = 1 << 10;
+    private static final int SPIN_LIMIT = 100;
+    private static final long MAXIMUM_BACKOFF_NANOS = 1_000_000;
+
+    private final Building building;
+    private final Dispatcher dispatcher;
+    private final double timeScale;
+    private final List<Car> cars;
+    private final List<Elevator> elevators;
+    private volatile boolean started;
+    private volatile boolean running;
+    private final AtomicLong outstanding;
+    private final AtomicLong delivered;
+
+    /*
+    The Car class groups an Elevator with the queue of calls assigned to it and the thread which runs it, and is
+    the ElevatorState the dispatcher sees. 'status' is the state most recently published by the car's thread,
+    and 'idle' is set while the thread is parked waiting for a call.
+     */
+
+    private static final class Car implements ElevatorState
+    {
+        final Elevator elevator;
+        final HallCallQueue calls;
+        Thread thread;
+        volatile Status status;
+        volatile boolean idle;
+
+        Car(Elevator elevator)
+        {
+            this.elevator = elevator;
+            this.calls = new HallCallQueue(QUEUE_CAPACITY);
+            this.status = new Status(elevator);
+        }
+
+        // Publishes the current state of the Elevator. Must only be called by the car's thread.
+
+        void publish()
+        {
+            status = new Status(elevator);
+        }
+
+        @Override
+        public int getCurrentFloor()
+        {
+            return status.floor;
+        }
+
+        @Override
+        public int getCurrentDestination()
+        {
+            return status.destination;
+        }
+
+        @Override
+        public Direction getCurrentDirection()
+        {
+            return status.direction;
+        }
+
+        @Override
+        public int getNumberOfPassengers()
+        {
+            return status.passengers;
+        }
+
+        // Counts the calls assigned since the last stop, which the car has not moved to its Floors yet.
+
+        @Override
+        public int getNumberOfPendingHallCalls()
+        {
+            return status.pendingHallCalls + calls.size();
+        }
+
+        @Override
+        public int getMaximumPeople()
+        {
+            return elevator.getMaximumPeople();
+        }
+
+        @Override
+        public int getMaximumWeight()
+        {
+            return elevator.getMaximumWeight();
+        }
+    }
+
+    // The Status class is an immutable copy of the state of a car's Elevator which the dispatcher uses.
+
+    private static final class Status
+    {
+        final int floor;
+        final int destination;
+        final Direction direction;
+        final int passengers;
+        final int pendingHallCalls;
+
+        Status(Elevator e)
+        {
+            this.floor = e.getCurrentFloor();
+            this.destination = e.getCurrentDestination();
+            this.direction = e.getCurrentDirection();
+            this.passengers = e.getNumberOfPassengers();
+            this.pendingHallCalls = e.getNumberOfPendingHallCalls();
+        }
+    }
+
+    // Initializes a LiveController for the given Building which assigns calls to the nearest car in real time.
+
+    public LiveController(Building building)
+    {
+        this(building, new NearestCarDispatcher(), 1.0);
+    }
+
+    /*
+    Initializes a LiveController for the given Building which assigns calls using the given Dispatcher and
+    scales every travel and stop time by 'timeScale'.
+     */
+
+    public LiveController(Building building, Dispatcher dispatcher, double timeScale)
+    {
+        if(timeScale < 0.0)
+        {
+            throw new IllegalArgumentException("The time scale must not be negative: " + timeScale);
+        }
+
+        this.building = building;
+        this.dispatcher = dispatcher;
+        this.timeScale = timeScale;
+        this.cars = new ArrayList<>();
+        this.elevators = new ArrayList<>();
+        this.outstanding = new AtomicLong();
+        this.delivered = new AtomicLong();
+    }
+
+    // Adds a car with the default capacity, starting at the given floor. Cars must be added before start().
+
+    public Elevator addElevator(int startingFloor)
+    {
+        return addElevator(startingFloor, Elevator.DEFAULT_MAXIMUM_PEOPLE, Elevator.DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /*
+    Adds a car, starting at the given floor, which can carry at most 'maximumPeople' passengers with a total
+    weight of at most 'maximumWeight'. Cars must be added before start().
+     */
+
+    public Elevator addElevator(int startingFloor, int maximumPeople, int maximumWeight)
+    {
+        if(started)
+        {
+            throw new IllegalStateException("Cars cannot be added to a LiveController which has started.");
+        }
+
+        Building view = new Building(building, new PassengerStore());
+        Elevator e = new Elevator(cars.size() + 1, startingFloor, view, maximumPeople, maximumWeight);
+        e.addListener(new ElevatorListener()
+        {
+            @Override
+            public void personAlighted(Elevator elevator, int passenger, int floor)
+            {
+                delivered.incrementAndGet();
+
+                if(outstanding.decrementAndGet() == 0)
+                {
+                    synchronized(outstanding)
+                    {
+                        outstanding.notifyAll();
+                    }
+                }
+            }
+        });
+
+        cars.add(new Car(e));
+        elevators.add(e);
+        return e;
+    }
+
+    // Returns the cars' Elevators. Their state may be changing while it is read.
+
+    public List<Elevator> getElevators()
+    {
+        return Collections.unmodifiableList(elevators);
+    }
+
+    // Starts the control thread of every car.
+
+    public synchronized void start()
+    {
+        if(started)
+        {
+            throw new IllegalStateException("The LiveController has already started.");
+        }
+
+        running = true;
+
+        for(Car car : cars)
+        {
+            car.thread = new Thread(() -> runCar(car), "elevator-car-" + car.elevator.getID());
+            car.thread.setDaemon(true);
+        }
+
+        for(Car car : cars)
+        {
+            car.thread.start();
+        }
+
+        started = true;
+    }
+
+    /*
+    Stops every car's control thread and waits for them to finish. Cars stop where they are, so people who
+    have not reached their floor yet are left waiting or inside the car.
+     */
+
+    public synchronized void stop() throws InterruptedException
+    {
+        running = false;
+
+        for(Car car : cars)
+        {
+            if(car.thread != null)
+            {
+                LockSupport.unpark(car.thread);
+            }
+        }
+
+        for(Car car : cars)
+        {
+            if(car.thread != null)
+            {
+                car.thread.join();
+            }
+        }
+    }
+
+    // Makes a hall call on behalf of the given person. Safe to call from any thread once the controller has started.
+
+    public void call(Person p)
+    {
+        call(p.getID(), p.getWeight(), p.getStartingFloor(), p.getDestinationFloor());
+    }
+
+    /*
+    Makes a hall call for a person with the given id and weight, waiting on 'floor' to travel to 'destinationFloor'.
+    The call is assigned to a car at once and the car is woken if it is idle. If the car's queue is full, the call
+    waits until the car has taken some of its calls. People already on their destination floor are ignored. Safe
+    to call from any thread once the controller has started.
+     */
+
+    public void call(int id, int weight, int floor, int destinationFloor)
+    {
+        if(!started)
+        {
+            throw new IllegalStateException("Calls can only be made once the LiveController has started.");
+        }
+
+        if(floor < building.getMinFloor() || floor > building.getMaxFloor()
+                || destinationFloor < building.getMinFloor() || destinationFloor > building.getMaxFloor())
+        {
+            throw new IllegalArgumentException("Floor out of range for Person " + id + ".");
+        }
+
+        if(floor == destinationFloor)
+        {
+            return;
+        }
+
+        int selected = dispatcher.selectElevator(floor, destinationFloor, weight, cars);
+
+        if(selected < 0)
+        {
+            throw new IllegalStateException("No elevator can carry Person " + id + ".");
+        }
+
+        Car car = cars.get(selected);
+        outstanding.incrementAndGet();
+
+        if(!car.calls.offer(id, weight, floor, destinationFloor))
+        {
+            awaitOffer(car, id, weight, floor, destinationFloor);
+        }
+
+        // The car sets 'idle' before checking its queue one last time, so either it sees this call or this
+        // thread sees that it is idle.
+        if(car.idle)
+        {
+            LockSupport.unpark(car.thread);
+        }
+    }
+
+    /*
+    Offers a call to a car whose queue was full, waking the car and waiting for it to take its calls. The caller
+    spins briefly and then parks for doubling periods. Throws an IllegalStateException if the controller is
+    stopped first.
+     */
+
+    private void awaitOffer(Car car, int id, int weight, int floor, int destinationFloor)
+    {
+        int spins = 0;
+        long backoff = 1_000;
+
+        while(!car.calls.offer(id, weight, floor, destinationFloor))
+        {
+            if(!running)
+            {
+                outstanding.decrementAndGet();
+                throw new IllegalStateException("The LiveController stopped before Person " + id + " could call.");
+            }
+
+            LockSupport.unpark(car.thread);
+
+            if(spins < SPIN_LIMIT)
+            {
+                spins++;
+                Thread.onSpinWait();
+            }
+            else
+            {
+                LockSupport.parkNanos(this, backoff);
+                backoff = Math.min(backoff * 2, MAXIMUM_BACKOFF_NANOS);
+            }
+        }
+    }
+
+    /*
+    Waits until everyone who has made a call has reached their destination floor, or until the timeout expires.
+    Returns true if everyone was delivered.
+     */
+
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized(outstanding)
+        {
+            while(outstanding.get() != 0)
+            {
+                long remaining = deadline - System.nanoTime();
+
+                if(remaining <= 0)
+                {
+                    return false;
+                }
+
+                TimeUnit.NANOSECONDS.timedWait(outstanding, remaining);
+            }
+        }
+
+        return true;
+    }
+
+    // Returns the number of people who have reached their destination floor.
+
+    public long getPassengersDelivered()
+    {
+        return delivered.get();
+    }
+
+    /*
+    Runs the control loop of one car. The car takes any new calls, then makes one trip, stopping at each floor on
+    its route and taking new calls at every stop. It publishes its state for the dispatcher whenever it starts a
+    trip or stops. When it has nothing left to do, it parks until it is woken.
+     */
+
+    private void runCar(Car car)
+    {
+        Elevator e = car.elevator;
+
+        while(running)
+        {
+            takeCalls(car);
+            boolean tripStarted = e.startTrip();
+            car.publish();
+
+            if(!tripStarted)
+            {
+                car.idle = true;
+
+                if(car.calls.isEmpty() && running)
+                {
+                    LockSupport.park(this);
+                }
+
+                car.idle = false;
+                continue;
+            }
+
+            int stop;
+
+            while(running && (stop = e.getNextStop()) != Integer.MAX_VALUE)
+            {
+                pause(e.getTimingModel().getTravelTime(Math.abs(stop - e.getCurrentFloor())));
+                e.arriveAt(stop);
+
+                int peopleTransferred = e.serviceCurrentFloor();
+
+                if(peopleTransferred != 0)
+                {
+                    pause(e.getTimingModel().getStopTime(peopleTransferred));
+                }
+
+                takeCalls(car);
+                car.publish();
+            }
+        }
+    }
+
+    // Moves every call waiting in the car's queue onto the Floor queues of the car's view of the Building.
+
+    private void takeCalls(Car car)
+    {
+        HallCallQueue calls = car.calls;
+        Building view = car.elevator.getBuilding();
+
+        while(calls.poll())
+        {
+            view.getFloor(calls.getFloor()).enqueuePerson(calls.getID(), calls.getWeight(),
+                    calls.getDestinationFloor());
+        }
+    }
+
+    // Sleeps for the given number of simulated milliseconds, scaled to real time, unless the controller is stopped.
+
+    private void pause(long simulatedMillis)
+    {
+        if(timeScale == 0.0)
+        {
+            return;
+        }
+
+        long deadline = System.nanoTime() + (long) (simulatedMillis * 1_000_000L * timeScale);
+        long remaining;
+
+        // A car may be unparked early by a call, so it keeps sleeping until the deadline.
+        while(running && (remaining = deadline - System.nanoTime()) > 0)
+        {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package elevatorsystem;
+
+public enum LogLevel
+{
+    /*
+    The LogLevel enumeration is used to enumerate how much detail a Logger records. Each level includes
+    everything recorded by the levels before it.
+
+    OFF   - nothing is recorded, and logging calls return immediately
+    INFO  - the creation of Buildings and Elevators is recorded
+    DEBUG - every elevator movement and every person entering or leaving an elevator is also recorded
+     */
+
+    OFF,
+    INFO,
+    DEBUG
+}
\ No newline at end of file
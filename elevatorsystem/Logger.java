@@ -1,66 +1,458 @@
 package elevatorsystem;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
 
 public class Logger
 {
     /*
     The Logger class is used to log states / events throughout the Elevator simulation.
 
+    Logging methods do not format or print anything themselves. Each call writes a fixed-size record into a
+    preallocated ring buffer, and a background thread formats the records and prints them in batches, so that
+    console output does not slow down the simulation. Records below the Logger's level are discarded before
+    anything is written, so a Logger set to LogLevel.OFF costs a single comparison per call.
+
     Attributes:
-        instance - a singleton instance of the Logger class which is shared by all Classes within
-                   the 'elevatorsystem' package
+        instance      - a singleton instance of the Logger class which is shared by all Classes within
+                        the 'elevatorsystem' package, printing to System.out
+
+        threadLogger  - a Logger bound to the current thread in place of 'instance', so that simulations
+                        running side by side on different threads keep their logs apart
+
+        out           - the stream the formatted records are printed to
+
+        level         - the most detailed level of records which are written to the buffer
+
+        timeSource    - supplies the timestamp stored in each record
+
+        showTimestamps - whether timestamps are printed in front of each formatted record
+
+        types, cars, directions, floors, nextFloors, personIDs, times, floorMaps
+                      - the fields of the records in the ring buffer, one array per field, indexed by the
+                        record's sequence number modulo the capacity of the buffer
+
+        mask          - the capacity of the buffer minus one, used to find a record's index
+
+        published     - the sequence number of the record most recently completed in each slot of the buffer
+
+        claimed       - the sequence number which will be given to the next record
+
+        consumed      - the sequence number of the next record to be formatted by the writer thread
+
+        writer        - the background thread which formats and prints records, started when the Logger is
+                        first enabled
+
+        closed        - whether the Logger has been closed
      */
 
-    private static final Logger instance = new Logger();
+    private static final int BUILDING_CREATED = 0;
+    private static final int ELEVATOR_CREATED = 1;
+    private static final int ELEVATOR_MOVED = 2;
+    private static final int PERSON_ENTERED = 3;
+    private static final int PERSON_LEFT = 4;
+
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int BATCH_SIZE = 1024;
+    private static final long IDLE_WAIT_NANOS = 1_000_000;
+    private static final int SPIN_LIMIT = 100;
+    private static final long MAXIMUM_BACKOFF_NANOS = 100_000;
+
+    private static final Logger instance = new Logger(System.out, LogLevel.DEBUG, DEFAULT_CAPACITY);
+    private static final ThreadLocal<Logger> threadLogger = new ThreadLocal<>();
+
+    static
+    {
+        // Print any records left in the buffer of the shared Logger when the program exits.
+        Runtime.getRuntime().addShutdownHook(new Thread(instance::flush));
+    }
+
+    private final PrintStream out;
+    private volatile LogLevel level;
+    private volatile LongSupplier timeSource;
+    private volatile boolean showTimestamps;
+
+    private final int[] types;
+    private final int[] cars;
+    private final int[] directions;
+    private final int[] floors;
+    private final int[] nextFloors;
+    private final int[] personIDs;
+    private final long[] times;
+    private final FloorMap[] floorMaps;
+    private final int mask;
+
+    private final AtomicLongArray published;
+    private final AtomicLong claimed;
+    private volatile long consumed;
+
+    private volatile Thread writer;
+    private volatile boolean closed;
 
     /*
-    Default constructor of the Logger class. Access modifier set to 'private' since
-    we only want a single shared instance of Logger.
+    Initializes a Logger which prints records at or below the given level to the given stream. The capacity
+    of the ring buffer is rounded up to a power of two. If the buffer fills up, logging calls wait for the
+    writer thread to catch up rather than dropping records. A Logger created at LogLevel.OFF does not start
+    its writer thread until its level is raised.
      */
 
-    private Logger() {}
+    public Logger(PrintStream out, LogLevel level, int capacity)
+    {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+
+        this.out = out;
+        this.level = level;
+        this.timeSource = System::currentTimeMillis;
+
+        types = new int[size];
+        cars = new int[size];
+        directions = new int[size];
+        floors = new int[size];
+        nextFloors = new int[size];
+        personIDs = new int[size];
+        times = new long[size];
+        floorMaps = new FloorMap[size];
+        mask = size - 1;
+
+        published = new AtomicLongArray(size);
+
+        for(int i = 0; i < size; i++)
+        {
+            published.set(i, -1);
+        }
+
+        claimed = new AtomicLong();
+
+        if(level != LogLevel.OFF)
+        {
+            startWriter();
+        }
+    }
 
-    // Returns the singleton instance of the Logger class.
+    // Starts the writer thread if it is not already running.
+
+    private synchronized void startWriter()
+    {
+        if(writer == null)
+        {
+            Thread thread = new Thread(this::writeRecords, "elevator-logger");
+            thread.setDaemon(true);
+            thread.start();
+            writer = thread;
+        }
+    }
+
+    /*
+    Returns the Logger bound to the current thread, or the singleton instance of the Logger class if none
+    is bound. Buildings and Elevators keep the Logger returned when they are created.
+     */
 
     public static Logger getLogger()
     {
-        return instance;
+        Logger logger = threadLogger.get();
+        return logger == null ? instance : logger;
+    }
+
+    /*
+    Binds the given Logger to the current thread, so that Buildings and Elevators created on this thread log
+    to it instead of the shared instance. Passing null restores the shared instance.
+     */
+
+    public static void setThreadLogger(Logger logger)
+    {
+        if(logger == null)
+        {
+            threadLogger.remove();
+        }
+        else
+        {
+            threadLogger.set(logger);
+        }
+    }
+
+    // Returns the most detailed level of records which are logged.
+
+    public LogLevel getLevel()
+    {
+        return level;
+    }
+
+    // Sets the most detailed level of records which are logged. LogLevel.OFF disables logging entirely.
+
+    public void setLevel(LogLevel level)
+    {
+        if(level != LogLevel.OFF)
+        {
+            startWriter();
+        }
+
+        this.level = level;
+    }
+
+    // Sets the source of the timestamps stored in each record, such as the clock of an EventSimulation.
+
+    public void setTimeSource(LongSupplier timeSource)
+    {
+        this.timeSource = timeSource;
+    }
+
+    // Returns the source of the timestamps stored in each record.
+
+    LongSupplier getTimeSource()
+    {
+        return timeSource;
+    }
+
+    // Returns true if this is the shared instance used by threads with no Logger of their own.
+
+    boolean isShared()
+    {
+        return this == instance;
+    }
+
+    // Sets whether timestamps are printed in front of each record.
+
+    public void setShowTimestamps(boolean showTimestamps)
+    {
+        this.showTimestamps = showTimestamps;
+    }
+
+    // Returns true if records of the given level are logged.
+
+    public boolean isEnabled(LogLevel recordLevel)
+    {
+        return recordLevel.compareTo(level) <= 0 && level != LogLevel.OFF;
     }
 
     // Logs the creation of a Building object and its associated details.
 
     public void logBuilding(Building b)
     {
-        System.out.println("\nCreated a Building with bottom floor at Floor "+b.getMinFloor()
-                +" and top floor at Floor "+b.getMaxFloor()+".\n");
+        if(isEnabled(LogLevel.INFO))
+        {
+            record(BUILDING_CREATED, 0, Direction.STATIONARY, b.getMinFloor(), b.getMaxFloor(), 0, b.getFloorMap());
+        }
     }
 
     // Logs the creation of an Elevator object and its associated details.
 
     public void logElevator(Elevator e)
     {
-        System.out.println("Created an Elevator which starts at Floor "+e.getCurrentFloor()+".\n");
+        if(isEnabled(LogLevel.INFO))
+        {
+            record(ELEVATOR_CREATED, e.getID(), Direction.STATIONARY, e.getCurrentFloor(), 0, 0,
+                    e.getBuilding().getFloorMap());
+        }
     }
 
     // Logs the current direction of an elevator and the starting and destination floor of the current trip.
 
-    public void logCurrentDirectionAndFloor(Direction currentDirection, int currentFloor, int nextFloor)
+    public void logCurrentDirectionAndFloor(Elevator e, Direction currentDirection, int currentFloor, int nextFloor)
+    {
+        if(isEnabled(LogLevel.DEBUG))
+        {
+            record(ELEVATOR_MOVED, e.getID(), currentDirection, currentFloor, nextFloor, 0,
+                    e.getBuilding().getFloorMap());
+        }
+    }
+
+    // Logs the person with the given id leaving the elevator and the corresponding destination floor.
+
+    public void logPersonLeavingFromElevator(Elevator e, int personID, int destinationFloor)
+    {
+        if(isEnabled(LogLevel.DEBUG))
+        {
+            record(PERSON_LEFT, e.getID(), Direction.STATIONARY, destinationFloor, 0, personID,
+                    e.getBuilding().getFloorMap());
+        }
+    }
+
+    // Logs the person with the given id entering the elevator and the corresponding starting floor.
+
+    public void logPersonEnteringElevator(Elevator e, int personID, int startingFloor)
     {
-        System.out.println("Elevator moving "+currentDirection.getRepresentation()
-                +" from Floor "+currentFloor
-                +" to Floor "+nextFloor+".\n");
+        if(isEnabled(LogLevel.DEBUG))
+        {
+            record(PERSON_ENTERED, e.getID(), Direction.STATIONARY, startingFloor, 0, personID,
+                    e.getBuilding().getFloorMap());
+        }
     }
 
-    // Logs the Person leaving the elevator and the corresponding destination floor.
+    /*
+    Waits until every record logged so far has been printed. Anything printed directly to the same stream
+    should be preceded by a call to flush() so that it appears in the right order.
+     */
 
-    public void logPersonLeavingFromElevator(Person p)
+    public void flush()
     {
-        System.out.println("Person "+p.getID()+" has left the elevator at Floor "+p.getDestinationFloor()+".\n");
+        awaitConsumed(claimed.get());
+        out.flush();
     }
 
-    // Logs the Person entering the elevator and the corresponding starting floor.
+    // Prints every remaining record and stops the writer thread. The Logger must not be used afterwards.
+
+    public void close()
+    {
+        if(writer == null)
+        {
+            closed = true;
+            return;
+        }
+
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+
+        try
+        {
+            writer.join();
+        }
+        catch(InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+    Claims the next slot of the ring buffer, fills in the record and publishes it to the writer thread.
+    Several threads may log at the same time, since each claims its own sequence number.
+     */
 
-    public void logPersonEnteringElevator(Person p)
+    private void record(int type, int car, Direction direction, int floor, int nextFloor, int personID,
+                        FloorMap floorMap)
     {
-        System.out.println("Person "+p.getID()+" has entered the elevator at Floor "+p.getStartingFloor()+".\n");
+        long sequence = claimed.getAndIncrement();
+
+        // Waits for the writer thread if the buffer is full.
+        if(sequence - consumed > mask)
+        {
+            awaitConsumed(sequence - mask);
+        }
+
+        int index = (int) (sequence & mask);
+        types[index] = type;
+        cars[index] = car;
+        directions[index] = direction.ordinal();
+        floors[index] = floor;
+        nextFloors[index] = nextFloor;
+        personIDs[index] = personID;
+        times[index] = timeSource.getAsLong();
+        floorMaps[index] = floorMap;
+
+        published.set(index, sequence);
+    }
+
+    /*
+    Waits until the writer thread has printed every record before the given sequence number, waking it up each
+    time. The caller spins briefly, since the writer usually catches up within a batch, and then parks for
+    doubling periods so that a slow stream does not keep a core busy.
+     */
+
+    private void awaitConsumed(long sequence)
+    {
+        int spins = 0;
+        long backoff = 1_000;
+
+        while(consumed < sequence)
+        {
+            LockSupport.unpark(writer);
+
+            if(spins < SPIN_LIMIT)
+            {
+                spins++;
+                Thread.onSpinWait();
+            }
+            else
+            {
+                LockSupport.parkNanos(this, backoff);
+                backoff = Math.min(backoff * 2, MAXIMUM_BACKOFF_NANOS);
+            }
+        }
+    }
+
+    // Formats and prints published records in batches until the Logger is closed.
+
+    private void writeRecords()
+    {
+        StringBuilder batch = new StringBuilder();
+        Direction[] directionValues = Direction.values();
+
+        while(true)
+        {
+            long next = consumed;
+            int count = 0;
+
+            while(count < BATCH_SIZE && published.get((int) (next & mask)) == next)
+            {
+                format((int) (next & mask), batch, directionValues);
+                next++;
+                count++;
+            }
+
+            if(count > 0)
+            {
+                out.print(batch);
+                batch.setLength(0);
+                consumed = next;
+            }
+            else if(closed && next == claimed.get())
+            {
+                return;
+            }
+            else
+            {
+                LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+            }
+        }
+    }
+
+    // Appends the human-readable form of the record in the given slot to the batch.
+
+    private void format(int index, StringBuilder batch, Direction[] directionValues)
+    {
+        FloorMap floorMap = floorMaps[index];
+        String floor = floorMap.getLabel(floors[index]);
+        String elevator = cars[index] == 0 ? "the elevator" : "Elevator " + cars[index];
+        String lineSeparator = System.lineSeparator();
+
+        if(showTimestamps)
+        {
+            batch.append('[').append(times[index]).append(" ms] ");
+        }
+
+        switch(types[index])
+        {
+            case BUILDING_CREATED:
+                batch.append(lineSeparator).append("Created a Building with bottom floor at Floor ").append(floor)
+                        .append(" and top floor at Floor ").append(floorMap.getLabel(nextFloors[index])).append('.');
+                break;
+
+            case ELEVATOR_CREATED:
+                batch.append("Created ").append(cars[index] == 0 ? "an Elevator" : elevator)
+                        .append(" which starts at Floor ").append(floor).append('.');
+                break;
+
+            case ELEVATOR_MOVED:
+                batch.append(cars[index] == 0 ? "Elevator" : elevator).append(" moving ")
+                        .append(directionValues[directions[index]].getRepresentation())
+                        .append(" from Floor ").append(floor)
+                        .append(" to Floor ").append(floorMap.getLabel(nextFloors[index])).append('.');
+                break;
+
+            case PERSON_ENTERED:
+                batch.append("Person ").append(personIDs[index]).append(" has entered ").append(elevator)
+                        .append(" at Floor ").append(floor).append('.');
+                break;
+
+            case PERSON_LEFT:
+                batch.append("Person ").append(personIDs[index]).append(" has left ").append(elevator)
+                        .append(" at Floor ").append(floor).append('.');
+                break;
+        }
+
+        batch.append(lineSeparator).append(lineSeparator);
+        floorMaps[index] = null;
     }
 }
\ No newline at end of file
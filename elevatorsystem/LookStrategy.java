@@ -0,0 +1,155 @@
+package elevatorsystem;
+
+public class LookStrategy implements SchedulingStrategy
+{
+    /*
+    The LookStrategy class is the default SchedulingStrategy, known as LOOK. The Elevator first heads for the
+    nearest pending request: people waiting on its own floor, then the calls of its passengers, then the nearest
+    floor with people waiting. It then sweeps in that direction, stopping for its passengers and for people
+    waiting to travel the same way, and turns around at the last request rather than at the end of the Building.
+
+    Attributes:
+        INSTANCE - a shared instance, since the strategy keeps no state
+     */
+
+    public static final LookStrategy INSTANCE = new LookStrategy();
+
+    // Chooses the direction and destination of the trip, then marks the floors on the way.
+
+    @Override
+    public void planTrip(TripPlan plan)
+    {
+        findNextDirectionAndDestination(plan);
+        calculateRoute(plan);
+    }
+
+    /*
+    Determines the next direction and destination by checking for requests on the current floor, then inside
+    the elevator, and finally on other floors.
+     */
+
+    private void findNextDirectionAndDestination(TripPlan plan)
+    {
+        int currentFloor = plan.getCurrentFloor();
+        int aboveDest = plan.getFirstWaitingDestination(currentFloor, Direction.UP);
+        int belowDest = plan.getFirstWaitingDestination(currentFloor, Direction.DOWN);
+
+        // Checks if there are no pending requests on the current floor, then in the elevator, and finally
+        // on other floors above or below the current floor. Otherwise, sets the direction and destination
+        // of the elevator.
+
+        if (aboveDest == Integer.MAX_VALUE && belowDest == Integer.MAX_VALUE)
+        {
+            int numberOfUpCalls = plan.getNumberOfCarCalls(Direction.UP);
+            int numberOfDownCalls = plan.getNumberOfCarCalls(Direction.DOWN);
+
+            if (numberOfUpCalls == 0 && numberOfDownCalls == 0)
+            {
+                int nearestWaitingFloor = plan.findNearestWaitingFloor(currentFloor);
+
+                if (nearestWaitingFloor == Integer.MAX_VALUE)
+                {
+                    plan.setDirection(Direction.STATIONARY);
+                }
+                else
+                {
+                    plan.setDirection(currentFloor > nearestWaitingFloor ? Direction.DOWN : Direction.UP);
+                    plan.setDestination(nearestWaitingFloor);
+                }
+            }
+            else
+            {
+                // The lowest pending up call and the highest pending down call are the first floors
+                // the elevator would reach in either direction.
+                aboveDest = numberOfUpCalls == 0 ? Integer.MAX_VALUE : plan.findLowestCarCall(Direction.UP);
+                belowDest = numberOfDownCalls == 0 ? Integer.MAX_VALUE : plan.findHighestCarCall(Direction.DOWN);
+
+                int belowDistance = numberOfDownCalls == 0 ? Integer.MAX_VALUE : Math.abs(currentFloor - belowDest);
+                int aboveDistance = numberOfUpCalls == 0 ? Integer.MAX_VALUE : Math.abs(currentFloor - aboveDest);
+
+                setNextDirectionAndDestination(plan, belowDistance, aboveDistance, belowDest, aboveDest);
+            }
+        }
+        else
+        {
+            int belowDistance = belowDest == Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.abs(belowDest - currentFloor);
+            int aboveDistance = aboveDest == Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.abs(aboveDest - currentFloor);
+
+            setNextDirectionAndDestination(plan, belowDistance, aboveDistance, belowDest, aboveDest);
+        }
+    }
+
+    // Sets the direction and destination based on the nearest floor with pending requests.
+
+    private void setNextDirectionAndDestination(TripPlan plan, int belowDistance, int aboveDistance, int belowDest,
+                                                int aboveDest)
+    {
+        if (aboveDistance <= belowDistance)
+        {
+            plan.setDirection(Direction.UP);
+            plan.setDestination(aboveDest);
+        }
+        else
+        {
+            plan.setDirection(Direction.DOWN);
+            plan.setDestination(belowDest);
+        }
+    }
+
+    /*
+    Adds the floors the elevator will visit in its current direction to the route: the destination, the floors
+    its passengers are travelling to, and the floors where people are waiting to travel the same way.
+     */
+
+    private void calculateRoute(TripPlan plan)
+    {
+        int currentFloor = plan.getCurrentFloor();
+        int minFloor = plan.getMinFloor();
+        int maxFloor = plan.getMaxFloor();
+        int destination = currentFloor;
+        plan.addStop(plan.getDestination());
+
+        // Every passenger's destination is a stop, which the Elevator's call index adds without visiting each
+        // passenger. On the way up (or down), also add any floors where people are waiting to travel the same
+        // way, and set the destination to the highest (or lowest) stop.
+        plan.addCarCallStops();
+
+        if (plan.getDirection() == Direction.UP)
+        {
+            int highestCall = plan.findHighestCarCall();
+            destination = highestCall == Integer.MAX_VALUE ? destination : Math.max(destination, highestCall);
+
+            // Only floors flagged in the Building's waiting index are visited, rather than every floor above.
+            for (int f = plan.findWaitingFloorAbove(currentFloor, Direction.UP); f < maxFloor;
+                 f = plan.findWaitingFloorAbove(f, Direction.UP))
+            {
+                destination = Math.max(destination, f);
+                plan.addStop(f);
+            }
+
+            if (plan.getNumberOfPeopleWaiting(maxFloor, Direction.DOWN) != 0)
+            {
+                plan.addStop(maxFloor);
+            }
+        }
+        else
+        {
+            destination = Math.min(destination, plan.findLowestCarCall());
+
+            for (int f = plan.findWaitingFloorBelow(currentFloor, Direction.DOWN);
+                 f != Integer.MAX_VALUE && f > minFloor;
+                 f = plan.findWaitingFloorBelow(f, Direction.DOWN))
+            {
+                destination = Math.min(destination, f);
+                plan.addStop(f);
+            }
+
+            if (plan.getNumberOfPeopleWaiting(minFloor, Direction.UP) != 0)
+            {
+                plan.addStop(minFloor);
+            }
+        }
+
+        plan.setDestination(destination);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+package elevatorsystem;
+
+public class MetricsSnapshot implements SimulationMetricsMXBean
+{
+    /*
+    The MetricsSnapshot class is an immutable copy of the measurements held by a SimulationMetrics object at
+    one moment of simulated time. Snapshots can be handed to other threads, such as a JMX client or a
+    monitoring loop, without affecting the simulation.
+
+    Attributes:
+        time                - the simulated time, in milliseconds, at which the snapshot was taken
+
+        passengersDelivered - the number of people delivered to their destination floor
+
+        passengersPerHour   - the number of people delivered per simulated hour
+
+        meanWaitTime / p50WaitTime / p95WaitTime / p99WaitTime / maximumWaitTime
+                            - the distribution of the time, in milliseconds, between arriving and entering an
+                              Elevator
+
+        meanRideTime / p95RideTime / p99RideTime / maximumRideTime
+                            - the distribution of the time, in milliseconds, spent inside an Elevator
+
+        trips               - the number of trips started by the Elevators
+
+        averageStopsPerTrip - the average number of stops an Elevator makes per trip
+
+        averageLoadFactor   - the average fraction of its maximum weight an Elevator carried when leaving a stop
+
+        loadFactors         - the fraction of its maximum weight each Elevator is carrying
+
+        minFloor            - the floor number of index 0 of 'queueLengths'
+
+        queueLengths        - the number of people waiting on each Floor, relative to 'minFloor'
+
+        peopleWaiting       - the number of people waiting on all Floors
+     */
+
+    private final long time;
+    private final long passengersDelivered;
+    private final double passengersPerHour;
+    private final double meanWaitTime;
+    private final long p50WaitTime;
+    private final long p95WaitTime;
+    private final long p99WaitTime;
+    private final long maximumWaitTime;
+    private final double meanRideTime;
+    private final long p95RideTime;
+    private final long p99RideTime;
+    private final long maximumRideTime;
+    private final long trips;
+    private final double averageStopsPerTrip;
+    private final double averageLoadFactor;
+    private final double[] loadFactors;
+    private final int minFloor;
+    private final int[] queueLengths;
+    private final int peopleWaiting;
+
+    // Initializes a MetricsSnapshot, taking ownership of the arrays passed in.
+
+    MetricsSnapshot(long time, long passengersDelivered, LatencyHistogram waitTimes, LatencyHistogram rideTimes,
+                    long trips, long stops, double averageLoadFactor, double[] loadFactors, int minFloor,
+                    int[] queueLengths)
+    {
+        this.time = time;
+        this.passengersDelivered = passengersDelivered;
+        this.passengersPerHour = time <= 0 ? 0.0 : passengersDelivered * 3_600_000.0 / time;
+        this.meanWaitTime = waitTimes.getMean();
+        this.p50WaitTime = waitTimes.getValueAtPercentile(50.0);
+        this.p95WaitTime = waitTimes.getValueAtPercentile(95.0);
+        this.p99WaitTime = waitTimes.getValueAtPercentile(99.0);
+        this.maximumWaitTime = waitTimes.getMaximum();
+        this.meanRideTime = rideTimes.getMean();
+        this.p95RideTime = rideTimes.getValueAtPercentile(95.0);
+        this.p99RideTime = rideTimes.getValueAtPercentile(99.0);
+        this.maximumRideTime = rideTimes.getMaximum();
+        this.trips = trips;
+        this.averageStopsPerTrip = trips == 0 ? 0.0 : (double) stops / trips;
+        this.averageLoadFactor = averageLoadFactor;
+        this.loadFactors = loadFactors;
+        this.minFloor = minFloor;
+        this.queueLengths = queueLengths;
+
+        int waiting = 0;
+
+        for(int length : queueLengths)
+        {
+            waiting += length;
+        }
+
+        this.peopleWaiting = waiting;
+    }
+
+    // Returns the simulated time at which the measurements were taken.
+
+    @Override
+    public long getTime()
+    {
+        return time;
+    }
+
+    // Returns the number of people delivered to their destination floor.
+
+    @Override
+    public long getPassengersDelivered()
+    {
+        return passengersDelivered;
+    }
+
+    // Returns the number of people delivered per simulated hour.
+
+    @Override
+    public double getPassengersPerHour()
+    {
+        return passengersPerHour;
+    }
+
+    // Returns the average time between arriving and entering an Elevator.
+
+    @Override
+    public double getMeanWaitTime()
+    {
+        return meanWaitTime;
+    }
+
+    // Returns the median wait time.
+
+    @Override
+    public long getP50WaitTime()
+    {
+        return p50WaitTime;
+    }
+
+    // Returns the 95th percentile of the wait time.
+
+    @Override
+    public long getP95WaitTime()
+    {
+        return p95WaitTime;
+    }
+
+    // Returns the 99th percentile of the wait time.
+
+    @Override
+    public long getP99WaitTime()
+    {
+        return p99WaitTime;
+    }
+
+    // Returns the longest wait time.
+
+    @Override
+    public long getMaximumWaitTime()
+    {
+        return maximumWaitTime;
+    }
+
+    // Returns the average time spent inside an Elevator.
+
+    @Override
+    public double getMeanRideTime()
+    {
+        return meanRideTime;
+    }
+
+    // Returns the 95th percentile of the ride time.
+
+    @Override
+    public long getP95RideTime()
+    {
+        return p95RideTime;
+    }
+
+    // Returns the 99th percentile of the ride time.
+
+    @Override
+    public long getP99RideTime()
+    {
+        return p99RideTime;
+    }
+
+    // Returns the longest ride time.
+
+    @Override
+    public long getMaximumRideTime()
+    {
+        return maximumRideTime;
+    }
+
+    // Returns the number of trips started by the Elevators.
+
+    @Override
+    public long getTrips()
+    {
+        return trips;
+    }
+
+    // Returns the average number of stops an Elevator makes per trip.
+
+    @Override
+    public double getAverageStopsPerTrip()
+    {
+        return averageStopsPerTrip;
+    }
+
+    // Returns the average fraction of its maximum weight an Elevator carried when leaving a stop.
+
+    @Override
+    public double getAverageLoadFactor()
+    {
+        return averageLoadFactor;
+    }
+
+    // Returns the fraction of its maximum weight each Elevator is carrying, in the order they were attached.
+    // The array is copied, so that the snapshot stays unchanged.
+
+    @Override
+    public double[] getLoadFactors()
+    {
+        return loadFactors.clone();
+    }
+
+    // Returns the lowest floor number, which corresponds to index 0 of getQueueLengths().
+
+    @Override
+    public int getMinFloor()
+    {
+        return minFloor;
+    }
+
+    // Returns the number of people waiting on each Floor, indexed by floor number relative to getMinFloor().
+    // The array is copied, so that the snapshot stays unchanged.
+
+    @Override
+    public int[] getQueueLengths()
+    {
+        return queueLengths.clone();
+    }
+
+    // Returns the number of people waiting on all Floors.
+
+    @Override
+    public int getPeopleWaiting()
+    {
+        return peopleWaiting;
+    }
+
+    // Returns a one-line summary of the main measurements.
+
+    @Override
+    public String toString()
+    {
+        return String.format("t=%d delivered=%d perHour=%.1f wait(mean=%.0f p95=%d p99=%d) ride(mean=%.0f) "
+                        + "stopsPerTrip=%.2f load=%.2f waiting=%d", time, passengersDelivered, passengersPerHour,
+                meanWaitTime, p95WaitTime, p99WaitTime, meanRideTime, averageStopsPerTrip, averageLoadFactor,
+                peopleWaiting);
+    }
+}
\ No newline at end of file
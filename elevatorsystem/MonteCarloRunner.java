@@ -0,0 +1,147 @@
+package elevatorsystem;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+public class MonteCarloRunner
+{
+    /*
+    The MonteCarloRunner class runs many independent, seeded replications of a scenario in parallel on a
+    fork-join pool and aggregates their wait times. A scenario is a function which builds a ready-to-run
+    EventSimulation, with its Building, Elevators and arrivals, from a seed.
+
+    Every replication runs on a single worker thread with its own Logger bound to that thread, so the
+    Buildings and Elevators it creates log separately from other replications and from the shared Logger.
+    By default these Loggers are off, which costs nothing. Each replication's measurements come from its own
+    EventSimulation, so no state is shared between replications.
+
+    Attributes:
+        LOG_CAPACITY - the ring buffer capacity of each replication's Logger
+
+        pool         - the fork-join pool the replications run on
+
+        logLevel     - the level of each replication's Logger
+
+        logOutputs   - supplies the stream each replication, by index, logs to
+     */
+
+    private static final int LOG_CAPACITY = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private LogLevel logLevel;
+    private IntFunction<PrintStream> logOutputs;
+
+    // Initializes a MonteCarloRunner which uses every available processor.
+
+    public MonteCarloRunner()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Initializes a MonteCarloRunner which runs at most 'parallelism' replications at a time.
+
+    public MonteCarloRunner(int parallelism)
+    {
+        if(parallelism < 1)
+        {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+
+        this.pool = new ForkJoinPool(parallelism);
+        this.logLevel = LogLevel.OFF;
+        this.logOutputs = index -> new PrintStream(OutputStream.nullOutputStream());
+    }
+
+    /*
+    Makes each replication log at the given level to the stream returned for its index, such as a file per
+    replication. The runner closes each replication's Logger, but not its stream.
+     */
+
+    public void setReplicationLog(LogLevel level, IntFunction<PrintStream> outputs)
+    {
+        this.logLevel = level;
+        this.logOutputs = outputs;
+    }
+
+    // Returns the seed of the replication with the given index, derived from the seed of the batch.
+
+    public static long seedFor(long baseSeed, int index)
+    {
+        // SplitMix64 spreads consecutive indices across the whole range of seeds.
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+    Runs the given number of replications of the scenario, each with its own seed derived from 'baseSeed',
+    and returns their aggregated results. The results do not depend on the number of threads used.
+     */
+
+    public MonteCarloSummary run(int replications, long baseSeed, LongFunction<EventSimulation> scenario)
+    {
+        List<Callable<ReplicationResult>> tasks = new ArrayList<>(replications);
+
+        for(int i = 0; i < replications; i++)
+        {
+            int index = i;
+            tasks.add(() -> runReplication(index, seedFor(baseSeed, index), scenario));
+        }
+
+        List<ReplicationResult> results = new ArrayList<>(replications);
+
+        for(Future<ReplicationResult> future : pool.invokeAll(tasks))
+        {
+            try
+            {
+                results.add(future.get());
+            }
+            catch(InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for replications.", e);
+            }
+            catch(ExecutionException e)
+            {
+                throw new IllegalStateException("A replication failed.", e.getCause());
+            }
+        }
+
+        return new MonteCarloSummary(results);
+    }
+
+    // Builds and runs one replication with its own Logger bound to the current thread.
+
+    private ReplicationResult runReplication(int index, long seed, LongFunction<EventSimulation> scenario)
+    {
+        Logger logger = new Logger(logOutputs.apply(index), logLevel, LOG_CAPACITY);
+        Logger.setThreadLogger(logger);
+
+        try
+        {
+            EventSimulation simulation = scenario.apply(seed);
+            simulation.run();
+            return new ReplicationResult(index, seed, simulation);
+        }
+        finally
+        {
+            Logger.setThreadLogger(null);
+            logger.close();
+        }
+    }
+
+    // Stops the worker threads once any running batch has finished.
+
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+}
\ No newline at end of file
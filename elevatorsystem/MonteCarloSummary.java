@@ -0,0 +1,85 @@
+package elevatorsystem;
+import java.util.Collections;
+import java.util.List;
+
+public class MonteCarloSummary
+{
+    /*
+    The MonteCarloSummary class aggregates the ReplicationResults of a batch run by a MonteCarloRunner. Each
+    statistic is measured once per replication and reported as a 95% confidence interval for its mean across
+    replications, so that, for example, the p99 wait time of a configuration can be compared with another's
+    while taking the randomness of the arrivals into account.
+
+    Attributes:
+        replications - the results of every replication, ordered by index
+     */
+
+    private final List<ReplicationResult> replications;
+
+    // Initializes a MonteCarloSummary of the given results, which must be ordered by index.
+
+    MonteCarloSummary(List<ReplicationResult> replications)
+    {
+        this.replications = Collections.unmodifiableList(replications);
+    }
+
+    // Returns the results of every replication, ordered by index.
+
+    public List<ReplicationResult> getReplications()
+    {
+        return replications;
+    }
+
+    // Returns the number of replications in the batch.
+
+    public int getNumberOfReplications()
+    {
+        return replications.size();
+    }
+
+    // Returns the confidence interval for the average wait time, in milliseconds, of a replication.
+
+    public ConfidenceInterval getMeanWaitTime()
+    {
+        return ConfidenceInterval.of(replications, ReplicationResult::getMeanWaitTime);
+    }
+
+    // Returns the confidence interval for the 95th percentile wait time, in milliseconds, of a replication.
+
+    public ConfidenceInterval getP95WaitTime()
+    {
+        return ConfidenceInterval.of(replications, ReplicationResult::getP95WaitTime);
+    }
+
+    // Returns the confidence interval for the 99th percentile wait time, in milliseconds, of a replication.
+
+    public ConfidenceInterval getP99WaitTime()
+    {
+        return ConfidenceInterval.of(replications, ReplicationResult::getP99WaitTime);
+    }
+
+    // Returns the confidence interval for the longest wait time, in milliseconds, of a replication.
+
+    public ConfidenceInterval getMaximumWaitTime()
+    {
+        return ConfidenceInterval.of(replications, ReplicationResult::getMaximumWaitTime);
+    }
+
+    // Returns the confidence interval for the average ride time, in milliseconds, of a replication.
+
+    public ConfidenceInterval getMeanRideTime()
+    {
+        return ConfidenceInterval.of(replications, ReplicationResult::getMeanRideTime);
+    }
+
+    // Returns a short report of the wait time statistics, in milliseconds.
+
+    @Override
+    public String toString()
+    {
+        return "Replications: " + getNumberOfReplications()
+                + ", mean wait: " + getMeanWaitTime()
+                + ", p95 wait: " + getP95WaitTime()
+                + ", p99 wait: " + getP99WaitTime();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package elevatorsystem;
+import java.util.List;
+
+public class NearestCarDispatcher implements Dispatcher
+{
+    /*
+    The NearestCarDispatcher class assigns each hall call to the Elevator which can reach the calling floor in the
+    fewest floors, taking into account the direction each Elevator is already travelling in. Elevators which
+    already have passengers on board or hall calls assigned to them are penalized, so that calls are spread
+    across the bank.
+
+    Attributes:
+        LOAD_PENALTY - number of floors added to the cost of an Elevator for every passenger on board and
+                       every hall call already assigned to it
+     */
+
+    private static final int LOAD_PENALTY = 1;
+
+    // Returns the index of the Elevator with the lowest cost for the given hall call.
+
+    @Override
+    public int selectElevator(int floor, int destinationFloor, int weight, List<? extends ElevatorState> elevators)
+    {
+        Direction direction = destinationFloor > floor ? Direction.UP : Direction.DOWN;
+        int selected = -1;
+        int lowestCost = Integer.MAX_VALUE;
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            ElevatorState e = elevators.get(i);
+
+            // Elevators which could never carry this person are not considered.
+            if(weight > e.getMaximumWeight() || e.getMaximumPeople() == 0)
+            {
+                continue;
+            }
+
+            int cost = getDistance(floor, direction, e)
+                    + LOAD_PENALTY * (e.getNumberOfPassengers() + e.getNumberOfPendingHallCalls());
+
+            if(cost < lowestCost)
+            {
+                lowestCost = cost;
+                selected = i;
+            }
+        }
+
+        return selected;
+    }
+
+    /*
+    Returns the number of floors an Elevator must travel before it can pick up a person waiting on the given
+    floor to travel in the given direction.
+     */
+
+    private int getDistance(int floor, Direction direction, ElevatorState e)
+    {
+        int current = e.getCurrentFloor();
+        int destination = e.getCurrentDestination();
+
+        if(e.getCurrentDirection() == Direction.STATIONARY)
+        {
+            return Math.abs(current - floor);
+        }
+
+        // The Elevator will pass the floor on its way in the same direction as the person.
+        if(e.getCurrentDirection() == direction)
+        {
+            if((direction == Direction.UP && floor >= current) || (direction == Direction.DOWN && floor <= current))
+            {
+                return Math.abs(floor - current);
+            }
+        }
+
+        // Otherwise, the Elevator has to finish its current trip before it can turn around.
+        return Math.abs(destination - current) + Math.abs(destination - floor);
+    }
+}
\ No newline at end of file
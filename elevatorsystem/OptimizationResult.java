@@ -0,0 +1,145 @@
+package elevatorsystem;
+
+public class OptimizationResult
+{
+    /*
+    The OptimizationResult class holds the measurements of one BankConfiguration evaluated by a BankOptimizer.
+    An evaluation which was pruned was stopped as soon as the configuration was clearly worse than one already
+    known, so its measurements only cover the part of the workload simulated until then.
+
+    Attributes:
+        configuration       - the configuration which was evaluated
+
+        pruned              - true if the evaluation was stopped before the workload finished
+
+        passengersDelivered - the number of people delivered to their destination floor
+
+        meanWaitTime        - the average time, in milliseconds, between arriving and entering an Elevator
+
+        p95WaitTime         - the 95th percentile of the wait time, in milliseconds
+
+        maximumWaitTime     - the longest wait time, in milliseconds
+
+        meanRideTime        - the average time, in milliseconds, spent inside an Elevator
+
+        endTime             - the simulated time, in milliseconds, at which the evaluation finished or was stopped
+     */
+
+    private final BankConfiguration configuration;
+    private final boolean pruned;
+    private final int passengersDelivered;
+    private final double meanWaitTime;
+    private final long p95WaitTime;
+    private final long maximumWaitTime;
+    private final double meanRideTime;
+    private final long endTime;
+
+    // Records the measurements of an EventSimulation of the configuration.
+
+    OptimizationResult(BankConfiguration configuration, boolean pruned, EventSimulation simulation)
+    {
+        LatencyHistogram waitTimes = simulation.getWaitTimeHistogram();
+
+        this.configuration = configuration;
+        this.pruned = pruned;
+        this.passengersDelivered = simulation.getPassengersDelivered();
+        this.meanWaitTime = waitTimes.getMean();
+        this.p95WaitTime = waitTimes.getValueAtPercentile(95.0);
+        this.maximumWaitTime = waitTimes.getMaximum();
+        this.meanRideTime = simulation.getAverageRideTime();
+        this.endTime = simulation.getCurrentTime();
+    }
+
+    // Returns the configuration which was evaluated.
+
+    public BankConfiguration getConfiguration()
+    {
+        return configuration;
+    }
+
+    // Returns the number of Elevators of the configuration.
+
+    public int getNumberOfCars()
+    {
+        return configuration.getNumberOfCars();
+    }
+
+    // Returns true if the evaluation was stopped before the workload finished.
+
+    public boolean isPruned()
+    {
+        return pruned;
+    }
+
+    // Returns the number of people delivered to their destination floor.
+
+    public int getPassengersDelivered()
+    {
+        return passengersDelivered;
+    }
+
+    // Returns the average wait time, in milliseconds.
+
+    public double getMeanWaitTime()
+    {
+        return meanWaitTime;
+    }
+
+    // Returns the 95th percentile of the wait time, in milliseconds.
+
+    public long getP95WaitTime()
+    {
+        return p95WaitTime;
+    }
+
+    // Returns the longest wait time, in milliseconds.
+
+    public long getMaximumWaitTime()
+    {
+        return maximumWaitTime;
+    }
+
+    // Returns the average ride time, in milliseconds.
+
+    public double getMeanRideTime()
+    {
+        return meanRideTime;
+    }
+
+    // Returns the simulated time, in milliseconds, at which the evaluation finished or was stopped.
+
+    public long getEndTime()
+    {
+        return endTime;
+    }
+
+    /*
+    Returns true if this result is at least as good as the other in both wait time and number of cars, and
+    better in one of them. Pruned results dominate nothing.
+     */
+
+    public boolean dominates(OptimizationResult other)
+    {
+        if(pruned)
+        {
+            return false;
+        }
+
+        if(other.pruned)
+        {
+            return true;
+        }
+
+        return getNumberOfCars() <= other.getNumberOfCars() && meanWaitTime <= other.meanWaitTime
+                && (getNumberOfCars() < other.getNumberOfCars() || meanWaitTime < other.meanWaitTime);
+    }
+
+    // Returns a one-line report of the configuration and its wait times, in seconds.
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s: mean wait %.1f s, p95 wait %.1f s%s", configuration, meanWaitTime / 1000.0,
+                p95WaitTime / 1000.0, pruned ? " (pruned at " + endTime / 1000 + " s)" : "");
+    }
+}
\ No newline at end of file
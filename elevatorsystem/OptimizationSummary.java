@@ -0,0 +1,122 @@
+package elevatorsystem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class OptimizationSummary
+{
+    /*
+    The OptimizationSummary class holds every result of a search run by a BankOptimizer, and the Pareto front of
+    mean wait time against number of cars among them: for each number of cars, the best configuration found,
+    provided it waits less than every configuration with fewer cars. Pruned results are never on the front.
+
+    Attributes:
+        results     - the result of every configuration evaluated, in the order they were generated
+
+        paretoFront - the non-dominated results, ordered by number of cars
+     */
+
+    private final List<OptimizationResult> results;
+    private final List<OptimizationResult> paretoFront;
+
+    // Initializes an OptimizationSummary of the given results.
+
+    OptimizationSummary(List<OptimizationResult> results)
+    {
+        this.results = Collections.unmodifiableList(results);
+        this.paretoFront = Collections.unmodifiableList(findParetoFront(results));
+    }
+
+    /*
+    Returns the non-dominated results out of those given, ordered by number of cars. Ties in wait time are broken
+    by the order of the results, so the front does not depend on how the evaluations were scheduled.
+     */
+
+    static List<OptimizationResult> findParetoFront(List<OptimizationResult> results)
+    {
+        List<OptimizationResult> candidates = new ArrayList<>();
+
+        for(OptimizationResult result : results)
+        {
+            if(!result.isPruned())
+            {
+                candidates.add(result);
+            }
+        }
+
+        // The sort is stable, so equal results keep their order.
+        candidates.sort(Comparator.comparingInt(OptimizationResult::getNumberOfCars)
+                .thenComparingDouble(OptimizationResult::getMeanWaitTime));
+
+        List<OptimizationResult> front = new ArrayList<>();
+        double bestWaitTime = Double.POSITIVE_INFINITY;
+
+        for(OptimizationResult result : candidates)
+        {
+            if(result.getMeanWaitTime() < bestWaitTime)
+            {
+                bestWaitTime = result.getMeanWaitTime();
+                front.add(result);
+            }
+        }
+
+        return front;
+    }
+
+    // Returns the result of every configuration evaluated, in the order they were generated.
+
+    public List<OptimizationResult> getResults()
+    {
+        return results;
+    }
+
+    // Returns the Pareto front of mean wait time against number of cars, ordered by number of cars.
+
+    public List<OptimizationResult> getParetoFront()
+    {
+        return paretoFront;
+    }
+
+    // Returns the number of configurations evaluated.
+
+    public int getNumberOfEvaluations()
+    {
+        return results.size();
+    }
+
+    // Returns the number of evaluations which were stopped early.
+
+    public int getNumberOfPruned()
+    {
+        int pruned = 0;
+
+        for(OptimizationResult result : results)
+        {
+            if(result.isPruned())
+            {
+                pruned++;
+            }
+        }
+
+        return pruned;
+    }
+
+    // Returns a report of the Pareto front, one configuration per line.
+
+    @Override
+    public String toString()
+    {
+        StringBuilder report = new StringBuilder();
+        report.append("Evaluated: ").append(getNumberOfEvaluations())
+                .append(", pruned: ").append(getNumberOfPruned())
+                .append(", Pareto front:");
+
+        for(OptimizationResult result : paretoFront)
+        {
+            report.append(System.lineSeparator()).append("    ").append(result);
+        }
+
+        return report.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package elevatorsystem;
+import java.util.List;
+
+public interface ParkingPolicy
+{
+    /*
+    The ParkingPolicy interface is used by an EventSimulation to decide where an Elevator which has run out of
+    requests waits for the next one. Without a policy, an Elevator waits wherever its last trip ended.
+     */
+
+    /*
+    Returns the floor the given idle Elevator should move to and wait at, or its current floor if it should stay
+    where it is. 'elevators' holds every Elevator of the simulation, including the idle one.
+     */
+
+    int selectParkingFloor(Elevator e, List<Elevator> elevators);
+}
\ No newline at end of file
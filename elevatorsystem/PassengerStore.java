@@ -0,0 +1,317 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class PassengerStore
+{
+    /*
+    The PassengerStore class holds the details of every person waiting for or riding in an Elevator in
+    parallel primitive arrays, one array per attribute. Each person is identified by an int handle which
+    indexes these arrays, so Floor queues and Elevators only need to store ints. Handles are recycled once
+    a person leaves the Elevator at their destination, so the store only grows with the number of people
+    in the Building at the same time rather than with the total number of people simulated.
+
+    Person objects are only created on request, as read-only views of a handle's details.
+
+    Attributes:
+        NO_HANDLE          - a sentinel value used in place of a handle when there is no person
+
+        UNKNOWN_TIME       - the time stored for events that have not happened or were not recorded
+
+        ids                - the id of the person with each handle
+
+        weights            - the weight of the person with each handle
+
+        startingFloors     - the floor on which the person with each handle called an Elevator, or on which
+                             they changed Elevators for the current leg of a trip through several zones
+
+        destinationFloors  - the floor at which the current leg of the trip of the person with each handle ends
+
+        finalDestinationFloors - the floor to which the person with each handle is ultimately travelling, which
+                             differs from their destination floor while they travel towards a transfer floor
+
+        transfers          - the number of times the person with each handle has changed Elevators
+
+        arrivalTimes       - the simulated time, in milliseconds, the person with each handle called an Elevator
+
+        boardingTimes      - the simulated time, in milliseconds, the person with each handle entered an Elevator
+
+        skipCounts         - the number of stops at which people behind the person with each handle boarded
+                             an Elevator the person did not fit in
+
+        freeHandles        - a stack of handles which have been released and can be reused
+
+        numberOfFreeHandles - the number of handles on the 'freeHandles' stack
+
+        nextHandle         - the lowest handle which has never been used
+
+        size               - the number of handles currently in use
+     */
+
+    public static final int NO_HANDLE = -1;
+    public static final long UNKNOWN_TIME = Long.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] ids;
+    private int[] weights;
+    private int[] startingFloors;
+    private int[] destinationFloors;
+    private int[] finalDestinationFloors;
+    private int[] transfers;
+    private long[] arrivalTimes;
+    private long[] boardingTimes;
+    private int[] skipCounts;
+
+    private int[] freeHandles;
+    private int numberOfFreeHandles;
+    private int nextHandle;
+    private int size;
+
+    // Initializes an empty PassengerStore.
+
+    public PassengerStore()
+    {
+        ids = new int[DEFAULT_CAPACITY];
+        weights = new int[DEFAULT_CAPACITY];
+        startingFloors = new int[DEFAULT_CAPACITY];
+        destinationFloors = new int[DEFAULT_CAPACITY];
+        finalDestinationFloors = new int[DEFAULT_CAPACITY];
+        transfers = new int[DEFAULT_CAPACITY];
+        arrivalTimes = new long[DEFAULT_CAPACITY];
+        boardingTimes = new long[DEFAULT_CAPACITY];
+        skipCounts = new int[DEFAULT_CAPACITY];
+        freeHandles = new int[DEFAULT_CAPACITY];
+    }
+
+    // Stores the details of a person and returns the handle which identifies them.
+
+    public int add(int id, int weight, int startingFloor, int destinationFloor)
+    {
+        int handle;
+
+        if(numberOfFreeHandles != 0)
+        {
+            handle = freeHandles[--numberOfFreeHandles];
+        }
+        else
+        {
+            if(nextHandle == ids.length)
+            {
+                grow();
+            }
+
+            handle = nextHandle++;
+        }
+
+        ids[handle] = id;
+        weights[handle] = weight;
+        startingFloors[handle] = startingFloor;
+        destinationFloors[handle] = destinationFloor;
+        finalDestinationFloors[handle] = destinationFloor;
+        transfers[handle] = 0;
+        arrivalTimes[handle] = UNKNOWN_TIME;
+        boardingTimes[handle] = UNKNOWN_TIME;
+        skipCounts[handle] = 0;
+        size++;
+
+        return handle;
+    }
+
+    // Stores the details of a Person object and returns the handle which identifies them.
+
+    public int add(Person p)
+    {
+        return add(p.getID(), p.getWeight(), p.getStartingFloor(), p.getDestinationFloor());
+    }
+
+    // Releases a handle once the person no longer needs to be tracked, so that it can be reused.
+
+    public void release(int handle)
+    {
+        freeHandles[numberOfFreeHandles++] = handle;
+        size--;
+    }
+
+    // Returns the number of handles currently in use.
+
+    public int size()
+    {
+        return size;
+    }
+
+    // Returns the id of the person with the given handle.
+
+    public int getID(int handle)
+    {
+        return ids[handle];
+    }
+
+    // Returns the weight of the person with the given handle.
+
+    public int getWeight(int handle)
+    {
+        return weights[handle];
+    }
+
+    // Returns the floor on which the person with the given handle called an Elevator.
+
+    public int getStartingFloor(int handle)
+    {
+        return startingFloors[handle];
+    }
+
+    // Returns the floor to which the person with the given handle is travelling.
+
+    public int getDestinationFloor(int handle)
+    {
+        return destinationFloors[handle];
+    }
+
+    // Returns the floor to which the person with the given handle is ultimately travelling.
+
+    public int getFinalDestinationFloor(int handle)
+    {
+        return finalDestinationFloors[handle];
+    }
+
+    // Returns true if the person with the given handle will change Elevators at their destination floor.
+
+    public boolean isTransferring(int handle)
+    {
+        return destinationFloors[handle] != finalDestinationFloors[handle];
+    }
+
+    // Returns the number of times the person with the given handle has changed Elevators.
+
+    public int getNumberOfTransfers(int handle)
+    {
+        return transfers[handle];
+    }
+
+    // Sets the floor at which the current leg of the trip of the person with the given handle ends.
+
+    void setDestinationFloor(int handle, int floor)
+    {
+        destinationFloors[handle] = floor;
+    }
+
+    /*
+    Starts the next leg of the trip of the person with the given handle, who has left an Elevator at the given
+    transfer floor. Their destination is set to their final destination until the next leg is planned.
+     */
+
+    void beginTransfer(int handle, int floor)
+    {
+        startingFloors[handle] = floor;
+        destinationFloors[handle] = finalDestinationFloors[handle];
+        transfers[handle]++;
+    }
+
+    // Returns the Direction that an Elevator must move to get the person with the given handle to their destination.
+
+    public Direction getDirectionToDestination(int handle)
+    {
+        if(startingFloors[handle] == destinationFloors[handle])
+        {
+            return Direction.STATIONARY;
+        }
+
+        return startingFloors[handle] > destinationFloors[handle] ? Direction.DOWN : Direction.UP;
+    }
+
+    // Returns the time the person with the given handle called an Elevator, or UNKNOWN_TIME.
+
+    public long getArrivalTime(int handle)
+    {
+        return arrivalTimes[handle];
+    }
+
+    // Records the time the person with the given handle called an Elevator.
+
+    public void setArrivalTime(int handle, long time)
+    {
+        arrivalTimes[handle] = time;
+    }
+
+    // Returns the time the person with the given handle entered an Elevator, or UNKNOWN_TIME.
+
+    public long getBoardingTime(int handle)
+    {
+        return boardingTimes[handle];
+    }
+
+    // Records the time the person with the given handle entered an Elevator.
+
+    public void setBoardingTime(int handle, long time)
+    {
+        boardingTimes[handle] = time;
+    }
+
+    // Returns the number of stops at which people behind the person with the given handle boarded ahead of them.
+
+    public int getSkipCount(int handle)
+    {
+        return skipCounts[handle];
+    }
+
+    // Records that people behind the person with the given handle boarded ahead of them at a stop.
+
+    void incrementSkipCount(int handle)
+    {
+        skipCounts[handle]++;
+    }
+
+    // Writes every detail of the person with the given handle to a simulation snapshot.
+
+    void writePassenger(SnapshotWriter out, int handle) throws IOException
+    {
+        out.putInt(ids[handle]);
+        out.putInt(weights[handle]);
+        out.putInt(startingFloors[handle]);
+        out.putInt(destinationFloors[handle]);
+        out.putInt(finalDestinationFloors[handle]);
+        out.putInt(transfers[handle]);
+        out.putLong(arrivalTimes[handle]);
+        out.putLong(boardingTimes[handle]);
+        out.putInt(skipCounts[handle]);
+    }
+
+    // Adds a person read from a simulation snapshot and returns their new handle.
+
+    int readPassenger(ByteBuffer in)
+    {
+        int handle = add(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+        finalDestinationFloors[handle] = in.getInt();
+        transfers[handle] = in.getInt();
+        arrivalTimes[handle] = in.getLong();
+        boardingTimes[handle] = in.getLong();
+        skipCounts[handle] = in.getInt();
+        return handle;
+    }
+
+    // Returns a new Person object with the details of the person with the given handle.
+
+    public Person getPerson(int handle)
+    {
+        return new Person(ids[handle], weights[handle], startingFloors[handle], destinationFloors[handle]);
+    }
+
+    // Doubles the capacity of every attribute array.
+
+    private void grow()
+    {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        startingFloors = Arrays.copyOf(startingFloors, capacity);
+        destinationFloors = Arrays.copyOf(destinationFloors, capacity);
+        finalDestinationFloors = Arrays.copyOf(finalDestinationFloors, capacity);
+        transfers = Arrays.copyOf(transfers, capacity);
+        arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+        boardingTimes = Arrays.copyOf(boardingTimes, capacity);
+        skipCounts = Arrays.copyOf(skipCounts, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+    }
+}
\ No newline at end of file
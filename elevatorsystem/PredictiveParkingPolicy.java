@@ -0,0 +1,117 @@
+package elevatorsystem;
+import java.util.Arrays;
+import java.util.List;
+
+public class PredictiveParkingPolicy implements ParkingPolicy
+{
+    /*
+    The PredictiveParkingPolicy class parks idle Elevators where the next hall calls are expected. The expected
+    response time of a parking floor is the travel time, using the Elevator's TimingModel, from that floor to
+    every floor people call from, weighted by the rate at which they call from it as learned by an
+    ArrivalRateEstimator. Floors already covered by another parked Elevator of the same Zone only count for the
+    part this Elevator would reach sooner, so the Elevators of a bank spread out over the busy floors instead of
+    all parking at the busiest one.
+
+    The best parking floor is always one of the floors people call from, so only those floors are tried, and the
+    Elevator only moves if one of them is strictly better than staying where it is.
+
+    Attributes:
+        rates - the arrival rates the expected response times are computed from
+     */
+
+    private final ArrivalRateEstimator rates;
+
+    // Initializes a policy which parks Elevators according to the arrival rates learned by the given estimator.
+
+    public PredictiveParkingPolicy(ArrivalRateEstimator rates)
+    {
+        this.rates = rates;
+    }
+
+    // Returns the floor with the lowest expected response time for the hall calls the given Elevator may answer.
+
+    @Override
+    public int selectParkingFloor(Elevator e, List<Elevator> elevators)
+    {
+        Building building = e.getBuilding();
+        Zone zone = e.getZone();
+
+        // Collects the floors the Elevator serves which people are expected to call from.
+        int[] floors = new int[building.getMaxFloor() - building.getMinFloor() + 1];
+        double[] weights = new double[floors.length];
+        int numberOfFloors = 0;
+
+        for(int floor = building.getMinFloor(); floor <= building.getMaxFloor(); floor++)
+        {
+            double weight = rates.getRate(floor, Direction.UP) + rates.getRate(floor, Direction.DOWN);
+
+            if(weight > 0 && (zone == null || zone.serves(floor)))
+            {
+                floors[numberOfFloors] = floor;
+                weights[numberOfFloors++] = weight;
+            }
+        }
+
+        if(numberOfFloors == 0)
+        {
+            return e.getCurrentFloor();
+        }
+
+        // The response time each floor already gets from the other parked Elevators of the same Zone.
+        double[] covered = new double[numberOfFloors];
+        Arrays.fill(covered, Double.POSITIVE_INFINITY);
+
+        for(Elevator other : elevators)
+        {
+            int position = other.getParkingFloor();
+
+            if(other == e || other.getZone() != zone || position == Integer.MAX_VALUE)
+            {
+                continue;
+            }
+
+            for(int i = 0; i < numberOfFloors; i++)
+            {
+                covered[i] = Math.min(covered[i], getTravelTime(other, position, floors[i]));
+            }
+        }
+
+        int best = e.getCurrentFloor();
+        double lowestCost = getExpectedResponseTime(e, best, floors, weights, covered, numberOfFloors);
+
+        for(int i = 0; i < numberOfFloors; i++)
+        {
+            double cost = getExpectedResponseTime(e, floors[i], floors, weights, covered, numberOfFloors);
+
+            if(cost < lowestCost)
+            {
+                best = floors[i];
+                lowestCost = cost;
+            }
+        }
+
+        return best;
+    }
+
+    // Returns the expected response time, as a rate-weighted sum, if the given Elevator parks at 'parkingFloor'.
+
+    private static double getExpectedResponseTime(Elevator e, int parkingFloor, int[] floors, double[] weights,
+            double[] covered, int numberOfFloors)
+    {
+        double total = 0;
+
+        for(int i = 0; i < numberOfFloors; i++)
+        {
+            total += weights[i] * Math.min(covered[i], getTravelTime(e, parkingFloor, floors[i]));
+        }
+
+        return total;
+    }
+
+    // Returns the time the given Elevator takes to travel between two floors.
+
+    private static double getTravelTime(Elevator e, int from, int to)
+    {
+        return e.getTimingModel().getTravelTime(Math.abs(to - from));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package elevatorsystem;
+
+class PublishedMetrics implements SimulationMetricsMXBean
+{
+    /*
+    The PublishedMetrics class is the MBean registered by SimulationMetrics.registerMBean(). Every attribute is
+    read from the latest snapshot published by the SimulationMetrics object, so JMX clients never touch the
+    state of a running simulation. Before the first snapshot is published, every attribute is zero.
+
+    Attributes:
+        EMPTY   - the snapshot reported before any snapshot has been published
+
+        metrics - the SimulationMetrics object whose snapshots are exposed
+     */
+
+    private static final MetricsSnapshot EMPTY = new MetricsSnapshot(0, 0, new LatencyHistogram(),
+            new LatencyHistogram(), 0, 0, 0.0, new double[0], 0, new int[0]);
+
+    private final SimulationMetrics metrics;
+
+    // Initializes an MBean which exposes the snapshots published by the given SimulationMetrics object.
+
+    PublishedMetrics(SimulationMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    // Returns the latest published snapshot, or an empty one.
+
+    private MetricsSnapshot current()
+    {
+        MetricsSnapshot snapshot = metrics.getLatestSnapshot();
+        return snapshot == null ? EMPTY : snapshot;
+    }
+
+    // Returns the simulated time at which the measurements were taken.
+
+    @Override
+    public long getTime()
+    {
+        return current().getTime();
+    }
+
+    // Returns the number of people delivered to their destination floor.
+
+    @Override
+    public long getPassengersDelivered()
+    {
+        return current().getPassengersDelivered();
+    }
+
+    // Returns the number of people delivered per simulated hour.
+
+    @Override
+    public double getPassengersPerHour()
+    {
+        return current().getPassengersPerHour();
+    }
+
+    // Returns the average time between arriving and entering an Elevator.
+
+    @Override
+    public double getMeanWaitTime()
+    {
+        return current().getMeanWaitTime();
+    }
+
+    // Returns the median wait time.
+
+    @Override
+    public long getP50WaitTime()
+    {
+        return current().getP50WaitTime();
+    }
+
+    // Returns the 95th percentile of the wait time.
+
+    @Override
+    public long getP95WaitTime()
+    {
+        return current().getP95WaitTime();
+    }
+
+    // Returns the 99th percentile of the wait time.
+
+    @Override
+    public long getP99WaitTime()
+    {
+        return current().getP99WaitTime();
+    }
+
+    // Returns the longest wait time.
+
+    @Override
+    public long getMaximumWaitTime()
+    {
+        return current().getMaximumWaitTime();
+    }
+
+    // Returns the average time spent inside an Elevator.
+
+    @Override
+    public double getMeanRideTime()
+    {
+        return current().getMeanRideTime();
+    }
+
+    // Returns the 95th percentile of the ride time.
+
+    @Override
+    public long getP95RideTime()
+    {
+        return current().getP95RideTime();
+    }
+
+    // Returns the 99th percentile of the ride time.
+
+    @Override
+    public long getP99RideTime()
+    {
+        return current().getP99RideTime();
+    }
+
+    // Returns the longest ride time.
+
+    @Override
+    public long getMaximumRideTime()
+    {
+        return current().getMaximumRideTime();
+    }
+
+    // Returns the number of trips started by the Elevators.
+
+    @Override
+    public long getTrips()
+    {
+        return current().getTrips();
+    }
+
+    // Returns the average number of stops an Elevator makes per trip.
+
+    @Override
+    public double getAverageStopsPerTrip()
+    {
+        return current().getAverageStopsPerTrip();
+    }
+
+    // Returns the average fraction of its maximum weight an Elevator carried when leaving a stop.
+
+    @Override
+    public double getAverageLoadFactor()
+    {
+        return current().getAverageLoadFactor();
+    }
+
+    // Returns the fraction of its maximum weight each Elevator is carrying, in the order they were attached.
+
+    @Override
+    public double[] getLoadFactors()
+    {
+        return current().getLoadFactors();
+    }
+
+    // Returns the lowest floor number, which corresponds to index 0 of getQueueLengths().
+
+    @Override
+    public int getMinFloor()
+    {
+        return current().getMinFloor();
+    }
+
+    // Returns the number of people waiting on each Floor, indexed by floor number relative to getMinFloor().
+
+    @Override
+    public int[] getQueueLengths()
+    {
+        return current().getQueueLengths();
+    }
+
+    // Returns the number of people waiting on all Floors.
+
+    @Override
+    public int getPeopleWaiting()
+    {
+        return current().getPeopleWaiting();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package elevatorsystem;
+
+public class ReplicationResult
+{
+    /*
+    The ReplicationResult class holds the measurements of one replication run by a MonteCarloRunner. Only
+    summary values are kept, so that thousands of replications can be aggregated without holding on to
+    their Buildings, Elevators or histograms.
+
+    Attributes:
+        index               - the position of the replication within its batch, starting at 0
+
+        seed                - the seed the replication's scenario was built with
+
+        passengersDelivered - the number of people delivered to their destination floor
+
+        meanWaitTime        - the average time, in milliseconds, between arriving and entering an Elevator
+
+        p95WaitTime         - the 95th percentile of the wait time, in milliseconds
+
+        p99WaitTime         - the 99th percentile of the wait time, in milliseconds
+
+        maximumWaitTime     - the longest wait time, in milliseconds
+
+        meanRideTime        - the average time, in milliseconds, spent inside an Elevator
+
+        endTime             - the simulated time, in milliseconds, at which the replication finished
+     */
+
+    private final int index;
+    private final long seed;
+    private final int passengersDelivered;
+    private final double meanWaitTime;
+    private final long p95WaitTime;
+    private final long p99WaitTime;
+    private final long maximumWaitTime;
+    private final double meanRideTime;
+    private final long endTime;
+
+    // Records the measurements of a finished EventSimulation.
+
+    ReplicationResult(int index, long seed, EventSimulation simulation)
+    {
+        LatencyHistogram waitTimes = simulation.getWaitTimeHistogram();
+
+        this.index = index;
+        this.seed = seed;
+        this.passengersDelivered = simulation.getPassengersDelivered();
+        this.meanWaitTime = waitTimes.getMean();
+        this.p95WaitTime = waitTimes.getValueAtPercentile(95.0);
+        this.p99WaitTime = waitTimes.getValueAtPercentile(99.0);
+        this.maximumWaitTime = waitTimes.getMaximum();
+        this.meanRideTime = simulation.getAverageRideTime();
+        this.endTime = simulation.getCurrentTime();
+    }
+
+    // Returns the position of the replication within its batch.
+
+    public int getIndex()
+    {
+        return index;
+    }
+
+    // Returns the seed the replication's scenario was built with.
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    // Returns the number of people delivered to their destination floor.
+
+    public int getPassengersDelivered()
+    {
+        return passengersDelivered;
+    }
+
+    // Returns the average wait time, in milliseconds.
+
+    public double getMeanWaitTime()
+    {
+        return meanWaitTime;
+    }
+
+    // Returns the 95th percentile of the wait time, in milliseconds.
+
+    public long getP95WaitTime()
+    {
+        return p95WaitTime;
+    }
+
+    // Returns the 99th percentile of the wait time, in milliseconds.
+
+    public long getP99WaitTime()
+    {
+        return p99WaitTime;
+    }
+
+    // Returns the longest wait time, in milliseconds.
+
+    public long getMaximumWaitTime()
+    {
+        return maximumWaitTime;
+    }
+
+    // Returns the average ride time, in milliseconds.
+
+    public double getMeanRideTime()
+    {
+        return meanRideTime;
+    }
+
+    // Returns the simulated time, in milliseconds, at which the replication finished.
+
+    public long getEndTime()
+    {
+        return endTime;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package elevatorsystem;
+
+public class ScanStrategy implements SchedulingStrategy
+{
+    /*
+    The ScanStrategy class implements the SCAN, or elevator, algorithm. The Elevator sweeps from one end of the
+    Building to the other and back, stopping for its passengers and for people waiting to travel in the direction
+    of the sweep. Unlike LOOK, it always travels to the end of the Building before turning around, which evens
+    out wait times between floors at the cost of some empty travel.
+
+    Attributes:
+        INSTANCE - a shared instance, since the strategy keeps no state
+     */
+
+    public static final ScanStrategy INSTANCE = new ScanStrategy();
+
+    // Continues the sweep of the previous trip, turning around at either end of the Building.
+
+    @Override
+    public void planTrip(TripPlan plan)
+    {
+        int currentFloor = plan.getCurrentFloor();
+        int minFloor = plan.getMinFloor();
+        int maxFloor = plan.getMaxFloor();
+        Direction direction = plan.getDirection();
+
+        if(direction == Direction.STATIONARY)
+        {
+            // An idle Elevator starts its sweep towards the nearest person waiting.
+            int nearest = plan.findNearestWaitingFloor(currentFloor);
+
+            if(nearest == Integer.MAX_VALUE || nearest == currentFloor)
+            {
+                direction = plan.getNumberOfPeopleWaiting(currentFloor, Direction.UP) != 0 ? Direction.UP
+                        : Direction.DOWN;
+            }
+            else
+            {
+                direction = nearest > currentFloor ? Direction.UP : Direction.DOWN;
+            }
+        }
+
+        if(direction == Direction.UP && currentFloor == maxFloor)
+        {
+            direction = Direction.DOWN;
+        }
+        else if(direction == Direction.DOWN && currentFloor == minFloor)
+        {
+            direction = Direction.UP;
+        }
+
+        plan.setDirection(direction);
+
+        // Passengers who are travelling the other way stay on until the sweep comes back for them.
+        for(int i = 0; i < plan.getNumberOfPassengers(); i++)
+        {
+            int destination = plan.getPassengerDestination(i);
+
+            if(direction == Direction.UP ? destination > currentFloor : destination < currentFloor)
+            {
+                plan.addStop(destination);
+            }
+        }
+
+        if(direction == Direction.UP)
+        {
+            for(int f = plan.findWaitingFloorAbove(currentFloor, Direction.UP); f != Integer.MAX_VALUE;
+                f = plan.findWaitingFloorAbove(f, Direction.UP))
+            {
+                plan.addStop(f);
+            }
+
+            plan.addStop(maxFloor);
+            plan.setDestination(maxFloor);
+        }
+        else
+        {
+            for(int f = plan.findWaitingFloorBelow(currentFloor, Direction.DOWN); f != Integer.MAX_VALUE;
+                f = plan.findWaitingFloorBelow(f, Direction.DOWN))
+            {
+                plan.addStop(f);
+            }
+
+            plan.addStop(minFloor);
+            plan.setDestination(minFloor);
+        }
+    }
+}
\ No newline at end of file
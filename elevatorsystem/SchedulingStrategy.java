@@ -0,0 +1,20 @@
+package elevatorsystem;
+
+public interface SchedulingStrategy
+{
+    /*
+    The SchedulingStrategy interface decides how an Elevator serves its requests. Whenever the Elevator starts a
+    trip, it asks its strategy for the direction of the trip and the floors to stop at, through a TripPlan.
+    Strategies are only consulted when there is at least one pending request, and the current floor is already
+    on the route.
+
+    People only board an Elevator travelling their way and stay on until it stops at their floor, so a strategy
+    must eventually head for every passenger's destination, and should only add stops ahead of the Elevator in the
+    direction it sets. Strategies shipped with the simulator keep no state between trips, so one instance can be
+    shared by every Elevator.
+     */
+
+    // Sets the direction and destination of the Elevator's next trip and adds the floors it stops at.
+
+    void planTrip(TripPlan plan);
+}
\ No newline at end of file
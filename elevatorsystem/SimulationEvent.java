@@ -0,0 +1,89 @@
+package elevatorsystem;
+
+public class SimulationEvent implements Comparable<SimulationEvent>
+{
+    /*
+    The SimulationEvent class represents a single timestamped event processed by an EventSimulation.
+
+    Attributes:
+        time     - the simulated time, in milliseconds, at which the event occurs
+
+        sequence - the order in which the event was scheduled, used to process events which occur at the
+                   same time in first-come, first-served order
+
+        type     - the type of the event
+
+        elevator - the Elevator involved in the event, or null for arrivals and hall calls
+
+        floor    - the floor number at which the event occurs
+
+        person   - the Person involved in the event, or null for elevator events
+     */
+
+    private final long time;
+    private final long sequence;
+    private final EventType type;
+    private final Elevator elevator;
+    private final int floor;
+    private final Person person;
+
+    // Initializes a SimulationEvent. Events are created by an EventQueue, which assigns their sequence numbers.
+
+    SimulationEvent(long time, long sequence, EventType type, Elevator elevator, int floor, Person person)
+    {
+        this.time = time;
+        this.sequence = sequence;
+        this.type = type;
+        this.elevator = elevator;
+        this.floor = floor;
+        this.person = person;
+    }
+
+    // Returns the simulated time, in milliseconds, at which the event occurs.
+
+    public long getTime()
+    {
+        return time;
+    }
+
+    // Returns the type of the event.
+
+    public EventType getType()
+    {
+        return type;
+    }
+
+    // Returns the Elevator involved in the event, or null if there is none.
+
+    public Elevator getElevator()
+    {
+        return elevator;
+    }
+
+    // Returns the floor number at which the event occurs.
+
+    public int getFloor()
+    {
+        return floor;
+    }
+
+    // Returns the Person involved in the event, or null if there is none.
+
+    public Person getPerson()
+    {
+        return person;
+    }
+
+    // Orders events by time, and events which occur at the same time by the order in which they were scheduled.
+
+    @Override
+    public int compareTo(SimulationEvent other)
+    {
+        if(time != other.time)
+        {
+            return Long.compare(time, other.time);
+        }
+
+        return Long.compare(sequence, other.sequence);
+    }
+}
\ No newline at end of file
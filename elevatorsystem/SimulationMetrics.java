@@ -0,0 +1,440 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class SimulationMetrics implements ElevatorListener
+{
+    /*
+    The SimulationMetrics class measures how well a group of Elevators is serving a Building. It listens to the
+    Elevators and records per-passenger wait and ride times in LatencyHistograms, the number of stops per trip
+    and the load each Elevator carries away from its stops. Recording never allocates and never locks, so it
+    must happen on the thread running the simulation.
+
+    Other threads see the measurements through MetricsSnapshots. A snapshot is taken on the simulation thread,
+    either on request or periodically by an EventSimulation, and published to snapshot listeners and to an
+    optional JMX MBean. Queue lengths and current loads are read from the Building and Elevators when a
+    snapshot is taken, so they cost nothing in between.
+
+    Attributes:
+        clock               - supplies the simulated time, in milliseconds
+
+        elevators           - the Elevators being measured
+
+        buildings           - every distinct Building or Building view whose Floor queues are measured
+
+        waitTimes           - the time between arriving and entering an Elevator, for people whose arrival
+                              time is known
+
+        transferWaitTimes   - the time between leaving an Elevator at a transfer floor and entering the Elevator
+                              of the next Zone
+
+        zoneStatistics      - the measurements of the Elevators of each Zone, by Zone index, created when the
+                              first Elevator of a Zone is attached
+
+        rideTimes           - the time between entering and leaving an Elevator
+
+        passengersDelivered - the number of people who have left an Elevator at their final destination floor
+
+        trips               - the number of trips started by the Elevators
+
+        stops               - the number of stops made by the Elevators
+
+        loadFactorSum       - the sum of the load factors recorded when an Elevator finishes a stop
+
+        loadFactorSamples   - the number of load factors recorded
+
+        snapshotListeners   - notified of every published snapshot
+
+        latestSnapshot      - the most recently published snapshot, read by the MBean
+
+        objectName          - the name the MBean is registered under, or null
+     */
+
+    private final LongSupplier clock;
+    private final List<Elevator> elevators;
+    private final List<Building> buildings;
+
+    private final LatencyHistogram waitTimes;
+    private final LatencyHistogram rideTimes;
+    private final LatencyHistogram transferWaitTimes;
+    private final List<ZoneStatistics> zoneStatistics;
+    private long passengersDelivered;
+    private long trips;
+    private long stops;
+    private double loadFactorSum;
+    private long loadFactorSamples;
+
+    private final List<Consumer<MetricsSnapshot>> snapshotListeners;
+    private volatile MetricsSnapshot latestSnapshot;
+    private ObjectName objectName;
+
+    /*
+    Initializes a SimulationMetrics object which reads the simulated time from the given clock, such as
+    the clock of an EventSimulation or the elapsed time of a single Elevator.
+     */
+
+    public SimulationMetrics(LongSupplier clock)
+    {
+        this.clock = clock;
+        this.elevators = new ArrayList<>();
+        this.buildings = new ArrayList<>();
+        this.waitTimes = new LatencyHistogram();
+        this.rideTimes = new LatencyHistogram();
+        this.transferWaitTimes = new LatencyHistogram();
+        this.zoneStatistics = new ArrayList<>();
+        this.snapshotListeners = new ArrayList<>();
+    }
+
+    // Starts measuring the given Elevator and the Floor queues of its Building.
+
+    public void attach(Elevator e)
+    {
+        Building building = e.getBuilding();
+
+        if(!buildings.isEmpty() && (building.getMinFloor() != buildings.get(0).getMinFloor()
+                || building.getMaxFloor() != buildings.get(0).getMaxFloor()))
+        {
+            throw new IllegalArgumentException("Every measured Elevator must serve the same floors.");
+        }
+
+        elevators.add(e);
+        addBuilding(building);
+        e.addListener(this);
+
+        Zone zone = e.getZone();
+
+        if(zone != null)
+        {
+            while(zoneStatistics.size() <= zone.getIndex())
+            {
+                zoneStatistics.add(null);
+            }
+
+            if(zoneStatistics.get(zone.getIndex()) == null)
+            {
+                zoneStatistics.set(zone.getIndex(), new ZoneStatistics(zone));
+            }
+        }
+    }
+
+    // Starts measuring every Elevator in the given ElevatorBank.
+
+    public void attach(ElevatorBank bank)
+    {
+        addBuilding(bank.getBuilding());
+
+        for(Elevator e : bank.getElevators())
+        {
+            attach(e);
+        }
+    }
+
+    // Adds a Building to the list of measured Buildings unless it is already measured.
+
+    private void addBuilding(Building building)
+    {
+        for(int i = 0; i < buildings.size(); i++)
+        {
+            if(buildings.get(i) == building)
+            {
+                return;
+            }
+        }
+
+        buildings.add(building);
+    }
+
+    // Records the time a person entered an Elevator, and how long they waited if their arrival time is known.
+
+    @Override
+    public void personBoarded(Elevator e, int passenger, int floor)
+    {
+        long now = clock.getAsLong();
+        PassengerStore passengers = e.getPassengerStore();
+        long arrivalTime = passengers.getArrivalTime(passenger);
+        passengers.setBoardingTime(passenger, now);
+
+        if(arrivalTime != PassengerStore.UNKNOWN_TIME)
+        {
+            boolean transfer = passengers.getNumberOfTransfers(passenger) != 0;
+            (transfer ? transferWaitTimes : waitTimes).record(now - arrivalTime);
+
+            if(e.getZone() != null)
+            {
+                zoneStatistics.get(e.getZone().getIndex()).recordWait(now - arrivalTime, transfer);
+            }
+        }
+    }
+
+    /*
+    Records how long a person spent inside an Elevator. A person leaving at a transfer floor starts waiting
+    for the Elevator of the next Zone, so their arrival time is reset to measure that wait.
+     */
+
+    @Override
+    public void personAlighted(Elevator e, int passenger, int floor)
+    {
+        long now = clock.getAsLong();
+        PassengerStore passengers = e.getPassengerStore();
+        boolean delivered = !passengers.isTransferring(passenger);
+        rideTimes.record(now - passengers.getBoardingTime(passenger));
+
+        if(delivered)
+        {
+            passengersDelivered++;
+        }
+        else if(passengers.getArrivalTime(passenger) != PassengerStore.UNKNOWN_TIME)
+        {
+            passengers.setArrivalTime(passenger, now);
+        }
+
+        if(e.getZone() != null)
+        {
+            zoneStatistics.get(e.getZone().getIndex()).recordLeg(delivered);
+        }
+    }
+
+    // Counts the start of a trip.
+
+    @Override
+    public void tripStarted(Elevator e, Direction direction)
+    {
+        trips++;
+    }
+
+    // Counts a stop and records the fraction of its maximum weight the Elevator carries away from it.
+
+    @Override
+    public void elevatorStopped(Elevator e, int floor, int peopleTransferred)
+    {
+        stops++;
+        loadFactorSum += (double) e.getCurrentWeight() / e.getMaximumWeight();
+        loadFactorSamples++;
+    }
+
+    // Returns the distribution of the time, in milliseconds, between people arriving and entering an Elevator.
+
+    public LatencyHistogram getWaitTimeHistogram()
+    {
+        return waitTimes;
+    }
+
+    // Returns the distribution of the time, in milliseconds, people spent inside an Elevator.
+
+    public LatencyHistogram getRideTimeHistogram()
+    {
+        return rideTimes;
+    }
+
+    // Returns the distribution of the time, in milliseconds, people waited at transfer floors between Zones.
+
+    public LatencyHistogram getTransferWaitTimeHistogram()
+    {
+        return transferWaitTimes;
+    }
+
+    // Returns the measurements of the Elevators of the given Zone, or null if none of them are measured.
+
+    public ZoneStatistics getZoneStatistics(Zone zone)
+    {
+        int index = zone.getIndex();
+        return index >= 0 && index < zoneStatistics.size() ? zoneStatistics.get(index) : null;
+    }
+
+    // Returns the measurements of every Zone with measured Elevators, in the order the Zones were added.
+
+    public List<ZoneStatistics> getZoneStatistics()
+    {
+        List<ZoneStatistics> measured = new ArrayList<>();
+
+        for(ZoneStatistics statistics : zoneStatistics)
+        {
+            if(statistics != null)
+            {
+                measured.add(statistics);
+            }
+        }
+
+        return measured;
+    }
+
+    // Returns the number of people who have left an Elevator at their final destination floor.
+
+    public long getPassengersDelivered()
+    {
+        return passengersDelivered;
+    }
+
+    // Writes the accumulated measurements to a simulation snapshot.
+
+    void writeState(SnapshotWriter out) throws IOException
+    {
+        out.putLong(passengersDelivered);
+        out.putLong(trips);
+        out.putLong(stops);
+        out.putDouble(loadFactorSum);
+        out.putLong(loadFactorSamples);
+        waitTimes.writeTo(out);
+        rideTimes.writeTo(out);
+        transferWaitTimes.writeTo(out);
+
+        for(ZoneStatistics statistics : zoneStatistics)
+        {
+            if(statistics != null)
+            {
+                statistics.writeState(out);
+            }
+        }
+    }
+
+    // Replaces the accumulated measurements with the measurements written by writeState.
+
+    void readState(ByteBuffer in)
+    {
+        passengersDelivered = in.getLong();
+        trips = in.getLong();
+        stops = in.getLong();
+        loadFactorSum = in.getDouble();
+        loadFactorSamples = in.getLong();
+        waitTimes.readFrom(in);
+        rideTimes.readFrom(in);
+        transferWaitTimes.readFrom(in);
+
+        // The Elevators of the restored simulation serve the same Zones, so the same statistics exist.
+        for(ZoneStatistics statistics : zoneStatistics)
+        {
+            if(statistics != null)
+            {
+                statistics.readState(in);
+            }
+        }
+    }
+
+    // Copies the current measurements into a new MetricsSnapshot. Must be called on the simulation thread.
+
+    public MetricsSnapshot snapshot()
+    {
+        double[] loadFactors = new double[elevators.size()];
+
+        for(int i = 0; i < elevators.size(); i++)
+        {
+            Elevator e = elevators.get(i);
+            loadFactors[i] = (double) e.getCurrentWeight() / e.getMaximumWeight();
+        }
+
+        int minFloor = 0;
+        int[] queueLengths = new int[0];
+
+        if(!buildings.isEmpty())
+        {
+            minFloor = buildings.get(0).getMinFloor();
+            queueLengths = new int[buildings.get(0).getMaxFloor() - minFloor + 1];
+
+            // Only the floors people are waiting on are visited, so that no Floor is created for the snapshot.
+            for(Building building : buildings)
+            {
+                int floor = building.findWaitingFloorAbove(minFloor - 1, Direction.STATIONARY);
+
+                while(floor != Integer.MAX_VALUE)
+                {
+                    Floor waiting = building.peekFloor(floor);
+                    queueLengths[floor - minFloor] += waiting.getPeopleGoingUp().size()
+                            + waiting.getPeopleGoingDown().size();
+                    floor = building.findWaitingFloorAbove(floor, Direction.STATIONARY);
+                }
+            }
+        }
+
+        double averageLoadFactor = loadFactorSamples == 0 ? 0.0 : loadFactorSum / loadFactorSamples;
+        return new MetricsSnapshot(clock.getAsLong(), passengersDelivered, waitTimes, rideTimes, trips, stops,
+                averageLoadFactor, loadFactors, minFloor, queueLengths);
+    }
+
+    // Adds a listener which receives every published snapshot on the simulation thread.
+
+    public void addSnapshotListener(Consumer<MetricsSnapshot> listener)
+    {
+        snapshotListeners.add(listener);
+    }
+
+    /*
+    Takes a snapshot, makes it the latest snapshot seen by the MBean and other threads, and passes it to the
+    snapshot listeners. Must be called on the simulation thread.
+     */
+
+    public MetricsSnapshot publish()
+    {
+        MetricsSnapshot snapshot = snapshot();
+        latestSnapshot = snapshot;
+
+        for(int i = 0; i < snapshotListeners.size(); i++)
+        {
+            snapshotListeners.get(i).accept(snapshot);
+        }
+
+        return snapshot;
+    }
+
+    // Returns the most recently published snapshot, or null if none has been published. Safe to call from any thread.
+
+    public MetricsSnapshot getLatestSnapshot()
+    {
+        return latestSnapshot;
+    }
+
+    /*
+    Registers an MBean with the platform MBeanServer which exposes the latest published snapshot under the
+    name "elevatorsystem:type=SimulationMetrics,name=<name>", and returns that name.
+     */
+
+    public ObjectName registerMBean(String name)
+    {
+        if(objectName != null)
+        {
+            throw new IllegalStateException("The metrics are already registered as " + objectName);
+        }
+
+        try
+        {
+            ObjectName newName = ObjectName.getInstance("elevatorsystem:type=SimulationMetrics,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new PublishedMetrics(this), newName);
+            objectName = newName;
+            return newName;
+        }
+        catch(JMException e)
+        {
+            throw new IllegalStateException("Could not register the metrics MBean.", e);
+        }
+    }
+
+    // Removes the MBean registered by registerMBean(), if any.
+
+    public void unregisterMBean()
+    {
+        if(objectName == null)
+        {
+            return;
+        }
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        }
+        catch(JMException e)
+        {
+            throw new IllegalStateException("Could not unregister the metrics MBean.", e);
+        }
+        finally
+        {
+            objectName = null;
+        }
+    }
+}
\ No newline at end of file
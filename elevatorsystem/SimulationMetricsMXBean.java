@@ -0,0 +1,86 @@
+package elevatorsystem;
+
+public interface SimulationMetricsMXBean
+{
+    /*
+    The SimulationMetricsMXBean interface lists the measurements of a running simulation which are exposed
+    through JMX. Every value comes from the same MetricsSnapshot, so the attributes are consistent with each
+    other. Times are in simulated milliseconds.
+     */
+
+    // Returns the simulated time at which the measurements were taken.
+
+    long getTime();
+
+    // Returns the number of people delivered to their destination floor.
+
+    long getPassengersDelivered();
+
+    // Returns the number of people delivered per simulated hour.
+
+    double getPassengersPerHour();
+
+    // Returns the average time between arriving and entering an Elevator.
+
+    double getMeanWaitTime();
+
+    // Returns the median wait time.
+
+    long getP50WaitTime();
+
+    // Returns the 95th percentile of the wait time.
+
+    long getP95WaitTime();
+
+    // Returns the 99th percentile of the wait time.
+
+    long getP99WaitTime();
+
+    // Returns the longest wait time.
+
+    long getMaximumWaitTime();
+
+    // Returns the average time spent inside an Elevator.
+
+    double getMeanRideTime();
+
+    // Returns the 95th percentile of the ride time.
+
+    long getP95RideTime();
+
+    // Returns the 99th percentile of the ride time.
+
+    long getP99RideTime();
+
+    // Returns the longest ride time.
+
+    long getMaximumRideTime();
+
+    // Returns the number of trips started by the Elevators.
+
+    long getTrips();
+
+    // Returns the average number of stops an Elevator makes per trip.
+
+    double getAverageStopsPerTrip();
+
+    // Returns the average fraction of its maximum weight an Elevator carried when leaving a stop.
+
+    double getAverageLoadFactor();
+
+    // Returns the fraction of its maximum weight each Elevator is carrying, in the order they were attached.
+
+    double[] getLoadFactors();
+
+    // Returns the lowest floor number, which corresponds to index 0 of getQueueLengths().
+
+    int getMinFloor();
+
+    // Returns the number of people waiting on each Floor, indexed by floor number relative to getMinFloor().
+
+    int[] getQueueLengths();
+
+    // Returns the number of people waiting on all Floors.
+
+    int getPeopleWaiting();
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class SimulationSnapshot
+{
+    /*
+    The SimulationSnapshot class writes and reads the versioned binary format used to checkpoint an
+    EventSimulation. The file starts with a header of four little-endian ints, the magic number, the format
+    version, the number of Elevators and the number of floors, followed by the state written by
+    EventSimulation.writeState():
+
+        the clock, the waiting queues of the Building, the state and queues of every Elevator,
+        the pending events and the accumulated metrics
+
+    People are written by value rather than by handle, so a snapshot does not depend on how a PassengerStore
+    happened to allocate its handles. A snapshot is read back by memory-mapping the whole file, which lets
+    many simulations be restored from the same file without copying it through the Java heap.
+
+    Attributes:
+        MAGIC       - the first four bytes of every snapshot, "ELVS" when read as little-endian ASCII
+
+        VERSION     - the version of the format this class reads and writes. Version 2 added the final
+                      destination and number of transfers of every person. Version 3 writes the passengers of
+                      an Elevator with the direction they boarded in instead of its car call counts. Version 4
+                      added the floor each Elevator is moving to park at
+
+        HEADER_SIZE - the size, in bytes, of the header
+     */
+
+    static final int MAGIC = 0x53564C45;
+    static final int VERSION = 4;
+    static final int HEADER_SIZE = 16;
+
+    // Writes a snapshot of the given simulation to the given file, replacing it if it exists.
+
+    static void write(EventSimulation simulation, Path path) throws IOException
+    {
+        try(SnapshotWriter out = new SnapshotWriter(path))
+        {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(simulation.getNumberOfElevators());
+            out.putInt(simulation.getNumberOfFloors());
+            simulation.writeState(out);
+        }
+    }
+
+    /*
+    Maps the given snapshot into memory and restores it into the given simulation. Throws an IOException if
+    the file is not a snapshot this class can read, or ends before the state is complete.
+     */
+
+    static void read(Path path, EventSimulation simulation) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+
+            if(size < HEADER_SIZE)
+            {
+                throw new IOException("Not a simulation snapshot: the file is too short.");
+            }
+
+            if(size > Integer.MAX_VALUE)
+            {
+                throw new IOException("Simulation snapshot is too large to map: " + size + " bytes.");
+            }
+
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            in.order(ByteOrder.LITTLE_ENDIAN);
+
+            if(in.getInt() != MAGIC)
+            {
+                throw new IOException("Not a simulation snapshot: bad magic number.");
+            }
+
+            int version = in.getInt();
+
+            if(version != VERSION)
+            {
+                throw new IOException("Unsupported simulation snapshot version: " + version);
+            }
+
+            if(in.getInt() != simulation.getNumberOfElevators() || in.getInt() != simulation.getNumberOfFloors())
+            {
+                throw new IllegalArgumentException("The snapshot was taken of a simulation with a different number "
+                        + "of elevators or floors.");
+            }
+
+            try
+            {
+                simulation.readState(in);
+            }
+            catch(BufferUnderflowException e)
+            {
+                throw new IOException("Simulation snapshot is truncated.", e);
+            }
+
+            if(in.hasRemaining())
+            {
+                throw new IOException("Unexpected data at the end of the simulation snapshot.");
+            }
+        }
+    }
+}
\ No newline at end of file
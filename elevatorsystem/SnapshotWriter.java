@@ -0,0 +1,99 @@
+package elevatorsystem;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class SnapshotWriter implements Closeable
+{
+    /*
+    The SnapshotWriter class writes the little-endian values of a simulation snapshot to a file through a
+    fixed-size buffer, so that a snapshot of any size is written without building it in memory first. The
+    classes whose state is saved write their own fields to it, and read them back from the mapped snapshot.
+
+    Attributes:
+        BUFFER_SIZE - the number of bytes buffered before they are written to the file
+
+        channel     - the channel the snapshot is written to
+
+        buffer      - values which have not been written to 'channel' yet
+     */
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    // Creates or truncates the given file.
+
+    SnapshotWriter(Path path) throws IOException
+    {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Appends an int to the snapshot.
+
+    void putInt(int value) throws IOException
+    {
+        if(buffer.remaining() < Integer.BYTES)
+        {
+            flush();
+        }
+
+        buffer.putInt(value);
+    }
+
+    // Appends a long to the snapshot.
+
+    void putLong(long value) throws IOException
+    {
+        if(buffer.remaining() < Long.BYTES)
+        {
+            flush();
+        }
+
+        buffer.putLong(value);
+    }
+
+    // Appends a double to the snapshot.
+
+    void putDouble(double value) throws IOException
+    {
+        putLong(Double.doubleToRawLongBits(value));
+    }
+
+    // Writes the buffered values to the file.
+
+    void flush() throws IOException
+    {
+        buffer.flip();
+
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    // Writes any buffered values, forces them to the storage device and closes the file.
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            flush();
+            channel.force(false);
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package elevatorsystem;
+
+public class TimingModel
+{
+    /*
+    The TimingModel class estimates how long an Elevator takes to travel between floors and to stop at a floor,
+    so that the simulation can be measured in simulated time rather than in steps. All times are in milliseconds.
+    This model takes the same time for every floor travelled. A KinematicTimingModel models a real car, which
+    accelerates and slows down at the ends of every run.
+
+    Attributes:
+        DEFAULT         - a shared TimingModel used by Elevators unless another model is specified
+
+        floorTravelTime - time taken to travel the distance between two adjacent floors
+
+        doorCycleTime   - time taken to open and close the doors once at a stop
+
+        transferTime    - time taken for a single person to enter or leave the elevator
+     */
+
+    public static final TimingModel DEFAULT = new TimingModel(2000, 4000, 1000);
+
+    private final long floorTravelTime;
+    private final long doorCycleTime;
+    private final long transferTime;
+
+    // Initializes a TimingModel with the given per-floor, door cycle and per-person transfer times.
+
+    public TimingModel(long floorTravelTime, long doorCycleTime, long transferTime)
+    {
+        this.floorTravelTime = floorTravelTime;
+        this.doorCycleTime = doorCycleTime;
+        this.transferTime = transferTime;
+    }
+
+    // Returns the time taken to travel the given number of floors without stopping.
+
+    public long getTravelTime(int floors)
+    {
+        return floors * floorTravelTime;
+    }
+
+    // Returns the time taken to stop at a floor while the given number of people enter or leave the elevator.
+
+    public long getStopTime(int peopleTransferred)
+    {
+        return doorCycleTime + peopleTransferred * transferTime;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package elevatorsystem;
+
+public enum TraceEventType
+{
+    /*
+    The TraceEventType enumeration is used to enumerate the events written to a trace by a TraceRecorder:
+    an elevator moving between floors, a person entering an elevator and a person leaving an elevator.
+    The ordinal of each event is stored in the trace, so new events must only be added at the end.
+
+    Attributes:
+        representation - a String representation of the different events, which is used when printing
+                         traces. Set to 'final' because it should not be changed
+     */
+
+    MOVE("move"),
+    BOARD("board"),
+    ALIGHT("alight");
+
+    private final String representation;
+
+    // Constructor of the TraceEventType class. 'TraceEventType' objects are not meant to be instantiated.
+
+    private TraceEventType(String representation)
+    {
+        this.representation = representation;
+    }
+
+    // Returns the corresponding representation of one of the events.
+
+    public String getRepresentation()
+    {
+        return representation;
+    }
+}
\ No newline at end of file
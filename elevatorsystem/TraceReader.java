@@ -0,0 +1,236 @@
+package elevatorsystem;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TraceReader implements Closeable
+{
+    /*
+    The TraceReader class streams the events of a trace written by a TraceRecorder, one record at a time.
+    The file is memory-mapped one window at a time, so records are decoded straight from the page cache and
+    memory use does not depend on the length of the trace.
+
+    Attributes:
+        WINDOW_RECORDS  - the number of records mapped at a time
+
+        channel         - the channel the trace is read from
+
+        numberOfRecords - the number of records in the trace, read from its header
+
+        window          - the currently mapped part of the trace
+
+        windowStart     - the index of the first record in 'window'
+
+        recordIndex     - the index of the current record, or -1 before the first call to next()
+
+        time / type / elevator / floor / detail - the fields of the current record
+     */
+
+    private static final int WINDOW_RECORDS = 1 << 16;
+
+    private final FileChannel channel;
+    private final long numberOfRecords;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long recordIndex;
+
+    private long time;
+    private TraceEventType type;
+    private int elevator;
+    private int floor;
+    private int detail;
+
+    // Opens an event trace and checks its header.
+
+    public TraceReader(Path path) throws IOException
+    {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try
+        {
+            this.numberOfRecords = readHeader();
+        }
+        catch(IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+
+        this.recordIndex = -1;
+    }
+
+    // Checks that the file starts with a header this class can read and returns the number of records.
+
+    private long readHeader() throws IOException
+    {
+        long fileSize = channel.size();
+
+        if(fileSize < TraceRecorder.HEADER_SIZE)
+        {
+            throw new IOException("Not an event trace: the file is too short.");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(TraceRecorder.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        while(header.hasRemaining() && channel.read(header, header.position()) >= 0)
+        {
+            // Keep reading until the header is complete.
+        }
+
+        header.flip();
+
+        if(header.getInt() != TraceRecorder.MAGIC)
+        {
+            throw new IOException("Not an event trace: bad magic number.");
+        }
+
+        int version = header.getInt();
+
+        if(version != TraceRecorder.VERSION)
+        {
+            throw new IOException("Unsupported event trace version: " + version);
+        }
+
+        if(header.getInt() != TraceRecorder.RECORD_SIZE)
+        {
+            throw new IOException("Unexpected record size in event trace.");
+        }
+
+        header.getInt();
+        long records = header.getLong();
+
+        if(records < 0 || fileSize < TraceRecorder.HEADER_SIZE + records * TraceRecorder.RECORD_SIZE)
+        {
+            throw new IOException("The event trace is shorter than its header says.");
+        }
+
+        return records;
+    }
+
+    // Decodes the next record, mapping the next window of the file when the current one is used up.
+
+    public boolean next() throws IOException
+    {
+        if(recordIndex + 1 >= numberOfRecords)
+        {
+            recordIndex = numberOfRecords;
+            return false;
+        }
+
+        recordIndex++;
+
+        if(window == null || recordIndex - windowStart >= WINDOW_RECORDS)
+        {
+            windowStart = recordIndex;
+            long length = Math.min(WINDOW_RECORDS, numberOfRecords - windowStart) * TraceRecorder.RECORD_SIZE;
+            window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    TraceRecorder.HEADER_SIZE + windowStart * TraceRecorder.RECORD_SIZE, length);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int offset = (int) (recordIndex - windowStart) * TraceRecorder.RECORD_SIZE;
+        time = window.getLong(offset);
+        int ordinal = window.getInt(offset + 8);
+        elevator = window.getInt(offset + 12);
+        floor = window.getInt(offset + 16);
+        detail = window.getInt(offset + 20);
+
+        TraceEventType[] types = TraceEventType.values();
+
+        if(ordinal < 0 || ordinal >= types.length)
+        {
+            throw new IOException("Unknown event type " + ordinal + " in record " + recordIndex);
+        }
+
+        type = types[ordinal];
+        return true;
+    }
+
+    // Returns the number of records in the trace.
+
+    public long getNumberOfRecords()
+    {
+        return numberOfRecords;
+    }
+
+    // Returns the index of the current record, counted from 0.
+
+    public long getRecordIndex()
+    {
+        return recordIndex;
+    }
+
+    // Returns the simulated time, in milliseconds, at which the current event happened.
+
+    public long getTime()
+    {
+        return time;
+    }
+
+    // Returns the type of the current event.
+
+    public TraceEventType getType()
+    {
+        return type;
+    }
+
+    // Returns the number of the Elevator involved in the current event.
+
+    public int getElevator()
+    {
+        return elevator;
+    }
+
+    // Returns the floor at which the current event happened, which is the floor arrived at for a move.
+
+    public int getFloor()
+    {
+        return floor;
+    }
+
+    // Returns the floor the Elevator left in the current event, which must be a move.
+
+    public int getFromFloor()
+    {
+        return detail;
+    }
+
+    // Returns the id of the person in the current event, which must be a boarding or an alighting.
+
+    public int getPersonID()
+    {
+        return detail;
+    }
+
+    // Returns true if the current records of this reader and the given reader are identical.
+
+    public boolean hasSameRecord(TraceReader other)
+    {
+        return time == other.time && type == other.type && elevator == other.elevator && floor == other.floor
+                && detail == other.detail;
+    }
+
+    // Returns a description of the current record.
+
+    @Override
+    public String toString()
+    {
+        String subject = type == TraceEventType.MOVE ? "from floor " + detail : "person " + detail;
+        return "#" + recordIndex + " t=" + time + " elevator " + elevator + " " + type.getRepresentation()
+                + " at floor " + floor + ", " + subject;
+    }
+
+    // Closes the underlying file. The mapped window is released once it is garbage collected.
+
+    @Override
+    public void close() throws IOException
+    {
+        window = null;
+        channel.close();
+    }
+}
\ No newline at end of file
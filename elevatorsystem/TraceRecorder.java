@@ -0,0 +1,224 @@
+package elevatorsystem;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongSupplier;
+
+public class TraceRecorder implements ElevatorListener, Closeable
+{
+    /*
+    The TraceRecorder class listens to Elevators and appends every move, boarding and alighting to a binary
+    trace, which is much smaller and faster to write than the Logger's text and can be compared between runs
+    with TraceTool. The file starts with a header of four little-endian ints, the magic number, the format
+    version, the record size and a reserved zero, and a long holding the number of records, followed by
+    fixed-size records of:
+
+        long time, int type, int elevator, int floor, int detail
+
+    where 'type' is the ordinal of a TraceEventType, 'floor' is the floor the event happened at and 'detail'
+    is the floor a move started from, or the id of the person who boarded or alighted.
+
+    The file is written through a memory-mapped window which is moved forward as it fills, so recording a
+    record is a few stores into the page cache. The record count in the header is updated whenever the
+    window moves and when the recorder is closed, so a run which crashes keeps every complete window.
+
+    Attributes:
+        MAGIC          - the first four bytes of every event trace, "ELVE" when read as little-endian ASCII
+
+        VERSION        - the version of the format this class writes and TraceReader reads
+
+        HEADER_SIZE    - the size, in bytes, of the header
+
+        RECORD_SIZE    - the size, in bytes, of one event record
+
+        COUNT_OFFSET   - the offset in the header of the number of records
+
+        WINDOW_RECORDS - the number of records mapped at a time
+
+        clock          - supplies the simulated time, in milliseconds, each event is stamped with
+
+        channel        - the channel the trace is written to
+
+        header         - the mapped header, kept so that the record count can be updated
+
+        window         - the currently mapped part of the file, which records are appended to
+
+        windowStart    - the offset in the file of the first byte of 'window'
+
+        numberOfRecords - the number of records written so far
+     */
+
+    static final int MAGIC = 0x45564C45;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 24;
+    static final int COUNT_OFFSET = 16;
+    private static final int WINDOW_RECORDS = 1 << 14;
+
+    private final LongSupplier clock;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long numberOfRecords;
+
+    /*
+    Creates or truncates the given file and writes the trace header. Events are stamped with the time read
+    from the given clock, such as the clock of an EventSimulation.
+     */
+
+    public TraceRecorder(Path path, LongSupplier clock) throws IOException
+    {
+        this.clock = clock;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        try
+        {
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(RECORD_SIZE);
+            header.putInt(0);
+            header.putLong(0);
+
+            windowStart = HEADER_SIZE;
+            mapWindow();
+        }
+        catch(IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Starts recording the events of the given Elevator.
+
+    public void attach(Elevator e)
+    {
+        e.addListener(this);
+    }
+
+    // Starts recording the events of every Elevator in the given ElevatorBank.
+
+    public void attach(ElevatorBank bank)
+    {
+        for(Elevator e : bank.getElevators())
+        {
+            attach(e);
+        }
+    }
+
+    // Records an Elevator moving from one floor to another.
+
+    @Override
+    public void elevatorMoved(Elevator e, int fromFloor, int toFloor)
+    {
+        record(TraceEventType.MOVE, e.getID(), toFloor, fromFloor);
+    }
+
+    // Records a person entering an Elevator.
+
+    @Override
+    public void personBoarded(Elevator e, int passenger, int floor)
+    {
+        record(TraceEventType.BOARD, e.getID(), floor, e.getPassengerStore().getID(passenger));
+    }
+
+    // Records a person leaving an Elevator.
+
+    @Override
+    public void personAlighted(Elevator e, int passenger, int floor)
+    {
+        record(TraceEventType.ALIGHT, e.getID(), floor, e.getPassengerStore().getID(passenger));
+    }
+
+    // Appends one record, moving the mapped window forward when it is full.
+
+    private void record(TraceEventType type, int elevator, int floor, int detail)
+    {
+        if(window == null)
+        {
+            throw new IllegalStateException("The trace recorder has been closed.");
+        }
+
+        if(window.remaining() < RECORD_SIZE)
+        {
+            windowStart += window.position();
+            header.putLong(COUNT_OFFSET, numberOfRecords);
+
+            try
+            {
+                mapWindow();
+            }
+            catch(IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        window.putLong(clock.getAsLong());
+        window.putInt(type.ordinal());
+        window.putInt(elevator);
+        window.putInt(floor);
+        window.putInt(detail);
+        numberOfRecords++;
+    }
+
+    // Maps the next window of the file, which grows the file to the end of the window.
+
+    private void mapWindow() throws IOException
+    {
+        window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, (long) WINDOW_RECORDS * RECORD_SIZE);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Returns the number of events recorded so far.
+
+    public long getNumberOfRecords()
+    {
+        return numberOfRecords;
+    }
+
+    /*
+    Writes the final record count, forces the trace to the storage device and closes the file. The unused
+    end of the last window is cut off where the platform allows a mapped file to be truncated, and is
+    otherwise left as padding, which TraceReader ignores.
+     */
+
+    @Override
+    public void close() throws IOException
+    {
+        if(window == null)
+        {
+            return;
+        }
+
+        try
+        {
+            header.putLong(COUNT_OFFSET, numberOfRecords);
+            header.force();
+            window.force();
+            window = null;
+
+            try
+            {
+                channel.truncate(HEADER_SIZE + numberOfRecords * RECORD_SIZE);
+            }
+            catch(IOException e)
+            {
+                // Some platforms do not allow a file to be truncated while it is mapped.
+            }
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
\ No newline at end of file
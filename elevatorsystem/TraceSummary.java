@@ -0,0 +1,162 @@
+package elevatorsystem;
+import java.util.Arrays;
+
+public class TraceSummary
+{
+    /*
+    The TraceSummary class totals the events of a trace written by a TraceRecorder, such as the number of
+    moves, the floors travelled by each Elevator and the number of people who boarded and alighted, so that
+    two runs can be compared at a glance before diffing them record by record.
+
+    Attributes:
+        numberOfRecords - the number of records in the trace
+
+        moves           - the number of times an Elevator moved between floors
+
+        boardings       - the number of times a person entered an Elevator
+
+        alightings      - the number of times a person left an Elevator
+
+        floorsTravelled - the number of floors travelled by each Elevator, indexed by its number
+
+        firstTime       - the time of the first event, or 0 if the trace is empty
+
+        lastTime        - the time of the last event, or 0 if the trace is empty
+     */
+
+    private long numberOfRecords;
+    private long moves;
+    private long boardings;
+    private long alightings;
+    private long[] floorsTravelled;
+    private long firstTime;
+    private long lastTime;
+
+    // Initializes an empty TraceSummary. Summaries are created by TraceTool.
+
+    TraceSummary()
+    {
+        floorsTravelled = new long[0];
+    }
+
+    // Adds the current record of the given reader to the totals.
+
+    void add(TraceReader trace)
+    {
+        if(numberOfRecords == 0)
+        {
+            firstTime = trace.getTime();
+        }
+
+        numberOfRecords++;
+        lastTime = trace.getTime();
+
+        switch(trace.getType())
+        {
+            case MOVE:
+                int elevator = trace.getElevator();
+
+                if(elevator >= floorsTravelled.length)
+                {
+                    floorsTravelled = Arrays.copyOf(floorsTravelled, elevator + 1);
+                }
+
+                moves++;
+                floorsTravelled[elevator] += Math.abs(trace.getFloor() - trace.getFromFloor());
+                break;
+
+            case BOARD:
+                boardings++;
+                break;
+
+            case ALIGHT:
+                alightings++;
+                break;
+        }
+    }
+
+    // Returns the number of records in the trace.
+
+    public long getNumberOfRecords()
+    {
+        return numberOfRecords;
+    }
+
+    // Returns the number of times an Elevator moved between floors.
+
+    public long getMoves()
+    {
+        return moves;
+    }
+
+    // Returns the number of times a person entered an Elevator.
+
+    public long getBoardings()
+    {
+        return boardings;
+    }
+
+    // Returns the number of times a person left an Elevator.
+
+    public long getAlightings()
+    {
+        return alightings;
+    }
+
+    // Returns the number of floors travelled by the Elevator with the given number.
+
+    public long getFloorsTravelled(int elevator)
+    {
+        return elevator < floorsTravelled.length ? floorsTravelled[elevator] : 0;
+    }
+
+    // Returns the number of floors travelled by all Elevators together.
+
+    public long getFloorsTravelled()
+    {
+        long total = 0;
+
+        for(long floors : floorsTravelled)
+        {
+            total += floors;
+        }
+
+        return total;
+    }
+
+    // Returns the simulated time, in milliseconds, of the first event, or 0 if the trace is empty.
+
+    public long getFirstTime()
+    {
+        return firstTime;
+    }
+
+    // Returns the simulated time, in milliseconds, of the last event, or 0 if the trace is empty.
+
+    public long getLastTime()
+    {
+        return lastTime;
+    }
+
+    // Returns a description of the totals, one per line.
+
+    @Override
+    public String toString()
+    {
+        StringBuilder text = new StringBuilder();
+        text.append("Records: ").append(numberOfRecords).append('\n');
+        text.append("Time: ").append(firstTime).append(" to ").append(lastTime).append(" ms\n");
+        text.append("Moves: ").append(moves).append(", floors travelled: ").append(getFloorsTravelled()).append('\n');
+
+        for(int i = 0; i < floorsTravelled.length; i++)
+        {
+            if(floorsTravelled[i] != 0)
+            {
+                text.append("    Elevator ").append(i).append(": ").append(floorsTravelled[i]).append(" floors\n");
+            }
+        }
+
+        text.append("Boardings: ").append(boardings).append(", alightings: ").append(alightings);
+        return text.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class TraceTool
+{
+    /*
+    The TraceTool class reads traces written by a TraceRecorder. It can total the events of a trace, print
+    its records, and find the first record at which two traces differ, which shows whether a change to the
+    Elevators or their dispatching still produces exactly the same trips. Every command streams the traces,
+    so traces of any length can be read in constant memory.
+
+    Usage:
+        summary <trace>            - prints the totals of a trace
+        print <trace> [from] [to]  - prints the records with indices from 'from' up to, but excluding, 'to'
+        diff <trace> <trace>       - prints the first record at which the traces differ, and exits with
+                                     status 1 if they differ
+     */
+
+    // Runs the command given on the command line.
+
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length >= 2 && args[0].equals("summary"))
+        {
+            System.out.println(summarize(Paths.get(args[1])));
+        }
+        else if(args.length >= 2 && args[0].equals("print"))
+        {
+            long from = args.length > 2 ? Long.parseLong(args[2]) : 0;
+            long to = args.length > 3 ? Long.parseLong(args[3]) : Long.MAX_VALUE;
+            print(Paths.get(args[1]), from, to);
+        }
+        else if(args.length >= 3 && args[0].equals("diff"))
+        {
+            if(!diff(Paths.get(args[1]), Paths.get(args[2])))
+            {
+                System.exit(1);
+            }
+        }
+        else
+        {
+            System.err.println("Usage: TraceTool summary <trace> | print <trace> [from] [to] | diff <trace> <trace>");
+            System.exit(2);
+        }
+    }
+
+    // Reads every record of the given trace and returns their totals.
+
+    public static TraceSummary summarize(Path path) throws IOException
+    {
+        TraceSummary summary = new TraceSummary();
+
+        try(TraceReader trace = new TraceReader(path))
+        {
+            while(trace.next())
+            {
+                summary.add(trace);
+            }
+        }
+
+        return summary;
+    }
+
+    /*
+    Returns the index of the first record at which the given traces differ, or -1 if they are identical. If one
+    trace is a prefix of the other, the index returned is the length of the shorter trace.
+     */
+
+    public static long findFirstDivergence(Path first, Path second) throws IOException
+    {
+        try(TraceReader a = new TraceReader(first); TraceReader b = new TraceReader(second))
+        {
+            return findFirstDivergence(a, b);
+        }
+    }
+
+    // Advances both readers to the first record at which they differ and returns its index, or -1.
+
+    private static long findFirstDivergence(TraceReader a, TraceReader b) throws IOException
+    {
+        while(true)
+        {
+            boolean hasA = a.next();
+            boolean hasB = b.next();
+
+            if(!hasA && !hasB)
+            {
+                return -1;
+            }
+
+            if(hasA != hasB || !a.hasSameRecord(b))
+            {
+                return Math.min(a.getRecordIndex(), b.getRecordIndex());
+            }
+        }
+    }
+
+    // Prints the records of the given trace with indices from 'from' up to, but excluding, 'to'.
+
+    private static void print(Path path, long from, long to) throws IOException
+    {
+        try(TraceReader trace = new TraceReader(path))
+        {
+            while(trace.getRecordIndex() + 1 < to && trace.next())
+            {
+                if(trace.getRecordIndex() >= from)
+                {
+                    System.out.println(trace);
+                }
+            }
+        }
+    }
+
+    // Prints whether the given traces are identical, or their first differing records, and returns true if identical.
+
+    private static boolean diff(Path first, Path second) throws IOException
+    {
+        try(TraceReader a = new TraceReader(first); TraceReader b = new TraceReader(second))
+        {
+            long index = findFirstDivergence(a, b);
+
+            if(index < 0)
+            {
+                System.out.println("The traces are identical: " + a.getNumberOfRecords() + " records.");
+                return true;
+            }
+
+            System.out.println("The traces differ from record " + index + ":");
+            System.out.println("  " + first + ": " + describe(a, index));
+            System.out.println("  " + second + ": " + describe(b, index));
+            return false;
+        }
+    }
+
+    // Returns a description of the current record of the given reader, or notes that its trace has ended.
+
+    private static String describe(TraceReader trace, long index)
+    {
+        return index < trace.getNumberOfRecords() ? trace.toString()
+                : "ends after " + trace.getNumberOfRecords() + " records";
+    }
+}
\ No newline at end of file
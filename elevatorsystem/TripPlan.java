@@ -0,0 +1,222 @@
+package elevatorsystem;
+
+public class TripPlan
+{
+    /*
+    The TripPlan class is the view of an Elevator given to its SchedulingStrategy when a trip is planned. It
+    describes the pending requests, both the calls of the passengers inside the Elevator and the people waiting on
+    the Floors it serves, and lets the strategy set the direction and the stops of the trip. Each Elevator owns
+    one TripPlan, which is reused for every trip.
+
+    Attributes:
+        elevator - the Elevator whose trip is being planned
+     */
+
+    private final Elevator elevator;
+
+    // Initializes the TripPlan of the given Elevator.
+
+    TripPlan(Elevator elevator)
+    {
+        this.elevator = elevator;
+    }
+
+    // Returns the Elevator whose trip is being planned.
+
+    public Elevator getElevator()
+    {
+        return elevator;
+    }
+
+    // Returns the floor the Elevator is on.
+
+    public int getCurrentFloor()
+    {
+        return elevator.getCurrentFloor();
+    }
+
+    // Returns the direction set so far, which is that of the previous trip until setDirection() is called.
+
+    public Direction getDirection()
+    {
+        return elevator.getCurrentDirection();
+    }
+
+    // Returns the destination set so far, which is that of the previous trip until setDestination() is called.
+
+    public int getDestination()
+    {
+        return elevator.getCurrentDestination();
+    }
+
+    // Returns the lowest floor number the Elevator can travel to.
+
+    public int getMinFloor()
+    {
+        return elevator.getBuilding().getMinFloor();
+    }
+
+    // Returns the highest floor number the Elevator can travel to.
+
+    public int getMaxFloor()
+    {
+        return elevator.getBuilding().getMaxFloor();
+    }
+
+    // Returns the model used to estimate how long the Elevator takes to travel and to stop.
+
+    public TimingModel getTimingModel()
+    {
+        return elevator.getTimingModel();
+    }
+
+    // Returns the number of passengers inside the Elevator.
+
+    public int getNumberOfPassengers()
+    {
+        return elevator.getNumberOfPassengers();
+    }
+
+    // Returns the destination floor of the passenger at the given position inside the Elevator.
+
+    public int getPassengerDestination(int index)
+    {
+        return elevator.getPassengerDestination(index);
+    }
+
+    // Returns the number of passengers travelling in the given direction.
+
+    public int getNumberOfCarCalls(Direction direction)
+    {
+        return elevator.getNumberOfCarCalls(direction);
+    }
+
+    // Returns the number of passengers travelling in the given direction who want to leave at the given floor.
+
+    public int getNumberOfCarCalls(int floor, Direction direction)
+    {
+        return elevator.getNumberOfCarCalls(floor, direction);
+    }
+
+    // Returns the lowest floor where a passenger travelling in the given direction leaves, or Integer.MAX_VALUE.
+
+    public int findLowestCarCall(Direction direction)
+    {
+        return elevator.findLowestCall(direction);
+    }
+
+    // Returns the highest floor where a passenger travelling in the given direction leaves, or Integer.MAX_VALUE.
+
+    public int findHighestCarCall(Direction direction)
+    {
+        return elevator.findHighestCall(direction);
+    }
+
+    // Returns the lowest floor where any passenger leaves, or Integer.MAX_VALUE if the Elevator is empty.
+
+    public int findLowestCarCall()
+    {
+        return elevator.findLowestCall();
+    }
+
+    // Returns the highest floor where any passenger leaves, or Integer.MAX_VALUE if the Elevator is empty.
+
+    public int findHighestCarCall()
+    {
+        return elevator.findHighestCall();
+    }
+
+    // Returns the lowest floor above the given floor where any passenger leaves, or Integer.MAX_VALUE.
+
+    public int findCarCallAbove(int floor)
+    {
+        return elevator.findCallAbove(floor);
+    }
+
+    // Returns the highest floor below the given floor where any passenger leaves, or Integer.MAX_VALUE.
+
+    public int findCarCallBelow(int floor)
+    {
+        return elevator.findCallBelow(floor);
+    }
+
+    // Returns the number of people waiting on the given floor to travel in the given direction.
+
+    public int getNumberOfPeopleWaiting(int floor, Direction direction)
+    {
+        Floor f = elevator.getBuilding().peekFloor(floor);
+        return direction == Direction.UP ? f.getPeopleGoingUp().size() : f.getPeopleGoingDown().size();
+    }
+
+    /*
+    Returns the destination floor of the person at the front of the queue of people waiting on the given floor to
+    travel in the given direction, or Integer.MAX_VALUE if nobody is waiting.
+     */
+
+    public int getFirstWaitingDestination(int floor, Direction direction)
+    {
+        int passenger = elevator.getBuilding().peekFloor(floor).peekPassenger(direction);
+        return passenger == PassengerStore.NO_HANDLE ? Integer.MAX_VALUE
+                : elevator.getPassengerStore().getDestinationFloor(passenger);
+    }
+
+    // Returns the closest floor with people waiting, preferring the higher floor on ties, or Integer.MAX_VALUE.
+
+    public int findNearestWaitingFloor(int floor)
+    {
+        return elevator.getBuilding().findNearestWaitingFloor(floor);
+    }
+
+    /*
+    Returns the lowest floor above the given floor where people are waiting to travel in the given direction, or in
+    either direction if it is stationary. Returns Integer.MAX_VALUE if there is no such floor.
+     */
+
+    public int findWaitingFloorAbove(int floor, Direction direction)
+    {
+        return elevator.getBuilding().findWaitingFloorAbove(floor, direction);
+    }
+
+    /*
+    Returns the highest floor below the given floor where people are waiting to travel in the given direction, or in
+    either direction if it is stationary. Returns Integer.MAX_VALUE if there is no such floor.
+     */
+
+    public int findWaitingFloorBelow(int floor, Direction direction)
+    {
+        return elevator.getBuilding().findWaitingFloorBelow(floor, direction);
+    }
+
+    // Sets the direction of the trip.
+
+    public void setDirection(Direction direction)
+    {
+        elevator.setCurrentDirection(direction);
+    }
+
+    // Sets the floor at which the trip ends.
+
+    public void setDestination(int floor)
+    {
+        elevator.setCurrentDestination(floor);
+    }
+
+    // Adds a floor to the stops of the trip. Stops are visited in the order of the trip's direction.
+
+    public void addStop(int floor)
+    {
+        if(floor < getMinFloor() || floor > getMaxFloor())
+        {
+            throw new IllegalArgumentException("Floor " + floor + " is outside the Building.");
+        }
+
+        elevator.addToRoute(floor);
+    }
+
+    // Adds the destination floor of every passenger to the stops of the trip.
+
+    public void addCarCallStops()
+    {
+        elevator.addCallsToRoute();
+    }
+}
\ No newline at end of file
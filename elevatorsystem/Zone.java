@@ -0,0 +1,162 @@
+package elevatorsystem;
+import java.util.BitSet;
+
+public class Zone
+{
+    /*
+    The Zone class describes the floors served by a group of Elevators in an ElevatorBank, such as the low, mid
+    or high rise of a tall building, or an express shuttle which only stops at the main lobby and a sky lobby.
+    Zones which serve the same floor can be changed between there, so a person whose trip is not served by a
+    single Zone is carried through a series of Zones, changing Elevators at transfer floors on the way.
+
+    Attributes:
+        name         - the name of the Zone, used when reporting statistics
+
+        floors       - an index with one bit per floor, relative to 'lowestFloor', which is set for every floor
+                       the Zone's Elevators stop at
+
+        lowestFloor  - the lowest floor the Zone serves
+
+        highestFloor - the highest floor the Zone serves
+
+        index        - the position of the Zone in its ElevatorBank, or -1 before it is added to one
+     */
+
+    private final String name;
+    private final BitSet floors;
+    private final int lowestFloor;
+    private final int highestFloor;
+    private int index;
+
+    // Initializes a Zone serving the given floors, which must be in ascending order.
+
+    private Zone(String name, int[] servedFloors)
+    {
+        if(servedFloors.length < 2)
+        {
+            throw new IllegalArgumentException("Zone " + name + " must serve at least two floors.");
+        }
+
+        this.name = name;
+        this.lowestFloor = servedFloors[0];
+        this.highestFloor = servedFloors[servedFloors.length - 1];
+        this.floors = new BitSet(highestFloor - lowestFloor + 1);
+        this.index = -1;
+
+        for(int i = 0; i < servedFloors.length; i++)
+        {
+            if(i > 0 && servedFloors[i] <= servedFloors[i - 1])
+            {
+                throw new IllegalArgumentException("The floors of Zone " + name + " must be in ascending order.");
+            }
+
+            floors.set(servedFloors[i] - lowestFloor);
+        }
+    }
+
+    // Returns a Zone serving every floor from 'lowestFloor' to 'highestFloor'.
+
+    public static Zone range(String name, int lowestFloor, int highestFloor)
+    {
+        int[] servedFloors = new int[highestFloor - lowestFloor + 1];
+
+        for(int i = 0; i < servedFloors.length; i++)
+        {
+            servedFloors[i] = lowestFloor + i;
+        }
+
+        return new Zone(name, servedFloors);
+    }
+
+    // Returns a Zone which only serves the given floors, in ascending order, such as an express zone.
+
+    public static Zone of(String name, int... servedFloors)
+    {
+        return new Zone(name, servedFloors.clone());
+    }
+
+    // Returns the name of the Zone.
+
+    public String getName()
+    {
+        return name;
+    }
+
+    // Returns the lowest floor the Zone serves.
+
+    public int getLowestFloor()
+    {
+        return lowestFloor;
+    }
+
+    // Returns the highest floor the Zone serves.
+
+    public int getHighestFloor()
+    {
+        return highestFloor;
+    }
+
+    // Returns true if the Zone's Elevators stop at the given floor.
+
+    public boolean serves(int floor)
+    {
+        return floor >= lowestFloor && floor <= highestFloor && floors.get(floor - lowestFloor);
+    }
+
+    /*
+    Returns the floor served by both this Zone and the other Zone which is closest to the given floor, or
+    Integer.MAX_VALUE if the Zones do not share a floor.
+     */
+
+    public int findTransferFloor(Zone other, int floor)
+    {
+        int best = Integer.MAX_VALUE;
+        int lowest = Math.max(lowestFloor, other.lowestFloor);
+        int highest = Math.min(highestFloor, other.highestFloor);
+
+        for(int f = serves(lowest) ? lowest : nextServedFloor(lowest); f <= highest; f = nextServedFloor(f))
+        {
+            if(other.serves(f) && (best == Integer.MAX_VALUE || Math.abs(f - floor) < Math.abs(best - floor)))
+            {
+                best = f;
+            }
+        }
+
+        return best;
+    }
+
+    // Returns the first floor the Zone serves above the given floor, or Integer.MAX_VALUE if there is none.
+
+    private int nextServedFloor(int floor)
+    {
+        int next = floors.nextSetBit(Math.max(floor - lowestFloor, 0) + 1);
+        return next < 0 ? Integer.MAX_VALUE : next + lowestFloor;
+    }
+
+    // Returns the position of the Zone in its ElevatorBank, or -1 if it has not been added to one.
+
+    int getIndex()
+    {
+        return index;
+    }
+
+    // Records the position of the Zone in the ElevatorBank it was added to.
+
+    void setIndex(int index)
+    {
+        if(this.index != -1)
+        {
+            throw new IllegalStateException("Zone " + name + " has already been added to an elevator bank.");
+        }
+
+        this.index = index;
+    }
+
+    // Returns the name of the Zone.
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package elevatorsystem;
+import java.util.ArrayList;
+import java.util.List;
+
+class ZoneRouter
+{
+    /*
+    The ZoneRouter class plans trips through the Zones of an ElevatorBank. Two Zones are connected if they share
+    a floor, and the number of Elevator changes needed between every pair of Zones is kept in a table, which is
+    rebuilt whenever a Zone is added. Planning a leg then only compares the Zones serving the person's floor
+    with the Zones serving their destination.
+
+    Attributes:
+        UNREACHABLE    - the number of changes stored for Zones which are not connected
+
+        zones          - the Zones of the bank, in the order they were added
+
+        changes        - the fewest Elevator changes needed to get from one Zone to another, by Zone index
+
+        nextZone       - the Zone to change to first on the way from one Zone to another, by Zone index
+
+        legDestination - the floor at which the leg planned by the last call to selectZone() ends
+     */
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE / 2;
+
+    private final List<Zone> zones;
+    private int[][] changes;
+    private int[][] nextZone;
+    private int legDestination;
+
+    // Initializes a ZoneRouter without any Zones.
+
+    ZoneRouter()
+    {
+        zones = new ArrayList<>();
+        changes = new int[0][0];
+        nextZone = new int[0][0];
+    }
+
+    // Adds a Zone and recomputes the number of changes between every pair of Zones.
+
+    void addZone(Zone zone)
+    {
+        zone.setIndex(zones.size());
+        zones.add(zone);
+
+        int n = zones.size();
+        changes = new int[n][n];
+        nextZone = new int[n][n];
+
+        for(int i = 0; i < n; i++)
+        {
+            for(int j = 0; j < n; j++)
+            {
+                boolean connected = i != j && zones.get(i).findTransferFloor(zones.get(j), 0) != Integer.MAX_VALUE;
+                changes[i][j] = i == j ? 0 : connected ? 1 : UNREACHABLE;
+                nextZone[i][j] = j;
+            }
+        }
+
+        // Floyd-Warshall over the Zones, of which a bank only has a handful.
+        for(int k = 0; k < n; k++)
+        {
+            for(int i = 0; i < n; i++)
+            {
+                for(int j = 0; j < n; j++)
+                {
+                    if(changes[i][k] + changes[k][j] < changes[i][j])
+                    {
+                        changes[i][j] = changes[i][k] + changes[k][j];
+                        nextZone[i][j] = nextZone[i][k];
+                    }
+                }
+            }
+        }
+    }
+
+    // Returns the Zones, in the order they were added.
+
+    List<Zone> getZones()
+    {
+        return zones;
+    }
+
+    // Returns true if no Zones have been added.
+
+    boolean isEmpty()
+    {
+        return zones.isEmpty();
+    }
+
+    /*
+    Chooses the Zone whose Elevators carry a person on the next leg of their trip from the given floor to the
+    given destination, preferring the trip with the fewest Elevator changes and then the Zone added first.
+    Returns the index of the Zone; the floor at which the leg ends is returned by getLegDestination().
+     */
+
+    int selectZone(int floor, int destination)
+    {
+        int bestStart = -1;
+        int bestEnd = -1;
+        int fewestChanges = UNREACHABLE;
+
+        for(int i = 0; i < zones.size(); i++)
+        {
+            if(!zones.get(i).serves(floor))
+            {
+                continue;
+            }
+
+            for(int j = 0; j < zones.size(); j++)
+            {
+                if(changes[i][j] < fewestChanges && zones.get(j).serves(destination))
+                {
+                    bestStart = i;
+                    bestEnd = j;
+                    fewestChanges = changes[i][j];
+                }
+            }
+        }
+
+        if(bestStart < 0)
+        {
+            throw new IllegalStateException("No zone route from floor " + floor + " to floor " + destination + ".");
+        }
+
+        if(bestStart == bestEnd)
+        {
+            legDestination = destination;
+        }
+        else
+        {
+            Zone next = zones.get(nextZone[bestStart][bestEnd]);
+            legDestination = zones.get(bestStart).findTransferFloor(next, destination);
+        }
+
+        return bestStart;
+    }
+
+    // Returns the floor at which the leg planned by the last call to selectZone() ends.
+
+    int getLegDestination()
+    {
+        return legDestination;
+    }
+}
\ No newline at end of file
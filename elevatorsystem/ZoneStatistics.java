@@ -0,0 +1,132 @@
+package elevatorsystem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class ZoneStatistics
+{
+    /*
+    The ZoneStatistics class holds the measurements SimulationMetrics records for the Elevators of one Zone,
+    so that the Zones of a tall building can be compared, and the time people spend waiting at transfer floors
+    can be told apart from the time they wait where their trip began.
+
+    Attributes:
+        MILLISECONDS_PER_HOUR - number of milliseconds in a simulated hour
+
+        zone                - the Zone being measured
+
+        legsCompleted       - the number of people who have left one of the Zone's Elevators, at a transfer floor
+                              or at their final destination
+
+        passengersDelivered - the number of people who have left one of the Zone's Elevators at their final
+                              destination
+
+        waitTimes           - the wait of people who boarded one of the Zone's Elevators on the floor their trip
+                              began
+
+        transferWaitTimes   - the wait of people who boarded one of the Zone's Elevators after changing from an
+                              Elevator of another Zone
+     */
+
+    private static final double MILLISECONDS_PER_HOUR = 3_600_000.0;
+
+    private final Zone zone;
+    private long legsCompleted;
+    private long passengersDelivered;
+    private final LatencyHistogram waitTimes;
+    private final LatencyHistogram transferWaitTimes;
+
+    // Initializes empty statistics for the given Zone. Statistics are created by SimulationMetrics.
+
+    ZoneStatistics(Zone zone)
+    {
+        this.zone = zone;
+        this.waitTimes = new LatencyHistogram();
+        this.transferWaitTimes = new LatencyHistogram();
+    }
+
+    // Records how long a person waited for one of the Zone's Elevators, and whether they were transferring.
+
+    void recordWait(long waitTime, boolean transfer)
+    {
+        (transfer ? transferWaitTimes : waitTimes).record(waitTime);
+    }
+
+    // Records a person leaving one of the Zone's Elevators, and whether they reached their final destination.
+
+    void recordLeg(boolean delivered)
+    {
+        legsCompleted++;
+        passengersDelivered += delivered ? 1 : 0;
+    }
+
+    // Returns the Zone being measured.
+
+    public Zone getZone()
+    {
+        return zone;
+    }
+
+    // Returns the number of people who have left one of the Zone's Elevators, at a transfer or final floor.
+
+    public long getLegsCompleted()
+    {
+        return legsCompleted;
+    }
+
+    // Returns the number of people who have left one of the Zone's Elevators at their final destination.
+
+    public long getPassengersDelivered()
+    {
+        return passengersDelivered;
+    }
+
+    // Returns the number of people carried by the Zone's Elevators per simulated hour over the given time.
+
+    public double getThroughputPerHour(long elapsedTime)
+    {
+        return elapsedTime <= 0 ? 0.0 : legsCompleted * MILLISECONDS_PER_HOUR / elapsedTime;
+    }
+
+    // Returns the wait, in milliseconds, of people who boarded on the floor their trip began.
+
+    public LatencyHistogram getWaitTimeHistogram()
+    {
+        return waitTimes;
+    }
+
+    // Returns the wait, in milliseconds, of people who boarded after changing from another Zone.
+
+    public LatencyHistogram getTransferWaitTimeHistogram()
+    {
+        return transferWaitTimes;
+    }
+
+    // Writes the measurements to a simulation snapshot.
+
+    void writeState(SnapshotWriter out) throws IOException
+    {
+        out.putLong(legsCompleted);
+        out.putLong(passengersDelivered);
+        waitTimes.writeTo(out);
+        transferWaitTimes.writeTo(out);
+    }
+
+    // Replaces the measurements with the measurements written by writeState.
+
+    void readState(ByteBuffer in)
+    {
+        legsCompleted = in.getLong();
+        passengersDelivered = in.getLong();
+        waitTimes.readFrom(in);
+        transferWaitTimes.readFrom(in);
+    }
+
+    // Returns a one-line description of the Zone's measurements.
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s: %d legs, %d delivered, mean wait %.1f ms, mean transfer wait %.1f ms",
+                zone.getName(), legsCompleted, passengersDelivered, waitTimes.getMean(), transferWaitTimes.getMean());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArrivalTraceTest
+{
+    /*
+    Checks that binary arrival traces read back exactly what was written, that CSV and binary arrivals drive
+    identical simulations, that CSV numbers too large for their fields are rejected rather than wrapped, and that
+    files which are not arrival traces are rejected.
+     */
+
+    @TempDir
+    Path directory;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void binaryArrivalsReadBackAsWritten() throws IOException
+    {
+        Path trace = directory.resolve("arrivals.bin");
+        long[][] arrivals = randomArrivals(100_000);
+
+        try(BinaryArrivalWriter writer = new BinaryArrivalWriter(trace))
+        {
+            for(long[] arrival : arrivals)
+            {
+                writer.write(arrival[0], (int) arrival[1], (int) arrival[2], (int) arrival[3], (int) arrival[4]);
+            }
+        }
+
+        try(BinaryArrivalReader reader = new BinaryArrivalReader(trace))
+        {
+            assertEquals(arrivals.length, reader.getNumberOfRecords());
+
+            for(long[] arrival : arrivals)
+            {
+                assertTrue(reader.next());
+                assertEquals(arrival[0], reader.getTime());
+                assertEquals(arrival[1], reader.getID());
+                assertEquals(arrival[2], reader.getWeight());
+                assertEquals(arrival[3], reader.getStartingFloor());
+                assertEquals(arrival[4], reader.getDestinationFloor());
+            }
+
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void csvAndBinaryArrivalsDriveTheSameSimulation() throws IOException
+    {
+        Path csv = directory.resolve("arrivals.csv");
+        Path binary = directory.resolve("arrivals.bin");
+        StringBuilder lines = new StringBuilder();
+
+        for(long[] arrival : randomArrivals(2000))
+        {
+            lines.append(arrival[0]).append(',').append(arrival[1]).append(',').append(arrival[2]).append(',')
+                    .append(arrival[3]).append(',').append(arrival[4]).append('\n');
+        }
+
+        Files.writeString(csv, lines);
+
+        try(BinaryArrivalWriter writer = new BinaryArrivalWriter(binary);
+            CsvArrivalReader reader = new CsvArrivalReader(csv))
+        {
+            writer.writeAll(reader);
+        }
+
+        EventSimulation fromCsv = createSimulation();
+        fromCsv.setArrivalSource(new CsvArrivalReader(csv));
+        fromCsv.run();
+
+        EventSimulation fromBinary = createSimulation();
+        fromBinary.setArrivalSource(new BinaryArrivalReader(binary));
+        fromBinary.run();
+
+        assertEquals(2000, fromCsv.getPassengersDelivered());
+        assertEquals(fromCsv.getCurrentTime(), fromBinary.getCurrentTime());
+        assertEquals(fromCsv.getAverageWaitTime(), fromBinary.getAverageWaitTime());
+    }
+
+    @Test
+    void csvNumbersTooLargeForTheirFieldsAreRejected() throws IOException
+    {
+        Path csv = directory.resolve("arrivals.csv");
+        Files.writeString(csv, "9223372036854775807,2147483647,-2147483648,0,5\n");
+
+        try(CsvArrivalReader reader = new CsvArrivalReader(csv))
+        {
+            assertTrue(reader.next());
+            assertEquals(Long.MAX_VALUE, reader.getTime());
+            assertEquals(Integer.MAX_VALUE, reader.getID());
+            assertEquals(Integer.MIN_VALUE, reader.getWeight());
+        }
+
+        String[] lines = {"9223372036854775808,1,70,0,5", "99999999999999999999,1,70,0,5", "0,2147483648,70,0,5",
+                "0,-2147483649,70,0,5", "0,1,4294967366,0,5", "0,1,70,2147483648,5", "0,1,70,0,-2147483649"};
+
+        for(String line : lines)
+        {
+            Files.writeString(csv, "0,1,70,0,5\n" + line + "\n");
+
+            try(CsvArrivalReader reader = new CsvArrivalReader(csv))
+            {
+                assertTrue(reader.next());
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next, line);
+                assertEquals("Expected a number on line 2", e.getMessage(), line);
+            }
+        }
+    }
+
+    @Test
+    void filesWhichAreNotArrivalTracesAreRejected() throws IOException
+    {
+        Path garbage = directory.resolve("garbage.bin");
+        Files.write(garbage, new byte[64]);
+
+        assertThrows(IOException.class, () -> new BinaryArrivalReader(garbage).close());
+    }
+
+    // Returns a simulation of a three-car bank in a 21-floor Building.
+
+    private static EventSimulation createSimulation()
+    {
+        ElevatorBank bank = new ElevatorBank(new Building(0, 20));
+
+        for(int i = 0; i < 3; i++)
+        {
+            bank.addElevator(0);
+        }
+
+        return new EventSimulation(bank);
+    }
+
+    // Returns random arrivals in chronological order, as time, id, weight, starting and destination floor.
+
+    private static long[][] randomArrivals(int count)
+    {
+        Random random = new Random(11);
+        long[][] arrivals = new long[count][];
+        long time = 0;
+
+        for(int i = 0; i < count; i++)
+        {
+            time += random.nextInt(4000);
+            int startingFloor = random.nextInt(21);
+            int destinationFloor = (startingFloor + 1 + random.nextInt(20)) % 21;
+            arrivals[i] = new long[] {time, i, 40 + random.nextInt(120), startingFloor, destinationFloor};
+        }
+
+        return arrivals;
+    }
+}
@@ -0,0 +1,243 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BankOptimizerTest
+{
+    /*
+    Checks that the Pareto front of a search holds exactly the best unpruned configurations, that the results of
+    every search are the same with one thread as with several, and that random and evolutionary searches never
+    evaluate a configuration twice. The searches run on a space of 96 configurations, so that grid searches
+    cover more than one batch and later batches are pruned against earlier ones.
+     */
+
+    private static final int PEOPLE = 300;
+    private static final long SEED = 5;
+    private static final LongFunction<ArrivalSource> WORKLOAD = seed -> new RandomArrivals(seed, PEOPLE);
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void paretoFrontHoldsTheBestUnprunedResults()
+    {
+        OptimizationSummary summary = search(4, optimizer -> optimizer.gridSearch(createSpace(), WORKLOAD, SEED));
+        List<OptimizationResult> front = summary.getParetoFront();
+
+        assertTrue(summary.getNumberOfPruned() > 0, "Nothing was pruned");
+        assertTrue(summary.getNumberOfPruned() < summary.getNumberOfEvaluations(), "Everything was pruned");
+        assertFalse(front.isEmpty());
+
+        for(int i = 0; i < front.size(); i++)
+        {
+            OptimizationResult result = front.get(i);
+            assertFalse(result.isPruned(), "A pruned result is on the front: " + result);
+
+            if(i > 0)
+            {
+                assertTrue(result.getNumberOfCars() > front.get(i - 1).getNumberOfCars());
+                assertTrue(result.getMeanWaitTime() < front.get(i - 1).getMeanWaitTime());
+            }
+
+            for(OptimizationResult other : summary.getResults())
+            {
+                assertFalse(other.dominates(result), other + " dominates " + result + " on the front");
+            }
+        }
+
+        // Every unpruned result off the front is matched or beaten by a result on it.
+        for(OptimizationResult result : summary.getResults())
+        {
+            if(!result.isPruned() && !front.contains(result))
+            {
+                assertTrue(front.stream().anyMatch(best -> best.getNumberOfCars() <= result.getNumberOfCars()
+                        && best.getMeanWaitTime() <= result.getMeanWaitTime()),
+                        result + " is missing from the front");
+            }
+        }
+    }
+
+    @Test
+    void resultsDoNotDependOnTheNumberOfThreads()
+    {
+        assertSameResults(search(1, optimizer -> optimizer.gridSearch(createSpace(), WORKLOAD, SEED)),
+                search(4, optimizer -> optimizer.gridSearch(createSpace(), WORKLOAD, SEED)));
+        assertSameResults(search(1, optimizer -> optimizer.randomSearch(createSpace(), WORKLOAD, 70, SEED)),
+                search(4, optimizer -> optimizer.randomSearch(createSpace(), WORKLOAD, 70, SEED)));
+        assertSameResults(
+                search(1, optimizer -> optimizer.evolutionarySearch(createSpace(), WORKLOAD, 12, 4, SEED)),
+                search(4, optimizer -> optimizer.evolutionarySearch(createSpace(), WORKLOAD, 12, 4, SEED)));
+    }
+
+    @Test
+    void searchesNeverEvaluateAConfigurationTwice()
+    {
+        ConfigurationSpace space = createSpace();
+        OptimizationSummary random = search(4, optimizer -> optimizer.randomSearch(space, WORKLOAD, 200, SEED));
+        OptimizationSummary evolved = search(4, optimizer -> optimizer.evolutionarySearch(space, WORKLOAD, 16, 12,
+                SEED));
+
+        assertEquals(space.size(), random.getNumberOfEvaluations());
+        assertDistinct(random);
+        assertTrue(evolved.getNumberOfEvaluations() <= space.size());
+        assertDistinct(evolved);
+    }
+
+    // Returns a space of 96 configurations of a 16-floor Building.
+
+    private static ConfigurationSpace createSpace()
+    {
+        ConfigurationSpace space = new ConfigurationSpace(0, 15);
+        space.setNumbersOfCars(1, 2, 3, 4);
+        space.setMaximumPeople(4, 8, 12, 16);
+        space.setSchedulingStrategies(LookStrategy.INSTANCE, ScanStrategy.INSTANCE, CostBasedStrategy.INSTANCE);
+        space.setBoardingPolicies(BoardingPolicy.FIFO, BoardingPolicy.skipAhead(2, 2));
+        return space;
+    }
+
+    // Runs a search with a BankOptimizer using the given number of threads, and shuts the optimizer down.
+
+    private static OptimizationSummary search(int parallelism, Function<BankOptimizer, OptimizationSummary> search)
+    {
+        BankOptimizer optimizer = new BankOptimizer(parallelism);
+        optimizer.setPruning(1.5, 40);
+
+        try
+        {
+            return search.apply(optimizer);
+        }
+        finally
+        {
+            optimizer.shutdown();
+        }
+    }
+
+    // Checks that two searches evaluated the same configurations in the same order, with the same outcomes.
+
+    private static void assertSameResults(OptimizationSummary expected, OptimizationSummary actual)
+    {
+        assertEquals(expected.getNumberOfEvaluations(), actual.getNumberOfEvaluations());
+
+        for(int i = 0; i < expected.getNumberOfEvaluations(); i++)
+        {
+            OptimizationResult first = expected.getResults().get(i);
+            OptimizationResult second = actual.getResults().get(i);
+
+            assertEquals(first.getConfiguration().getIndex(), second.getConfiguration().getIndex());
+            assertEquals(first.isPruned(), second.isPruned(), first.toString());
+            assertEquals(first.getEndTime(), second.getEndTime(), first.toString());
+            assertEquals(first.getPassengersDelivered(), second.getPassengersDelivered(), first.toString());
+            assertEquals(first.getMeanWaitTime(), second.getMeanWaitTime(), first.toString());
+        }
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    // Checks that no configuration appears twice among the results of a search.
+
+    private static void assertDistinct(OptimizationSummary summary)
+    {
+        Set<Long> evaluated = new HashSet<>();
+
+        for(OptimizationResult result : summary.getResults())
+        {
+            assertTrue(evaluated.add(result.getConfiguration().getIndex()),
+                    "Configuration " + result.getConfiguration() + " was evaluated twice");
+        }
+    }
+
+    private static class RandomArrivals implements ArrivalSource
+    {
+        /*
+        Generates 'count' people arriving in a 16-floor Building, about one every two and a half seconds, half of
+        them from the lobby, as a repeatable stream determined by the seed.
+         */
+
+        private final Random random;
+        private final int count;
+        private int id;
+        private long time;
+        private int startingFloor;
+        private int destinationFloor;
+
+        RandomArrivals(long seed, int count)
+        {
+            this.random = new Random(seed);
+            this.count = count;
+        }
+
+        @Override
+        public boolean next()
+        {
+            if(id == count)
+            {
+                return false;
+            }
+
+            id++;
+            time += random.nextInt(5_000);
+            startingFloor = random.nextBoolean() ? 0 : 1 + random.nextInt(15);
+            destinationFloor = (startingFloor + 1 + random.nextInt(15)) % 16;
+            return true;
+        }
+
+        @Override
+        public long getTime()
+        {
+            return time;
+        }
+
+        @Override
+        public int getID()
+        {
+            return id;
+        }
+
+        @Override
+        public int getWeight()
+        {
+            return 70;
+        }
+
+        @Override
+        public int getStartingFloor()
+        {
+            return startingFloor;
+        }
+
+        @Override
+        public int getDestinationFloor()
+        {
+            return destinationFloor;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoardingPolicyTest
+{
+    /*
+    Checks that a BoardingPolicy which allows skipping lets a light person board past a heavy one who does not
+    fit, that FIFO boarding does not, and that random runs under skipping policies deliver everyone without ever
+    putting a car over its capacity.
+     */
+
+    private static final int RUNS = 1500;
+    private static final int MAXIMUM_TRIPS = 100_000;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void fifoHoldsTheQueueBehindAPersonWhoDoesNotFit()
+    {
+        assertEquals(List.of(1, 2, 3), boardingOrder(BoardingPolicy.FIFO));
+    }
+
+    @Test
+    void skippingLetsALighterPersonBoardFirst()
+    {
+        assertEquals(List.of(1, 3, 2), boardingOrder(BoardingPolicy.skipAhead(1, 2)));
+    }
+
+    @Test
+    void skippingRunsDeliverEveryoneWithinCapacity()
+    {
+        SchedulingStrategy[] strategies = {LookStrategy.INSTANCE, ScanStrategy.INSTANCE, CostBasedStrategy.INSTANCE};
+
+        for(int seed = 0; seed < RUNS; seed++)
+        {
+            run(seed, strategies[seed % strategies.length]);
+        }
+    }
+
+    /*
+    Returns the ids of three people in the order they board a car with room for 170 kg, when they queue on the
+    same floor weighing 120, 100 and 40 kg.
+     */
+
+    private static List<Integer> boardingOrder(BoardingPolicy boardingPolicy)
+    {
+        Building building = new Building(0, 5);
+        Elevator elevator = new Elevator(0, building, 10, 170);
+        elevator.setBoardingPolicy(boardingPolicy);
+        PassengerStore store = building.getPassengerStore();
+        List<Integer> order = new ArrayList<>();
+
+        elevator.addListener(new ElevatorListener()
+        {
+            @Override
+            public void personBoarded(Elevator e, int passenger, int floor)
+            {
+                order.add(store.getID(passenger));
+            }
+        });
+
+        building.getFloor(0).enqueuePerson(new Person(1, 120, 0, 5));
+        building.getFloor(0).enqueuePerson(new Person(2, 100, 0, 5));
+        building.getFloor(0).enqueuePerson(new Person(3, 40, 0, 5));
+
+        while(elevator.getCurrentDirection() != Direction.STATIONARY || elevator.shouldContinueOperating())
+        {
+            elevator.move();
+        }
+
+        return order;
+    }
+
+    // Builds and runs one random simulation under a skipping policy, failing if any invariant is broken.
+
+    private static void run(int seed, SchedulingStrategy strategy)
+    {
+        Random random = new Random(seed);
+        int maxFloor = 1 + random.nextInt(12);
+        Building building = new Building(0, maxFloor);
+        BoardingPolicy boardingPolicy = BoardingPolicy.skipAhead(1 + random.nextInt(3), 1 + random.nextInt(4));
+        ElevatorBank bank = new ElevatorBank(building);
+        bank.setSchedulingStrategy(strategy);
+        bank.setBoardingPolicy(boardingPolicy);
+        int cars = 1 + random.nextInt(3);
+
+        for(int i = 0; i < cars; i++)
+        {
+            bank.addElevator(random.nextInt(maxFloor + 1), 1 + random.nextInt(6), 200 + random.nextInt(200));
+        }
+
+        EventSimulation simulation = new EventSimulation(bank);
+        int people = 1 + random.nextInt(60);
+        int travelling = 0;
+        long time = 0;
+
+        for(int i = 0; i < people; i++)
+        {
+            time += random.nextInt(3000);
+            int startingFloor = random.nextInt(maxFloor + 1);
+            int destinationFloor = random.nextInt(maxFloor + 1);
+            travelling += startingFloor == destinationFloor ? 0 : 1;
+            simulation.scheduleArrival(time, new Person(i, 50 + random.nextInt(150), startingFloor, destinationFloor));
+        }
+
+        int[] trips = new int[1];
+
+        for(Elevator e : bank.getElevators())
+        {
+            e.addListener(new ElevatorListener()
+            {
+                @Override
+                public void tripStarted(Elevator e, Direction direction)
+                {
+                    assertTrue(++trips[0] <= MAXIMUM_TRIPS, "Seed " + seed + " never finishes");
+                }
+
+                @Override
+                public void personBoarded(Elevator e, int passenger, int floor)
+                {
+                    assertTrue(e.getNumberOfPassengers() <= e.getMaximumPeople(), "Seed " + seed + " overfilled a car");
+                    assertTrue(e.getCurrentWeight() <= e.getMaximumWeight(), "Seed " + seed + " overloaded a car");
+                }
+            });
+        }
+
+        simulation.run();
+
+        assertEquals(travelling, simulation.getPassengersDelivered(), "Seed " + seed + " did not deliver everyone");
+        assertEquals(0, building.getNumberOfPeopleWaiting(), "Seed " + seed + " left people waiting");
+    }
+}
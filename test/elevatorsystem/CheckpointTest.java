@@ -0,0 +1,205 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CheckpointTest
+{
+    /*
+    Checks that a simulation restored from a mid-run checkpoint finishes exactly as the simulation it was taken
+    from, for a single Elevator and for banks, with scheduled and with streamed arrivals, that a restored
+    simulation checkpoints to the same bytes, and that snapshots which do not fit are rejected.
+     */
+
+    private static final int PEOPLE = 3000;
+    private static final long CHECKPOINT_TIME = 6_000_000;
+
+    @TempDir
+    Path directory;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, false", "0, true", "1, false", "1, true", "4, false", "4, true"})
+    void restoredRunFinishesLikeTheOriginal(int cars, boolean streamed) throws IOException
+    {
+        Path trace = directory.resolve("arrivals.bin");
+        Path snapshot = directory.resolve("snapshot.bin");
+        writeArrivals(trace);
+
+        EventSimulation original = createSimulation(cars);
+        addArrivals(original, streamed, trace);
+        original.runUntil(CHECKPOINT_TIME);
+        original.checkpoint(snapshot);
+        original.run();
+
+        EventSimulation restored = createSimulation(cars);
+        restored.restore(snapshot);
+
+        if(streamed)
+        {
+            restored.setArrivalSource(new BinaryArrivalReader(trace));
+        }
+
+        restored.run();
+
+        assertEquals(PEOPLE, original.getPassengersDelivered());
+        assertEquals(original.getCurrentTime(), restored.getCurrentTime());
+        assertEquals(original.getPassengersDelivered(), restored.getPassengersDelivered());
+        assertEquals(original.getAverageWaitTime(), restored.getAverageWaitTime());
+        assertEquals(original.getMaximumRideTime(), restored.getMaximumRideTime());
+        assertEquals(original.getMetrics().snapshot().getTrips(), restored.getMetrics().snapshot().getTrips());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 4})
+    void restoredSimulationCheckpointsToTheSameBytes(int cars) throws IOException
+    {
+        Path trace = directory.resolve("arrivals.bin");
+        Path snapshot = directory.resolve("snapshot.bin");
+        Path copy = directory.resolve("copy.bin");
+        writeArrivals(trace);
+
+        EventSimulation original = createSimulation(cars);
+        addArrivals(original, false, trace);
+        original.runUntil(CHECKPOINT_TIME);
+        original.checkpoint(snapshot);
+
+        EventSimulation restored = createSimulation(cars);
+        restored.restore(snapshot);
+        restored.checkpoint(copy);
+
+        assertArrayEquals(Files.readAllBytes(snapshot), Files.readAllBytes(copy));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"4, 3", "1, 0"})
+    void restoringIntoADifferentBankFails(int cars, int otherCars) throws IOException
+    {
+        Path snapshot = directory.resolve("snapshot.bin");
+        EventSimulation original = createSimulation(cars);
+        original.scheduleArrival(0, new Person(1, 70, 0, 5));
+        original.runUntil(1000);
+        original.checkpoint(snapshot);
+
+        assertThrows(Exception.class, () -> createSimulation(otherCars).restore(snapshot));
+    }
+
+    @Test
+    void truncatedSnapshotIsRejected() throws IOException
+    {
+        Path trace = directory.resolve("arrivals.bin");
+        Path snapshot = directory.resolve("snapshot.bin");
+        writeArrivals(trace);
+
+        EventSimulation original = createSimulation(4);
+        addArrivals(original, false, trace);
+        original.runUntil(CHECKPOINT_TIME);
+        original.checkpoint(snapshot);
+
+        try(FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE))
+        {
+            channel.truncate(channel.size() / 2);
+        }
+
+        assertThrows(Exception.class, () -> createSimulation(4).restore(snapshot));
+    }
+
+    // Returns a simulation of a single Elevator if 'cars' is 0, or of a bank with the given number of cars.
+
+    private static EventSimulation createSimulation(int cars)
+    {
+        Building building = new Building(-2, 25);
+
+        if(cars == 0)
+        {
+            return new EventSimulation(building, new Elevator(0, building));
+        }
+
+        ElevatorBank bank = new ElevatorBank(building);
+        bank.setBoardingPolicy(BoardingPolicy.skipAhead(2, 3));
+
+        for(int i = 0; i < cars; i++)
+        {
+            bank.addElevator(0);
+        }
+
+        return new EventSimulation(bank);
+    }
+
+    // Writes the same random arrivals to a binary trace.
+
+    private static void writeArrivals(Path trace) throws IOException
+    {
+        Random random = new Random(3);
+        long time = 0;
+
+        try(BinaryArrivalWriter writer = new BinaryArrivalWriter(trace))
+        {
+            for(int i = 0; i < PEOPLE; i++)
+            {
+                time += random.nextInt(9000);
+                int startingFloor = random.nextInt(28) - 2;
+                int destinationFloor;
+
+                do
+                {
+                    destinationFloor = random.nextInt(28) - 2;
+                }
+                while(destinationFloor == startingFloor);
+
+                writer.write(time, i, 50 + random.nextInt(100), startingFloor, destinationFloor);
+            }
+        }
+    }
+
+    // Streams the arrivals from the trace, or reads them all and schedules them up front.
+
+    private static void addArrivals(EventSimulation simulation, boolean streamed, Path trace) throws IOException
+    {
+        BinaryArrivalReader reader = new BinaryArrivalReader(trace);
+
+        if(streamed)
+        {
+            simulation.setArrivalSource(reader);
+            return;
+        }
+
+        try(reader)
+        {
+            while(reader.next())
+            {
+                simulation.scheduleArrival(reader.getTime(), new Person(reader.getID(), reader.getWeight(),
+                        reader.getStartingFloor(), reader.getDestinationFloor()));
+            }
+        }
+    }
+}
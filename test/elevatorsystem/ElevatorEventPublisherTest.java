@@ -0,0 +1,263 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ElevatorEventPublisherTest
+{
+    /*
+    Checks the signals an ElevatorEventPublisher sends its subscribers: onSubscribe first, then the batches in
+    the order they were published, then onComplete. Checks each BackpressurePolicy against a subscriber which
+    has not requested anything, that requesting no batches is an error, and that cancelling a subscription
+    wakes a simulation blocked on its full buffer.
+     */
+
+    private static final Executor SAME_THREAD = Runnable::run;
+    private static final Executor NEW_THREAD = task -> new Thread(task).start();
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Logger logger;
+    private Elevator elevator;
+
+    @BeforeEach
+    void createElevator()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+        elevator = new Elevator(0, new Building(0, 20));
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void signalsArriveInOrder()
+    {
+        ElevatorEventPublisher publisher = createPublisher(BackpressurePolicy.DROP, 4, 2, SAME_THREAD);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        publishMoves(publisher, 3);
+        publisher.close();
+
+        assertEquals(List.of("subscribe", "next 1 2", "next 3", "complete"), subscriber.signals);
+
+        RecordingSubscriber late = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(late);
+        assertEquals(List.of("subscribe", "complete"), late.signals);
+    }
+
+    @Test
+    void dropDiscardsBatchesWhileTheBufferIsFull()
+    {
+        ElevatorEventPublisher publisher = createPublisher(BackpressurePolicy.DROP, 2, 1, SAME_THREAD);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        publishMoves(publisher, 5);
+
+        assertEquals(3, publisher.getNumberOfDroppedBatches());
+        subscriber.subscription.request(10);
+        publishMoves(publisher, 1);
+        publisher.close();
+
+        assertEquals(List.of("subscribe", "next 1", "next 2", "next 1", "complete"), subscriber.signals);
+    }
+
+    @Test
+    void bufferFailsASubscriberWhichFallsBehind()
+    {
+        ElevatorEventPublisher publisher = createPublisher(BackpressurePolicy.BUFFER, 2, 1, SAME_THREAD);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        publishMoves(publisher, 2);
+
+        assertEquals(List.of("subscribe"), subscriber.signals);
+        publishMoves(publisher, 1);
+
+        assertEquals(List.of("subscribe", "error"), subscriber.signals);
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+        assertEquals(0, publisher.getNumberOfSubscribers());
+        assertEquals(0, publisher.getNumberOfDroppedBatches());
+    }
+
+    @Test
+    void requestingNoBatchesIsAnError()
+    {
+        for(long n : new long[] {0, -1})
+        {
+            ElevatorEventPublisher publisher = createPublisher(BackpressurePolicy.DROP, 2, 1, SAME_THREAD);
+            RecordingSubscriber subscriber = new RecordingSubscriber(0);
+            publisher.subscribe(subscriber);
+            publishMoves(publisher, 1);
+            subscriber.subscription.request(n);
+            publishMoves(publisher, 1);
+            publisher.close();
+
+            assertEquals(List.of("subscribe", "error"), subscriber.signals);
+            assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        }
+    }
+
+    @Test
+    void blockHoldsTheSimulationUntilTheSubscriberCatchesUp() throws InterruptedException
+    {
+        ElevatorEventPublisher publisher = createPublisher(BackpressurePolicy.BLOCK, 1, 1, NEW_THREAD);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.subscribed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        Thread simulation = new Thread(() -> publishMoves(publisher, 3));
+        simulation.setDaemon(true);
+        simulation.start();
+        awaitBlocked(simulation);
+
+        subscriber.subscription.request(1);
+        awaitBlocked(simulation);
+        assertEquals(0, publisher.getNumberOfDroppedBatches());
+
+        subscriber.subscription.request(2);
+        simulation.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertFalse(simulation.isAlive(), "The simulation stayed blocked after the subscriber caught up");
+
+        publisher.close();
+        assertTrue(subscriber.done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(List.of("subscribe", "next 1", "next 2", "next 3", "complete"), subscriber.getSignals());
+    }
+
+    @Test
+    void cancellingWakesABlockedSimulation() throws InterruptedException
+    {
+        ElevatorEventPublisher publisher = createPublisher(BackpressurePolicy.BLOCK, 1, 1, NEW_THREAD);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.subscribed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        Thread simulation = new Thread(() -> publishMoves(publisher, 3));
+        simulation.setDaemon(true);
+        simulation.start();
+        awaitBlocked(simulation);
+
+        subscriber.subscription.cancel();
+        simulation.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertFalse(simulation.isAlive(), "Cancelling did not wake the simulation");
+        assertEquals(0, publisher.getNumberOfSubscribers());
+        assertEquals(List.of("subscribe"), subscriber.getSignals());
+    }
+
+    // Returns a publisher whose events are all stamped with time 0.
+
+    private static ElevatorEventPublisher createPublisher(BackpressurePolicy policy, int bufferCapacity,
+            int batchSize, Executor executor)
+    {
+        return new ElevatorEventPublisher(() -> 0, policy, bufferCapacity, batchSize, executor);
+    }
+
+    // Publishes the given number of moves of the Elevator, to floors 1, 2, 3 and so on.
+
+    private void publishMoves(ElevatorEventPublisher publisher, int moves)
+    {
+        for(int i = 1; i <= moves; i++)
+        {
+            publisher.elevatorMoved(elevator, i - 1, i);
+        }
+    }
+
+    // Waits until the given thread is waiting for a subscriber's buffer to have room.
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while(thread.getState() != Thread.State.WAITING)
+        {
+            assertTrue(thread.isAlive() && System.nanoTime() < deadline, "The simulation did not block");
+            Thread.sleep(1);
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<List<ElevatorEvent>>
+    {
+        /*
+        Records every signal it receives as a String, and a batch as the floors its moves went to. It requests
+        'initialDemand' batches when it subscribes, and further batches only when the test requests them.
+         */
+
+        private final long initialDemand;
+        private final List<String> signals = new ArrayList<>();
+        private final CountDownLatch subscribed = new CountDownLatch(1);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        RecordingSubscriber(long initialDemand)
+        {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription)
+        {
+            this.subscription = subscription;
+            record("subscribe");
+
+            if(initialDemand > 0)
+            {
+                subscription.request(initialDemand);
+            }
+
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(List<ElevatorEvent> events)
+        {
+            StringBuilder signal = new StringBuilder("next");
+
+            for(ElevatorEvent event : events)
+            {
+                signal.append(' ').append(event.getFloor());
+            }
+
+            record(signal.toString());
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+            error = throwable;
+            record("error");
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete()
+        {
+            record("complete");
+            done.countDown();
+        }
+
+        private synchronized void record(String signal)
+        {
+            signals.add(signal);
+        }
+
+        synchronized List<String> getSignals()
+        {
+            return new ArrayList<>(signals);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ElevatorTest
+{
+    /*
+    Checks that unloading removes the call of each passenger leaving, so a single Elevator goes idle once everyone
+    has been delivered, even when people leave after the car has turned around.
+     */
+
+    private static final int RUNS = 500;
+    private static final int MAXIMUM_TRIPS = 10_000;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void unloadingLeavesNoCallsBehind()
+    {
+        for(int seed = 0; seed < RUNS; seed++)
+        {
+            Random random = new Random(seed);
+            int maxFloor = 2 + random.nextInt(10);
+            Building building = new Building(0, maxFloor);
+            Elevator elevator = new Elevator(random.nextInt(maxFloor + 1), building);
+            int people = 1 + random.nextInt(30);
+            int travelling = 0;
+
+            for(int i = 0; i < people; i++)
+            {
+                int startingFloor = random.nextInt(maxFloor + 1);
+                int destinationFloor = random.nextInt(maxFloor + 1);
+                travelling += startingFloor == destinationFloor ? 0 : 1;
+                building.getFloor(startingFloor).enqueuePerson(new Person(i, 50 + random.nextInt(50),
+                        startingFloor, destinationFloor));
+            }
+
+            int trips = 0;
+
+            while(elevator.getCurrentDirection() != Direction.STATIONARY || elevator.shouldContinueOperating())
+            {
+                assertTrue(++trips <= MAXIMUM_TRIPS, "Seed " + seed + " never finishes");
+                elevator.move();
+            }
+
+            String context = "Seed " + seed;
+            assertEquals(travelling, elevator.getPassengersDelivered(), context + " did not deliver everyone");
+            assertEquals(0, elevator.getNumberOfPassengers(), context + " left people in the elevator");
+            assertEquals(0, elevator.getNumberOfCarCalls(Direction.UP), context + " left an up call behind");
+            assertEquals(0, elevator.getNumberOfCarCalls(Direction.DOWN), context + " left a down call behind");
+            assertFalse(elevator.shouldContinueOperating(), context + " did not go idle");
+        }
+    }
+}
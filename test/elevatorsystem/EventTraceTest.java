@@ -0,0 +1,184 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EventTraceTest
+{
+    /*
+    Checks that an event trace records every move, boarding and alighting of a bank in order, that the trace
+    tool finds where two runs diverge, and that files which are not event traces are rejected.
+     */
+
+    @TempDir
+    Path directory;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void eventTraceRecordsEveryMoveBoardingAndAlighting() throws IOException
+    {
+        Path arrivals = directory.resolve("arrivals.bin");
+        Path events = directory.resolve("events.trace");
+
+        try(BinaryArrivalWriter writer = new BinaryArrivalWriter(arrivals))
+        {
+            for(long[] arrival : randomArrivals(2000))
+            {
+                writer.write(arrival[0], (int) arrival[1], (int) arrival[2], (int) arrival[3], (int) arrival[4]);
+            }
+        }
+
+        ElevatorBank bank = new ElevatorBank(new Building(0, 20));
+        int[] counts = new int[3];
+
+        for(int i = 0; i < 3; i++)
+        {
+            bank.addElevator(0).addListener(new ElevatorListener()
+            {
+                @Override
+                public void elevatorMoved(Elevator e, int fromFloor, int toFloor)
+                {
+                    counts[0]++;
+                }
+
+                @Override
+                public void personBoarded(Elevator e, int passenger, int floor)
+                {
+                    counts[1]++;
+                }
+
+                @Override
+                public void personAlighted(Elevator e, int passenger, int floor)
+                {
+                    counts[2]++;
+                }
+            });
+        }
+
+        EventSimulation simulation = new EventSimulation(bank);
+        simulation.setArrivalSource(new BinaryArrivalReader(arrivals));
+
+        try(TraceRecorder recorder = new TraceRecorder(events, simulation::getCurrentTime))
+        {
+            recorder.attach(bank);
+            simulation.run();
+        }
+
+        TraceSummary summary = new TraceSummary();
+
+        try(TraceReader reader = new TraceReader(events))
+        {
+            assertEquals(counts[0] + counts[1] + counts[2], reader.getNumberOfRecords());
+            long lastTime = Long.MIN_VALUE;
+
+            while(reader.next())
+            {
+                assertTrue(reader.getTime() >= lastTime, "Trace records are out of order");
+                lastTime = reader.getTime();
+                summary.add(reader);
+            }
+        }
+
+        assertEquals(counts[0], summary.getMoves());
+        assertEquals(counts[1], summary.getBoardings());
+        assertEquals(counts[2], summary.getAlightings());
+        assertEquals(2000, summary.getAlightings());
+    }
+
+    @Test
+    void traceToolFindsWhereRunsDiverge() throws IOException
+    {
+        Path first = directory.resolve("first.trace");
+        Path second = directory.resolve("second.trace");
+        Path changed = directory.resolve("changed.trace");
+        record(first, 3);
+        record(second, 3);
+        record(changed, 2);
+
+        assertEquals(-1, TraceTool.findFirstDivergence(first, second));
+        assertEquals(TraceTool.summarize(first).toString(), TraceTool.summarize(second).toString());
+
+        long divergence = TraceTool.findFirstDivergence(first, changed);
+        assertTrue(divergence >= 0, "Runs with different banks recorded identical traces");
+        assertEquals(divergence, TraceTool.findFirstDivergence(changed, first));
+    }
+
+    @Test
+    void filesWhichAreNotEventTracesAreRejected() throws IOException
+    {
+        Path garbage = directory.resolve("garbage.bin");
+        Files.write(garbage, new byte[64]);
+
+        assertThrows(IOException.class, () -> new TraceReader(garbage).close());
+    }
+
+    // Records the event trace of a bank with the given number of cars carrying 500 random arrivals.
+
+    private void record(Path events, int cars) throws IOException
+    {
+        ElevatorBank bank = new ElevatorBank(new Building(0, 20));
+
+        for(int i = 0; i < cars; i++)
+        {
+            bank.addElevator(0);
+        }
+
+        EventSimulation simulation = new EventSimulation(bank);
+
+        for(long[] arrival : randomArrivals(500))
+        {
+            simulation.scheduleArrival(arrival[0], new Person((int) arrival[1], (int) arrival[2], (int) arrival[3],
+                    (int) arrival[4]));
+        }
+
+        try(TraceRecorder recorder = new TraceRecorder(events, simulation::getCurrentTime))
+        {
+            recorder.attach(bank);
+            simulation.run();
+        }
+    }
+
+    // Returns random arrivals in chronological order, as time, id, weight, starting and destination floor.
+
+    private static long[][] randomArrivals(int count)
+    {
+        Random random = new Random(11);
+        long[][] arrivals = new long[count][];
+        long time = 0;
+
+        for(int i = 0; i < count; i++)
+        {
+            time += random.nextInt(4000);
+            int startingFloor = random.nextInt(21);
+            int destinationFloor = (startingFloor + 1 + random.nextInt(20)) % 21;
+            arrivals[i] = new long[] {time, i, 40 + random.nextInt(120), startingFloor, destinationFloor};
+        }
+
+        return arrivals;
+    }
+}
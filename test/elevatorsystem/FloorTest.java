@@ -0,0 +1,126 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FloorTest
+{
+    /*
+    Checks that the shared empty Floor and IntQueue refuse to change, and that reading a Building's queues does
+    not create its Floors, so that random runs under every SchedulingStrategy only create the Floors people
+    waited on.
+     */
+
+    private static final int RUNS = 500;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void sharedEmptyFloorAndQueueCannotBeModified()
+    {
+        assertThrows(IllegalStateException.class, () -> Floor.EMPTY.enqueuePerson(new Person(1, 70, 0, 5)));
+        assertThrows(IllegalStateException.class, () -> Floor.EMPTY.enqueuePerson(1, 70, 5));
+        assertThrows(IllegalStateException.class, () -> Floor.EMPTY.queuePassenger(0));
+        assertThrows(IllegalStateException.class, () -> IntQueue.EMPTY.offer(1));
+        assertThrows(IllegalStateException.class, () -> IntQueue.EMPTY.poll());
+        assertThrows(IllegalStateException.class, () -> IntQueue.EMPTY.remove(0));
+
+        assertEquals(0, Floor.EMPTY.getNumberOfPeopleWaiting(Direction.UP));
+        assertEquals(PassengerStore.NO_HANDLE, Floor.EMPTY.dequeuePassenger(Direction.DOWN));
+        assertEquals(0, IntQueue.EMPTY.size());
+    }
+
+    @Test
+    void readingQueuesDoesNotCreateFloors()
+    {
+        Building building = new Building(0, 20);
+        Elevator elevator = new Elevator(0, building);
+        elevator.setSchedulingStrategy(CostBasedStrategy.INSTANCE);
+        EventSimulation simulation = new EventSimulation(building, elevator);
+        simulation.scheduleArrival(1000, new Person(1, 70, 4, 9));
+        simulation.runUntil(1000);
+        simulation.getMetrics().snapshot();
+        simulation.run();
+
+        assertEquals(1, simulation.getPassengersDelivered());
+        assertSame(Floor.EMPTY, building.peekFloor(15));
+        assertSame(building.getFloor(4), building.peekFloor(4));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"look", "scan", "cost"})
+    void onlyFloorsPeopleWaitedOnAreCreated(String strategyName)
+    {
+        SchedulingStrategy strategy = strategyName.equals("look") ? LookStrategy.INSTANCE
+                : strategyName.equals("scan") ? ScanStrategy.INSTANCE : CostBasedStrategy.INSTANCE;
+
+        for(int seed = 0; seed < RUNS; seed++)
+        {
+            Random random = new Random(seed);
+            int maxFloor = 1 + random.nextInt(40);
+            Building building = new Building(0, maxFloor);
+            ElevatorBank bank = new ElevatorBank(building);
+            bank.setSchedulingStrategy(strategy);
+            int cars = 1 + random.nextInt(3);
+
+            for(int i = 0; i < cars; i++)
+            {
+                bank.addElevator(random.nextInt(maxFloor + 1));
+            }
+
+            EventSimulation simulation = new EventSimulation(bank);
+            BitSet startingFloors = new BitSet();
+            int people = 1 + random.nextInt(20);
+            long time = 0;
+
+            for(int i = 0; i < people; i++)
+            {
+                time += random.nextInt(5000);
+                int startingFloor = random.nextInt(maxFloor + 1);
+                startingFloors.set(startingFloor);
+                simulation.scheduleArrival(time, new Person(i, 70, startingFloor, random.nextInt(maxFloor + 1)));
+            }
+
+            simulation.run();
+            simulation.getMetrics().snapshot();
+
+            for(int floor = 0; floor <= maxFloor; floor++)
+            {
+                if(startingFloors.get(floor))
+                {
+                    continue;
+                }
+
+                assertSame(Floor.EMPTY, building.peekFloor(floor), "Seed " + seed + " created floor " + floor);
+
+                for(Elevator e : bank.getElevators())
+                {
+                    assertSame(Floor.EMPTY, e.getBuilding().peekFloor(floor),
+                            "Seed " + seed + " created floor " + floor + " for Elevator " + e.getID());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+class HallCallQueueTest
+{
+    /*
+    Checks that a HallCallQueue refuses calls once full and frees its slots as they are taken, and that calls
+    offered by many threads at once reach the consumer exactly once, in the order each thread offered them.
+     */
+
+    private static final int PRODUCERS = 8;
+    private static final int CALLS = 20_000;
+
+    @Test
+    void fullQueueRefusesCallsUntilOneIsTaken()
+    {
+        HallCallQueue queue = new HallCallQueue(4);
+
+        for(int i = 0; i < 4; i++)
+        {
+            assertTrue(queue.offer(i, 70, i, i + 1));
+        }
+
+        assertFalse(queue.offer(4, 70, 4, 5));
+        assertEquals(4, queue.size());
+
+        assertTrue(queue.poll());
+        assertEquals(0, queue.getID());
+        assertTrue(queue.offer(4, 70, 4, 5));
+
+        for(int i = 1; i <= 4; i++)
+        {
+            assertTrue(queue.poll());
+            assertEquals(i, queue.getID());
+            assertEquals(i, queue.getFloor());
+            assertEquals(i + 1, queue.getDestinationFloor());
+        }
+
+        assertFalse(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @RepeatedTest(10)
+    void everyCallFromManyProducersIsTakenOnceInOrder() throws InterruptedException
+    {
+        HallCallQueue queue = new HallCallQueue(64);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[PRODUCERS];
+
+        for(int p = 0; p < PRODUCERS; p++)
+        {
+            int producer = p;
+            producers[p] = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                }
+                catch(InterruptedException ex)
+                {
+                    return;
+                }
+
+                // The id holds the producer and the floor holds the call's position in its sequence.
+                for(int i = 0; i < CALLS; i++)
+                {
+                    while(!queue.offer(producer, 70, i, i + 1))
+                    {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        int[] next = new int[PRODUCERS];
+        start.countDown();
+
+        for(int taken = 0; taken < PRODUCERS * CALLS; )
+        {
+            if(!queue.poll())
+            {
+                Thread.yield();
+                continue;
+            }
+
+            assertEquals(next[queue.getID()]++, queue.getFloor(), "A call was lost, repeated or reordered");
+            assertEquals(queue.getFloor() + 1, queue.getDestinationFloor());
+            taken++;
+        }
+
+        for(Thread producer : producers)
+        {
+            producer.join();
+        }
+
+        assertFalse(queue.poll());
+        assertTrue(queue.isEmpty());
+
+        for(int p = 0; p < PRODUCERS; p++)
+        {
+            assertEquals(CALLS, next[p]);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class InvariantFuzzTest
+{
+    /*
+    Runs random event simulations of single Elevators and ElevatorBanks under each SchedulingStrategy, and checks
+    the invariants every run must keep: it finishes, everyone who needs to travel is delivered exactly once,
+    nobody is left waiting or riding, no car is ever over its capacity, and people only leave at their
+    destination floor. After every boarding and alighting, the car-call counts and indexes each car maintains
+    incrementally must match the destinations of the passengers on board.
+     */
+
+    private static final int RUNS = 1500;
+    private static final int MAXIMUM_TRIPS = 100_000;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"look", "scan", "cost"})
+    void everyoneIsDeliveredWithinCapacity(String strategyName)
+    {
+        SchedulingStrategy strategy = strategyName.equals("look") ? LookStrategy.INSTANCE
+                : strategyName.equals("scan") ? ScanStrategy.INSTANCE : CostBasedStrategy.INSTANCE;
+
+        for(int seed = 0; seed < RUNS; seed++)
+        {
+            run(seed, strategy);
+        }
+    }
+
+    // Builds and runs one random simulation, failing if any invariant is broken.
+
+    private static void run(int seed, SchedulingStrategy strategy)
+    {
+        Random random = new Random(seed);
+        int minFloor = -random.nextInt(3);
+        int maxFloor = minFloor + 1 + random.nextInt(12);
+        Building building = new Building(minFloor, maxFloor);
+        List<Elevator> elevators;
+        EventSimulation simulation;
+
+        if(random.nextBoolean())
+        {
+            ElevatorBank bank = new ElevatorBank(building);
+            bank.setSchedulingStrategy(strategy);
+            int cars = 1 + random.nextInt(3);
+
+            for(int i = 0; i < cars; i++)
+            {
+                bank.addElevator(minFloor + random.nextInt(maxFloor - minFloor + 1), 1 + random.nextInt(6), 400);
+            }
+
+            elevators = bank.getElevators();
+            simulation = new EventSimulation(bank);
+        }
+        else
+        {
+            Elevator elevator = new Elevator(minFloor + random.nextInt(maxFloor - minFloor + 1), building,
+                    1 + random.nextInt(6), 400);
+            elevator.setSchedulingStrategy(strategy);
+            elevators = List.of(elevator);
+            simulation = new EventSimulation(building, elevator);
+        }
+
+        int people = 1 + random.nextInt(60);
+        int travelling = 0;
+        long time = 0;
+
+        for(int i = 0; i < people; i++)
+        {
+            time += random.nextInt(5000);
+            int startingFloor = minFloor + random.nextInt(maxFloor - minFloor + 1);
+            int destinationFloor = minFloor + random.nextInt(maxFloor - minFloor + 1);
+            travelling += startingFloor == destinationFloor ? 0 : 1;
+            simulation.scheduleArrival(time, new Person(i, 50 + random.nextInt(100), startingFloor, destinationFloor));
+        }
+
+        InvariantListener listener = new InvariantListener(seed, building.getPassengerStore());
+
+        for(Elevator e : elevators)
+        {
+            e.addListener(listener);
+        }
+
+        simulation.run();
+
+        String context = "Seed " + seed + " with " + strategy.getClass().getSimpleName();
+        assertEquals(travelling, simulation.getPassengersDelivered(), context + " did not deliver everyone");
+        assertEquals(travelling, listener.alighted, context + " did not report every alighting");
+        assertEquals(0, building.getNumberOfPeopleWaiting(), context + " left people waiting");
+
+        for(Elevator e : elevators)
+        {
+            assertEquals(0, e.getNumberOfPassengers(), context + " left people in Elevator " + e.getID());
+        }
+    }
+
+    // Checks each trip, boarding and alighting as it happens.
+
+    private static class InvariantListener implements ElevatorListener
+    {
+        private final int seed;
+        private final PassengerStore passengers;
+        private int trips;
+        private int alighted;
+
+        InvariantListener(int seed, PassengerStore passengers)
+        {
+            this.seed = seed;
+            this.passengers = passengers;
+        }
+
+        @Override
+        public void tripStarted(Elevator e, Direction direction)
+        {
+            assertTrue(++trips <= MAXIMUM_TRIPS, "Seed " + seed + " never finishes");
+        }
+
+        @Override
+        public void personBoarded(Elevator e, int passenger, int floor)
+        {
+            assertTrue(e.getNumberOfPassengers() <= e.getMaximumPeople(), "Seed " + seed + " overfilled a car");
+            assertTrue(e.getCurrentWeight() <= e.getMaximumWeight(), "Seed " + seed + " overloaded a car");
+            checkCallIndexes(e);
+        }
+
+        @Override
+        public void personAlighted(Elevator e, int passenger, int floor)
+        {
+            assertEquals(passengers.getDestinationFloor(passenger), floor,
+                    "Seed " + seed + " let a person off away from their destination");
+            alighted++;
+            checkCallIndexes(e);
+        }
+
+        // Recounts the destinations of the passengers on board and compares them with the car's call indexes.
+
+        private void checkCallIndexes(Elevator e)
+        {
+            Building building = e.getBuilding();
+            int[] destinations = new int[building.getMaxFloor() - building.getMinFloor() + 1];
+            int lowest = Integer.MAX_VALUE;
+            int highest = Integer.MIN_VALUE;
+
+            for(int i = 0; i < e.getNumberOfPassengers(); i++)
+            {
+                int floor = e.getPassengerDestination(i);
+                destinations[floor - building.getMinFloor()]++;
+                lowest = Math.min(lowest, floor);
+                highest = Math.max(highest, floor);
+            }
+
+            String context = "Seed " + seed + " lost track of a car call";
+            assertEquals(e.getNumberOfPassengers(),
+                    e.getNumberOfCarCalls(Direction.UP) + e.getNumberOfCarCalls(Direction.DOWN), context);
+            assertEquals(lowest, e.findLowestCall(), context);
+            assertEquals(e.getNumberOfPassengers() == 0 ? Integer.MAX_VALUE : highest, e.findHighestCall(), context);
+
+            for(int floor = building.getMinFloor(); floor <= building.getMaxFloor(); floor++)
+            {
+                assertEquals(destinations[floor - building.getMinFloor()],
+                        e.getNumberOfCarCalls(floor, Direction.UP) + e.getNumberOfCarCalls(floor, Direction.DOWN),
+                        context);
+            }
+        }
+    }
+}
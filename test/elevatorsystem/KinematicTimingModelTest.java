@@ -0,0 +1,173 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class KinematicTimingModelTest
+{
+    /*
+    Checks the closed-form run times of a KinematicTimingModel against a step-by-step integration of the same
+    jerk-limited motion, for runs just short of and just past the length at which a run first reaches full
+    acceleration and the length at which it first reaches the rated speed, and for runs of 1 to 100 floors. Also
+    checks that run times do not jump at either boundary and never fall as runs get longer.
+
+    The first car has all three regimes, the second reaches its rated speed before it could reach full
+    acceleration, and the third is a fast car with a high jerk.
+     */
+
+    private static final double STEP = 1e-5;
+    private static final int BISECTIONS = 40;
+    private static final long TOLERANCE = 2;
+    private static final double[] NEAR_BOUNDARY = {0.9, 0.99, 0.999, 1.001, 1.01, 1.1};
+
+    @ParameterizedTest
+    @CsvSource({"2.5, 1.0, 1.0", "0.5, 1.0, 1.0", "6.0, 1.2, 1.8"})
+    void runTimesMatchTheIntegratedProfileAroundEachBoundary(double ratedSpeed, double acceleration, double jerk)
+    {
+        double fullAccelerationSpeed = acceleration * acceleration / jerk;
+        double cruiseDistance = 2 * accelerate(ratedSpeed, acceleration, jerk)[1];
+
+        for(double factor : NEAR_BOUNDARY)
+        {
+            checkOneFloorRun(cruiseDistance * factor, ratedSpeed, acceleration, jerk);
+
+            if(fullAccelerationSpeed < ratedSpeed)
+            {
+                double fullAccelerationDistance = 2 * accelerate(fullAccelerationSpeed, acceleration, jerk)[1];
+                checkOneFloorRun(fullAccelerationDistance * factor, ratedSpeed, acceleration, jerk);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2.5, 1.0, 1.0", "0.5, 1.0, 1.0", "6.0, 1.2, 1.8"})
+    void runTimesMatchTheIntegratedProfileForWholeFloors(double ratedSpeed, double acceleration, double jerk)
+    {
+        KinematicTimingModel model = new KinematicTimingModel(3.5, ratedSpeed, acceleration, jerk, 0, 0, 0);
+
+        for(int floors = 1; floors <= 100; floors += floors < 10 ? 1 : 9)
+        {
+            long expected = integrateRun(floors * 3.5, ratedSpeed, acceleration, jerk);
+            long actual = model.getTravelTime(floors);
+            assertTrue(Math.abs(expected - actual) <= TOLERANCE,
+                    floors + " floors took " + actual + " ms rather than " + expected + " ms");
+            assertEquals(actual, model.getTravelTime(-floors));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2.5, 1.0, 1.0", "0.5, 1.0, 1.0", "6.0, 1.2, 1.8"})
+    void runTimesAreContinuousAndNeverFall(double ratedSpeed, double acceleration, double jerk)
+    {
+        double fullAccelerationDistance = 2 * Math.pow(acceleration, 3) / (jerk * jerk);
+        double cruiseDistance = 2 * accelerate(ratedSpeed, acceleration, jerk)[1];
+
+        for(double boundary : new double[] {fullAccelerationDistance, cruiseDistance})
+        {
+            long below = new KinematicTimingModel(boundary * (1 - 1e-9), ratedSpeed, acceleration, jerk, 0, 0, 0)
+                    .getTravelTime(1);
+            long above = new KinematicTimingModel(boundary * (1 + 1e-9), ratedSpeed, acceleration, jerk, 0, 0, 0)
+                    .getTravelTime(1);
+            assertTrue(Math.abs(above - below) <= 1, "The run time jumps from " + below + " ms to " + above
+                    + " ms at " + boundary + " m");
+        }
+
+        long previous = 0;
+
+        for(double distance = 0.01; distance < 2 * cruiseDistance; distance *= 1.01)
+        {
+            long time = new KinematicTimingModel(distance, ratedSpeed, acceleration, jerk, 0, 0, 0).getTravelTime(1);
+            assertTrue(time >= previous, "A run of " + distance + " m is quicker than a shorter one");
+            previous = time;
+        }
+    }
+
+    // Checks a one-floor run of the given length against the integrated profile.
+
+    private static void checkOneFloorRun(double distance, double ratedSpeed, double acceleration, double jerk)
+    {
+        KinematicTimingModel model = new KinematicTimingModel(distance, ratedSpeed, acceleration, jerk, 0, 0, 0);
+        long expected = integrateRun(distance, ratedSpeed, acceleration, jerk);
+        long actual = model.getTravelTime(1);
+        assertTrue(Math.abs(expected - actual) <= TOLERANCE,
+                "A run of " + distance + " m took " + actual + " ms rather than " + expected + " ms");
+    }
+
+    /*
+    Returns the time, in milliseconds, of a run of the given length which starts and ends at rest. A run which
+    can reach the rated speed cruises for whatever distance is left after speeding up and slowing down. A shorter
+    run speeds up to the top speed, found by bisection, whose symmetric run covers exactly the given distance.
+     */
+
+    private static long integrateRun(double distance, double ratedSpeed, double acceleration, double jerk)
+    {
+        double[] full = accelerate(ratedSpeed, acceleration, jerk);
+
+        if(2 * full[1] <= distance)
+        {
+            return Math.round(1000 * (2 * full[0] + (distance - 2 * full[1]) / ratedSpeed));
+        }
+
+        double low = 0;
+        double high = ratedSpeed;
+        double[] run = full;
+
+        for(int i = 0; i < BISECTIONS; i++)
+        {
+            double topSpeed = (low + high) / 2;
+            run = accelerate(topSpeed, acceleration, jerk);
+
+            if(2 * run[1] < distance)
+            {
+                low = topSpeed;
+            }
+            else
+            {
+                high = topSpeed;
+            }
+        }
+
+        return Math.round(1000 * 2 * run[0]);
+    }
+
+    /*
+    Speeds a car up from rest to the given speed in small steps, and returns the time taken and the distance
+    covered. The acceleration builds up at the given jerk, holds at its highest value, and starts falling at the
+    same jerk once the speed gained while it falls to zero would bring the car to the target.
+     */
+
+    private static double[] accelerate(double targetSpeed, double acceleration, double jerk)
+    {
+        double time = 0;
+        double distance = 0;
+        double speed = 0;
+        double currentAcceleration = 0;
+        boolean easing = false;
+
+        while(!easing || currentAcceleration > 0)
+        {
+            easing = easing
+                    || speed + currentAcceleration * currentAcceleration / (2 * jerk) >= targetSpeed;
+            double currentJerk = easing ? -jerk : currentAcceleration < acceleration ? jerk : 0;
+            double step = STEP;
+
+            if(currentJerk > 0)
+            {
+                step = Math.min(step, (acceleration - currentAcceleration) / jerk);
+            }
+            else if(currentJerk < 0)
+            {
+                step = Math.min(step, currentAcceleration / jerk);
+            }
+
+            distance += speed * step + currentAcceleration * step * step / 2 + currentJerk * step * step * step / 6;
+            speed += currentAcceleration * step + currentJerk * step * step / 2;
+            currentAcceleration += currentJerk * step;
+            time += step;
+        }
+
+        return new double[] {time, distance};
+    }
+}
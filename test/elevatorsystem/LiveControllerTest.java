@@ -0,0 +1,171 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+class LiveControllerTest
+{
+    /*
+    Checks that a LiveController delivers every call made by many threads at once. The cars run as fast as
+    possible and keep going idle and being woken, so a lost wakeup leaves awaitIdle waiting until it times out.
+    Each test is repeated to give races a chance to show up.
+     */
+
+    private static final int PRODUCERS = 8;
+    private static final int CALLS = 5000;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @RepeatedTest(20)
+    void everyCallFromManyThreadsIsDelivered() throws InterruptedException
+    {
+        LiveController controller = createController(4);
+        controller.start();
+        makeCalls(controller, PRODUCERS, CALLS, false);
+
+        assertTrue(controller.awaitIdle(30, TimeUnit.SECONDS), "Not everyone was delivered");
+        assertEquals(PRODUCERS * CALLS, controller.getPassengersDelivered());
+        controller.stop();
+    }
+
+    @RepeatedTest(20)
+    void idleCarsAreWokenByEachCall() throws InterruptedException
+    {
+        LiveController controller = createController(2);
+        controller.start();
+        makeCalls(controller, 2, 200, true);
+
+        assertTrue(controller.awaitIdle(30, TimeUnit.SECONDS), "A car missed a wakeup");
+        assertEquals(400, controller.getPassengersDelivered());
+        controller.stop();
+    }
+
+    @Test
+    void callsWaitForAFullQueueInsteadOfFailing() throws InterruptedException
+    {
+        // A single car moving in scaled real time cannot keep up, so its queue of 1024 calls fills up.
+        LiveController controller = new LiveController(new Building(0, 30), new NearestCarDispatcher(), 0.0001);
+        controller.addElevator(0, 40, 4000);
+        controller.start();
+        makeCalls(controller, 4, 600, false);
+
+        assertTrue(controller.awaitIdle(60, TimeUnit.SECONDS), "Not everyone was delivered");
+        assertEquals(2400, controller.getPassengersDelivered());
+        controller.stop();
+    }
+
+    @Test
+    void awaitIdleTimesOutWhileCallsAreOutstanding() throws InterruptedException
+    {
+        LiveController controller = new LiveController(new Building(0, 20), new NearestCarDispatcher(), 1.0);
+        controller.addElevator(0);
+        controller.start();
+        controller.call(1, 70, 0, 20);
+
+        assertFalse(controller.awaitIdle(50, TimeUnit.MILLISECONDS));
+        assertEquals(0, controller.getPassengersDelivered());
+        controller.stop();
+    }
+
+    // Returns a LiveController running as fast as possible with the given number of cars in a 31-floor Building.
+
+    private static LiveController createController(int cars)
+    {
+        LiveController controller = new LiveController(new Building(0, 30), new NearestCarDispatcher(), 0.0);
+
+        for(int i = 0; i < cars; i++)
+        {
+            controller.addElevator(i * 10);
+        }
+
+        return controller;
+    }
+
+    /*
+    Makes 'calls' random calls between six floors of the 31-floor Building from each of 'producers' threads, which
+    start together, and waits for them to finish calling. If 'pausing', each thread waits a little between calls,
+    so that the cars go idle in between. Fails if any call throws.
+     */
+
+    private static void makeCalls(LiveController controller, int producers, int calls, boolean pausing)
+            throws InterruptedException
+    {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int maxFloor = 30;
+
+        for(int p = 0; p < producers; p++)
+        {
+            int producer = p;
+            threads[p] = new Thread(() ->
+            {
+                Random random = new Random(producer);
+
+                try
+                {
+                    start.await();
+                }
+                catch(InterruptedException ex)
+                {
+                    return;
+                }
+
+                try
+                {
+                    for(int i = 0; i < calls; i++)
+                    {
+                        int floor = random.nextInt(6);
+                        int destinationFloor = (floor + 1 + random.nextInt(5)) % 6;
+                        controller.call(producer * calls + i, 70, floor * maxFloor / 5,
+                                destinationFloor * maxFloor / 5);
+
+                        if(pausing)
+                        {
+                            LockSupport.parkNanos(random.nextInt(200_000));
+                        }
+                    }
+                }
+                catch(Throwable t)
+                {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            threads[p].start();
+        }
+
+        start.countDown();
+
+        for(Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertNull(failure.get(), () -> "A call failed: " + failure.get());
+    }
+}
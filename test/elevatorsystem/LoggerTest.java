@@ -0,0 +1,101 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.Test;
+
+class LoggerTest
+{
+    /*
+    Checks that a Logger with a small buffer prints every record when several threads log at once, and that an
+    EventSimulation only stamps records with its clock while it owns the Logger or is running.
+     */
+
+    @Test
+    void fullBufferWaitsForTheWriterWithoutDroppingRecords() throws InterruptedException
+    {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        Logger logger = new Logger(new PrintStream(log, true, StandardCharsets.US_ASCII), LogLevel.DEBUG, 1 << 4);
+        Thread[] threads = new Thread[4];
+
+        for(int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread(() ->
+            {
+                Logger.setThreadLogger(logger);
+                Building building = new Building(0, 5);
+                Elevator elevator = new Elevator(0, building);
+
+                for(int j = 0; j < 5000; j++)
+                {
+                    logger.logPersonEnteringElevator(elevator, j, 0);
+                }
+            });
+            threads[i].start();
+        }
+
+        for(Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        logger.flush();
+        String text = log.toString(StandardCharsets.US_ASCII);
+        logger.close();
+
+        assertEquals(threads.length * 5000, text.split("has entered", -1).length - 1);
+    }
+
+    @Test
+    void simulationOnlyBindsTheSharedLoggerWhileRunning()
+    {
+        Logger shared = Logger.getLogger();
+        assertTrue(shared.isShared());
+        LongSupplier timeSource = shared.getTimeSource();
+        LogLevel level = shared.getLevel();
+        shared.setLevel(LogLevel.OFF);
+
+        try
+        {
+            Building building = new Building(0, 5);
+            EventSimulation simulation = new EventSimulation(building, new Elevator(0, building));
+            assertSame(timeSource, shared.getTimeSource());
+
+            simulation.scheduleArrival(1000, new Person(1, 70, 0, 5));
+            simulation.run();
+
+            assertEquals(1, simulation.getPassengersDelivered());
+            assertSame(timeSource, shared.getTimeSource());
+        }
+        finally
+        {
+            shared.setLevel(level);
+        }
+    }
+
+    @Test
+    void simulationBindsALoggerOfItsOwn()
+    {
+        Logger logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+
+        try
+        {
+            Building building = new Building(0, 5);
+            EventSimulation simulation = new EventSimulation(building, new Elevator(0, building));
+            simulation.runUntil(12_345);
+
+            assertEquals(12_345, logger.getTimeSource().getAsLong());
+        }
+        finally
+        {
+            Logger.setThreadLogger(null);
+            logger.close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PredictiveParkingTest
+{
+    /*
+    Checks that an ArrivalRateEstimator learns hall call rates per floor and direction, decays them over quiet
+    intervals and falls back on the rates of the same time of day once a day has passed, that a
+    PredictiveParkingPolicy parks an Elevator at a busy floor no other Elevator covers, and that parking by
+    learned rates shortens the mean wait of a workload where most people call from the lobby, compared with
+    leaving idle Elevators where their last trip ended. SCAN is left out of the comparison, since every downward
+    sweep already ends at the lobby.
+     */
+
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final double SMOOTHING = 0.5;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void estimatorLearnsRatesPerFloorAndDirection()
+    {
+        Building building = new Building(0, 10);
+        long[] clock = new long[1];
+        ArrivalRateEstimator rates = new ArrivalRateEstimator(building, () -> clock[0], MINUTE, SMOOTHING);
+
+        callFrom(building, 0, 5, 6);
+        callFrom(building, 5, 0, 3);
+        assertEquals(0, rates.getRate(0, Direction.UP), "A rate was learned before its interval ended");
+
+        // Six calls in a minute is 360 an hour.
+        clock[0] = MINUTE;
+        assertEquals(360, rates.getRate(0, Direction.UP), 1e-9);
+        assertEquals(180, rates.getRate(5, Direction.DOWN), 1e-9);
+        assertEquals(0, rates.getRate(0, Direction.DOWN));
+        assertEquals(0, rates.getRate(5, Direction.UP));
+
+        // A quiet minute halves the recent rates.
+        clock[0] = 2 * MINUTE;
+        assertEquals(180, rates.getRate(0, Direction.UP), 1e-9);
+        assertEquals(90, rates.getRate(5, Direction.DOWN), 1e-9);
+
+        // A day later, the rates of the first minute of the day are used again, although it has long been quiet.
+        clock[0] = DAY;
+        assertEquals(360, rates.getRate(0, Direction.UP), 1e-9);
+        assertEquals(180, rates.getRate(5, Direction.DOWN), 1e-9);
+    }
+
+    @Test
+    void idleElevatorParksAtABusyFloorNoOtherElevatorCovers()
+    {
+        Building building = new Building(0, 15);
+        long[] clock = new long[1];
+        ArrivalRateEstimator rates = new ArrivalRateEstimator(building, () -> clock[0], MINUTE, SMOOTHING);
+        PredictiveParkingPolicy policy = new PredictiveParkingPolicy(rates);
+        Elevator idle = new Elevator(8, building);
+        Elevator parked = new Elevator(0, building);
+
+        callFrom(building, 0, 15, 6);
+        callFrom(building, 15, 0, 3);
+        clock[0] = MINUTE;
+
+        assertEquals(15, policy.selectParkingFloor(idle, List.of(idle, parked)));
+        Elevator alone = new Elevator(15, building);
+        assertEquals(0, policy.selectParkingFloor(alone, List.of(alone)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings={"look", "cost"})
+    void parkingShortensWaitsFromTheLobby(String strategy)
+    {
+        double withoutParking = getMeanWaitTime(strategy, false);
+        double withParking = getMeanWaitTime(strategy, true);
+
+        assertTrue(withParking < 0.75 * withoutParking, "Predictive parking gave a mean wait of " + withParking
+                + " ms, against " + withoutParking + " ms without parking");
+    }
+
+    // Enqueues the given number of people on a Floor of the Building, all going to the same destination.
+
+    private static void callFrom(Building building, int floor, int destinationFloor, int people)
+    {
+        for(int i = 0; i < people; i++)
+        {
+            building.getFloor(floor).enqueuePerson(new Person(i, 70, floor, destinationFloor));
+        }
+    }
+
+    /*
+    Returns the mean wait of three hours of light traffic in a 20-floor Building served by two cars, in which
+    three people in four call from the lobby, and the rest go down to it. The cars either wait where their last
+    trip ended or are parked by a PredictiveParkingPolicy.
+     */
+
+    private static double getMeanWaitTime(String strategy, boolean parking)
+    {
+        Building building = new Building(0, 19);
+        ElevatorBank bank = new ElevatorBank(building);
+        bank.setSchedulingStrategy(strategy.equals("look") ? LookStrategy.INSTANCE
+                : strategy.equals("scan") ? ScanStrategy.INSTANCE : CostBasedStrategy.INSTANCE);
+        bank.addElevator(0, 8, 800);
+        bank.addElevator(0, 8, 800);
+        EventSimulation simulation = new EventSimulation(bank);
+
+        if(parking)
+        {
+            simulation.setParkingPolicy(new PredictiveParkingPolicy(new ArrivalRateEstimator(building,
+                    simulation::getCurrentTime, 5 * MINUTE, SMOOTHING)));
+        }
+
+        Random random = new Random(7);
+        int id = 0;
+
+        for(long time = 0; time < 3 * HOUR; time += 30_000 + random.nextInt(60_000))
+        {
+            int upperFloor = 1 + random.nextInt(19);
+            boolean fromLobby = random.nextInt(4) != 0;
+            simulation.scheduleArrival(time, new Person(id++, 70, fromLobby ? 0 : upperFloor,
+                    fromLobby ? upperFloor : 0));
+        }
+
+        simulation.run();
+        assertEquals(id, simulation.getPassengersDelivered());
+        return simulation.getAverageWaitTime();
+    }
+}
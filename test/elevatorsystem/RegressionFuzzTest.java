@@ -0,0 +1,108 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.Test;
+
+class RegressionFuzzTest
+{
+    /*
+    Runs the single-elevator simulator on 2000 random buildings and compares each run with the one recorded
+    in regression-fuzz.txt: the number of steps taken, the final floor, and a CRC-32 of everything it logged.
+    The runs were recorded after unloading began removing the call for the floor being serviced, which changed
+    the trips of the simulator before it. Any later change to the trips, the order people board and leave in,
+    or the log format of a single Elevator fails this test.
+     */
+
+    private static final int MAXIMUM_STEPS = 200;
+
+    @Test
+    void singleElevatorRunsMatchTheRecordedRuns() throws IOException
+    {
+        InputStream recorded = RegressionFuzzTest.class.getResourceAsStream("regression-fuzz.txt");
+        assertNotNull(recorded, "regression-fuzz.txt is missing");
+
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(recorded, StandardCharsets.US_ASCII)))
+        {
+            String line;
+            int runs = 0;
+
+            while((line = reader.readLine()) != null)
+            {
+                if(line.startsWith("#"))
+                {
+                    continue;
+                }
+
+                String[] fields = line.split(" ");
+                long seed = Long.parseLong(fields[0]);
+                assertEquals(line, run(seed), "Seed " + seed + " no longer matches its recorded run");
+                runs++;
+            }
+
+            assertEquals(2000, runs);
+        }
+    }
+
+    // Runs one random building with a Logger of its own and returns its line in the format of regression-fuzz.txt.
+
+    private static String run(long seed)
+    {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        Logger logger = new Logger(new PrintStream(log, true, StandardCharsets.US_ASCII), LogLevel.DEBUG, 1 << 12);
+        Logger.setThreadLogger(logger);
+
+        try
+        {
+            Random random = new Random(seed);
+            int minFloor = random.nextInt(5) - 2;
+            int maxFloor = minFloor + 2 + random.nextInt(15);
+            Building building = new Building(minFloor, maxFloor);
+            Elevator elevator = new Elevator(minFloor + random.nextInt(maxFloor - minFloor + 1), building);
+            int people = random.nextInt(40);
+
+            for(int i = 0; i < people; i++)
+            {
+                int startingFloor = minFloor + random.nextInt(maxFloor - minFloor + 1);
+                int destinationFloor = minFloor + random.nextInt(maxFloor - minFloor + 1);
+
+                if(startingFloor != destinationFloor)
+                {
+                    building.getFloor(startingFloor).enqueuePerson(new Person(i, 40 + random.nextInt(150),
+                            startingFloor, destinationFloor));
+                }
+            }
+
+            int steps = 0;
+
+            while((elevator.getCurrentDirection() != Direction.STATIONARY || elevator.shouldContinueOperating())
+                    && steps < MAXIMUM_STEPS)
+            {
+                elevator.move();
+                steps++;
+            }
+
+            logger.flush();
+            String text = log.toString(StandardCharsets.US_ASCII).replace(System.lineSeparator(), "\n")
+                    + "steps " + steps + " floor " + elevator.getCurrentFloor() + "\n";
+
+            CRC32 crc = new CRC32();
+            crc.update(text.getBytes(StandardCharsets.US_ASCII));
+            return seed + " " + steps + " " + elevator.getCurrentFloor() + " " + String.format("%08x", crc.getValue());
+        }
+        finally
+        {
+            Logger.setThreadLogger(null);
+            logger.close();
+        }
+    }
+}
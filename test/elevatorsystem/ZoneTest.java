@@ -0,0 +1,173 @@
+package elevatorsystem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ZoneTest
+{
+    /*
+    Checks that people who call an elevator before the cars of their Zone have been added keep waiting, and are
+    carried once those cars arrive, and that random banks split into a low rise and an express high rise deliver
+    everyone, with cars only stopping at the floors of their Zone and people changing cars at the sky lobby.
+     */
+
+    private static final int RUNS = 500;
+    private static final int MAXIMUM_TRIPS = 100_000;
+
+    private Logger logger;
+
+    @BeforeEach
+    void bindSilentLogger()
+    {
+        logger = new Logger(System.out, LogLevel.OFF, 1 << 4);
+        Logger.setThreadLogger(logger);
+    }
+
+    @AfterEach
+    void unbindLogger()
+    {
+        Logger.setThreadLogger(null);
+        logger.close();
+    }
+
+    @Test
+    void peopleWaitForTheCarsOfTheirZone()
+    {
+        Building building = new Building(1, 30);
+        ElevatorBank bank = new ElevatorBank(building);
+        Zone low = Zone.range("low", 1, 15);
+        Zone high = Zone.of("high", 1, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30);
+        bank.addZone(low);
+        bank.addZone(high);
+
+        building.getFloor(1).enqueuePerson(new Person(1, 70, 1, 25));
+        building.getFloor(1).enqueuePerson(new Person(2, 70, 1, 5));
+        assertEquals(2, building.getNumberOfPeopleWaiting());
+
+        // Adding the low car dispatches the person bound for floor 5, and leaves the other waiting.
+        bank.addElevator(low, 1);
+        assertEquals(1, building.getNumberOfPeopleWaiting());
+
+        bank.addElevator(high, 1);
+        assertEquals(0, building.getNumberOfPeopleWaiting());
+
+        EventSimulation simulation = new EventSimulation(bank);
+        simulation.run();
+
+        assertEquals(2, simulation.getPassengersDelivered());
+        assertEquals(0, building.getPassengerStore().size());
+    }
+
+    @Test
+    void randomZonedBanksDeliverEveryone()
+    {
+        for(int seed = 0; seed < RUNS; seed++)
+        {
+            run(seed);
+        }
+    }
+
+    /*
+    Builds and runs one random bank with a low rise serving every floor up to a sky lobby, and an express high
+    rise serving the lobby, the sky lobby and every floor above it, failing if any invariant is broken.
+     */
+
+    private static void run(int seed)
+    {
+        Random random = new Random(seed);
+        int maxFloor = 8 + random.nextInt(30);
+        int skyLobby = 4 + random.nextInt(maxFloor - 7);
+        Building building = new Building(1, maxFloor);
+        ElevatorBank bank = new ElevatorBank(building);
+        Zone low = Zone.range("low", 1, skyLobby);
+        int[] highFloors = new int[maxFloor - skyLobby + 2];
+        highFloors[0] = 1;
+
+        for(int i = 1; i < highFloors.length; i++)
+        {
+            highFloors[i] = skyLobby + i - 1;
+        }
+
+        Zone high = Zone.of("high", highFloors);
+        bank.addZone(low);
+        bank.addZone(high);
+
+        int lowCars = 1 + random.nextInt(3);
+        int highCars = 1 + random.nextInt(3);
+
+        for(int i = 0; i < lowCars; i++)
+        {
+            bank.addElevator(low, 1 + random.nextInt(skyLobby));
+        }
+
+        for(int i = 0; i < highCars; i++)
+        {
+            bank.addElevator(high, highFloors[random.nextInt(highFloors.length)]);
+        }
+
+        EventSimulation simulation = new EventSimulation(bank);
+        int people = 1 + random.nextInt(60);
+        int travelling = 0;
+        int changing = 0;
+        long time = 0;
+
+        for(int i = 0; i < people; i++)
+        {
+            time += random.nextInt(5000);
+            int startingFloor = 1 + random.nextInt(maxFloor);
+            int destinationFloor = 1 + random.nextInt(maxFloor);
+            travelling += startingFloor == destinationFloor ? 0 : 1;
+            changing += servedByOneZone(startingFloor, destinationFloor, skyLobby) ? 0 : 1;
+            simulation.scheduleArrival(time, new Person(i, 50 + random.nextInt(100), startingFloor, destinationFloor));
+        }
+
+        PassengerStore passengers = building.getPassengerStore();
+        int[] trips = new int[1];
+
+        for(Elevator e : bank.getElevators())
+        {
+            e.addListener(new ElevatorListener()
+            {
+                @Override
+                public void tripStarted(Elevator e, Direction direction)
+                {
+                    assertTrue(++trips[0] <= MAXIMUM_TRIPS, "Seed " + seed + " never finishes");
+                }
+
+                @Override
+                public void personBoarded(Elevator e, int passenger, int floor)
+                {
+                    assertTrue(e.getZone().serves(floor), "Seed " + seed + " boarded outside the car's Zone");
+                }
+
+                @Override
+                public void personAlighted(Elevator e, int passenger, int floor)
+                {
+                    assertTrue(e.getZone().serves(floor), "Seed " + seed + " let a person off outside the car's Zone");
+                    assertTrue(floor == passengers.getFinalDestinationFloor(passenger)
+                            || passengers.isTransferring(passenger),
+                            "Seed " + seed + " let a person off away from their destination");
+                }
+            });
+        }
+
+        simulation.run();
+
+        assertEquals(travelling, simulation.getPassengersDelivered(), "Seed " + seed + " did not deliver everyone");
+        assertEquals(0, building.getNumberOfPeopleWaiting(), "Seed " + seed + " left people waiting");
+        assertTrue(bank.getNumberOfTransfers() >= changing, "Seed " + seed + " skipped a change of cars");
+    }
+
+    // Returns whether a trip between the given floors can be made without leaving the low or the high rise.
+
+    private static boolean servedByOneZone(int startingFloor, int destinationFloor, int skyLobby)
+    {
+        int lowest = Math.min(startingFloor, destinationFloor);
+        int highest = Math.max(startingFloor, destinationFloor);
+        return highest <= skyLobby || lowest >= skyLobby || lowest == 1;
+    }
+}